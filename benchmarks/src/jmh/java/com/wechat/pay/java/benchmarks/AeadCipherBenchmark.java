@@ -0,0 +1,58 @@
+package com.wechat.pay.java.benchmarks;
+
+import static com.wechat.pay.java.benchmarks.BenchmarkFixtures.API_V3_KEY;
+
+import com.wechat.pay.java.core.cipher.AeadAesCipher;
+import com.wechat.pay.java.core.cipher.AeadCipher;
+import com.wechat.pay.java.shangmi.AeadSM4Cipher;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** 콜백 알림 resource 복호화에 사용하는 AEAD 복호화 벤치마크 */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AeadCipherBenchmark {
+
+  private static final byte[] ASSOCIATED_DATA = "transaction".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] NONCE = "fdasflkja484".getBytes(StandardCharsets.UTF_8);
+
+  @Param({"AES", "SM4"})
+  private String algorithm;
+
+  private AeadCipher aeadCipher;
+  private byte[] ciphertext;
+
+  @Setup
+  public void setup() {
+    byte[] apiV3Key = API_V3_KEY.getBytes(StandardCharsets.UTF_8);
+    aeadCipher =
+        "SM4".equals(algorithm) ? new AeadSM4Cipher(apiV3Key) : new AeadAesCipher(apiV3Key);
+    String plaintext = BenchmarkFixtures.readResource("transaction.json");
+    ciphertext =
+        Base64.getDecoder()
+            .decode(
+                aeadCipher.encrypt(
+                    ASSOCIATED_DATA, NONCE, plaintext.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Benchmark
+  public String decrypt() {
+    return aeadCipher.decrypt(ASSOCIATED_DATA, NONCE, ciphertext);
+  }
+}
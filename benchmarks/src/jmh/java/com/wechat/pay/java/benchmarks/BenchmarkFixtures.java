@@ -0,0 +1,86 @@
+package com.wechat.pay.java.benchmarks;
+
+import static com.wechat.pay.java.core.http.Constant.REQUEST_ID;
+import static com.wechat.pay.java.core.http.Constant.WECHAT_PAY_NONCE;
+import static com.wechat.pay.java.core.http.Constant.WECHAT_PAY_SERIAL;
+import static com.wechat.pay.java.core.http.Constant.WECHAT_PAY_SIGNATURE;
+import static com.wechat.pay.java.core.http.Constant.WECHAT_PAY_TIMESTAMP;
+
+import com.wechat.pay.java.core.cipher.RSASigner;
+import com.wechat.pay.java.core.cipher.Signer;
+import com.wechat.pay.java.core.http.HttpHeaders;
+import com.wechat.pay.java.core.util.IOUtil;
+import com.wechat.pay.java.core.util.NonceUtil;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+
+/** 벤치마크에서 공통으로 사용하는 키와 메시지 */
+final class BenchmarkFixtures {
+
+  static final String MERCHANT_ID = "1900000001";
+  static final String MERCHANT_SERIAL_NUMBER = "5157F09EFDC096DE15EBE81A47057A7232F1B8E1";
+  static final String WECHAT_PAY_PUBLIC_KEY_ID = "PUB_KEY_ID_0119000000012024101800000000000000";
+  static final String API_V3_KEY = "a7cde1ZJB1kG2e7VfTs3jQzaWizur8Gb";
+
+  /** 가맹점 키 쌍, 요청 서명에 사용 */
+  static final KeyPair MERCHANT_KEY_PAIR = generateKeyPair();
+
+  /** 위챗페이 키 쌍, 응답과 콜백 알림의 서명 생성에 사용 */
+  static final KeyPair WECHAT_PAY_KEY_PAIR = generateKeyPair();
+
+  private static final Signer WECHAT_PAY_SIGNER =
+      new RSASigner(WECHAT_PAY_PUBLIC_KEY_ID, WECHAT_PAY_KEY_PAIR.getPrivate());
+
+  private BenchmarkFixtures() {}
+
+  /**
+   * 위챗페이 서명이 포함된 응답 헤더 생성, 타임스탬프는 현재 시각을 사용하므로 5분 이내에만 검증에 성공함
+   *
+   * @param body 응답 본문
+   * @return 서명 헤더
+   */
+  static HttpHeaders signedHeaders(String body) {
+    String timestamp = String.valueOf(Instant.now().getEpochSecond());
+    String nonce = NonceUtil.createNonce(32);
+    String message = timestamp + "\n" + nonce + "\n" + body + "\n";
+    HttpHeaders headers = new HttpHeaders();
+    headers.addHeader(WECHAT_PAY_TIMESTAMP, timestamp);
+    headers.addHeader(WECHAT_PAY_NONCE, nonce);
+    headers.addHeader(WECHAT_PAY_SERIAL, WECHAT_PAY_PUBLIC_KEY_ID);
+    headers.addHeader(WECHAT_PAY_SIGNATURE, WECHAT_PAY_SIGNER.sign(message).getSign());
+    headers.addHeader(REQUEST_ID, "08F78BB5AF0610D302A2F1A605A4E9DBD00228C9F5C7D2A");
+    return headers;
+  }
+
+  /**
+   * 클래스패스의 리소스를 문자열로 읽기
+   *
+   * @param name 리소스 이름
+   * @return 리소스 내용
+   */
+  static String readResource(String name) {
+    try (InputStream inputStream = BenchmarkFixtures.class.getResourceAsStream("/" + name)) {
+      if (inputStream == null) {
+        throw new IllegalArgumentException("Benchmark resource not found: " + name);
+      }
+      return IOUtil.toString(inputStream);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static KeyPair generateKeyPair() {
+    try {
+      KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+      generator.initialize(2048);
+      return generator.generateKeyPair();
+    } catch (NoSuchAlgorithmException e) {
+      throw new UnsupportedOperationException(e);
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package com.wechat.pay.java.benchmarks;
+
+import static com.wechat.pay.java.benchmarks.BenchmarkFixtures.MERCHANT_ID;
+import static com.wechat.pay.java.benchmarks.BenchmarkFixtures.MERCHANT_KEY_PAIR;
+import static com.wechat.pay.java.benchmarks.BenchmarkFixtures.MERCHANT_SERIAL_NUMBER;
+
+import com.wechat.pay.java.core.auth.Credential;
+import com.wechat.pay.java.core.auth.WechatPay2Credential;
+import com.wechat.pay.java.core.cipher.RSASigner;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** 요청 서명(Authorization 헤더 생성) 벤치마크 */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CredentialBenchmark {
+
+  private static final String REQUEST_BODY =
+      "{\"appid\":\"wxd678efh567hg6787\",\"mchid\":\"1900000001\","
+          + "\"description\":\"Image形象店-深圳腾大-QQ公仔\",\"out_trade_no\":\"1217752501201407033233368018\","
+          + "\"notify_url\":\"https://www.weixin.qq.com/wxpay/pay.php\","
+          + "\"amount\":{\"total\":100,\"currency\":\"CNY\"},"
+          + "\"payer\":{\"openid\":\"oUpF8uMuAJO_M2pxb1Q9zNjWeS6o\"}}";
+
+  private Credential credential;
+  private URI uri;
+
+  @Setup
+  public void setup() {
+    credential =
+        new WechatPay2Credential(
+            MERCHANT_ID, new RSASigner(MERCHANT_SERIAL_NUMBER, MERCHANT_KEY_PAIR.getPrivate()));
+    uri = URI.create("https://api.mch.weixin.qq.com/v3/pay/transactions/jsapi");
+  }
+
+  @Benchmark
+  public String getAuthorizationWithBody() {
+    return credential.getAuthorization(uri, "POST", REQUEST_BODY);
+  }
+
+  @Benchmark
+  public String getAuthorizationWithoutBody() {
+    return credential.getAuthorization(uri, "GET", "");
+  }
+}
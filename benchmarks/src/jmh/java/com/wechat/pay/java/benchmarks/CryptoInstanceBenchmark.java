@@ -0,0 +1,114 @@
+package com.wechat.pay.java.benchmarks;
+
+import static com.wechat.pay.java.benchmarks.BenchmarkFixtures.API_V3_KEY;
+import static com.wechat.pay.java.benchmarks.BenchmarkFixtures.MERCHANT_KEY_PAIR;
+import static com.wechat.pay.java.benchmarks.BenchmarkFixtures.MERCHANT_SERIAL_NUMBER;
+
+import com.wechat.pay.java.core.cipher.AeadAesCipher;
+import com.wechat.pay.java.core.cipher.AeadCipher;
+import com.wechat.pay.java.core.cipher.RSASigner;
+import com.wechat.pay.java.core.cipher.RSAVerifier;
+import com.wechat.pay.java.core.cipher.Signer;
+import com.wechat.pay.java.core.cipher.Verifier;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Signature;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Signature, Cipher를 호출마다 생성하는 방식과 풀에서 재사용하는 SDK 구현의 비교 벤치마크. perCall로 시작하는 메서드는 getInstance와
+ * initSign/initVerify/init을 매번 수행하며, 같은 이름의 pooled 메서드와 한 쌍으로 비교함
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class CryptoInstanceBenchmark {
+
+  private static final String SIGN_ALGORITHM = "SHA256withRSA";
+  private static final String AEAD_TRANSFORMATION = "AES/GCM/NoPadding";
+  private static final int TAG_LENGTH_BIT = 128;
+  private static final byte[] ASSOCIATED_DATA = "transaction".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] NONCE = "fdasflkja484".getBytes(StandardCharsets.UTF_8);
+
+  private byte[] message;
+  private String signature;
+  private byte[] signatureBytes;
+  private byte[] ciphertext;
+  private SecretKeySpec aeadKey;
+
+  private Signer signer;
+  private Verifier verifier;
+  private AeadCipher aeadCipher;
+
+  @Setup
+  public void setup() {
+    message = BenchmarkFixtures.readResource("transaction.json").getBytes(StandardCharsets.UTF_8);
+    signer = new RSASigner(MERCHANT_SERIAL_NUMBER, MERCHANT_KEY_PAIR.getPrivate());
+    verifier = new RSAVerifier(MERCHANT_KEY_PAIR.getPublic(), MERCHANT_SERIAL_NUMBER);
+    signature = signer.sign(message).getSign();
+    signatureBytes = Base64.getDecoder().decode(signature);
+
+    byte[] apiV3Key = API_V3_KEY.getBytes(StandardCharsets.UTF_8);
+    aeadKey = new SecretKeySpec(apiV3Key, "AES");
+    aeadCipher = new AeadAesCipher(apiV3Key);
+    ciphertext = Base64.getDecoder().decode(aeadCipher.encrypt(ASSOCIATED_DATA, NONCE, message));
+  }
+
+  @Benchmark
+  public byte[] perCallSign() throws GeneralSecurityException {
+    Signature sign = Signature.getInstance(SIGN_ALGORITHM);
+    sign.initSign(MERCHANT_KEY_PAIR.getPrivate());
+    sign.update(message);
+    return sign.sign();
+  }
+
+  @Benchmark
+  public String pooledSign() {
+    return signer.sign(message).getSign();
+  }
+
+  @Benchmark
+  public boolean perCallVerify() throws GeneralSecurityException {
+    Signature sign = Signature.getInstance(SIGN_ALGORITHM);
+    sign.initVerify(MERCHANT_KEY_PAIR.getPublic());
+    sign.update(message);
+    return sign.verify(signatureBytes);
+  }
+
+  @Benchmark
+  public boolean pooledVerify() {
+    return verifier.verify(MERCHANT_SERIAL_NUMBER, signature, message);
+  }
+
+  @Benchmark
+  public String perCallAeadDecrypt() throws GeneralSecurityException {
+    Cipher cipher = Cipher.getInstance(AEAD_TRANSFORMATION);
+    cipher.init(Cipher.DECRYPT_MODE, aeadKey, new GCMParameterSpec(TAG_LENGTH_BIT, NONCE));
+    cipher.updateAAD(ASSOCIATED_DATA);
+    return new String(cipher.doFinal(ciphertext), StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public String pooledAeadDecrypt() {
+    return aeadCipher.decrypt(ASSOCIATED_DATA, NONCE, ciphertext);
+  }
+}
@@ -0,0 +1,105 @@
+package com.wechat.pay.java.benchmarks;
+
+import com.google.gson.Gson;
+import com.wechat.pay.java.core.util.GsonUtil;
+import com.wechat.pay.java.service.payments.model.Transaction;
+import com.wechat.pay.java.service.transferbatch.model.TransferBatchEntity;
+import com.wechat.pay.java.service.transferbatch.model.TransferBatchGet;
+import com.wechat.pay.java.service.transferbatch.model.TransferDetailCompact;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** GsonUtil로 서비스 모델을 직렬화, 역직렬화하는 벤치마크 */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GsonBenchmark {
+
+  /** 배치 조회 응답에 포함된 이체 세부 수, 위챗페이는 한 페이지에 최대 100건을 반환 */
+  @Param({"20", "100"})
+  private int transferDetailCount;
+
+  private final Gson gson = GsonUtil.getGson();
+  private String transactionJson;
+  private Transaction transaction;
+  private String transferBatchJson;
+  private TransferBatchEntity transferBatch;
+
+  @Setup
+  public void setup() {
+    transactionJson = BenchmarkFixtures.readResource("transaction.json");
+    transaction = gson.fromJson(transactionJson, Transaction.class);
+    transferBatch = createTransferBatch(transferDetailCount);
+    transferBatchJson = GsonUtil.toJson(transferBatch);
+  }
+
+  @Benchmark
+  public Transaction transactionFromJson() {
+    return gson.fromJson(transactionJson, Transaction.class);
+  }
+
+  @Benchmark
+  public String transactionToJson() {
+    return GsonUtil.toJson(transaction);
+  }
+
+  @Benchmark
+  public TransferBatchEntity transferBatchFromJson() {
+    return gson.fromJson(transferBatchJson, TransferBatchEntity.class);
+  }
+
+  @Benchmark
+  public String transferBatchToJson() {
+    return GsonUtil.toJson(transferBatch);
+  }
+
+  private static TransferBatchEntity createTransferBatch(int detailCount) {
+    TransferBatchGet batch = new TransferBatchGet();
+    batch.setMchid("1900001109");
+    batch.setOutBatchNo("plfk2020042013");
+    batch.setBatchId("1030000071100999991182020050700019480001");
+    batch.setAppid("wxf636efh567hg4356");
+    batch.setBatchStatus("FINISHED");
+    batch.setBatchType("API");
+    batch.setBatchName("2019年1月深圳分部报销单");
+    batch.setBatchRemark("2019年1月深圳分部报销单");
+    batch.setTotalAmount(4000000L);
+    batch.setTotalNum(detailCount);
+    batch.setCreateTime("2015-05-20T13:29:35.120+08:00");
+    batch.setUpdateTime("2015-05-20T13:29:35.120+08:00");
+    batch.setSuccessAmount(3900000L);
+    batch.setSuccessNum(detailCount - 1);
+    batch.setFailAmount(100000L);
+    batch.setFailNum(1);
+    batch.setTransferSceneId("1000");
+
+    List<TransferDetailCompact> details = new ArrayList<>(detailCount);
+    for (int i = 0; i < detailCount; i++) {
+      TransferDetailCompact detail = new TransferDetailCompact();
+      detail.setDetailId(String.format("1040000071100999991182020050700019500%03d", i));
+      detail.setOutDetailNo(String.format("x23zy545Bd5436%04d", i));
+      detail.setDetailStatus(i == 0 ? "FAIL" : "SUCCESS");
+      details.add(detail);
+    }
+
+    TransferBatchEntity entity = new TransferBatchEntity();
+    entity.setTransferBatch(batch);
+    entity.setTransferDetailList(details);
+    return entity;
+  }
+}
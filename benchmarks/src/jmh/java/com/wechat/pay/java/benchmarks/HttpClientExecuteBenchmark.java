@@ -0,0 +1,116 @@
+package com.wechat.pay.java.benchmarks;
+
+import static com.wechat.pay.java.benchmarks.BenchmarkFixtures.MERCHANT_ID;
+import static com.wechat.pay.java.benchmarks.BenchmarkFixtures.MERCHANT_KEY_PAIR;
+import static com.wechat.pay.java.benchmarks.BenchmarkFixtures.MERCHANT_SERIAL_NUMBER;
+import static com.wechat.pay.java.benchmarks.BenchmarkFixtures.WECHAT_PAY_KEY_PAIR;
+import static com.wechat.pay.java.benchmarks.BenchmarkFixtures.WECHAT_PAY_PUBLIC_KEY_ID;
+
+import com.wechat.pay.java.core.auth.WechatPay2Credential;
+import com.wechat.pay.java.core.auth.WechatPay2Validator;
+import com.wechat.pay.java.core.cipher.RSASigner;
+import com.wechat.pay.java.core.cipher.RSAVerifier;
+import com.wechat.pay.java.core.http.Constant;
+import com.wechat.pay.java.core.http.DefaultHttpClientBuilder;
+import com.wechat.pay.java.core.http.HttpClient;
+import com.wechat.pay.java.core.http.HttpHeaders;
+import com.wechat.pay.java.core.http.HttpMethod;
+import com.wechat.pay.java.core.http.HttpRequest;
+import com.wechat.pay.java.core.http.MediaType;
+import com.wechat.pay.java.service.payments.model.Transaction;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** MockWebServer를 대상으로 요청 서명, 전송, 응답 검증, 역직렬화를 포함한 execute 전체 과정 벤치마크 */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class HttpClientExecuteBenchmark {
+
+  private final MockWebServer server = new MockWebServer();
+  private String responseBody;
+  private volatile MockResponse signedResponse;
+  private HttpClient httpClient;
+  private HttpRequest request;
+
+  @Setup(Level.Trial)
+  public void startServer() throws IOException {
+    responseBody = BenchmarkFixtures.readResource("transaction.json");
+    server.setDispatcher(
+        new Dispatcher() {
+          @Override
+          public MockResponse dispatch(RecordedRequest recordedRequest) {
+            return signedResponse.clone();
+          }
+        });
+    server.start();
+
+    httpClient =
+        new DefaultHttpClientBuilder()
+            .credential(
+                new WechatPay2Credential(
+                    MERCHANT_ID,
+                    new RSASigner(MERCHANT_SERIAL_NUMBER, MERCHANT_KEY_PAIR.getPrivate())))
+            .validator(
+                new WechatPay2Validator(
+                    new RSAVerifier(WECHAT_PAY_KEY_PAIR.getPublic(), WECHAT_PAY_PUBLIC_KEY_ID)))
+            .build();
+    request =
+        new HttpRequest.Builder()
+            .httpMethod(HttpMethod.GET)
+            .url(
+                server
+                    .url("/v3/pay/transactions/id/1217752501201407033233368018")
+                    .newBuilder()
+                    .addQueryParameter("mchid", MERCHANT_ID)
+                    .build()
+                    .url())
+            .addHeader(Constant.ACCEPT, MediaType.APPLICATION_JSON.getValue())
+            .build();
+  }
+
+  /** 응답 타임스탬프가 만료되지 않도록 iteration마다 서명된 응답을 다시 생성 */
+  @Setup(Level.Iteration)
+  public void signResponse() {
+    MockResponse response =
+        new MockResponse()
+            .setResponseCode(200)
+            .setHeader(Constant.CONTENT_TYPE, MediaType.APPLICATION_JSON.getValue())
+            .setBody(responseBody);
+    HttpHeaders headers = BenchmarkFixtures.signedHeaders(responseBody);
+    for (Map.Entry<String, String> header : headers.getHeaders().entrySet()) {
+      response.setHeader(header.getKey(), header.getValue());
+    }
+    signedResponse = response;
+  }
+
+  @TearDown(Level.Trial)
+  public void shutdownServer() throws IOException {
+    server.shutdown();
+  }
+
+  @Benchmark
+  public Transaction execute() {
+    return httpClient.execute(request, Transaction.class).getServiceResponse();
+  }
+}
@@ -0,0 +1,108 @@
+package com.wechat.pay.java.benchmarks;
+
+import static com.wechat.pay.java.benchmarks.BenchmarkFixtures.API_V3_KEY;
+import static com.wechat.pay.java.benchmarks.BenchmarkFixtures.WECHAT_PAY_KEY_PAIR;
+import static com.wechat.pay.java.benchmarks.BenchmarkFixtures.WECHAT_PAY_PUBLIC_KEY_ID;
+import static com.wechat.pay.java.core.http.Constant.WECHAT_PAY_NONCE;
+import static com.wechat.pay.java.core.http.Constant.WECHAT_PAY_SERIAL;
+import static com.wechat.pay.java.core.http.Constant.WECHAT_PAY_SIGNATURE;
+import static com.wechat.pay.java.core.http.Constant.WECHAT_PAY_TIMESTAMP;
+import static com.wechat.pay.java.core.notification.Constant.AES_CIPHER_ALGORITHM;
+
+import com.wechat.pay.java.core.cipher.AeadAesCipher;
+import com.wechat.pay.java.core.http.HttpHeaders;
+import com.wechat.pay.java.core.notification.NotificationParser;
+import com.wechat.pay.java.core.notification.RSAPublicKeyNotificationConfig;
+import com.wechat.pay.java.core.notification.RequestParam;
+import com.wechat.pay.java.core.util.GsonUtil;
+import com.wechat.pay.java.service.payments.model.Transaction;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** 결제 성공 콜백 알림의 서명 검증, 복호화, 역직렬화 전체 과정 벤치마크 */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class NotificationParserBenchmark {
+
+  private static final String NONCE = "fdasflkja484";
+  private static final String ASSOCIATED_DATA = "transaction";
+
+  private NotificationParser parser;
+  private String body;
+  private RequestParam requestParam;
+
+  @Setup(Level.Trial)
+  public void setupParser() {
+    parser =
+        new NotificationParser(
+            new RSAPublicKeyNotificationConfig.Builder()
+                .publicKey(WECHAT_PAY_KEY_PAIR.getPublic())
+                .publicKeyId(WECHAT_PAY_PUBLIC_KEY_ID)
+                .apiV3Key(API_V3_KEY)
+                .build());
+
+    String plaintext = BenchmarkFixtures.readResource("transaction.json");
+    String ciphertext =
+        new AeadAesCipher(API_V3_KEY.getBytes(StandardCharsets.UTF_8))
+            .encrypt(
+                ASSOCIATED_DATA.getBytes(StandardCharsets.UTF_8),
+                NONCE.getBytes(StandardCharsets.UTF_8),
+                plaintext.getBytes(StandardCharsets.UTF_8));
+    Map<String, Object> resource = new LinkedHashMap<>();
+    resource.put("original_type", "transaction");
+    resource.put("algorithm", AES_CIPHER_ALGORITHM);
+    resource.put("ciphertext", ciphertext);
+    resource.put("associated_data", ASSOCIATED_DATA);
+    resource.put("nonce", NONCE);
+    Map<String, Object> notification = new LinkedHashMap<>();
+    notification.put("id", "EV-2018022511223320873");
+    notification.put("create_time", "2015-05-20T13:29:35+08:00");
+    notification.put("resource_type", "encrypt-resource");
+    notification.put("event_type", "TRANSACTION.SUCCESS");
+    notification.put("summary", "支付成功");
+    notification.put("resource", resource);
+    body = GsonUtil.toJson(notification);
+  }
+
+  /** 콜백 알림의 타임스탬프가 만료되지 않도록 iteration마다 서명을 다시 생성 */
+  @Setup(Level.Iteration)
+  public void signNotification() {
+    HttpHeaders headers = BenchmarkFixtures.signedHeaders(body);
+    requestParam =
+        new RequestParam.Builder()
+            .serialNumber(headers.getHeader(WECHAT_PAY_SERIAL))
+            .nonce(headers.getHeader(WECHAT_PAY_NONCE))
+            .signature(headers.getHeader(WECHAT_PAY_SIGNATURE))
+            .timestamp(headers.getHeader(WECHAT_PAY_TIMESTAMP))
+            .body(body)
+            .build();
+  }
+
+  @Benchmark
+  public Transaction parse() {
+    return parser.parse(requestParam, Transaction.class);
+  }
+
+  /** 서명 검증과 봉투 파싱만 수행하고 복호화는 하지 않는 경우 */
+  @Benchmark
+  public String verify() {
+    return parser.verify(requestParam).getEventType();
+  }
+}
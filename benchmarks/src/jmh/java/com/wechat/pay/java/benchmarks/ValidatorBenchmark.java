@@ -0,0 +1,57 @@
+package com.wechat.pay.java.benchmarks;
+
+import static com.wechat.pay.java.benchmarks.BenchmarkFixtures.WECHAT_PAY_KEY_PAIR;
+import static com.wechat.pay.java.benchmarks.BenchmarkFixtures.WECHAT_PAY_PUBLIC_KEY_ID;
+
+import com.wechat.pay.java.core.auth.Validator;
+import com.wechat.pay.java.core.auth.WechatPay2Validator;
+import com.wechat.pay.java.core.cipher.RSAVerifier;
+import com.wechat.pay.java.core.http.HttpHeaders;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** 응답 서명 검증 벤치마크 */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ValidatorBenchmark {
+
+  private Validator validator;
+  private String responseBody;
+  private HttpHeaders responseHeaders;
+
+  @Setup(Level.Trial)
+  public void setupValidator() {
+    validator =
+        new WechatPay2Validator(
+            new RSAVerifier(WECHAT_PAY_KEY_PAIR.getPublic(), WECHAT_PAY_PUBLIC_KEY_ID));
+    responseBody = BenchmarkFixtures.readResource("transaction.json");
+  }
+
+  /** 응답 타임스탬프가 만료되지 않도록 iteration마다 서명을 다시 생성 */
+  @Setup(Level.Iteration)
+  public void signResponse() {
+    responseHeaders = BenchmarkFixtures.signedHeaders(responseBody);
+    if (!validator.validate(responseHeaders, responseBody)) {
+      throw new IllegalStateException("Benchmark response signature is invalid.");
+    }
+  }
+
+  @Benchmark
+  public boolean validate() {
+    return validator.validate(responseHeaders, responseBody);
+  }
+}
@@ -0,0 +1,98 @@
+package com.wechat.pay.java.benchmarks.loadtest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 나노초 단위 지연 시간의 동시 기록용 히스토그램. HdrHistogram과 같은 로그-선형 구간을 사용하여, [2^k, 2^(k+1)) 범위마다 128개의 균등 구간으로
+ * 나누므로 어떤 값이든 상대 오차 0.8% 이내로 기록함
+ *
+ * <p>기록은 잠금 없이 여러 스레드에서 동시에 할 수 있으며, 백분위 조회는 기록이 끝난 뒤에 하는 것을 전제로 함
+ */
+final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 8;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+  private static final int MAX_SHIFT = Long.SIZE - SUB_BUCKET_BITS;
+
+  private final AtomicLongArray counts =
+      new AtomicLongArray(MAX_SHIFT * SUB_BUCKET_HALF_COUNT + SUB_BUCKET_COUNT);
+  private final LongAdder totalCount = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * 값 기록
+   *
+   * @param valueNanos 0 이상의 나노초 값, 음수는 0으로 기록
+   */
+  void record(long valueNanos) {
+    long value = Math.max(valueNanos, 0);
+    counts.incrementAndGet(indexOf(value));
+    totalCount.increment();
+    sum.add(value);
+    max.accumulateAndGet(value, Math::max);
+  }
+
+  long getTotalCount() {
+    return totalCount.sum();
+  }
+
+  long getMax() {
+    return max.get();
+  }
+
+  double getMean() {
+    long count = totalCount.sum();
+    return count == 0 ? 0 : (double) sum.sum() / count;
+  }
+
+  /**
+   * 백분위 값
+   *
+   * @param percentile 0 초과 100 이하의 백분위
+   * @return 해당 백분위 이하에 기록된 값의 상한, 기록이 없으면 0
+   */
+  long getValueAtPercentile(double percentile) {
+    long count = totalCount.sum();
+    if (count == 0) {
+      return 0;
+    }
+    long target = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+    long cumulative = 0;
+    for (int i = 0; i < counts.length(); i++) {
+      cumulative += counts.get(i);
+      if (cumulative >= target) {
+        return Math.min(highestEquivalentValue(i), max.get());
+      }
+    }
+    return max.get();
+  }
+
+  /** 밀리초 단위 백분위 값 */
+  double getMillisAtPercentile(double percentile) {
+    return getValueAtPercentile(percentile) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  /**
+   * 값이 속하는 구간. 상위 비트가 SUB_BUCKET_BITS 안에 들도록 오른쪽으로 민 횟수(shift)마다 절반 크기의 구간 묶음을 두며, shift가 0이면 값 자체가
+   * 구간임
+   */
+  static int indexOf(long value) {
+    int shift = Math.max(0, Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+    return shift * SUB_BUCKET_HALF_COUNT + (int) (value >>> shift);
+  }
+
+  /** 구간에 속하는 가장 큰 값 */
+  static long highestEquivalentValue(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int shift = index / SUB_BUCKET_HALF_COUNT - 1;
+    long subBucket = index - (long) shift * SUB_BUCKET_HALF_COUNT;
+    return ((subBucket + 1) << shift) - 1;
+  }
+}
@@ -0,0 +1,230 @@
+package com.wechat.pay.java.benchmarks.loadtest;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.wechat.pay.java.benchmarks.loadtest.LoadTestOptions.AdapterType;
+import com.wechat.pay.java.benchmarks.loadtest.OpenLoopRunner.OperationStats;
+import com.wechat.pay.java.benchmarks.loadtest.OpenLoopRunner.Result;
+import com.wechat.pay.java.mockserver.FaultProfile;
+import com.wechat.pay.java.mockserver.MockWechatPayServer;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SDK 전 구간 부하 테스트. wechatpay-mock-server를 같은 프로세스에서 띄우고, 설정한 비중의 작업을 고정 도착률로 HTTP 클라이언트별로 실행하여 처리량,
+ * 응답 시간 분포, 요청당 CPU 시간과 할당량을 보고함
+ *
+ * <p>실행: {@code ./gradlew :benchmarks:loadTest -PloadTestArgs="--rate 500 --duration 60"}
+ */
+public final class LoadTest {
+
+  private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+  private LoadTest() {}
+
+  public static void main(String[] args) throws Exception {
+    if (Arrays.asList(args).contains("--help")) {
+      System.out.print(LoadTestOptions.USAGE);
+      return;
+    }
+    LoadTestOptions options;
+    try {
+      options = LoadTestOptions.parse(args);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.print(LoadTestOptions.USAGE);
+      System.exit(2);
+      return;
+    }
+
+    KeyPair merchantKeyPair = generateKeyPair();
+    FaultProfile.Builder faultProfile = new FaultProfile.Builder().errorRate(options.errorRate);
+    if (options.maxLatencyMs > 0) {
+      faultProfile.latency(options.minLatencyMs, options.maxLatencyMs);
+    }
+    JsonArray results = new JsonArray();
+    try (MockWechatPayServer server =
+        new MockWechatPayServer.Builder()
+            .apiV3Key(Workload.API_V3_KEY)
+            .merchantPublicKey(merchantKeyPair.getPublic())
+            .billRows(options.billRows)
+            .faultProfile(faultProfile.build())
+            .build()) {
+      server.start();
+      System.out.printf(
+          "rate=%d/s duration=%ds warmup=%ds threads=%d mix=%s server=%s%n",
+          options.rate,
+          options.durationSeconds,
+          options.warmupSeconds,
+          options.threads,
+          options.mix,
+          server.getFaultProfile());
+      for (AdapterType adapter : options.adapters) {
+        try (Workload workload = new Workload(server, adapter, merchantKeyPair)) {
+          OpenLoopRunner runner = new OpenLoopRunner(workload, options);
+          if (options.warmupSeconds > 0) {
+            System.out.printf(
+                "%n[%s] warming up for %ds%n", adapter.getKey(), options.warmupSeconds);
+            runner.run(options.warmupSeconds);
+          }
+          System.out.printf("[%s] measuring for %ds%n", adapter.getKey(), options.durationSeconds);
+          Result result = runner.run(options.durationSeconds);
+          print(adapter, result);
+          results.add(toJson(adapter, options, result));
+        }
+      }
+    }
+
+    if (options.output != null) {
+      Path path = Paths.get(options.output);
+      if (path.getParent() != null) {
+        Files.createDirectories(path.getParent());
+      }
+      try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+        new GsonBuilder().setPrettyPrinting().create().toJson(results, writer);
+      }
+      System.out.printf("%nresults written to %s%n", path.toAbsolutePath());
+    }
+  }
+
+  private static void print(AdapterType adapter, Result result) {
+    double elapsedSeconds = result.elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+    long count = result.responseTime.getTotalCount();
+    System.out.printf(
+        "[%s] %d requests in %.1fs, %.1f req/s, max queue depth %d%n",
+        adapter.getKey(), count, elapsedSeconds, count / elapsedSeconds, result.maxQueueDepth);
+    System.out.printf(
+        "%-13s %8s %7s %9s %9s %9s %9s %9s %10s %10s %9s%n",
+        "operation",
+        "count",
+        "errors",
+        "p50(ms)",
+        "p90(ms)",
+        "p99(ms)",
+        "p99.9(ms)",
+        "max(ms)",
+        "svc99(ms)",
+        "cpu(us/op)",
+        "alloc(KB)");
+    long totalErrors = 0;
+    long totalCpuNanos = 0;
+    long totalAllocatedBytes = 0;
+    for (OperationStats stats : result.operations.values()) {
+      long operationCount = stats.responseTime.getTotalCount();
+      long errors = stats.errors.sum();
+      totalErrors += errors;
+      totalCpuNanos += stats.cpuNanos.sum();
+      totalAllocatedBytes += stats.allocatedBytes.sum();
+      printRow(
+          stats.operation.getKey(),
+          stats.responseTime,
+          errors,
+          stats.serviceTime.getMillisAtPercentile(99),
+          perOperation(stats.cpuNanos.sum(), operationCount) / 1_000,
+          perOperation(stats.allocatedBytes.sum(), operationCount) / 1_024);
+      if (stats.lastError != null) {
+        System.out.printf("  last error: %s%n", stats.lastError);
+      }
+    }
+    printRow(
+        "total",
+        result.responseTime,
+        totalErrors,
+        Double.NaN,
+        perOperation(totalCpuNanos, count) / 1_000,
+        perOperation(totalAllocatedBytes, count) / 1_024);
+    System.out.printf(
+        "allocation rate %.1f MB/s, gc %d times %d ms, process cpu %.1f%% of one core"
+            + " (including mock server)%n",
+        totalAllocatedBytes / elapsedSeconds / (1_024 * 1_024),
+        result.gcCount,
+        result.gcTimeMs,
+        result.processCpuNanos / (double) result.elapsedNanos * 100);
+  }
+
+  private static void printRow(
+      String name,
+      LatencyHistogram histogram,
+      long errors,
+      double serviceP99,
+      double cpuMicros,
+      double allocatedKb) {
+    System.out.printf(
+        "%-13s %8d %7d %9.2f %9.2f %9.2f %9.2f %9.2f %10s %10.1f %9.1f%n",
+        name,
+        histogram.getTotalCount(),
+        errors,
+        histogram.getMillisAtPercentile(50),
+        histogram.getMillisAtPercentile(90),
+        histogram.getMillisAtPercentile(99),
+        histogram.getMillisAtPercentile(99.9),
+        histogram.getMax() / 1e6,
+        Double.isNaN(serviceP99) ? "-" : String.format("%.2f", serviceP99),
+        cpuMicros,
+        allocatedKb);
+  }
+
+  private static JsonObject toJson(AdapterType adapter, LoadTestOptions options, Result result) {
+    JsonObject json = new JsonObject();
+    json.addProperty("adapter", adapter.getKey());
+    json.addProperty("rate", options.rate);
+    json.addProperty("threads", options.threads);
+    json.addProperty("durationSeconds", options.durationSeconds);
+    json.addProperty("elapsedNanos", result.elapsedNanos);
+    json.addProperty("maxQueueDepth", result.maxQueueDepth);
+    json.addProperty("gcCount", result.gcCount);
+    json.addProperty("gcTimeMs", result.gcTimeMs);
+    json.addProperty("processCpuNanos", result.processCpuNanos);
+    json.add("responseTime", toJson(result.responseTime));
+    JsonObject operations = new JsonObject();
+    for (OperationStats stats : result.operations.values()) {
+      long count = stats.responseTime.getTotalCount();
+      JsonObject operation = new JsonObject();
+      operation.addProperty("count", count);
+      operation.addProperty("errors", stats.errors.sum());
+      operation.addProperty("cpuNanosPerOp", perOperation(stats.cpuNanos.sum(), count));
+      operation.addProperty("allocatedBytesPerOp", perOperation(stats.allocatedBytes.sum(), count));
+      operation.add("responseTime", toJson(stats.responseTime));
+      operation.add("serviceTime", toJson(stats.serviceTime));
+      operations.add(stats.operation.getKey(), operation);
+    }
+    json.add("operations", operations);
+    return json;
+  }
+
+  private static JsonObject toJson(LatencyHistogram histogram) {
+    JsonObject json = new JsonObject();
+    json.addProperty("count", histogram.getTotalCount());
+    json.addProperty("meanNanos", histogram.getMean());
+    for (double percentile : PERCENTILES) {
+      String name = BigDecimal.valueOf(percentile).stripTrailingZeros().toPlainString();
+      json.addProperty("p" + name + "Nanos", histogram.getValueAtPercentile(percentile));
+    }
+    json.addProperty("maxNanos", histogram.getMax());
+    return json;
+  }
+
+  private static double perOperation(long total, long count) {
+    return count == 0 ? 0 : (double) total / count;
+  }
+
+  private static KeyPair generateKeyPair() {
+    try {
+      KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+      generator.initialize(2048);
+      return generator.generateKeyPair();
+    } catch (NoSuchAlgorithmException e) {
+      throw new UnsupportedOperationException(e);
+    }
+  }
+}
@@ -0,0 +1,183 @@
+package com.wechat.pay.java.benchmarks.loadtest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/** 부하 테스트 명령행 옵션 */
+final class LoadTestOptions {
+
+  static final String USAGE =
+      "Usage: LoadTest [options]\n"
+          + "  --rate <n>            초당 요청 도착 수 (기본값 200)\n"
+          + "  --duration <s>        측정 시간(초) (기본값 30)\n"
+          + "  --warmup <s>          측정 전 워밍업 시간(초) (기본값 10)\n"
+          + "  --threads <n>         요청을 실행하는 스레드 수 (기본값 64)\n"
+          + "  --adapter <name>      okhttp, apache 또는 all (기본값 all)\n"
+          + "  --mix <spec>          작업 비중, 예:"
+          + " prepay=30,query=40,refund=10,notification=15,bill=5\n"
+          + "  --latency <ms|a-b>    모의 서버의 응답 지연(밀리초) (기본값 0)\n"
+          + "  --error-rate <r>      모의 서버의 오류 주입 비율, 0~1 (기본값 0)\n"
+          + "  --bill-rows <n>       모의 거래 청구서의 행 수 (기본값 1000)\n"
+          + "  --seed <n>            작업 선택 난수 시드 (기본값 42)\n"
+          + "  --output <file>       결과를 JSON으로 저장할 파일\n";
+
+  int rate = 200;
+  int durationSeconds = 30;
+  int warmupSeconds = 10;
+  int threads = 64;
+  List<AdapterType> adapters = Arrays.asList(AdapterType.values());
+  Map<Operation, Integer> mix = defaultMix();
+  long minLatencyMs;
+  long maxLatencyMs;
+  double errorRate;
+  int billRows = 1000;
+  long seed = 42;
+  String output;
+
+  /** 부하 테스트 대상 HTTP 클라이언트 */
+  enum AdapterType {
+    OKHTTP("okhttp"),
+    APACHE("apache");
+
+    private final String key;
+
+    AdapterType(String key) {
+      this.key = key;
+    }
+
+    String getKey() {
+      return key;
+    }
+  }
+
+  /**
+   * 명령행 인자 해석. "--name value"와 "--name=value" 형식을 모두 허용함
+   *
+   * @param args 명령행 인자
+   * @return 해석한 옵션
+   * @throws IllegalArgumentException 알 수 없는 옵션이거나 값이 올바르지 않은 경우
+   */
+  static LoadTestOptions parse(String[] args) {
+    LoadTestOptions options = new LoadTestOptions();
+    for (int i = 0; i < args.length; i++) {
+      String name = args[i];
+      String value;
+      int separator = name.indexOf('=');
+      if (separator > 0) {
+        value = name.substring(separator + 1);
+        name = name.substring(0, separator);
+      } else if (i + 1 < args.length) {
+        value = args[++i];
+      } else {
+        throw new IllegalArgumentException("Missing value for option: " + name);
+      }
+      options.set(name, value);
+    }
+    return options;
+  }
+
+  private void set(String name, String value) {
+    switch (name) {
+      case "--rate":
+        rate = positive(name, Integer.parseInt(value));
+        break;
+      case "--duration":
+        durationSeconds = positive(name, Integer.parseInt(value));
+        break;
+      case "--warmup":
+        warmupSeconds = Integer.parseInt(value);
+        if (warmupSeconds < 0) {
+          throw new IllegalArgumentException("--warmup must not be negative");
+        }
+        break;
+      case "--threads":
+        threads = positive(name, Integer.parseInt(value));
+        break;
+      case "--adapter":
+        adapters = parseAdapters(value);
+        break;
+      case "--mix":
+        mix = parseMix(value);
+        break;
+      case "--latency":
+        int dash = value.indexOf('-');
+        if (dash > 0) {
+          minLatencyMs = Long.parseLong(value.substring(0, dash));
+          maxLatencyMs = Long.parseLong(value.substring(dash + 1));
+        } else {
+          minLatencyMs = Long.parseLong(value);
+          maxLatencyMs = minLatencyMs;
+        }
+        break;
+      case "--error-rate":
+        errorRate = Double.parseDouble(value);
+        break;
+      case "--bill-rows":
+        billRows = positive(name, Integer.parseInt(value));
+        break;
+      case "--seed":
+        seed = Long.parseLong(value);
+        break;
+      case "--output":
+        output = value;
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown option: " + name);
+    }
+  }
+
+  private static int positive(String name, int value) {
+    if (value <= 0) {
+      throw new IllegalArgumentException(name + " must be positive");
+    }
+    return value;
+  }
+
+  private static List<AdapterType> parseAdapters(String value) {
+    if ("all".equals(value)) {
+      return Arrays.asList(AdapterType.values());
+    }
+    for (AdapterType adapter : AdapterType.values()) {
+      if (adapter.key.equals(value)) {
+        return Collections.singletonList(adapter);
+      }
+    }
+    throw new IllegalArgumentException("Unknown adapter: " + value);
+  }
+
+  private static Map<Operation, Integer> parseMix(String value) {
+    Map<Operation, Integer> result = new EnumMap<>(Operation.class);
+    int total = 0;
+    for (String entry : value.split(",")) {
+      String[] pair = entry.trim().split("=");
+      if (pair.length != 2) {
+        throw new IllegalArgumentException("Invalid mix entry: " + entry);
+      }
+      int weight = Integer.parseInt(pair[1].trim());
+      if (weight < 0) {
+        throw new IllegalArgumentException("Mix weight must not be negative: " + entry);
+      }
+      if (weight > 0) {
+        result.put(Operation.fromKey(pair[0].trim()), weight);
+        total += weight;
+      }
+    }
+    if (total == 0) {
+      throw new IllegalArgumentException("Mix must contain at least one positive weight");
+    }
+    return result;
+  }
+
+  private static Map<Operation, Integer> defaultMix() {
+    Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+    mix.put(Operation.PREPAY, 30);
+    mix.put(Operation.QUERY_ORDER, 40);
+    mix.put(Operation.REFUND, 10);
+    mix.put(Operation.NOTIFICATION, 15);
+    mix.put(Operation.BILL_DOWNLOAD, 5);
+    return mix;
+  }
+}
@@ -0,0 +1,221 @@
+package com.wechat.pay.java.benchmarks.loadtest;
+
+import com.wechat.pay.java.core.exception.ServiceException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 고정 도착률(open-loop) 부하 발생기. 요청은 이전 요청의 완료와 관계없이 1/rate 간격의 예정 시각에 도착하며, 응답 시간은 실제 시작 시각이 아니라 예정
+ * 시각부터 측정함. 실행 스레드가 모두 바쁘면 요청은 큐에서 기다리고 그 대기 시간도 응답 시간에 포함되므로, 느린 응답이 뒤따르는 요청의 발생을 늦춰 지연 분포가 실제보다
+ * 좋게 보이는 coordinated omission이 생기지 않음
+ *
+ * <p>요청당 CPU 시간과 할당량은 요청을 실행한 스레드에서만 측정하므로, 같은 프로세스에서 돌아가는 모의 서버의 비용은 포함되지 않음. OkHttp와 Apache
+ * HttpClient 모두 동기 호출은 호출 스레드에서 직렬화, 서명, 전송, 응답 검증을 수행함
+ */
+final class OpenLoopRunner {
+
+  private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+  private static final com.sun.management.ThreadMXBean HOTSPOT_THREAD_MX_BEAN =
+      THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean
+          ? (com.sun.management.ThreadMXBean) THREAD_MX_BEAN
+          : null;
+
+  private final Workload workload;
+  private final int rate;
+  private final int threads;
+  private final Operation[] operations;
+  private final int[] cumulativeWeights;
+  private final SplittableRandom random;
+
+  OpenLoopRunner(Workload workload, LoadTestOptions options) {
+    this.workload = workload;
+    this.rate = options.rate;
+    this.threads = options.threads;
+    this.operations = options.mix.keySet().toArray(new Operation[0]);
+    this.cumulativeWeights = new int[operations.length];
+    int total = 0;
+    for (int i = 0; i < operations.length; i++) {
+      total += options.mix.get(operations[i]);
+      cumulativeWeights[i] = total;
+    }
+    this.random = new SplittableRandom(options.seed);
+  }
+
+  /**
+   * 지정한 시간 동안 부하 발생. 예정 시각이 구간 안에 있는 요청이 모두 끝날 때까지 기다림
+   *
+   * @param durationSeconds 요청을 발생시키는 시간(초)
+   * @return 구간의 측정 결과
+   * @throws InterruptedException 기다리는 중 인터럽트된 경우
+   */
+  Result run(int durationSeconds) throws InterruptedException {
+    Result result = new Result(operations);
+    AtomicInteger threadNumber = new AtomicInteger();
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "loadtest-worker-" + threadNumber.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    executor.prestartAllCoreThreads();
+
+    long gcCount = 0;
+    long gcTimeMs = 0;
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      gcCount -= gc.getCollectionCount();
+      gcTimeMs -= gc.getCollectionTime();
+    }
+    long processCpuNanos = -processCpuTime();
+
+    double intervalNanos = TimeUnit.SECONDS.toNanos(1) / (double) rate;
+    long scheduled = (long) durationSeconds * rate;
+    long start = System.nanoTime();
+    for (long i = 0; i < scheduled; i++) {
+      long intendedStart = start + (long) (i * intervalNanos);
+      long wait;
+      while ((wait = intendedStart - System.nanoTime()) > 0) {
+        LockSupport.parkNanos(wait);
+      }
+      Operation operation = nextOperation();
+      executor.execute(() -> execute(result, result.get(operation), intendedStart));
+      result.maxQueueDepth = Math.max(result.maxQueueDepth, executor.getQueue().size());
+    }
+    executor.shutdown();
+    while (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+      System.err.printf("waiting for %d queued requests%n", executor.getQueue().size());
+    }
+    result.elapsedNanos = System.nanoTime() - start;
+
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      gcCount += gc.getCollectionCount();
+      gcTimeMs += gc.getCollectionTime();
+    }
+    result.gcCount = gcCount;
+    result.gcTimeMs = gcTimeMs;
+    result.processCpuNanos = processCpuNanos + processCpuTime();
+    return result;
+  }
+
+  private Operation nextOperation() {
+    int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+    for (int i = 0; i < cumulativeWeights.length; i++) {
+      if (value < cumulativeWeights[i]) {
+        return operations[i];
+      }
+    }
+    throw new AssertionError();
+  }
+
+  private void execute(Result result, OperationStats stats, long intendedStart) {
+    long threadId = Thread.currentThread().getId();
+    long cpuBefore = threadCpuTime();
+    long allocatedBefore = threadAllocatedBytes(threadId);
+    long actualStart = System.nanoTime();
+    try {
+      workload.execute(stats.operation);
+    } catch (RuntimeException e) {
+      stats.errors.increment();
+      stats.lastError = describe(e);
+    }
+    long end = System.nanoTime();
+    stats.responseTime.record(end - intendedStart);
+    result.responseTime.record(end - intendedStart);
+    stats.serviceTime.record(end - actualStart);
+    stats.cpuNanos.add(threadCpuTime() - cpuBefore);
+    stats.allocatedBytes.add(threadAllocatedBytes(threadId) - allocatedBefore);
+  }
+
+  /** 요청과 응답 전문을 담은 예외 메시지 대신 오류를 한 줄로 요약 */
+  private static String describe(RuntimeException e) {
+    if (e instanceof ServiceException) {
+      ServiceException serviceException = (ServiceException) e;
+      return String.format(
+          "ServiceException[%d %s]",
+          serviceException.getHttpStatusCode(), serviceException.getErrorCode());
+    }
+    return e.getClass().getSimpleName() + "[" + e.getMessage() + "]";
+  }
+
+  private static long threadCpuTime() {
+    return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported()
+        ? THREAD_MX_BEAN.getCurrentThreadCpuTime()
+        : 0;
+  }
+
+  private static long threadAllocatedBytes(long threadId) {
+    return HOTSPOT_THREAD_MX_BEAN != null && HOTSPOT_THREAD_MX_BEAN.isThreadAllocatedMemoryEnabled()
+        ? HOTSPOT_THREAD_MX_BEAN.getThreadAllocatedBytes(threadId)
+        : 0;
+  }
+
+  private static long processCpuTime() {
+    java.lang.management.OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    return os instanceof com.sun.management.OperatingSystemMXBean
+        ? ((com.sun.management.OperatingSystemMXBean) os).getProcessCpuTime()
+        : 0;
+  }
+
+  /** 작업 한 종류의 측정값 */
+  static final class OperationStats {
+    final Operation operation;
+
+    /** 예정 시각부터 완료까지, 큐 대기 시간 포함 */
+    final LatencyHistogram responseTime = new LatencyHistogram();
+
+    /** 실행 스레드에서 시작한 시각부터 완료까지 */
+    final LatencyHistogram serviceTime = new LatencyHistogram();
+
+    final LongAdder errors = new LongAdder();
+    final LongAdder cpuNanos = new LongAdder();
+    final LongAdder allocatedBytes = new LongAdder();
+    volatile String lastError;
+
+    OperationStats(Operation operation) {
+      this.operation = operation;
+    }
+  }
+
+  /** 한 구간의 측정 결과 */
+  static final class Result {
+    final Map<Operation, OperationStats> operations = new EnumMap<>(Operation.class);
+
+    /** 모든 작업의 응답 시간 */
+    final LatencyHistogram responseTime = new LatencyHistogram();
+
+    long elapsedNanos;
+    long gcCount;
+    long gcTimeMs;
+
+    /** 모의 서버를 포함한 프로세스 전체의 CPU 시간 */
+    long processCpuNanos;
+
+    int maxQueueDepth;
+
+    Result(Operation[] operations) {
+      for (Operation operation : operations) {
+        this.operations.put(operation, new OperationStats(operation));
+      }
+    }
+
+    OperationStats get(Operation operation) {
+      return operations.get(operation);
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package com.wechat.pay.java.benchmarks.loadtest;
+
+/** 부하 테스트에서 호출하는 SDK 작업 */
+enum Operation {
+  /** JsapiService.prepay */
+  PREPAY("prepay"),
+  /** JsapiService.queryOrderByOutTradeNo */
+  QUERY_ORDER("query"),
+  /** RefundService.create */
+  REFUND("refund"),
+  /** NotificationParser.parse, 네트워크 요청 없이 서명 검증과 복호화만 수행 */
+  NOTIFICATION("notification"),
+  /** BillDownloadServiceExtension.readTradeBill 후 모든 행을 읽음 */
+  BILL_DOWNLOAD("bill");
+
+  private final String key;
+
+  Operation(String key) {
+    this.key = key;
+  }
+
+  /** 명령행 --mix 옵션과 결과에서 사용하는 이름 */
+  String getKey() {
+    return key;
+  }
+
+  static Operation fromKey(String key) {
+    for (Operation operation : values()) {
+      if (operation.key.equals(key)) {
+        return operation;
+      }
+    }
+    throw new IllegalArgumentException("Unknown operation: " + key);
+  }
+}
@@ -0,0 +1,184 @@
+package com.wechat.pay.java.benchmarks.loadtest;
+
+import com.wechat.pay.java.benchmarks.loadtest.LoadTestOptions.AdapterType;
+import com.wechat.pay.java.core.auth.WechatPay2Credential;
+import com.wechat.pay.java.core.auth.WechatPay2Validator;
+import com.wechat.pay.java.core.cipher.RSAPrivacyDecryptor;
+import com.wechat.pay.java.core.cipher.RSASigner;
+import com.wechat.pay.java.core.cipher.RSAVerifier;
+import com.wechat.pay.java.core.http.ApacheHttpClientBuilder;
+import com.wechat.pay.java.core.http.DefaultHttpClientBuilder;
+import com.wechat.pay.java.core.http.HttpClient;
+import com.wechat.pay.java.core.notification.NotificationParser;
+import com.wechat.pay.java.core.notification.RSAPublicKeyNotificationConfig;
+import com.wechat.pay.java.core.notification.RequestParam;
+import com.wechat.pay.java.mockserver.MockWechatPayServer;
+import com.wechat.pay.java.service.billdownload.BillDownloadServiceExtension;
+import com.wechat.pay.java.service.billdownload.BillReader;
+import com.wechat.pay.java.service.billdownload.model.BillType;
+import com.wechat.pay.java.service.billdownload.model.GetTradeBillRequest;
+import com.wechat.pay.java.service.billdownload.model.TarType;
+import com.wechat.pay.java.service.payments.jsapi.JsapiService;
+import com.wechat.pay.java.service.payments.jsapi.model.Amount;
+import com.wechat.pay.java.service.payments.jsapi.model.Payer;
+import com.wechat.pay.java.service.payments.jsapi.model.PrepayRequest;
+import com.wechat.pay.java.service.payments.jsapi.model.QueryOrderByOutTradeNoRequest;
+import com.wechat.pay.java.service.payments.model.Transaction;
+import com.wechat.pay.java.service.refund.RefundService;
+import com.wechat.pay.java.service.refund.model.AmountReq;
+import com.wechat.pay.java.service.refund.model.CreateRequest;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.KeyPair;
+import java.util.concurrent.atomic.AtomicLong;
+import okhttp3.OkHttpClient;
+import org.apache.http.impl.client.CloseableHttpClient;
+
+/** 한 HTTP 클라이언트로 구성한 서비스들과, 작업 하나를 실행하는 방법 */
+final class Workload implements Closeable {
+
+  static final String MERCHANT_ID = "1900000001";
+  static final String MERCHANT_SERIAL_NUMBER = "5157F09EFDC096DE15EBE81A47057A7232F1B8E1";
+  static final String API_V3_KEY = "a7cde1ZJB1kG2e7VfTs3jQzaWizur8Gb";
+
+  private static final String APP_ID = "wxd678efh567hg6787";
+  private static final String OPEN_ID = "oUpF8uMuAJO_M2pxb1Q9zNjWeS6o";
+  private static final String NOTIFY_URL = "https://example.com/notify";
+
+  /** 알림 생성은 모의 서버 쪽 비용이므로 미리 만들어 두고 돌려가며 사용 */
+  private static final int NOTIFICATION_POOL_SIZE = 256;
+
+  private final JsapiService jsapiService;
+  private final RefundService refundService;
+  private final BillDownloadServiceExtension billDownloadService;
+  private final NotificationParser notificationParser;
+  private final RequestParam[] notifications = new RequestParam[NOTIFICATION_POOL_SIZE];
+  private final AtomicLong sequence = new AtomicLong();
+  private final String orderPrefix;
+  private final Closeable connections;
+
+  Workload(MockWechatPayServer server, AdapterType adapter, KeyPair merchantKeyPair) {
+    WechatPay2Credential credential =
+        new WechatPay2Credential(
+            MERCHANT_ID, new RSASigner(MERCHANT_SERIAL_NUMBER, merchantKeyPair.getPrivate()));
+    WechatPay2Validator validator =
+        new WechatPay2Validator(
+            new RSAVerifier(server.getPlatformPublicKey(), server.getPlatformSerialNumber()));
+    HttpClient httpClient;
+    if (adapter == AdapterType.OKHTTP) {
+      OkHttpClient okHttpClient = server.newOkHttpClient();
+      httpClient =
+          new DefaultHttpClientBuilder()
+              .credential(credential)
+              .validator(validator)
+              .okHttpClient(okHttpClient)
+              .build();
+      connections =
+          () -> {
+            okHttpClient.dispatcher().executorService().shutdown();
+            okHttpClient.connectionPool().evictAll();
+          };
+    } else {
+      CloseableHttpClient apacheHttpClient = server.newApacheHttpClient();
+      httpClient =
+          new ApacheHttpClientBuilder()
+              .credential(credential)
+              .validator(validator)
+              .apacheHttpClient(apacheHttpClient)
+              .build();
+      connections = apacheHttpClient;
+    }
+    jsapiService = new JsapiService.Builder().httpClient(httpClient).build();
+    refundService = new RefundService.Builder().httpClient(httpClient).build();
+    billDownloadService =
+        new BillDownloadServiceExtension.Builder()
+            .httpClient(httpClient)
+            .decryptor(new RSAPrivacyDecryptor(merchantKeyPair.getPrivate()))
+            .build();
+    notificationParser =
+        new NotificationParser(
+            new RSAPublicKeyNotificationConfig.Builder()
+                .publicKey(server.getPlatformPublicKey())
+                .publicKeyId(server.getPlatformSerialNumber())
+                .apiV3Key(API_V3_KEY)
+                .build());
+    orderPrefix = "LT" + adapter.getKey().toUpperCase() + System.currentTimeMillis();
+    for (int i = 0; i < notifications.length; i++) {
+      notifications[i] = server.createTransactionNotification(MERCHANT_ID, orderPrefix + "N" + i);
+    }
+  }
+
+  /**
+   * 작업 한 번 실행. 실패하면 SDK가 던진 예외를 그대로 전달함
+   *
+   * @param operation 실행할 작업
+   */
+  void execute(Operation operation) {
+    long seq = sequence.incrementAndGet();
+    switch (operation) {
+      case PREPAY:
+        jsapiService.prepay(prepayRequest(orderPrefix + seq));
+        break;
+      case QUERY_ORDER:
+        QueryOrderByOutTradeNoRequest queryRequest = new QueryOrderByOutTradeNoRequest();
+        queryRequest.setMchid(MERCHANT_ID);
+        queryRequest.setOutTradeNo(orderPrefix + seq);
+        jsapiService.queryOrderByOutTradeNo(queryRequest);
+        break;
+      case REFUND:
+        refundService.create(refundRequest(orderPrefix + seq));
+        break;
+      case NOTIFICATION:
+        notificationParser.parse(
+            notifications[(int) (seq % notifications.length)], Transaction.class);
+        break;
+      case BILL_DOWNLOAD:
+        GetTradeBillRequest billRequest = new GetTradeBillRequest();
+        billRequest.setBillDate("2024-10-18");
+        billRequest.setBillType(BillType.ALL);
+        billRequest.setTarType(TarType.GZIP);
+        try (BillReader reader = billDownloadService.readTradeBill(billRequest)) {
+          reader.stream().count();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported operation: " + operation);
+    }
+  }
+
+  private static PrepayRequest prepayRequest(String outTradeNo) {
+    PrepayRequest request = new PrepayRequest();
+    request.setAppid(APP_ID);
+    request.setMchid(MERCHANT_ID);
+    request.setDescription("压测商品");
+    request.setOutTradeNo(outTradeNo);
+    request.setNotifyUrl(NOTIFY_URL);
+    Amount amount = new Amount();
+    amount.setTotal(100);
+    request.setAmount(amount);
+    Payer payer = new Payer();
+    payer.setOpenid(OPEN_ID);
+    request.setPayer(payer);
+    return request;
+  }
+
+  private static CreateRequest refundRequest(String outTradeNo) {
+    CreateRequest request = new CreateRequest();
+    request.setOutTradeNo(outTradeNo);
+    request.setOutRefundNo(outTradeNo + "R");
+    AmountReq amount = new AmountReq();
+    amount.setRefund(30L);
+    amount.setTotal(100L);
+    amount.setCurrency("CNY");
+    request.setAmount(amount);
+    return request;
+  }
+
+  @Override
+  public void close() throws IOException {
+    connections.close();
+  }
+}
@@ -5,6 +5,7 @@ import static com.wechat.pay.java.core.notification.Constant.RSA_SIGN_TYPE;
 import static java.util.Objects.requireNonNull;
 
 import com.wechat.pay.java.core.certificate.CertificateProvider;
+import com.wechat.pay.java.core.certificate.CertificateSnapshotStore;
 import com.wechat.pay.java.core.certificate.RSAAutoCertificateProvider;
 import com.wechat.pay.java.core.cipher.*;
 import com.wechat.pay.java.core.http.AbstractHttpClientBuilder;
@@ -17,7 +18,7 @@ import java.nio.charset.StandardCharsets;
  * AutoCertificateService에 등록하거나 업데이트합니다. 다운로드가 실패하면 예외가 발생합니다. 성능 향상을 위해 설정 클래스를 전역 변수로 사용하여 불필요한 인증서 다운로드를 줄이고 리소스 낭비를 방지하는 것을 권장합니다
  */
 public final class RSAAutoCertificateConfig extends AbstractRSAConfig
-    implements NotificationConfig {
+    implements NotificationConfig, AutoCloseable {
 
   private final CertificateProvider certificateProvider;
   private final AeadCipher aeadCipher;
@@ -72,11 +73,21 @@ public final class RSAAutoCertificateConfig extends AbstractRSAConfig
     return aeadCipher;
   }
 
+  /** 플랫폼 인증서 자동 업데이트 등록 해제, 설정을 더 이상 사용하지 않을 때 호출 */
+  @Override
+  public void close() {
+    if (certificateProvider instanceof RSAAutoCertificateProvider) {
+      ((RSAAutoCertificateProvider) certificateProvider).close();
+    }
+  }
+
   public static class Builder extends AbstractRSAConfigBuilder<Builder> {
     protected HttpClient httpClient;
     protected byte[] apiV3Key;
     protected CertificateProvider certificateProvider;
     protected AbstractHttpClientBuilder<?> httpClientBuilder;
+    protected CertificateSnapshotStore certificateSnapshotStore;
+    protected boolean asyncRegister;
 
     public Builder apiV3Key(String apiV3Key) {
       this.apiV3Key = apiV3Key.getBytes(StandardCharsets.UTF_8);
@@ -93,6 +104,29 @@ public final class RSAAutoCertificateConfig extends AbstractRSAConfig
       return this;
     }
 
+    /**
+     * 인증서 스냅샷 저장소 설정, 선택 사항. 스냅샷이 있으면 build()가 인증서 다운로드를 기다리지 않음
+     *
+     * @param certificateSnapshotStore 인증서 스냅샷 저장소
+     * @return Builder
+     */
+    public Builder certificateSnapshotStore(CertificateSnapshotStore certificateSnapshotStore) {
+      this.certificateSnapshotStore = certificateSnapshotStore;
+      return this;
+    }
+
+    /**
+     * 스냅샷이 없을 때 인증서를 백그라운드에서 다운로드하도록 설정, 기본값은 false. 첫 다운로드가 끝나기 전에 플랫폼 인증서가 필요한 요청은 최대 10초 기다리며, 그
+     * 안에 다운로드하지 못하면 IllegalStateException이 발생함
+     *
+     * @param asyncRegister 비동기 다운로드 여부
+     * @return Builder
+     */
+    public Builder asyncRegister(boolean asyncRegister) {
+      this.asyncRegister = asyncRegister;
+      return this;
+    }
+
     @Override
     protected Builder self() {
       return this;
@@ -104,7 +138,9 @@ public final class RSAAutoCertificateConfig extends AbstractRSAConfig
               .merchantId(requireNonNull(merchantId))
               .apiV3Key(requireNonNull(apiV3Key))
               .privateKey(requireNonNull(privateKey))
-              .merchantSerialNumber(requireNonNull(merchantSerialNumber));
+              .merchantSerialNumber(requireNonNull(merchantSerialNumber))
+              .certificateSnapshotStore(certificateSnapshotStore)
+              .asyncRegister(asyncRegister);
 
       if (httpClient != null) {
         providerBuilder.httpClient(httpClient);
@@ -1,6 +1,7 @@
 package com.wechat.pay.java.core.auth;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 
 /** 인증 자격 증명 생성기 */
 public interface Credential {
@@ -28,4 +29,18 @@ public interface Credential {
    * @return 인증 정보
    */
   String getAuthorization(URI uri, String httpMethod, String signBody);
+
+  /**
+   * UTF-8로 인코딩된 요청 본문으로 인증 정보 가져오기. 기본 구현은 요청 본문을 문자열로 디코딩한 뒤 {@link #getAuthorization(URI, String,
+   * String)}을 호출함
+   *
+   * @param uri 요청 uri
+   * @param httpMethod HTTP 메서드, GET, POST 등
+   * @param signBody 서명에 사용되는 UTF-8 요청 본문, 없으면 null
+   * @return 인증 정보
+   */
+  default String getAuthorization(URI uri, String httpMethod, byte[] signBody) {
+    return getAuthorization(
+        uri, httpMethod, signBody == null ? null : new String(signBody, StandardCharsets.UTF_8));
+  }
 }
@@ -1,6 +1,7 @@
 package com.wechat.pay.java.core.auth;
 
 import com.wechat.pay.java.core.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
 
 /** 검증기 */
 public interface Validator {
@@ -15,5 +16,18 @@ public interface Validator {
    */
   <T> boolean validate(HttpHeaders responseHeaders, String body);
 
+  /**
+   * 바이트로 읽은 응답이 유효한지 검증. 기본 구현은 응답 본문을 UTF-8 문자열로 디코딩한 뒤 {@link #validate(HttpHeaders, String)}를
+   * 호출함
+   *
+   * @param responseHeaders HTTP 응답 헤더
+   * @param body UTF-8로 인코딩된 HTTP 응답 본문, 없으면 null
+   * @return 응답이 유효한지 여부
+   */
+  default boolean validate(HttpHeaders responseHeaders, byte[] body) {
+    return validate(
+        responseHeaders, body == null ? null : new String(body, StandardCharsets.UTF_8));
+  }
+
   <T> String getSerialNumber();
 }
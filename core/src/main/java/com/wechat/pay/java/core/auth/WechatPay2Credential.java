@@ -4,9 +4,13 @@ import static java.util.Objects.requireNonNull;
 
 import com.wechat.pay.java.core.cipher.SignatureResult;
 import com.wechat.pay.java.core.cipher.Signer;
+import com.wechat.pay.java.core.util.InstancePool;
 import com.wechat.pay.java.core.util.NonceUtil;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.Arrays;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,12 +21,24 @@ public final class WechatPay2Credential implements Credential {
 
   private static final int NONCE_LENGTH = 32;
   public static final String SCHEMA_PREFIX = "WECHATPAY2-";
+  private static final byte[] EMPTY_BODY = new byte[0];
+  private static final byte[] LINE_FEED = {'\n'};
+  // timestamp, serial_no, signature 항목의 고정 문자열과 timestamp 자릿수를 합한 길이보다 넉넉하게 잡음
+  private static final int TOKEN_OVERHEAD = 64;
+  // 서명 정보의 앞부분(HTTP 메서드, URL, 타임스탬프, nonce)을 재사용하는 버퍼에 씀
+  private static final InstancePool<MessageBuffer> MESSAGE_BUFFER =
+      new InstancePool<>(MessageBuffer::new);
   private final String merchantId;
   private final Signer signer;
+  private final String schema;
+  // 요청마다 바뀌지 않는 Authorization 앞부분, 예: WECHATPAY2-SHA256-RSA2048 mchid="...",nonce_str="
+  private final String authorizationPrefix;
 
   public WechatPay2Credential(String merchantId, Signer signer) {
     this.merchantId = requireNonNull(merchantId);
     this.signer = requireNonNull(signer);
+    this.schema = SCHEMA_PREFIX + signer.getAlgorithm();
+    this.authorizationPrefix = schema + " mchid=\"" + merchantId + "\",nonce_str=\"";
   }
 
   @Override
@@ -32,57 +48,154 @@ public final class WechatPay2Credential implements Credential {
 
   @Override
   public String getSchema() {
-    return SCHEMA_PREFIX + signer.getAlgorithm();
+    return schema;
   }
 
   @Override
   public String getAuthorization(URI uri, String httpMethod, String signBody) {
-    requireNonNull(uri);
-    requireNonNull(httpMethod);
-    return getSchema() + " " + getToken(uri, httpMethod, signBody);
+    return getAuthorization(
+        uri, httpMethod, signBody == null ? null : signBody.getBytes(StandardCharsets.UTF_8));
   }
 
-  private String getToken(URI uri, String httpMethod, String signBody) {
+  @Override
+  public String getAuthorization(URI uri, String httpMethod, byte[] signBody) {
+    requireNonNull(uri);
+    requireNonNull(httpMethod);
     String nonceStr = NonceUtil.createNonce(NONCE_LENGTH);
     long timestamp = Instant.now().getEpochSecond();
-    String message = buildMessage(nonceStr, timestamp, uri, httpMethod, signBody);
-    logger.debug("authorization message[{}]", message);
-    SignatureResult signature = signer.sign(message);
-    String token =
-        "mchid=\""
-            + getMerchantId()
-            + "\","
-            + "nonce_str=\""
-            + nonceStr
-            + "\","
-            + "timestamp=\""
-            + timestamp
-            + "\","
-            + "serial_no=\""
-            + signature.getCertificateSerialNumber()
-            + "\","
-            + "signature=\""
-            + signature.getSign()
-            + "\"";
-    logger.debug("The generated request signature information is[{}]", token);
-    return token;
+    MessageBuffer prefix = MESSAGE_BUFFER.acquire();
+    prefix.reset();
+    writeMessagePrefix(prefix, nonceStr, timestamp, uri, httpMethod);
+    byte[] body = signBody == null ? EMPTY_BODY : signBody;
+    if (logger.isDebugEnabled()) {
+      logger.debug(
+          "authorization message[{}{}\n]", prefix, new String(body, StandardCharsets.UTF_8));
+    }
+    // 요청 본문은 전송할 때와 같은 배열을 그대로 서명 엔진에 넣음
+    SignatureResult signature =
+        signer.sign(prefix.toByteBuffer(), ByteBuffer.wrap(body), ByteBuffer.wrap(LINE_FEED));
+    if (prefix.isOversized()) {
+      // 긴 URL 한 번으로 늘어난 버퍼를 계속 보관하지 않음
+      MESSAGE_BUFFER.discard(prefix);
+    } else {
+      MESSAGE_BUFFER.release(prefix);
+    }
+    return buildAuthorization(nonceStr, timestamp, signature);
   }
 
-  private String buildMessage(
-      String nonce, long timestamp, URI uri, String httpMethod, String signBody) {
-    String canonicalUrl = uri.getRawPath();
+  private String buildAuthorization(String nonceStr, long timestamp, SignatureResult signature) {
+    String serialNumber = signature.getCertificateSerialNumber();
+    String sign = signature.getSign();
+    StringBuilder authorization =
+        new StringBuilder(
+                authorizationPrefix.length()
+                    + nonceStr.length()
+                    + serialNumber.length()
+                    + sign.length()
+                    + TOKEN_OVERHEAD)
+            .append(authorizationPrefix)
+            .append(nonceStr)
+            .append("\",timestamp=\"")
+            .append(timestamp)
+            .append("\",serial_no=\"")
+            .append(serialNumber)
+            .append("\",signature=\"")
+            .append(sign)
+            .append('"');
+    if (logger.isDebugEnabled()) {
+      logger.debug(
+          "The generated request signature information is[{}]",
+          authorization.substring(schema.length() + 1));
+    }
+    return authorization.toString();
+  }
+
+  private static void writeMessagePrefix(
+      MessageBuffer buffer, String nonce, long timestamp, URI uri, String httpMethod) {
+    buffer.write(httpMethod);
+    buffer.write('\n');
+    buffer.write(uri.getRawPath());
     if (uri.getQuery() != null) {
-      canonicalUrl += "?" + uri.getRawQuery();
+      buffer.write('?');
+      buffer.write(uri.getRawQuery());
+    }
+    buffer.write('\n');
+    buffer.write(timestamp);
+    buffer.write('\n');
+    buffer.write(nonce);
+    buffer.write('\n');
+  }
+
+  /** 문자열을 UTF-8로 인코딩하여 쓰는 재사용 버퍼. 대부분 ASCII인 서명 정보를 중간 문자열 없이 바로 바이트로 씀 */
+  private static final class MessageBuffer {
+
+    private static final int INITIAL_SIZE = 256;
+    private static final int MAX_RETAINED_SIZE = 8 * 1024;
+
+    private byte[] buf = new byte[INITIAL_SIZE];
+    private int count;
+
+    void reset() {
+      count = 0;
+    }
+
+    void write(char c) {
+      ensureCapacity(count + 1);
+      buf[count++] = (byte) c;
+    }
+
+    void write(String value) {
+      int length = value.length();
+      ensureCapacity(count + length);
+      for (int i = 0; i < length; i++) {
+        char c = value.charAt(i);
+        if (c >= 0x80) {
+          // ASCII가 아닌 문자가 나오면 나머지는 String.getBytes로 인코딩함
+          byte[] rest = value.substring(i).getBytes(StandardCharsets.UTF_8);
+          ensureCapacity(count + rest.length);
+          System.arraycopy(rest, 0, buf, count, rest.length);
+          count += rest.length;
+          return;
+        }
+        buf[count++] = (byte) c;
+      }
+    }
+
+    void write(long value) {
+      if (value < 0) {
+        write(Long.toString(value));
+        return;
+      }
+      ensureCapacity(count + 20);
+      int start = count;
+      do {
+        buf[count++] = (byte) ('0' + value % 10);
+        value /= 10;
+      } while (value > 0);
+      for (int i = start, j = count - 1; i < j; i++, j--) {
+        byte digit = buf[i];
+        buf[i] = buf[j];
+        buf[j] = digit;
+      }
+    }
+
+    ByteBuffer toByteBuffer() {
+      return ByteBuffer.wrap(buf, 0, count);
+    }
+
+    boolean isOversized() {
+      return buf.length > MAX_RETAINED_SIZE;
+    }
+
+    private void ensureCapacity(int capacity) {
+      if (capacity > buf.length) {
+        buf = Arrays.copyOf(buf, Math.max(buf.length * 2, capacity));
+      }
+    }
+
+    @Override
+    public String toString() {
+      return new String(buf, 0, count, StandardCharsets.UTF_8);
     }
-    return httpMethod
-        + "\n"
-        + canonicalUrl
-        + "\n"
-        + timestamp
-        + "\n"
-        + nonce
-        + "\n"
-        + (signBody == null ? "" : signBody)
-        + "\n";
   }
 }
@@ -9,6 +9,7 @@ import static java.util.Objects.requireNonNull;
 
 import com.wechat.pay.java.core.cipher.Verifier;
 import com.wechat.pay.java.core.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
 import java.time.DateTimeException;
 import java.time.Duration;
 import java.time.Instant;
@@ -20,6 +21,8 @@ public final class WechatPay2Validator implements Validator {
 
   private static final Logger logger = LoggerFactory.getLogger(WechatPay2Validator.class);
   private static final int RESPONSE_EXPIRED_MINUTES = 5;
+  private static final byte[] EMPTY_BODY = new byte[0];
+  private static final byte[] LINE_FEED = {'\n'};
   private final Verifier verifier;
 
   public WechatPay2Validator(Verifier verifier) {
@@ -28,6 +31,48 @@ public final class WechatPay2Validator implements Validator {
 
   @Override
   public <T> boolean validate(HttpHeaders responseHeaders, String responseBody) {
+    String timestamp = checkTimestamp(responseHeaders);
+    String message =
+        timestamp
+            + "\n"
+            + responseHeaders.getHeader(WECHAT_PAY_NONCE)
+            + "\n"
+            + (responseBody == null ? "" : responseBody)
+            + "\n";
+    logger.debug("Message for verifying signatures is[{}]", message);
+    String serialNumber = responseHeaders.getHeader(WECHAT_PAY_SERIAL);
+    logger.debug("SerialNumber for verifying signatures is[{}]", serialNumber);
+    String signature = responseHeaders.getHeader(WECHAT_PAY_SIGNATURE);
+    logger.debug("Signature for verifying signatures is[{}]", signature);
+    return verifier.verify(serialNumber, message, signature);
+  }
+
+  @Override
+  public boolean validate(HttpHeaders responseHeaders, byte[] responseBody) {
+    String timestamp = checkTimestamp(responseHeaders);
+    String nonce = responseHeaders.getHeader(WECHAT_PAY_NONCE);
+    byte[] body = responseBody == null ? EMPTY_BODY : responseBody;
+    if (logger.isDebugEnabled()) {
+      logger.debug(
+          "Message for verifying signatures is[{}\n{}\n{}\n]",
+          timestamp,
+          nonce,
+          new String(body, StandardCharsets.UTF_8));
+    }
+    String serialNumber = responseHeaders.getHeader(WECHAT_PAY_SERIAL);
+    logger.debug("SerialNumber for verifying signatures is[{}]", serialNumber);
+    String signature = responseHeaders.getHeader(WECHAT_PAY_SIGNATURE);
+    logger.debug("Signature for verifying signatures is[{}]", signature);
+    // 응답 본문을 복사하지 않도록 timestamp, nonce, 본문을 차례로 서명 엔진에 넣음
+    return verifier.verify(
+        serialNumber,
+        signature,
+        (timestamp + "\n" + nonce + "\n").getBytes(StandardCharsets.UTF_8),
+        body,
+        LINE_FEED);
+  }
+
+  private static String checkTimestamp(HttpHeaders responseHeaders) {
     String timestamp = responseHeaders.getHeader(WECHAT_PAY_TIMESTAMP);
     try {
       Instant responseTime = Instant.ofEpochSecond(Long.parseLong(timestamp));
@@ -46,19 +91,7 @@ public final class WechatPay2Validator implements Validator {
               "Validate http response,timestamp[%s] of httpResponse is invalid, request-id[%s]",
               timestamp, responseHeaders.getHeader(REQUEST_ID)));
     }
-    String message =
-        timestamp
-            + "\n"
-            + responseHeaders.getHeader(WECHAT_PAY_NONCE)
-            + "\n"
-            + (responseBody == null ? "" : responseBody)
-            + "\n";
-    logger.debug("Message for verifying signatures is[{}]", message);
-    String serialNumber = responseHeaders.getHeader(WECHAT_PAY_SERIAL);
-    logger.debug("SerialNumber for verifying signatures is[{}]", serialNumber);
-    String signature = responseHeaders.getHeader(WECHAT_PAY_SIGNATURE);
-    logger.debug("Signature for verifying signatures is[{}]", signature);
-    return verifier.verify(serialNumber, message, signature);
+    return timestamp;
   }
 
   @Override
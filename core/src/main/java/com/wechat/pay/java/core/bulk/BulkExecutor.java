@@ -0,0 +1,272 @@
+package com.wechat.pay.java.core.bulk;
+
+import static java.util.Objects.requireNonNull;
+
+import com.wechat.pay.java.core.util.VirtualThreads;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 같은 API를 여러 요청으로 호출하는 대량 실행기. 동시에 진행 중인 요청 수와 초당 요청 수를 제한하며, 결과는 완료된 순서대로 {@link Stream}으로 반환함. 대사
+ * 작업처럼 주문 조회를 수만 건 호출하는 경우에 사용
+ *
+ * <pre>{@code
+ * BulkExecutor bulkExecutor = new BulkExecutor.Builder().permitsPerSecond(200).build();
+ * try (Stream<BulkResult<QueryOrderByOutTradeNoRequest, Transaction>> results =
+ *     bulkExecutor.executeAsync(requests, jsapiService::queryOrderByOutTradeNoAsync)) {
+ *   results.forEach(result -> ...);
+ * }
+ * }</pre>
+ *
+ * <p>다음 요청은 Stream에서 결과를 꺼낼 때 전송되므로, 소비가 느리면 전송도 그만큼 늦춰짐. 동기 메서드를 실행하면서 결과를 끝까지 소비하지 않는 경우 Stream을
+ * 닫아야 내부 스레드 풀이 종료됨
+ */
+public class BulkExecutor {
+
+  private static final int DEFAULT_MAX_CONCURRENCY = 5;
+
+  private final int maxConcurrency;
+  private final double permitsPerSecond;
+  private final Executor executor;
+  private final boolean virtualThreads;
+
+  private BulkExecutor(
+      int maxConcurrency, double permitsPerSecond, Executor executor, boolean virtualThreads) {
+    this.maxConcurrency = maxConcurrency;
+    this.permitsPerSecond = permitsPerSecond;
+    this.executor = executor;
+    this.virtualThreads = virtualThreads;
+  }
+
+  /**
+   * 비동기 서비스 메서드로 요청을 대량 실행. 예: {@code jsapiService::queryOrderByOutTradeNoAsync}
+   *
+   * @param requests 요청 목록
+   * @param call 요청 하나를 실행하는 비동기 메서드
+   * @param <R> 요청 타입
+   * @param <T> 응답 타입
+   * @return 완료된 순서대로 결과를 내보내는 Stream
+   */
+  public <R, T> Stream<BulkResult<R, T>> executeAsync(
+      Collection<? extends R> requests, Function<? super R, CompletableFuture<T>> call) {
+    requireNonNull(call);
+    return stream(new BulkIterator<>(new ArrayList<>(requests), call, null));
+  }
+
+  /**
+   * 동기 서비스 메서드로 요청을 대량 실행. 예: {@code profitsharingService::queryOrder}. 호출은 Builder에 설정한 executor에서
+   * 실행되며, 설정하지 않았으면 maxConcurrency 크기의 스레드 풀을 만들어 사용하고 Stream이 끝나거나 닫힐 때 종료함
+   *
+   * @param requests 요청 목록
+   * @param call 요청 하나를 실행하는 동기 메서드
+   * @param <R> 요청 타입
+   * @param <T> 응답 타입
+   * @return 완료된 순서대로 결과를 내보내는 Stream
+   */
+  public <R, T> Stream<BulkResult<R, T>> execute(
+      Collection<? extends R> requests, Function<? super R, ? extends T> call) {
+    requireNonNull(call);
+    ExecutorService ownedExecutor = executor == null ? newOwnedExecutor() : null;
+    Executor callExecutor = executor == null ? ownedExecutor : executor;
+    return stream(
+        new BulkIterator<R, T>(
+            new ArrayList<>(requests),
+            request -> CompletableFuture.supplyAsync(() -> call.apply(request), callExecutor),
+            ownedExecutor));
+  }
+
+  private <R, T> Stream<BulkResult<R, T>> stream(BulkIterator<R, T> iterator) {
+    // SIZED로 만들면 count() 등이 요청을 실행하지 않고 끝날 수 있으므로 크기를 알리지 않음
+    Spliterator<BulkResult<R, T>> spliterator =
+        Spliterators.spliteratorUnknownSize(iterator, Spliterator.NONNULL);
+    return StreamSupport.stream(spliterator, false).onClose(iterator::close);
+  }
+
+  private ExecutorService newOwnedExecutor() {
+    if (virtualThreads) {
+      // 동시 요청 수는 BulkIterator가 maxConcurrency로 제한하므로 작업마다 가상 스레드를 만들어도 됨
+      return VirtualThreads.newVirtualThreadPerTaskExecutor();
+    }
+    AtomicInteger threadNumber = new AtomicInteger();
+    return Executors.newFixedThreadPool(
+        maxConcurrency,
+        runnable -> {
+          Thread thread = new Thread(runnable, "wechatpay-bulk-" + threadNumber.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  private class BulkIterator<R, T> implements Iterator<BulkResult<R, T>> {
+
+    private final Iterator<? extends R> pending;
+    private final Function<? super R, CompletableFuture<T>> call;
+    private final ExecutorService ownedExecutor;
+    private final RateLimiter rateLimiter;
+    private final BlockingQueue<BulkResult<R, T>> completed = new LinkedBlockingQueue<>();
+    // 소비 스레드에서만 변경됨
+    private int inFlight;
+    private boolean closed;
+
+    BulkIterator(
+        Collection<? extends R> requests,
+        Function<? super R, CompletableFuture<T>> call,
+        ExecutorService ownedExecutor) {
+      this.pending = requests.iterator();
+      this.call = call;
+      this.ownedExecutor = ownedExecutor;
+      this.rateLimiter = permitsPerSecond > 0 ? new RateLimiter(permitsPerSecond) : null;
+    }
+
+    @Override
+    public boolean hasNext() {
+      boolean hasNext = inFlight > 0 || (!closed && pending.hasNext());
+      if (!hasNext) {
+        close();
+      }
+      return hasNext;
+    }
+
+    @Override
+    public BulkResult<R, T> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      try {
+        dispatch();
+        BulkResult<R, T> result = completed.take();
+        inFlight--;
+        return result;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        close();
+        throw new CompletionException(e);
+      }
+    }
+
+    private void dispatch() throws InterruptedException {
+      while (!closed && inFlight < maxConcurrency && pending.hasNext()) {
+        if (rateLimiter != null) {
+          rateLimiter.acquire();
+        }
+        R request = pending.next();
+        inFlight++;
+        CompletableFuture<T> future;
+        try {
+          future = call.apply(request);
+        } catch (RuntimeException e) {
+          // 요청 구성 단계의 예외도 결과로 전달
+          completed.add(BulkResult.failure(request, e));
+          continue;
+        }
+        future.whenComplete(
+            (response, throwable) ->
+                completed.add(
+                    throwable == null
+                        ? BulkResult.success(request, response)
+                        : BulkResult.failure(request, unwrap(throwable))));
+      }
+    }
+
+    void close() {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      if (ownedExecutor != null) {
+        ownedExecutor.shutdown();
+      }
+    }
+  }
+
+  private static Throwable unwrap(Throwable throwable) {
+    if ((throwable instanceof CompletionException || throwable instanceof ExecutionException)
+        && throwable.getCause() != null) {
+      return throwable.getCause();
+    }
+    return throwable;
+  }
+
+  public static class Builder {
+
+    private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+    private double permitsPerSecond;
+    private Executor executor;
+    private boolean virtualThreads;
+
+    /**
+     * 동시에 진행 중인 요청의 최대 수 설정, 선택 사항, 기본값은 5. 비동기 메서드는 OkHttp Dispatcher를 거치므로 5보다 크게 설정하려면 사용하는
+     * OkHttpClient의 Dispatcher maxRequestsPerHost도 함께 늘려야 함
+     *
+     * @param maxConcurrency 최대 동시 요청 수
+     * @return Builder
+     */
+    public Builder maxConcurrency(int maxConcurrency) {
+      this.maxConcurrency = maxConcurrency;
+      return this;
+    }
+
+    /**
+     * 초당 최대 요청 수 설정, 선택 사항, 기본값은 제한 없음
+     *
+     * @param permitsPerSecond 초당 최대 요청 수
+     * @return Builder
+     */
+    public Builder permitsPerSecond(double permitsPerSecond) {
+      this.permitsPerSecond = permitsPerSecond;
+      return this;
+    }
+
+    /**
+     * 동기 서비스 메서드를 실행할 executor 설정, 선택 사항
+     *
+     * @param executor executor
+     * @return Builder
+     */
+    public Builder executor(Executor executor) {
+      this.executor = executor;
+      return this;
+    }
+
+    /**
+     * 동기 서비스 메서드를 가상 스레드에서 실행할지 설정, 선택 사항, 기본값은 false. Java 21 이상에서만 사용할 수 있으며, {@link
+     * #executor(Executor)}를 설정하면 무시됨
+     *
+     * @param virtualThreads 가상 스레드 사용 여부
+     * @return Builder
+     */
+    public Builder virtualThreads(boolean virtualThreads) {
+      this.virtualThreads = virtualThreads;
+      return this;
+    }
+
+    public BulkExecutor build() {
+      if (maxConcurrency <= 0) {
+        throw new IllegalArgumentException("maxConcurrency must be positive.");
+      }
+      if (permitsPerSecond < 0) {
+        throw new IllegalArgumentException("permitsPerSecond must not be negative.");
+      }
+      if (virtualThreads && executor == null && !VirtualThreads.isSupported()) {
+        throw new UnsupportedOperationException("Virtual threads require Java 21 or later.");
+      }
+      return new BulkExecutor(maxConcurrency, permitsPerSecond, executor, virtualThreads);
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package com.wechat.pay.java.core.bulk;
+
+/**
+ * {@link BulkExecutor}로 실행한 요청 하나의 결과. 성공하면 응답을, 실패하면 예외를 담음
+ *
+ * @param <R> 요청 타입
+ * @param <T> 응답 타입
+ */
+public final class BulkResult<R, T> {
+
+  private final R request;
+  private final T response;
+  private final Throwable exception;
+
+  private BulkResult(R request, T response, Throwable exception) {
+    this.request = request;
+    this.response = response;
+    this.exception = exception;
+  }
+
+  static <R, T> BulkResult<R, T> success(R request, T response) {
+    return new BulkResult<>(request, response, null);
+  }
+
+  static <R, T> BulkResult<R, T> failure(R request, Throwable exception) {
+    return new BulkResult<>(request, null, exception);
+  }
+
+  public R getRequest() {
+    return request;
+  }
+
+  /**
+   * 응답. 실패한 요청이거나 응답 본문이 없는 API이면 null
+   *
+   * @return 응답
+   */
+  public T getResponse() {
+    return response;
+  }
+
+  /**
+   * 요청 실패 원인. HttpException, ServiceException 등 동기 호출에서 발생했을 예외와 같음
+   *
+   * @return 실패 원인, 성공이면 null
+   */
+  public Throwable getException() {
+    return exception;
+  }
+
+  public boolean isSuccess() {
+    return exception == null;
+  }
+
+  @Override
+  public String toString() {
+    return "BulkResult{"
+        + "request="
+        + request
+        + ", response="
+        + response
+        + ", exception="
+        + exception
+        + '}';
+  }
+}
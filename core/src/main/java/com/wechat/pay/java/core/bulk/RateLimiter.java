@@ -0,0 +1,29 @@
+package com.wechat.pay.java.core.bulk;
+
+import java.util.concurrent.TimeUnit;
+
+/** 요청 사이의 간격을 일정하게 유지하는 단순한 속도 제한기 */
+final class RateLimiter {
+
+  private final long intervalNanos;
+  private long nextFreeNanos;
+
+  RateLimiter(double permitsPerSecond) {
+    this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+    this.nextFreeNanos = System.nanoTime();
+  }
+
+  void acquire() throws InterruptedException {
+    long waitNanos = reserve(System.nanoTime());
+    if (waitNanos > 0) {
+      TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+  }
+
+  synchronized long reserve(long nowNanos) {
+    // 한동안 요청이 없었더라도 허용량을 쌓아 두지 않음
+    long start = Math.max(nextFreeNanos, nowNanos);
+    nextFreeNanos = start + intervalNanos;
+    return start - nowNanos;
+  }
+}
@@ -1,56 +1,96 @@
 package com.wechat.pay.java.core.certificate;
 
+import static java.util.Objects.requireNonNull;
+
+import com.wechat.pay.java.core.jfr.SdkEvents;
 import java.security.cert.X509Certificate;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** 정기적으로 인증서를 업데이트하는 서비스, 정적 함수로 구성된 유틸리티 클래스 */
+/**
+ * 정기적으로 인증서를 업데이트하는 서비스, 정적 함수로 구성된 유틸리티 클래스
+ *
+ * <p>가맹점마다 독립적으로 다음 갱신 시각을 예약하며, 갱신 주기에 무작위 지터를 적용하여 갱신 요청이 한꺼번에 몰리지 않도록 합니다. 실제 다운로드는 병렬도가 제한된 스레드
+ * 풀에서 실행되므로 느린 가맹점이 다른 가맹점의 갱신을 막지 않습니다. 사용 가능한 인증서의 만료가 {@value #EARLY_REFRESH_WINDOW_DAY}일 이내로
+ * 다가오면 갱신 주기를 줄이고, 갱신에 실패한 가맹점은 {@value #RETRY_BASE_DELAY_SECOND}초부터 갱신 주기까지 지수적으로 늘어나는 간격으로
+ * 재시도합니다.
+ */
 public class AutoCertificateService {
   private static final Logger log = LoggerFactory.getLogger(AutoCertificateService.class);
   protected static final int UPDATE_INTERVAL_MINUTE = 60;
+  protected static final int RETRY_BASE_DELAY_SECOND = 30;
+  protected static final int SNAPSHOT_REFRESH_MAX_DELAY_SECOND = 300;
+  protected static final int EARLY_REFRESH_WINDOW_DAY = 7;
+  protected static final int DEFAULT_REFRESH_PARALLELISM = 4;
+  private static final int EARLY_REFRESH_DIVISOR = 4;
+  private static final int MAX_BACKOFF_SHIFT = 16;
+  private static final double JITTER_RATIO = 0.1;
   private static final Duration defaultUpdateInterval = Duration.ofMinutes(UPDATE_INTERVAL_MINUTE);
-  private static final ConcurrentHashMap<String, Map<String, X509Certificate>> certificateMap =
+  // 가맹점별 인증서 스냅샷, 갱신 시 참조를 통째로 교체하므로 조회 측은 잠금 없이 읽음
+  private static final ConcurrentHashMap<String, CertificateSnapshot> certificateMap =
       new ConcurrentHashMap<>();
-  private static final ConcurrentHashMap<String, Runnable> downloadWorkerMap =
+  private static final ConcurrentHashMap<String, RefreshEntry> refreshEntryMap =
       new ConcurrentHashMap<>();
+  // 갱신 시각 예약만 담당하며, 다운로드는 refreshExecutor에서 실행
   private static final ScheduledThreadPoolExecutor serviceExecutor =
       new ScheduledThreadPoolExecutor(
-          1,
-          new ThreadFactory() {
-
-            private final AtomicInteger threadCount = new AtomicInteger(0);
-
-            @Override
-            public Thread newThread(Runnable r) {
-              Thread t =
-                  new Thread(r, "auto-certificate-service-daemon-" + threadCount.incrementAndGet());
-              // 사용자 스레드 실행 완료 후 JVM 종료를 막지 않음
-              t.setDaemon(true);
-              return t;
-            }
-          });
+          1, newDaemonThreadFactory("auto-certificate-service-daemon-"));
+  private static final ThreadPoolExecutor refreshExecutor =
+      new ThreadPoolExecutor(
+          DEFAULT_REFRESH_PARALLELISM,
+          DEFAULT_REFRESH_PARALLELISM,
+          60,
+          TimeUnit.SECONDS,
+          new LinkedBlockingQueue<>(),
+          newDaemonThreadFactory("auto-certificate-refresh-"));
 
   static {
     // 취소 시 즉시 작업 큐에서 삭제
     serviceExecutor.setRemoveOnCancelPolicy(true);
+    // 갱신이 없는 동안에는 스레드를 유지하지 않음
+    refreshExecutor.allowCoreThreadTimeOut(true);
   }
 
-  private static ScheduledFuture<?> future;
-
-  private static int updateCount;
+  // 가상 스레드에서 호출되어도 캐리어 스레드를 고정(pinning)하지 않도록 synchronized 대신 ReentrantLock을 사용
+  private static final ReentrantLock updateIntervalLock = new ReentrantLock();
+  private static final ReentrantLock refreshExecutorLock = new ReentrantLock();
+  private static Duration updateInterval;
 
   private AutoCertificateService() {
     throw new IllegalStateException("this class cannot be instantiated");
   }
 
+  private static ThreadFactory newDaemonThreadFactory(String namePrefix) {
+    return new ThreadFactory() {
+
+      private final AtomicInteger threadCount = new AtomicInteger(0);
+
+      @Override
+      public Thread newThread(Runnable r) {
+        Thread t = new Thread(r, namePrefix + threadCount.incrementAndGet());
+        // 사용자 스레드 실행 완료 후 JVM 종료를 막지 않음
+        t.setDaemon(true);
+        return t;
+      }
+    };
+  }
+
   /**
    * 인증서 다운로드 작업 등록, 첫 등록 시 인증서를 먼저 다운로드합니다. 다운로드가 성공하면 다운로더를 저장하여 정기 업데이트에 사용합니다. 다운로드가 실패하면 예외가 발생합니다.
    * 이미 등록된 경우 현재 전달된 다운로더가 이전 다운로더를 덮어씁니다. 현재 다운로더가 인증서를 다운로드할 수 없으면 정기 업데이트가 실패합니다.
@@ -60,103 +100,462 @@ public class AutoCertificateService {
    * @param downloader 인증서 다운로더
    */
   public static void register(String merchantId, String type, CertificateDownloader downloader) {
+    register(merchantId, type, downloader, null, false);
+  }
+
+  /**
+   * 인증서 다운로드 작업 등록. 스냅샷 저장소가 있으면 먼저 스냅샷을 로드하고, 로드한 인증서가 있으면 다운로드를 기다리지 않고 즉시 반환하며 인증서는 백그라운드에서
+   * 갱신합니다. 다운로드에 성공할 때마다 스냅샷을 저장합니다.
+   *
+   * <p>사용 가능한 스냅샷이 없을 때, async가 false이면 {@link #register(String, String, CertificateDownloader)}와
+   * 같이 동기적으로 다운로드하고 실패 시 예외가 발생합니다. async가 true이면 즉시 반환하고 백그라운드에서 다운로드하며, 실패하면 갱신 실패와 같은 방식으로
+   * 재시도합니다. 첫 다운로드가 완료되기 전에는 인증서 조회 결과가 null이므로, 사용 가능한 인증서가 필요한 곳에서는 {@link
+   * #awaitCertificateSnapshot(String, String, Duration)}으로 첫 다운로드를 기다려야 합니다.
+   *
+   * @param merchantId 가맹점 번호
+   * @param type 호출자가 정의한 인증서 타입, 예: RSA/ShangMi
+   * @param downloader 인증서 다운로더
+   * @param snapshotStore 인증서 스냅샷 저장소, null이면 사용하지 않음
+   * @param async 사용 가능한 스냅샷이 없을 때 비동기로 다운로드할지 여부
+   */
+  public static void register(
+      String merchantId,
+      String type,
+      CertificateDownloader downloader,
+      CertificateSnapshotStore snapshotStore,
+      boolean async) {
     String key = calculateDownloadWorkerMapKey(merchantId, type);
     Runnable worker =
         () -> {
           Map<String, X509Certificate> result = downloader.download();
-          certificateMap.put(key, result);
+          certificateMap.put(key, CertificateSnapshot.of(result));
+          if (snapshotStore != null) {
+            try {
+              snapshotStore.save(
+                  merchantId,
+                  type,
+                  CertificateSnapshotCodec.seal(
+                      downloader.getAeadCipher(), merchantId, type, result));
+            } catch (RuntimeException e) {
+              log.warn("Save certificate snapshot {} failed", key, e);
+            }
+          }
         };
+    start(defaultUpdateInterval);
+    RefreshEntry entry = new RefreshEntry(merchantId, type, key, downloader, worker);
+
+    Map<String, X509Certificate> snapshot =
+        loadSnapshot(snapshotStore, merchantId, type, downloader);
+    if (snapshot != null && !snapshot.isEmpty()) {
+      certificateMap.put(key, CertificateSnapshot.of(snapshot));
+      entry.firstAttempt.countDown();
+      putRefreshEntry(entry);
+      // 여러 인스턴스가 동시에 시작할 때 인증서 다운로드 요청이 몰리지 않도록 지연 시간을 분산
+      entry.schedule(
+          ThreadLocalRandom.current()
+              .nextLong(TimeUnit.SECONDS.toMillis(SNAPSHOT_REFRESH_MAX_DELAY_SECOND) + 1));
+    } else if (async) {
+      putRefreshEntry(entry);
+      entry.schedule(0);
+    } else {
+      // 인증서 다운로드하여 설정이 올바른지 검증
+      // 오류가 있으면 예외를 발생시킴, fast-fail
+      worker.run();
+      entry.firstAttempt.countDown();
+      // 설정 업데이트
+      putRefreshEntry(entry);
+      entry.schedule(nextRefreshDelayMillis(key));
+    }
+  }
 
-    // 인증서 다운로드하여 설정이 올바른지 검증
-    // 오류가 있으면 예외를 발생시킴, fast-fail
-    worker.run();
-    // 설정 업데이트
-    downloadWorkerMap.put(key, worker);
+  private static Map<String, X509Certificate> loadSnapshot(
+      CertificateSnapshotStore snapshotStore,
+      String merchantId,
+      String type,
+      CertificateDownloader downloader) {
+    if (snapshotStore == null) {
+      return null;
+    }
+    try {
+      String snapshot = snapshotStore.load(merchantId, type);
+      if (snapshot == null) {
+        return null;
+      }
+      return CertificateSnapshotCodec.open(
+          downloader.getAeadCipher(),
+          downloader.getCertificateHandler(),
+          merchantId,
+          type,
+          snapshot);
+    } catch (RuntimeException e) {
+      // 스냅샷이 손상되었거나 APIv3 키로 검증되지 않으면 사용하지 않고 다운로드로 복구함
+      log.warn("Load certificate snapshot {}-{} failed", merchantId, type, e);
+      return null;
+    }
+  }
 
-    start(defaultUpdateInterval);
+  private static void putRefreshEntry(RefreshEntry entry) {
+    RefreshEntry previous = refreshEntryMap.put(entry.key, entry);
+    if (previous != null) {
+      previous.cancel();
+    }
   }
 
   /**
-   * 인증서 다운로드 작업 등록 해제
+   * 인증서 다운로드 작업 등록 해제, 정기 업데이트를 취소하고 다운로드된 인증서도 정리합니다.
    *
    * @param merchantId 가맹점 번호
    * @param type 호출자가 정의한 인증서 타입, `register()` 시의 값과 동일해야 함
    */
   public static void unregister(String merchantId, String type) {
     String key = calculateDownloadWorkerMapKey(merchantId, type);
-    downloadWorkerMap.remove(key);
+    RefreshEntry entry = refreshEntryMap.remove(key);
+    if (entry != null) {
+      entry.cancel();
+    }
+    certificateMap.remove(key);
+  }
+
+  /**
+   * 지정한 다운로더로 등록된 경우에만 등록 해제. 같은 가맹점이 다른 다운로더로 다시 등록되었으면 그 등록은 유지합니다.
+   *
+   * @param merchantId 가맹점 번호
+   * @param type 호출자가 정의한 인증서 타입
+   * @param downloader 등록 시 전달한 인증서 다운로더
+   */
+  static void unregister(String merchantId, String type, CertificateDownloader downloader) {
+    String key = calculateDownloadWorkerMapKey(merchantId, type);
+    RefreshEntry entry = refreshEntryMap.get(key);
+    if (entry != null && entry.downloader == downloader && refreshEntryMap.remove(key, entry)) {
+      entry.cancel();
+      certificateMap.remove(key);
+    }
+  }
+
+  /**
+   * 가맹점의 인증서 스냅샷 가져오기. 비동기 등록 후 첫 다운로드 시도가 아직 끝나지 않았으면 최대 timeout까지 기다립니다. 첫 다운로드가 실패한 뒤에는 기다리지 않고
+   * 바로 예외가 발생하며, 백그라운드 재시도가 성공하면 다시 인증서를 반환합니다.
+   *
+   * @param merchantId 가맹점 번호
+   * @param type 호출자가 정의한 인증서 타입
+   * @param timeout 첫 다운로드 시도를 기다리는 최대 시간
+   * @return 비어 있지 않은 인증서 스냅샷
+   * @throws IllegalStateException 사용 가능한 인증서가 없는 경우
+   */
+  public static CertificateSnapshot awaitCertificateSnapshot(
+      String merchantId, String type, Duration timeout) {
+    return awaitSnapshot(calculateDownloadWorkerMapKey(merchantId, type), timeout);
+  }
+
+  static CertificateSnapshot awaitSnapshot(String key, Duration timeout) {
+    requireNonNull(timeout);
+    CertificateSnapshot snapshot = getSnapshot(key);
+    if (!snapshot.isEmpty()) {
+      return snapshot;
+    }
+    RefreshEntry entry = refreshEntryMap.get(key);
+    if (entry == null) {
+      throw new IllegalStateException(
+          "No wechatpay certificate of " + key + " is available, it is not registered.");
+    }
+    try {
+      entry.firstAttempt.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(
+          "Interrupted while waiting for the wechatpay certificate of " + key + ".", e);
+    }
+    snapshot = getSnapshot(key);
+    if (snapshot.isEmpty()) {
+      throw new IllegalStateException(
+          "No wechatpay certificate of "
+              + key
+              + " is available, the first download has not succeeded within "
+              + timeout
+              + ".");
+    }
+    return snapshot;
   }
 
   /** 등록된 모든 다운로더와 다운로드된 인증서를 정리하고, 정기 업데이트 작업을 취소합니다. */
   public static void shutdown() {
-    downloadWorkerMap.clear();
+    refreshEntryMap.values().forEach(RefreshEntry::cancel);
+    refreshEntryMap.clear();
     certificateMap.clear();
-    synchronized (AutoCertificateService.class) {
-      if (future != null) {
-        future.cancel(false);
-        future = null;
-      }
+    updateIntervalLock.lock();
+    try {
+      updateInterval = null;
+    } finally {
+      updateIntervalLock.unlock();
     }
   }
 
   /**
-   * 인증서 업데이트의 주기적 작업 시작
+   * 인증서 업데이트 주기 설정. 첫 호출 또는 {@link #shutdown()} 이후 첫 호출에서만 적용되며, 이후 등록되는 가맹점이 이 주기를 사용합니다. 호출하지 않으면
+   * 기본 주기 {@value #UPDATE_INTERVAL_MINUTE}분을 사용합니다.
    *
    * @param updateInterval 인증서 업데이트 주기
    */
   public static void start(Duration updateInterval) {
-    synchronized (AutoCertificateService.class) {
-      if (future == null) {
-        future =
-            serviceExecutor.scheduleAtFixedRate(
-                AutoCertificateService::update,
-                updateInterval.toMillis() / TimeUnit.SECONDS.toMillis(1),
-                updateInterval.toMillis() / TimeUnit.SECONDS.toMillis(1),
-                TimeUnit.SECONDS);
+    requireNonNull(updateInterval);
+    updateIntervalLock.lock();
+    try {
+      if (AutoCertificateService.updateInterval == null) {
+        AutoCertificateService.updateInterval = updateInterval;
       }
+    } finally {
+      updateIntervalLock.unlock();
     }
   }
 
-  private static void update() {
-    log.info("Begin update Certificates. total updates: {}", updateCount);
-    downloadWorkerMap.forEach(
-        (k, v) -> {
-          try {
-            v.run();
-            log.info("update wechatpay certificate {} done", k);
-          } catch (Exception e) {
-            log.error("Download and update wechatpay certificate {} failed", k);
-          }
-        });
-    updateCount++;
+  /**
+   * 동시에 실행되는 인증서 다운로드의 최대 개수 설정, 기본값은 {@value #DEFAULT_REFRESH_PARALLELISM}
+   *
+   * @param parallelism 최대 동시 다운로드 수
+   */
+  public static void setRefreshParallelism(int parallelism) {
+    if (parallelism <= 0) {
+      throw new IllegalArgumentException("parallelism must be positive, but got " + parallelism);
+    }
+    refreshExecutorLock.lock();
+    try {
+      // corePoolSize는 maximumPoolSize보다 클 수 없으므로 방향에 따라 설정 순서를 바꿈
+      if (parallelism > refreshExecutor.getMaximumPoolSize()) {
+        refreshExecutor.setMaximumPoolSize(parallelism);
+        refreshExecutor.setCorePoolSize(parallelism);
+      } else {
+        refreshExecutor.setCorePoolSize(parallelism);
+        refreshExecutor.setMaximumPoolSize(parallelism);
+      }
+    } finally {
+      refreshExecutorLock.unlock();
+    }
   }
 
-  private static String calculateDownloadWorkerMapKey(String merchantId, String type) {
-    return merchantId + "-" + type;
+  /**
+   * 가맹점의 인증서 갱신 통계 가져오기
+   *
+   * @param merchantId 가맹점 번호
+   * @param type 호출자가 정의한 인증서 타입
+   * @return 갱신 통계, 등록되지 않았으면 null
+   */
+  public static CertificateRefreshStats getRefreshStats(String merchantId, String type) {
+    RefreshEntry entry = refreshEntryMap.get(calculateDownloadWorkerMapKey(merchantId, type));
+    return entry == null ? null : entry.toStats();
   }
 
-  private static X509Certificate getAvailableCertificate(
-      Map<String, X509Certificate> certificateMap) {
-    // 가져온 모든 인증서가 사용 가능하다고 가정하고, 가장 오래 사용할 수 있는 것을 선택
-    X509Certificate longest = null;
-    for (X509Certificate item : certificateMap.values()) {
-      if (longest == null || item.getNotAfter().after(longest.getNotAfter())) {
-        longest = item;
+  /**
+   * 등록된 모든 가맹점의 인증서 갱신 통계 가져오기
+   *
+   * @return 갱신 통계 목록
+   */
+  public static List<CertificateRefreshStats> getRefreshStats() {
+    List<CertificateRefreshStats> stats = new ArrayList<>(refreshEntryMap.size());
+    for (RefreshEntry entry : refreshEntryMap.values()) {
+      stats.add(entry.toStats());
+    }
+    return stats;
+  }
+
+  private static long updateIntervalMillis() {
+    updateIntervalLock.lock();
+    try {
+      return (updateInterval == null ? defaultUpdateInterval : updateInterval).toMillis();
+    } finally {
+      updateIntervalLock.unlock();
+    }
+  }
+
+  private static long nextRefreshDelayMillis(String key) {
+    long interval = updateIntervalMillis();
+    X509Certificate available = getSnapshot(key).getAvailableCertificate();
+    if (available != null
+        && available.getNotAfter().getTime() - System.currentTimeMillis()
+            < TimeUnit.DAYS.toMillis(EARLY_REFRESH_WINDOW_DAY)) {
+      // 새 인증서가 곧 발급될 것이므로 더 자주 확인
+      interval /= EARLY_REFRESH_DIVISOR;
+    }
+    return jitter(interval);
+  }
+
+  private static long retryDelayMillis(int consecutiveFailures) {
+    long backoff =
+        TimeUnit.SECONDS.toMillis(RETRY_BASE_DELAY_SECOND)
+            << Math.min(consecutiveFailures - 1, MAX_BACKOFF_SHIFT);
+    return jitter(Math.min(backoff, updateIntervalMillis()));
+  }
+
+  // 지연 시간을 최대 JITTER_RATIO만큼 줄여, 주기가 늘어나지 않으면서도 가맹점별 갱신 시각이 흩어지도록 함
+  private static long jitter(long delayMillis) {
+    long range = (long) (delayMillis * JITTER_RATIO);
+    return range <= 0 ? delayMillis : delayMillis - ThreadLocalRandom.current().nextLong(range + 1);
+  }
+
+  /** 가맹점별 갱신 예약과 통계 */
+  private static final class RefreshEntry {
+    private final String merchantId;
+    private final String type;
+    private final String key;
+    private final CertificateDownloader downloader;
+    private final Runnable worker;
+    private final ReentrantLock lock = new ReentrantLock();
+    // 첫 다운로드 시도가 성공 또는 실패로 끝나면 열림
+    private final CountDownLatch firstAttempt = new CountDownLatch(1);
+
+    private ScheduledFuture<?> future;
+    private boolean cancelled;
+    private long successCount;
+    private long failureCount;
+    private int consecutiveFailures;
+    private Instant lastSuccessTime;
+    private Instant lastFailureTime;
+    private Duration lastRefreshDuration;
+    private Instant nextRefreshTime;
+
+    RefreshEntry(
+        String merchantId,
+        String type,
+        String key,
+        CertificateDownloader downloader,
+        Runnable worker) {
+      this.merchantId = merchantId;
+      this.type = type;
+      this.key = key;
+      this.downloader = downloader;
+      this.worker = worker;
+    }
+
+    void schedule(long delayMillis) {
+      lock.lock();
+      try {
+        if (cancelled) {
+          return;
+        }
+        nextRefreshTime = Instant.now().plusMillis(delayMillis);
+        future =
+            serviceExecutor.schedule(
+                () -> refreshExecutor.execute(this::refresh), delayMillis, TimeUnit.MILLISECONDS);
+      } finally {
+        lock.unlock();
       }
     }
-    return longest;
+
+    void cancel() {
+      lock.lock();
+      try {
+        cancelled = true;
+        nextRefreshTime = null;
+        if (future != null) {
+          future.cancel(false);
+          future = null;
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private boolean isCancelled() {
+      lock.lock();
+      try {
+        return cancelled;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void refresh() {
+      if (isCancelled()) {
+        return;
+      }
+      long start = System.nanoTime();
+      boolean success;
+      SdkEvents.CertificateRefreshSpan event = SdkEvents.beginCertificateRefresh(key);
+      try {
+        worker.run();
+        event.commit(getSnapshot(key).size(), true);
+        log.info("update wechatpay certificate {} done", key);
+        success = true;
+      } catch (Exception e) {
+        event.commit(0, false);
+        log.error("Download and update wechatpay certificate {} failed", key, e);
+        success = false;
+      }
+      firstAttempt.countDown();
+      if (isCancelled() && !refreshEntryMap.containsKey(key)) {
+        // 다운로드 중에 등록이 해제되었으면 방금 저장한 인증서를 남기지 않음
+        certificateMap.remove(key);
+        return;
+      }
+
+      int failures;
+      lock.lock();
+      try {
+        lastRefreshDuration = Duration.ofNanos(System.nanoTime() - start);
+        if (success) {
+          successCount++;
+          consecutiveFailures = 0;
+          lastSuccessTime = Instant.now();
+        } else {
+          failureCount++;
+          consecutiveFailures++;
+          lastFailureTime = Instant.now();
+        }
+        failures = consecutiveFailures;
+      } finally {
+        lock.unlock();
+      }
+      schedule(success ? nextRefreshDelayMillis(key) : retryDelayMillis(failures));
+    }
+
+    CertificateRefreshStats toStats() {
+      lock.lock();
+      try {
+        return new CertificateRefreshStats(
+            merchantId,
+            type,
+            successCount,
+            failureCount,
+            consecutiveFailures,
+            lastSuccessTime,
+            lastFailureTime,
+            lastRefreshDuration,
+            nextRefreshTime,
+            getSnapshot(key).size());
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  static String calculateDownloadWorkerMapKey(String merchantId, String type) {
+    return merchantId + "-" + type;
+  }
+
+  // 비동기 등록 후 첫 다운로드가 완료되기 전에는 인증서가 없으므로 빈 스냅샷을 반환
+  static CertificateSnapshot getSnapshot(String key) {
+    CertificateSnapshot snapshot = certificateMap.get(key);
+    return snapshot == null ? CertificateSnapshot.empty() : snapshot;
+  }
+
+  /**
+   * 가맹점의 현재 인증서 스냅샷 가져오기
+   *
+   * @param merchantId 가맹점 번호
+   * @param type 호출자가 정의한 인증서 타입
+   * @return 인증서 스냅샷, 다운로드된 인증서가 없으면 빈 스냅샷
+   */
+  public static CertificateSnapshot getCertificateSnapshot(String merchantId, String type) {
+    return getSnapshot(calculateDownloadWorkerMapKey(merchantId, type));
   }
 
   // 인증서 시리얼 번호에 따라 인증서 가져오기
   public static X509Certificate getCertificate(
       String merchantId, String type, String serialNumber) {
-    String key = calculateDownloadWorkerMapKey(merchantId, type);
-    return certificateMap.get(key).get(serialNumber);
+    return getCertificateSnapshot(merchantId, type).getCertificate(serialNumber);
   }
 
   // 최신 사용 가능한 위챗페이 플랫폼 인증서 가져오기
   public static X509Certificate getAvailableCertificate(String merchantId, String type) {
-    String key = calculateDownloadWorkerMapKey(merchantId, type);
-    return getAvailableCertificate(certificateMap.get(key));
+    return getCertificateSnapshot(merchantId, type).getAvailableCertificate();
   }
 }
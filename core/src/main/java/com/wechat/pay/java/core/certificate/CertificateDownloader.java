@@ -68,6 +68,14 @@ public final class CertificateDownloader {
     }
   }
 
+  AeadCipher getAeadCipher() {
+    return aeadCipher;
+  }
+
+  CertificateHandler getCertificateHandler() {
+    return certificateHandler;
+  }
+
   /** 인증서 다운로드 */
   public Map<String, X509Certificate> download() {
     HttpRequest httpRequest =
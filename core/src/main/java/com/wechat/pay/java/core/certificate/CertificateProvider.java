@@ -1,5 +1,6 @@
 package com.wechat.pay.java.core.certificate;
 
+import com.wechat.pay.java.core.util.PemUtil;
 import java.security.cert.X509Certificate;
 
 /** 위챗페이 플랫폼 인증서 제공기 */
@@ -19,4 +20,14 @@ public interface CertificateProvider {
    * @return X.509 인증서 인스턴스
    */
   X509Certificate getAvailableCertificate();
+
+  /**
+   * 최신 사용 가능한 위챗페이 플랫폼 인증서의 시리얼 번호 가져오기. 요청마다 호출되므로 구현체는 미리 계산한 값을 반환하는 것이 좋음
+   *
+   * @return 대문자 16진수 시리얼 번호, 사용 가능한 인증서가 없으면 null
+   */
+  default String getAvailableSerialNumber() {
+    X509Certificate certificate = getAvailableCertificate();
+    return certificate == null ? null : PemUtil.getSerialNumber(certificate);
+  }
 }
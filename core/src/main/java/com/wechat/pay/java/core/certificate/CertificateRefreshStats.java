@@ -0,0 +1,160 @@
+package com.wechat.pay.java.core.certificate;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/** 가맹점 인증서 자동 갱신 통계, 조회 시점의 불변 스냅샷 */
+public final class CertificateRefreshStats {
+
+  private final String merchantId;
+  private final String type;
+  private final long successCount;
+  private final long failureCount;
+  private final int consecutiveFailures;
+  private final Instant lastSuccessTime;
+  private final Instant lastFailureTime;
+  private final Duration lastRefreshDuration;
+  private final Instant nextRefreshTime;
+  private final int certificateCount;
+
+  CertificateRefreshStats(
+      String merchantId,
+      String type,
+      long successCount,
+      long failureCount,
+      int consecutiveFailures,
+      Instant lastSuccessTime,
+      Instant lastFailureTime,
+      Duration lastRefreshDuration,
+      Instant nextRefreshTime,
+      int certificateCount) {
+    this.merchantId = merchantId;
+    this.type = type;
+    this.successCount = successCount;
+    this.failureCount = failureCount;
+    this.consecutiveFailures = consecutiveFailures;
+    this.lastSuccessTime = lastSuccessTime;
+    this.lastFailureTime = lastFailureTime;
+    this.lastRefreshDuration = lastRefreshDuration;
+    this.nextRefreshTime = nextRefreshTime;
+    this.certificateCount = certificateCount;
+  }
+
+  /**
+   * 가맹점 번호 가져오기
+   *
+   * @return 가맹점 번호
+   */
+  public String getMerchantId() {
+    return merchantId;
+  }
+
+  /**
+   * 인증서 타입 가져오기
+   *
+   * @return 인증서 타입, 예: RSA/ShangMi
+   */
+  public String getType() {
+    return type;
+  }
+
+  /**
+   * 백그라운드 갱신 성공 횟수 가져오기
+   *
+   * @return 성공 횟수
+   */
+  public long getSuccessCount() {
+    return successCount;
+  }
+
+  /**
+   * 백그라운드 갱신 실패 횟수 가져오기
+   *
+   * @return 실패 횟수
+   */
+  public long getFailureCount() {
+    return failureCount;
+  }
+
+  /**
+   * 연속 실패 횟수 가져오기, 갱신에 성공하면 0으로 초기화됨
+   *
+   * @return 연속 실패 횟수
+   */
+  public int getConsecutiveFailures() {
+    return consecutiveFailures;
+  }
+
+  /**
+   * 마지막 갱신 성공 시각 가져오기
+   *
+   * @return 마지막 성공 시각, 성공한 적이 없으면 null
+   */
+  public Instant getLastSuccessTime() {
+    return lastSuccessTime;
+  }
+
+  /**
+   * 마지막 갱신 실패 시각 가져오기
+   *
+   * @return 마지막 실패 시각, 실패한 적이 없으면 null
+   */
+  public Instant getLastFailureTime() {
+    return lastFailureTime;
+  }
+
+  /**
+   * 마지막 갱신 소요 시간 가져오기
+   *
+   * @return 소요 시간, 갱신한 적이 없으면 null
+   */
+  public Duration getLastRefreshDuration() {
+    return lastRefreshDuration;
+  }
+
+  /**
+   * 다음 갱신 예정 시각 가져오기
+   *
+   * @return 다음 갱신 시각, 예약되지 않았으면 null
+   */
+  public Instant getNextRefreshTime() {
+    return nextRefreshTime;
+  }
+
+  /**
+   * 현재 보유한 인증서 개수 가져오기
+   *
+   * @return 인증서 개수
+   */
+  public int getCertificateCount() {
+    return certificateCount;
+  }
+
+  @Override
+  public String toString() {
+    return "CertificateRefreshStats{"
+        + "merchantId='"
+        + merchantId
+        + '\''
+        + ", type='"
+        + type
+        + '\''
+        + ", successCount="
+        + successCount
+        + ", failureCount="
+        + failureCount
+        + ", consecutiveFailures="
+        + consecutiveFailures
+        + ", lastSuccessTime="
+        + lastSuccessTime
+        + ", lastFailureTime="
+        + lastFailureTime
+        + ", lastRefreshDuration="
+        + lastRefreshDuration
+        + ", nextRefreshTime="
+        + nextRefreshTime
+        + ", certificateCount="
+        + certificateCount
+        + '}';
+  }
+}
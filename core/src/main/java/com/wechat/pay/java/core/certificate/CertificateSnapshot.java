@@ -0,0 +1,157 @@
+package com.wechat.pay.java.core.certificate;
+
+import com.wechat.pay.java.core.cipher.Constant;
+import com.wechat.pay.java.core.util.PemUtil;
+import java.math.BigInteger;
+import java.security.cert.X509Certificate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 위챗페이 플랫폼 인증서의 불변 스냅샷. 생성 시 시리얼 번호 문자열과 가장 오래 사용할 수 있는 인증서를 미리 계산하므로, 조회는 한 번의 Map 읽기로 끝납니다. 인증서가
+ * 갱신되면 새 스냅샷을 만들어 참조를 통째로 교체합니다.
+ */
+public final class CertificateSnapshot {
+
+  private static final CertificateSnapshot EMPTY = new CertificateSnapshot(Collections.emptyMap());
+
+  private final Map<String, X509Certificate> certificates;
+  private final X509Certificate availableCertificate;
+  private final String availableSerialNumber;
+
+  private CertificateSnapshot(Map<String, X509Certificate> certificates) {
+    this.certificates = certificates;
+    // 가져온 모든 인증서가 사용 가능하다고 가정하고, 가장 오래 사용할 수 있는 것을 선택
+    X509Certificate longest = null;
+    String longestSerialNumber = null;
+    for (Map.Entry<String, X509Certificate> entry : certificates.entrySet()) {
+      X509Certificate item = entry.getValue();
+      if (longest == null || item.getNotAfter().after(longest.getNotAfter())) {
+        longest = item;
+        longestSerialNumber = entry.getKey();
+      }
+    }
+    this.availableCertificate = longest;
+    this.availableSerialNumber = longestSerialNumber;
+  }
+
+  /**
+   * 빈 스냅샷 가져오기
+   *
+   * @return 인증서가 없는 스냅샷
+   */
+  public static CertificateSnapshot empty() {
+    return EMPTY;
+  }
+
+  /**
+   * 시리얼 번호를 키로 하는 인증서 Map으로 스냅샷 생성, 예: 인증서 다운로드 결과
+   *
+   * @param certificates 위챗페이 플랫폼 인증서 시리얼 번호를 키로 하는 인증서 Map
+   * @return 인증서 스냅샷
+   */
+  public static CertificateSnapshot of(Map<String, X509Certificate> certificates) {
+    if (certificates == null || certificates.isEmpty()) {
+      return EMPTY;
+    }
+    Map<String, X509Certificate> copy = new HashMap<>(certificates.size() * 2);
+    for (Map.Entry<String, X509Certificate> entry : certificates.entrySet()) {
+      copy.put(normalize(entry.getKey()), entry.getValue());
+    }
+    return new CertificateSnapshot(Collections.unmodifiableMap(copy));
+  }
+
+  /**
+   * 인증서 목록으로 스냅샷 생성, 시리얼 번호는 인증서에서 계산함
+   *
+   * @param certificates 위챗페이 플랫폼 인증서 목록
+   * @return 인증서 스냅샷
+   */
+  public static CertificateSnapshot of(Collection<X509Certificate> certificates) {
+    if (certificates == null || certificates.isEmpty()) {
+      return EMPTY;
+    }
+    Map<String, X509Certificate> copy = new HashMap<>(certificates.size() * 2);
+    for (X509Certificate certificate : certificates) {
+      copy.put(PemUtil.getSerialNumber(certificate), certificate);
+    }
+    return new CertificateSnapshot(Collections.unmodifiableMap(copy));
+  }
+
+  /**
+   * 인증서 시리얼 번호에 따라 인증서 가져오기. 대소문자나 앞자리 0이 다른 시리얼 번호도 같은 인증서로 찾음
+   *
+   * @param serialNumber 위챗페이 플랫폼 인증서 시리얼 번호
+   * @return X.509 인증서 인스턴스, 없으면 null
+   */
+  public X509Certificate getCertificate(String serialNumber) {
+    if (serialNumber == null) {
+      return null;
+    }
+    X509Certificate certificate = certificates.get(serialNumber);
+    if (certificate == null && !certificates.isEmpty()) {
+      // 위챗페이가 돌려주는 시리얼 번호는 정규화된 형식이므로, 형식이 다를 때만 다시 계산함
+      String normalized = normalize(serialNumber);
+      if (!normalized.equals(serialNumber)) {
+        certificate = certificates.get(normalized);
+      }
+    }
+    return certificate;
+  }
+
+  /**
+   * 최신 사용 가능한 위챗페이 플랫폼 인증서 가져오기
+   *
+   * @return X.509 인증서 인스턴스, 인증서가 없으면 null
+   */
+  public X509Certificate getAvailableCertificate() {
+    return availableCertificate;
+  }
+
+  /**
+   * 최신 사용 가능한 위챗페이 플랫폼 인증서의 시리얼 번호 가져오기
+   *
+   * @return 대문자 16진수 시리얼 번호, 인증서가 없으면 null
+   */
+  public String getAvailableSerialNumber() {
+    return availableSerialNumber;
+  }
+
+  /**
+   * 시리얼 번호를 키로 하는 모든 인증서 가져오기
+   *
+   * @return 수정할 수 없는 인증서 Map
+   */
+  public Map<String, X509Certificate> getCertificates() {
+    return certificates;
+  }
+
+  /**
+   * 인증서 개수 가져오기
+   *
+   * @return 인증서 개수
+   */
+  public int size() {
+    return certificates.size();
+  }
+
+  /**
+   * 인증서가 없는지 여부
+   *
+   * @return 인증서가 없으면 true
+   */
+  public boolean isEmpty() {
+    return certificates.isEmpty();
+  }
+
+  // PemUtil.getSerialNumber와 같은 형식(앞자리 0 없는 대문자 16진수)으로 변환, 16진수가 아니면 그대로 사용
+  private static String normalize(String serialNumber) {
+    try {
+      return new BigInteger(serialNumber, Constant.HEX).toString(Constant.HEX).toUpperCase();
+    } catch (NumberFormatException e) {
+      return serialNumber;
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package com.wechat.pay.java.core.certificate;
+
+import com.wechat.pay.java.core.cipher.AeadCipher;
+import com.wechat.pay.java.core.util.NonceUtil;
+import java.nio.charset.StandardCharsets;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.X509Certificate;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 인증서 스냅샷 봉인/해제. 스냅샷은 인증서 다운로드 응답을 복호화하는 것과 같은 APIv3 키로 AEAD 암호화하며, 가맹점 번호와 인증서 타입을 연관 데이터로 사용합니다.
+ * 키 없이 만든 스냅샷, 변조된 스냅샷, 다른 가맹점의 스냅샷은 해제 시 거부됩니다.
+ */
+final class CertificateSnapshotCodec {
+
+  private static final String VERSION = "v1";
+  private static final String SEPARATOR = ".";
+  private static final int NONCE_LENGTH = 12;
+  private static final String SERIAL_PREFIX = "Serial: ";
+  private static final String BEGIN_CERTIFICATE = "-----BEGIN CERTIFICATE-----";
+  private static final String END_CERTIFICATE = "-----END CERTIFICATE-----";
+
+  private CertificateSnapshotCodec() {}
+
+  /**
+   * 인증서를 암호화된 스냅샷 문자열로 봉인
+   *
+   * @param aeadCipher APIv3 키로 만든 인증 암호화기
+   * @param merchantId 가맹점 번호
+   * @param type 인증서 타입
+   * @param certificates 인증서 시리얼 번호를 키로 하는 인증서 Map
+   * @return 스냅샷 문자열
+   */
+  static String seal(
+      AeadCipher aeadCipher,
+      String merchantId,
+      String type,
+      Map<String, X509Certificate> certificates) {
+    StringBuilder content = new StringBuilder();
+    Base64.Encoder encoder = Base64.getMimeEncoder(64, new byte[] {'\n'});
+    try {
+      for (Map.Entry<String, X509Certificate> entry : certificates.entrySet()) {
+        content.append(SERIAL_PREFIX).append(entry.getKey()).append('\n');
+        content.append(BEGIN_CERTIFICATE).append('\n');
+        content.append(encoder.encodeToString(entry.getValue().getEncoded())).append('\n');
+        content.append(END_CERTIFICATE).append('\n');
+      }
+    } catch (CertificateEncodingException e) {
+      throw new IllegalArgumentException(e);
+    }
+    String nonce = NonceUtil.createNonce(NONCE_LENGTH);
+    String ciphertext =
+        aeadCipher.encrypt(
+            associatedData(merchantId, type),
+            nonce.getBytes(StandardCharsets.UTF_8),
+            content.toString().getBytes(StandardCharsets.UTF_8));
+    return VERSION + SEPARATOR + nonce + SEPARATOR + ciphertext;
+  }
+
+  /**
+   * 스냅샷 문자열을 검증하고 인증서로 변환. 이미 만료된 인증서는 제외합니다.
+   *
+   * @param aeadCipher APIv3 키로 만든 인증 암호화기
+   * @param certificateHandler PEM 문자열을 인증서로 변환하는 처리기
+   * @param merchantId 가맹점 번호
+   * @param type 인증서 타입
+   * @param snapshot 스냅샷 문자열
+   * @return 인증서 시리얼 번호를 키로 하는 인증서 Map
+   * @throws IllegalArgumentException 스냅샷 형식이 올바르지 않음
+   * @throws com.wechat.pay.java.core.exception.DecryptionException 스냅샷 검증 실패
+   */
+  static Map<String, X509Certificate> open(
+      AeadCipher aeadCipher,
+      CertificateHandler certificateHandler,
+      String merchantId,
+      String type,
+      String snapshot) {
+    String[] parts = snapshot.trim().split("\\" + SEPARATOR, 3);
+    if (parts.length != 3 || !parts[0].equals(VERSION)) {
+      throw new IllegalArgumentException("Unsupported certificate snapshot format");
+    }
+    String content =
+        aeadCipher.decrypt(
+            associatedData(merchantId, type),
+            parts[1].getBytes(StandardCharsets.UTF_8),
+            Base64.getDecoder().decode(parts[2]));
+
+    Map<String, X509Certificate> certificates = new HashMap<>();
+    Date now = new Date();
+    String serialNumber = null;
+    StringBuilder pem = null;
+    for (String line : content.split("\n")) {
+      if (line.startsWith(SERIAL_PREFIX)) {
+        serialNumber = line.substring(SERIAL_PREFIX.length()).trim();
+      } else if (line.equals(BEGIN_CERTIFICATE)) {
+        pem = new StringBuilder();
+        pem.append(line).append('\n');
+      } else if (pem != null) {
+        pem.append(line).append('\n');
+        if (line.equals(END_CERTIFICATE)) {
+          X509Certificate certificate = certificateHandler.generateCertificate(pem.toString());
+          if (serialNumber != null && certificate.getNotAfter().after(now)) {
+            certificates.put(serialNumber, certificate);
+          }
+          serialNumber = null;
+          pem = null;
+        }
+      }
+    }
+    return certificates;
+  }
+
+  private static byte[] associatedData(String merchantId, String type) {
+    return ("certificate-snapshot:" + merchantId + ":" + type).getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,29 @@
+package com.wechat.pay.java.core.certificate;
+
+/**
+ * 다운로드한 위챗페이 플랫폼 인증서의 스냅샷 저장소. 가맹점 번호와 인증서 타입별로 마지막으로 다운로드한 인증서를 보관하여, 프로세스 시작 시 인증서 다운로드를 기다리지 않고
+ * 바로 사용할 수 있도록 합니다.
+ *
+ * <p>스냅샷은 SDK가 APIv3 키로 암호화하고 인증한 문자열이며, 저장소는 내용을 해석하지 않고 그대로 보관하면 됩니다. 키 없이 만들거나 변조한 스냅샷은 로드 시
+ * 무시되고 인증서를 다시 다운로드합니다.
+ */
+public interface CertificateSnapshotStore {
+
+  /**
+   * 저장된 인증서 스냅샷 로드
+   *
+   * @param merchantId 가맹점 번호
+   * @param type 인증서 타입, 예: RSA/ShangMi
+   * @return 저장된 스냅샷 문자열, 스냅샷이 없으면 null
+   */
+  String load(String merchantId, String type);
+
+  /**
+   * 인증서 스냅샷 저장, 같은 가맹점 번호와 타입의 기존 스냅샷을 덮어씁니다.
+   *
+   * @param merchantId 가맹점 번호
+   * @param type 인증서 타입, 예: RSA/ShangMi
+   * @param snapshot 스냅샷 문자열
+   */
+  void save(String merchantId, String type, String snapshot);
+}
@@ -0,0 +1,75 @@
+package com.wechat.pay.java.core.certificate;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 로컬 디렉터리에 인증서 스냅샷을 저장하는 저장소. 가맹점 번호와 인증서 타입마다 하나의 파일을 사용하며, 임시 파일에 쓴 뒤 이동하므로 쓰는 도중에 다른 프로세스가 읽어도
+ * 불완전한 파일을 보지 않습니다.
+ *
+ * <p>파일 내용은 APIv3 키로 암호화되고 인증되므로, 디렉터리에 심거나 변조한 파일은 로드 시 무시됩니다. 다만 쓰기 권한이 있으면 이전에 저장된 정상 스냅샷으로
+ * 되돌리거나 파일을 지울 수 있으므로, 디렉터리는 애플리케이션 실행 사용자만 읽고 쓸 수 있도록(예: 소유자 전용 0700) 설정해야 합니다.
+ */
+public final class FileCertificateSnapshotStore implements CertificateSnapshotStore {
+
+  private static final String FILE_SUFFIX = ".snapshot";
+
+  private final Path directory;
+
+  /**
+   * 스냅샷 저장소 생성
+   *
+   * @param directory 스냅샷 디렉터리, 없으면 첫 저장 시 생성
+   */
+  public FileCertificateSnapshotStore(Path directory) {
+    this.directory = requireNonNull(directory);
+  }
+
+  @Override
+  public String load(String merchantId, String type) {
+    Path file = resolve(merchantId, type);
+    if (!Files.isRegularFile(file)) {
+      return null;
+    }
+    try {
+      return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void save(String merchantId, String type, String snapshot) {
+    Path file = resolve(merchantId, type);
+    try {
+      Files.createDirectories(directory);
+      Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+      try {
+        Files.write(temp, snapshot.getBytes(StandardCharsets.UTF_8));
+        try {
+          Files.move(
+              temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+          Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private Path resolve(String merchantId, String type) {
+    // 가맹점 번호와 타입은 파일 이름으로 사용되므로 경로 구분자 등이 들어가지 않도록 제한
+    String name = (merchantId + "-" + type).replaceAll("[^A-Za-z0-9_.-]", "_");
+    return directory.resolve(name + FILE_SUFFIX);
+  }
+}
@@ -14,22 +14,36 @@ import com.wechat.pay.java.core.http.HttpClient;
 import com.wechat.pay.java.core.http.HttpHeaders;
 import java.security.PrivateKey;
 import java.security.cert.X509Certificate;
+import java.time.Duration;
 
-/** RSA 자동 업데이트 플랫폼 인증서 제공기 */
-public class RSAAutoCertificateProvider implements CertificateProvider {
+/** RSA 자동 업데이트 플랫폼 인증서 제공기. 더 이상 사용하지 않으면 close()로 자동 업데이트 등록을 해제함 */
+public class RSAAutoCertificateProvider implements CertificateProvider, AutoCloseable {
 
   private static final CertificateHandler rsaCertificateHandler = new RSACertificateHandler();
   private static final String ALGORITHM_TYPE = "RSA";
   private static final String REQUEST_URL =
       "https://api.mch.weixin.qq.com/v3/certificates?algorithm_type=" + ALGORITHM_TYPE;
 
+  private static final Duration DEFAULT_FIRST_DOWNLOAD_TIMEOUT = Duration.ofSeconds(10);
+
   private final String merchantId;
+  private final String certificateKey;
+  private final Duration firstDownloadTimeout;
+  private final CertificateDownloader downloader;
 
   private RSAAutoCertificateProvider(
-      String merchantId, AeadCipher aeadCipher, HttpClient httpClient) {
+      String merchantId,
+      AeadCipher aeadCipher,
+      HttpClient httpClient,
+      CertificateSnapshotStore snapshotStore,
+      boolean asyncRegister,
+      Duration firstDownloadTimeout) {
     this.merchantId = merchantId;
+    this.certificateKey =
+        AutoCertificateService.calculateDownloadWorkerMapKey(merchantId, ALGORITHM_TYPE);
+    this.firstDownloadTimeout = firstDownloadTimeout;
 
-    CertificateDownloader downloader =
+    this.downloader =
         new CertificateDownloader.Builder()
             .certificateHandler(rsaCertificateHandler)
             .downloadUrl(REQUEST_URL)
@@ -37,7 +51,8 @@ public class RSAAutoCertificateProvider implements CertificateProvider {
             .httpClient(httpClient)
             .build();
 
-    AutoCertificateService.register(merchantId, ALGORITHM_TYPE, downloader);
+    AutoCertificateService.register(
+        merchantId, ALGORITHM_TYPE, downloader, snapshotStore, asyncRegister);
   }
 
   /**
@@ -48,17 +63,37 @@ public class RSAAutoCertificateProvider implements CertificateProvider {
    */
   @Override
   public X509Certificate getCertificate(String serialNumber) {
-    return AutoCertificateService.getCertificate(merchantId, ALGORITHM_TYPE, serialNumber);
+    return AutoCertificateService.getSnapshot(certificateKey).getCertificate(serialNumber);
   }
 
   /**
-   * 최신 사용 가능한 위챗페이 플랫폼 인증서 가져오기
+   * 최신 사용 가능한 위챗페이 플랫폼 인증서 가져오기. 비동기 등록 후 첫 다운로드가 끝나지 않았으면 기다림
    *
    * @return X.509 인증서 인스턴스
+   * @throws IllegalStateException 첫 다운로드 대기 시간 안에 인증서를 받지 못한 경우
    */
   @Override
   public X509Certificate getAvailableCertificate() {
-    return AutoCertificateService.getAvailableCertificate(merchantId, ALGORITHM_TYPE);
+    return AutoCertificateService.awaitSnapshot(certificateKey, firstDownloadTimeout)
+        .getAvailableCertificate();
+  }
+
+  /**
+   * 최신 사용 가능한 위챗페이 플랫폼 인증서의 시리얼 번호 가져오기. 비동기 등록 후 첫 다운로드가 끝나지 않았으면 기다림
+   *
+   * @return 시리얼 번호
+   * @throws IllegalStateException 첫 다운로드 대기 시간 안에 인증서를 받지 못한 경우
+   */
+  @Override
+  public String getAvailableSerialNumber() {
+    return AutoCertificateService.awaitSnapshot(certificateKey, firstDownloadTimeout)
+        .getAvailableSerialNumber();
+  }
+
+  /** 자동 업데이트 등록 해제. 같은 가맹점을 이후에 다른 제공기로 다시 등록했으면 그 등록은 유지함 */
+  @Override
+  public void close() {
+    AutoCertificateService.unregister(merchantId, ALGORITHM_TYPE, downloader);
   }
 
   public static class Builder {
@@ -70,6 +105,9 @@ public class RSAAutoCertificateProvider implements CertificateProvider {
     private String merchantSerialNumber;
     private HttpClient httpClient;
     private AbstractHttpClientBuilder<?> httpClientBuilder;
+    private CertificateSnapshotStore snapshotStore;
+    private boolean asyncRegister;
+    private Duration firstDownloadTimeout = DEFAULT_FIRST_DOWNLOAD_TIMEOUT;
 
     public Builder merchantId(String merchantId) {
       this.merchantId = merchantId;
@@ -107,6 +145,41 @@ public class RSAAutoCertificateProvider implements CertificateProvider {
       return this;
     }
 
+    /**
+     * 인증서 스냅샷 저장소 설정, 선택 사항. 설정하면 시작 시 스냅샷의 인증서를 바로 사용하고 백그라운드에서 갱신함
+     *
+     * @param snapshotStore 인증서 스냅샷 저장소, 예: {@link FileCertificateSnapshotStore}
+     * @return Builder
+     */
+    public Builder certificateSnapshotStore(CertificateSnapshotStore snapshotStore) {
+      this.snapshotStore = snapshotStore;
+      return this;
+    }
+
+    /**
+     * 사용 가능한 스냅샷이 없을 때 인증서를 비동기로 다운로드할지 설정, 기본값은 false. true이면 build()가 다운로드를 기다리지 않으며, 설정 오류도 예외
+     * 대신 로그로만 확인할 수 있음
+     *
+     * @param asyncRegister 비동기 다운로드 여부
+     * @return Builder
+     */
+    public Builder asyncRegister(boolean asyncRegister) {
+      this.asyncRegister = asyncRegister;
+      return this;
+    }
+
+    /**
+     * 비동기 등록 후 첫 다운로드가 끝나기 전에 사용 가능한 인증서를 조회할 때 기다리는 최대 시간, 기본값은 10초. 이 시간 안에 인증서를 받지 못하면
+     * IllegalStateException이 발생함
+     *
+     * @param firstDownloadTimeout 첫 다운로드 대기 시간
+     * @return Builder
+     */
+    public Builder firstDownloadTimeout(Duration firstDownloadTimeout) {
+      this.firstDownloadTimeout = requireNonNull(firstDownloadTimeout);
+      return this;
+    }
+
     private final Validator emptyValidator =
         new Validator() {
           @Override
@@ -136,7 +209,12 @@ public class RSAAutoCertificateProvider implements CertificateProvider {
         httpClient = httpClientBuilder.credential(credential).validator(emptyValidator).build();
       }
       return new RSAAutoCertificateProvider(
-          merchantId, new AeadAesCipher(requireNonNull(apiV3Key)), httpClient);
+          merchantId,
+          new AeadAesCipher(requireNonNull(apiV3Key)),
+          httpClient,
+          snapshotStore,
+          asyncRegister,
+          firstDownloadTimeout);
     }
   }
 }
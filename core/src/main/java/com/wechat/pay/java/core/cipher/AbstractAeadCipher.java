@@ -1,6 +1,7 @@
 package com.wechat.pay.java.core.cipher;
 
 import com.wechat.pay.java.core.exception.DecryptionException;
+import com.wechat.pay.java.core.util.InstancePool;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
@@ -15,17 +16,18 @@ import javax.crypto.spec.SecretKeySpec;
 /** 연관 데이터를 포함한 인증 암호화기 */
 public abstract class AbstractAeadCipher implements AeadCipher {
 
-  private final String algorithm;
   private final String transformation;
   private final int tagLengthBit;
-  private final byte[] key;
+  private final SecretKeySpec keySpec;
+  // 복호화용 Cipher는 재사용하고 호출마다 init만 다시 수행함
+  private final InstancePool<javax.crypto.Cipher> decryptCipherPool =
+      new InstancePool<>(this::newCipher);
 
   protected AbstractAeadCipher(
       String algorithm, String transformation, int tagLengthBit, byte[] key) {
-    this.algorithm = algorithm;
     this.transformation = transformation;
     this.tagLengthBit = tagLengthBit;
-    this.key = key;
+    this.keySpec = new SecretKeySpec(key, algorithm);
   }
 
   /**
@@ -38,11 +40,10 @@ public abstract class AbstractAeadCipher implements AeadCipher {
    */
   public String encrypt(byte[] associatedData, byte[] nonce, byte[] plaintext) {
     try {
+      // 같은 Cipher 인스턴스로 동일한 key, nonce의 GCM 암호화를 반복하면 거부되므로 암호화에는 재사용하지 않음
       javax.crypto.Cipher cipher = javax.crypto.Cipher.getInstance(transformation);
       cipher.init(
-          javax.crypto.Cipher.ENCRYPT_MODE,
-          new SecretKeySpec(key, algorithm),
-          new GCMParameterSpec(tagLengthBit, nonce));
+          javax.crypto.Cipher.ENCRYPT_MODE, keySpec, new GCMParameterSpec(tagLengthBit, nonce));
       if (associatedData != null) {
         cipher.updateAAD(associatedData);
       }
@@ -66,23 +67,29 @@ public abstract class AbstractAeadCipher implements AeadCipher {
    * @return UTF-8 인코딩된 평문
    */
   public String decrypt(byte[] associatedData, byte[] nonce, byte[] ciphertext) {
+    // init이 이전 호출의 상태를 모두 재설정함
+    javax.crypto.Cipher cipher = decryptCipherPool.acquire();
     try {
-      javax.crypto.Cipher cipher = javax.crypto.Cipher.getInstance(transformation);
       cipher.init(
-          javax.crypto.Cipher.DECRYPT_MODE,
-          new SecretKeySpec(key, algorithm),
-          new GCMParameterSpec(tagLengthBit, nonce));
+          javax.crypto.Cipher.DECRYPT_MODE, keySpec, new GCMParameterSpec(tagLengthBit, nonce));
       if (associatedData != null) {
         cipher.updateAAD(associatedData);
       }
       return new String(cipher.doFinal(ciphertext), StandardCharsets.UTF_8);
-    } catch (InvalidKeyException
-        | InvalidAlgorithmParameterException
-        | NoSuchAlgorithmException
-        | NoSuchPaddingException e) {
+    } catch (InvalidKeyException | InvalidAlgorithmParameterException e) {
       throw new IllegalArgumentException(e);
     } catch (BadPaddingException | IllegalBlockSizeException e) {
       throw new DecryptionException("Decryption failed", e);
+    } finally {
+      decryptCipherPool.release(cipher);
+    }
+  }
+
+  private javax.crypto.Cipher newCipher() {
+    try {
+      return javax.crypto.Cipher.getInstance(transformation);
+    } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+      throw new IllegalArgumentException(e);
     }
   }
 }
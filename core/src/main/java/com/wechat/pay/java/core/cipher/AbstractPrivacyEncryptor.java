@@ -2,36 +2,39 @@ package com.wechat.pay.java.core.cipher;
 
 import static java.util.Objects.requireNonNull;
 
+import com.wechat.pay.java.core.util.InstancePool;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.security.PublicKey;
 import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
 
 public abstract class AbstractPrivacyEncryptor implements PrivacyEncryptor {
+  private final String transformation;
   private final PublicKey publicKey;
-  private final Cipher cipher;
+  // Cipher는 스레드 안전하지 않으므로 동시에 사용하는 스레드마다 하나씩 사용하여, 하나의 암호화기를 여러 스레드에서 공유할 수 있도록 함
+  private final InstancePool<Cipher> cipherPool = new InstancePool<>(this::newCipher);
   private final String wechatPaySerial;
 
   protected AbstractPrivacyEncryptor(
       String transformation, PublicKey publicKey, String wechatPaySerial) {
+    this.transformation = requireNonNull(transformation);
     this.publicKey = requireNonNull(publicKey);
     this.wechatPaySerial = requireNonNull(wechatPaySerial).toUpperCase();
-    try {
-      cipher = Cipher.getInstance(transformation);
-    } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
-      throw new IllegalArgumentException(
-          "The current Java environment does not support " + transformation, e);
-    }
+    // 지원하지 않는 transformation은 생성 시점에 알 수 있도록 Cipher를 미리 생성
+    cipherPool.release(cipherPool.acquire());
   }
 
   @Override
   public String encrypt(String plaintext) {
     requireNonNull(plaintext);
+    Cipher cipher = cipherPool.acquire();
     try {
       cipher.init(Cipher.ENCRYPT_MODE, publicKey);
       return Base64.getEncoder()
@@ -40,11 +43,34 @@ public abstract class AbstractPrivacyEncryptor implements PrivacyEncryptor {
       throw new IllegalArgumentException("RSA encryption using an illegal publicKey", e);
     } catch (BadPaddingException | IllegalBlockSizeException e) {
       throw new IllegalArgumentException("Plaintext is too long", e);
+    } finally {
+      cipherPool.release(cipher);
     }
   }
 
+  /**
+   * 여러 평문을 병렬로 암호화하고 문자열로 변환
+   *
+   * @param plaintexts 평문 목록
+   * @return Base64 인코딩된 암호문 목록, 순서는 평문 목록과 같음
+   */
+  @Override
+  public List<String> encryptAll(List<String> plaintexts) {
+    requireNonNull(plaintexts);
+    return plaintexts.parallelStream().map(this::encrypt).collect(Collectors.toList());
+  }
+
   @Override
   public String getWechatpaySerial() {
     return wechatPaySerial;
   }
+
+  private Cipher newCipher() {
+    try {
+      return Cipher.getInstance(transformation);
+    } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+      throw new IllegalArgumentException(
+          "The current Java environment does not support " + transformation, e);
+    }
+  }
 }
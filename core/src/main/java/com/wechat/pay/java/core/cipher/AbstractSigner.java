@@ -2,6 +2,9 @@ package com.wechat.pay.java.core.cipher;
 
 import static java.util.Objects.requireNonNull;
 
+import com.wechat.pay.java.core.jfr.SdkEvents;
+import com.wechat.pay.java.core.util.InstancePool;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
@@ -16,6 +19,8 @@ public abstract class AbstractSigner implements Signer {
   private final String algorithm;
   private final String algorithmName;
   private final PrivateKey privateKey;
+  // initSign을 마친 Signature를 재사용하여 서명할 때마다 Provider 조회와 개인키 초기화를 반복하지 않음
+  private final InstancePool<Signature> signaturePool = new InstancePool<>(this::newSignature);
 
   /**
    * AbstractSigner 생성자
@@ -39,26 +44,76 @@ public abstract class AbstractSigner implements Signer {
   @Override
   public SignatureResult sign(String message) {
     requireNonNull(message);
+    return sign(message.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Override
+  public SignatureResult sign(byte[]... messageParts) {
+    requireNonNull(messageParts);
+    return sign(
+        signature -> {
+          for (byte[] part : messageParts) {
+            signature.update(part);
+          }
+        });
+  }
 
+  @Override
+  public SignatureResult sign(ByteBuffer... messageParts) {
+    requireNonNull(messageParts);
+    return sign(
+        signature -> {
+          for (ByteBuffer part : messageParts) {
+            signature.update(part);
+          }
+        });
+  }
+
+  private SignatureResult sign(MessageWriter messageWriter) {
     byte[] sign;
+    SdkEvents.Span event = SdkEvents.beginSign(algorithm, certificateSerialNumber);
+    Signature signature = signaturePool.acquire();
+    boolean reusable = false;
+    try {
+      messageWriter.write(signature);
+      // sign()이 성공하면 Signature는 initSign 직후의 상태로 재설정되어 다음 서명에 재사용할 수 있음
+      sign = signature.sign();
+      reusable = true;
+    } catch (SignatureException e) {
+      throw new RuntimeException("An error occurred during the sign process.", e);
+    } finally {
+      // 실패한 경우 Signature의 상태를 알 수 없으므로 폐기
+      if (reusable) {
+        signaturePool.release(signature);
+      } else {
+        signaturePool.discard(signature);
+      }
+      event.commit();
+    }
+    return new SignatureResult(Base64.getEncoder().encodeToString(sign), certificateSerialNumber);
+  }
+
+  private Signature newSignature() {
     try {
       Signature signature = Signature.getInstance(algorithmName);
       signature.initSign(privateKey);
-      signature.update(message.getBytes(StandardCharsets.UTF_8));
-      sign = signature.sign();
+      return signature;
     } catch (NoSuchAlgorithmException e) {
       throw new UnsupportedOperationException(
           "The current Java environment does not support " + algorithmName, e);
     } catch (InvalidKeyException e) {
       throw new IllegalArgumentException(algorithm + " signature uses an illegal privateKey.", e);
-    } catch (SignatureException e) {
-      throw new RuntimeException("An error occurred during the sign process.", e);
     }
-    return new SignatureResult(Base64.getEncoder().encodeToString(sign), certificateSerialNumber);
   }
 
   @Override
   public String getAlgorithm() {
     return algorithm;
   }
+
+  /** 서명 정보를 Signature에 넣음 */
+  private interface MessageWriter {
+
+    void write(Signature signature) throws SignatureException;
+  }
 }
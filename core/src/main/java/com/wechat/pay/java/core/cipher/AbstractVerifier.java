@@ -3,7 +3,9 @@ package com.wechat.pay.java.core.cipher;
 import static java.util.Objects.requireNonNull;
 
 import com.wechat.pay.java.core.certificate.CertificateProvider;
-import com.wechat.pay.java.core.util.PemUtil;
+import com.wechat.pay.java.core.jfr.SdkEvents;
+import com.wechat.pay.java.core.util.InstancePool;
+import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
@@ -12,6 +14,8 @@ import java.security.Signature;
 import java.security.SignatureException;
 import java.security.cert.X509Certificate;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,6 +26,11 @@ public abstract class AbstractVerifier implements Verifier {
   protected final PublicKey publicKey;
   protected final String publicKeyId;
   protected final String algorithmName;
+  // initVerify를 마친 Signature를 재사용함. 공개키용 하나, 인증서는 시리얼 번호별로 하나
+  private final InstancePool<Signature> publicKeySignaturePool =
+      new InstancePool<>(this::newPublicKeySignature);
+  private final InstancePool<Map<BigInteger, CertificateSignature>> certificateSignaturePool =
+      new InstancePool<>(HashMap::new);
 
   /**
    * AbstractVerifier 생성자
@@ -70,31 +79,73 @@ public abstract class AbstractVerifier implements Verifier {
   }
 
   protected boolean verify(X509Certificate certificate, String message, String signature) {
+    return verify(certificate, signature, new byte[][] {message.getBytes(StandardCharsets.UTF_8)});
+  }
+
+  private boolean verify(X509Certificate certificate, String signature, byte[][] messageParts) {
+    BigInteger serialNumber = certificate.getSerialNumber();
+    Map<BigInteger, CertificateSignature> signatures = certificateSignaturePool.acquire();
+    try {
+      CertificateSignature cached = signatures.get(serialNumber);
+      // 같은 시리얼 번호의 인증서가 교체된 경우 다시 초기화
+      if (cached == null || cached.certificate != certificate) {
+        Signature sign = newSignature();
+        try {
+          sign.initVerify(certificate);
+        } catch (InvalidKeyException e) {
+          throw new IllegalArgumentException("verify uses an illegal certificate.", e);
+        }
+        cached = new CertificateSignature(certificate, sign);
+        signatures.put(serialNumber, cached);
+      }
+      try {
+        return verify(cached.signature, signature, messageParts);
+      } catch (SignatureException e) {
+        // 예외가 발생한 경우 엔진의 상태를 보장할 수 없으므로 폐기
+        signatures.remove(serialNumber);
+        return false;
+      }
+    } finally {
+      certificateSignaturePool.release(signatures);
+    }
+  }
+
+  private boolean verify(String signature, byte[][] messageParts) {
+    Signature sign = publicKeySignaturePool.acquire();
     try {
-      Signature sign = Signature.getInstance(algorithmName);
-      sign.initVerify(certificate);
-      sign.update(message.getBytes(StandardCharsets.UTF_8));
-      return sign.verify(Base64.getDecoder().decode(signature));
+      boolean verified = verify(sign, signature, messageParts);
+      publicKeySignaturePool.release(sign);
+      return verified;
     } catch (SignatureException e) {
+      publicKeySignaturePool.discard(sign);
       return false;
-    } catch (InvalidKeyException e) {
-      throw new IllegalArgumentException("verify uses an illegal certificate.", e);
-    } catch (NoSuchAlgorithmException e) {
-      throw new UnsupportedOperationException(
-          "The current Java environment does not support " + algorithmName, e);
     }
   }
 
-  private boolean verify(String message, String signature) {
+  private Signature newPublicKeySignature() {
+    Signature sign = newSignature();
     try {
-      Signature sign = Signature.getInstance(algorithmName);
       sign.initVerify(publicKey);
-      sign.update(message.getBytes(StandardCharsets.UTF_8));
-      return sign.verify(Base64.getDecoder().decode(signature));
-    } catch (SignatureException e) {
-      return false;
     } catch (InvalidKeyException e) {
       throw new IllegalArgumentException("verify uses an illegal publickey.", e);
+    }
+    return sign;
+  }
+
+  private boolean verify(Signature sign, String signature, byte[][] messageParts)
+      throws SignatureException {
+    // update 전에 디코딩하여, 디코딩이 실패해도 재사용하는 엔진에 데이터가 남지 않도록 함
+    byte[] signatureBytes = Base64.getDecoder().decode(signature);
+    for (byte[] part : messageParts) {
+      sign.update(part);
+    }
+    // verify()는 결과와 관계없이 Signature를 initVerify 직후의 상태로 재설정함
+    return sign.verify(signatureBytes);
+  }
+
+  private Signature newSignature() {
+    try {
+      return Signature.getInstance(algorithmName);
     } catch (NoSuchAlgorithmException e) {
       throw new UnsupportedOperationException(
           "The current Java environment does not support " + algorithmName, e);
@@ -103,10 +154,26 @@ public abstract class AbstractVerifier implements Verifier {
 
   @Override
   public boolean verify(String serialNumber, String message, String signature) {
+    return verify(serialNumber, signature, message.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Override
+  public boolean verify(String serialNumber, String signature, byte[]... messageParts) {
+    SdkEvents.VerifySpan event = SdkEvents.beginVerify(algorithmName, serialNumber);
+    boolean verified = false;
+    try {
+      verified = verifyWithKey(serialNumber, signature, messageParts);
+      return verified;
+    } finally {
+      event.commit(verified);
+    }
+  }
+
+  private boolean verifyWithKey(String serialNumber, String signature, byte[][] messageParts) {
     // 공개키가 null이 아니면 공개키로 서명 검증
     if (publicKey != null) {
       if (serialNumber.equals(publicKeyId)) {
-        return verify(message, signature);
+        return verify(signature, messageParts);
       }
       // 인증서가 null이면 전달된 publicKeyId가 잘못된 것이고, null이 아니면 계속 인증서로 서명 검증
       if (certificateProvider == null) {
@@ -125,7 +192,7 @@ public abstract class AbstractVerifier implements Verifier {
           serialNumber);
       return false;
     }
-    return verify(certificate, message, signature);
+    return verify(certificate, signature, messageParts);
   }
 
   @Override
@@ -135,6 +202,17 @@ public abstract class AbstractVerifier implements Verifier {
     }
 
     requireNonNull(certificateProvider);
-    return PemUtil.getSerialNumber(certificateProvider.getAvailableCertificate());
+    return certificateProvider.getAvailableSerialNumber();
+  }
+
+  /** 초기화된 서명 검증 엔진과 초기화에 사용된 인증서 */
+  private static final class CertificateSignature {
+    private final X509Certificate certificate;
+    private final Signature signature;
+
+    private CertificateSignature(X509Certificate certificate, Signature signature) {
+      this.certificate = certificate;
+      this.signature = signature;
+    }
   }
 }
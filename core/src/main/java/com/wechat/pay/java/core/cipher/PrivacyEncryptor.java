@@ -1,5 +1,8 @@
 package com.wechat.pay.java.core.cipher;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /** 민감 정보 암호화기 */
 public interface PrivacyEncryptor {
   /**
@@ -10,6 +13,20 @@ public interface PrivacyEncryptor {
    */
   String encrypt(String plaintext);
 
+  /**
+   * 여러 평문을 암호화하고 문자열로 변환
+   *
+   * @param plaintexts 평문 목록
+   * @return Base64 인코딩된 암호문 목록, 순서는 평문 목록과 같음
+   */
+  default List<String> encryptAll(List<String> plaintexts) {
+    List<String> ciphertexts = new ArrayList<>(plaintexts.size());
+    for (String plaintext : plaintexts) {
+      ciphertexts.add(encrypt(plaintext));
+    }
+    return ciphertexts;
+  }
+
   /**
    * 암호화에 사용되는 공개키가 속한 인증서의 인증서 시리얼 번호 가져오기, 요청의 HTTP 헤더 Wechatpay-Serial에 설정 가능
    *
@@ -1,5 +1,9 @@
 package com.wechat.pay.java.core.cipher;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 /** 서명기 */
 public interface Signer {
 
@@ -11,6 +15,38 @@ public interface Signer {
    */
   SignatureResult sign(String message);
 
+  /**
+   * 조각으로 나뉜 서명 정보로 서명 결과 생성. 서명 정보는 messageParts를 순서대로 이어 붙인 바이트임. 기본 구현은 조각을 이어 붙여 UTF-8 문자열로 만든 뒤
+   * {@link #sign(String)}을 호출함
+   *
+   * @param messageParts 서명 정보 조각
+   * @return 서명 결과
+   */
+  default SignatureResult sign(byte[]... messageParts) {
+    ByteArrayOutputStream message = new ByteArrayOutputStream();
+    for (byte[] part : messageParts) {
+      message.write(part, 0, part.length);
+    }
+    return sign(new String(message.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  /**
+   * 조각으로 나뉜 서명 정보로 서명 결과 생성. 서명 정보는 각 조각의 position부터 limit까지를 순서대로 이어 붙인 바이트이며, 서명 후 각 조각의
+   * position은 limit으로 이동함. 재사용하는 버퍼의 일부만 서명할 때 복사본을 만들지 않도록 사용함. 기본 구현은 조각을 바이트 배열로 복사한 뒤 {@link
+   * #sign(byte[]...)}를 호출함
+   *
+   * @param messageParts 서명 정보 조각
+   * @return 서명 결과
+   */
+  default SignatureResult sign(ByteBuffer... messageParts) {
+    byte[][] parts = new byte[messageParts.length][];
+    for (int i = 0; i < messageParts.length; i++) {
+      parts[i] = new byte[messageParts[i].remaining()];
+      messageParts[i].get(parts[i]);
+    }
+    return sign(parts);
+  }
+
   /**
    * 서명 알고리즘 가져오기
    *
@@ -1,5 +1,8 @@
 package com.wechat.pay.java.core.cipher;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
 /** 서명 검증기 */
 public interface Verifier {
 
@@ -13,5 +16,23 @@ public interface Verifier {
    */
   boolean verify(String serialNumber, String message, String signature);
 
+  /**
+   * 서명 정보를 이어 붙이지 않고 조각별로 서명 엔진에 넣어 서명 검증. 서명 정보는 messageParts를 순서대로 이어 붙인 바이트임. 기본 구현은 조각을 이어 붙여
+   * UTF-8 문자열로 만든 뒤 {@link #verify(String, String, String)}를 호출함
+   *
+   * @param serialNumber 서명 검증에 사용되는 인증서 시리얼 번호 또는 공개키 id
+   * @param signature 검증할 서명
+   * @param messageParts 서명 정보 조각
+   * @return 검증 통과 여부
+   */
+  default boolean verify(String serialNumber, String signature, byte[]... messageParts) {
+    ByteArrayOutputStream message = new ByteArrayOutputStream();
+    for (byte[] part : messageParts) {
+      message.write(part, 0, part.length);
+    }
+    return verify(
+        serialNumber, new String(message.toByteArray(), StandardCharsets.UTF_8), signature);
+  }
+
   String getSerialNumber();
 }
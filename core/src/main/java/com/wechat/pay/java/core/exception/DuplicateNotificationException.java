@@ -0,0 +1,42 @@
+package com.wechat.pay.java.core.exception;
+
+/**
+ * 이미 처리된 위챗페이 콜백 알림을 다시 받았을 때 발생. 호출자는 비즈니스 로직을 건너뛰고 성공 응답을 반환하면 됨. 단 {@link #isInProgress()}가
+ * true이면 아직 처리가 끝나지 않은 알림이므로, 실패 응답을 반환하여 위챗페이가 나중에 다시 보내도록 해야 함
+ */
+public class DuplicateNotificationException extends WechatPayException {
+
+  private static final long serialVersionUID = 3187146357231805524L;
+
+  private final String notificationKey;
+  private final boolean inProgress;
+
+  public DuplicateNotificationException(String message, String notificationKey) {
+    this(message, notificationKey, false);
+  }
+
+  public DuplicateNotificationException(
+      String message, String notificationKey, boolean inProgress) {
+    super(message);
+    this.notificationKey = notificationKey;
+    this.inProgress = inProgress;
+  }
+
+  /**
+   * 중복 판정에 사용된 키. 알림 id가 있으면 id, 없으면 헤더의 timestamp와 nonce 조합
+   *
+   * @return 알림 키
+   */
+  public String getNotificationKey() {
+    return notificationKey;
+  }
+
+  /**
+   * 같은 알림을 다른 요청이 처리 중인지 여부. 처리 중인 요청이 실패할 수 있으므로 성공 응답을 반환하면 안 됨
+   *
+   * @return 처리 중이면 true, 처리 완료로 기록된 알림이면 false
+   */
+  public boolean isInProgress() {
+    return inProgress;
+  }
+}
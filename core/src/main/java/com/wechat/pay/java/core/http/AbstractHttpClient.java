@@ -3,71 +3,488 @@ package com.wechat.pay.java.core.http;
 import static com.wechat.pay.java.core.http.Constant.ACCEPT;
 import static com.wechat.pay.java.core.http.Constant.AUTHORIZATION;
 import static com.wechat.pay.java.core.http.Constant.OS;
+import static com.wechat.pay.java.core.http.Constant.RANGE;
 import static com.wechat.pay.java.core.http.Constant.REQUEST_ID;
 import static com.wechat.pay.java.core.http.Constant.USER_AGENT;
 import static com.wechat.pay.java.core.http.Constant.USER_AGENT_FORMAT;
 import static com.wechat.pay.java.core.http.Constant.VERSION;
 import static com.wechat.pay.java.core.http.Constant.WECHAT_PAY_SERIAL;
+import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
 import static java.net.HttpURLConnection.HTTP_MULT_CHOICE;
 import static java.net.HttpURLConnection.HTTP_OK;
+import static java.net.HttpURLConnection.HTTP_PARTIAL;
 import static java.util.Objects.requireNonNull;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.wechat.pay.java.core.auth.Credential;
 import com.wechat.pay.java.core.auth.Validator;
+import com.wechat.pay.java.core.exception.HttpException;
 import com.wechat.pay.java.core.exception.MalformedMessageException;
 import com.wechat.pay.java.core.exception.ServiceException;
 import com.wechat.pay.java.core.exception.ValidationException;
 import com.wechat.pay.java.core.http.HttpRequest.Builder;
+import com.wechat.pay.java.core.http.metrics.HttpClientListener;
+import com.wechat.pay.java.core.http.metrics.NetworkTimings;
+import com.wechat.pay.java.core.http.metrics.RequestMetrics;
+import com.wechat.pay.java.core.http.ratelimit.RequestLimiter;
+import com.wechat.pay.java.core.http.retry.RetryPolicy;
+import com.wechat.pay.java.core.jfr.SdkEvents;
+import com.wechat.pay.java.core.util.GsonUtil;
+import java.io.IOException;
 import java.io.InputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /** 요청 클라이언트 추상 기본 클래스 */
 public abstract class AbstractHttpClient implements HttpClient {
 
+  private static final Logger logger = LoggerFactory.getLogger(AbstractHttpClient.class);
+  private static final int HTTP_TOO_MANY_REQUESTS = 429;
+  private static final Set<String> THROTTLED_ERROR_CODES =
+      new HashSet<>(
+          Arrays.asList("FREQUENCY_LIMITED", "FREQUENCY_LIMIT_EXCEED", "RATELIMIT_EXCEEDED"));
+
   protected final Credential credential;
   protected final Validator validator;
+  protected final Executor asyncExecutor;
+  protected final RequestLimiter requestLimiter;
+  protected final RetryPolicy retryPolicy;
+  protected final HttpClientListener httpClientListener;
+  // 요청마다 바뀌지 않으므로 처음 사용할 때 한 번 만듦. 하위 클래스의 getHttpClientInfo()를 쓰므로 생성자에서 만들지 않음
+  private volatile String userAgent;
 
   public AbstractHttpClient(Credential credential, Validator validator) {
+    this(credential, validator, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * AbstractHttpClient 생성자
+   *
+   * @param credential 자격 증명 생성기
+   * @param validator 검증기
+   * @param asyncExecutor 비동기 요청의 서명 생성, 응답 서명 검증, 응답 본문 파싱을 실행하는 Executor
+   */
+  public AbstractHttpClient(Credential credential, Validator validator, Executor asyncExecutor) {
+    this(credential, validator, asyncExecutor, RequestLimiter.unlimited());
+  }
+
+  /**
+   * AbstractHttpClient 생성자
+   *
+   * @param credential 자격 증명 생성기
+   * @param validator 검증기
+   * @param asyncExecutor 비동기 요청의 서명 생성, 응답 서명 검증, 응답 본문 파싱을 실행하는 Executor
+   * @param requestLimiter 요청 전송 전에 허가를 받는 제한기
+   */
+  public AbstractHttpClient(
+      Credential credential,
+      Validator validator,
+      Executor asyncExecutor,
+      RequestLimiter requestLimiter) {
+    this(credential, validator, asyncExecutor, requestLimiter, RetryPolicy.none());
+  }
+
+  /**
+   * AbstractHttpClient 생성자
+   *
+   * @param credential 자격 증명 생성기
+   * @param validator 검증기
+   * @param asyncExecutor 비동기 요청의 서명 생성, 응답 서명 검증, 응답 본문 파싱을 실행하는 Executor
+   * @param requestLimiter 요청 전송 전에 허가를 받는 제한기
+   * @param retryPolicy 요청 재시도 정책
+   */
+  public AbstractHttpClient(
+      Credential credential,
+      Validator validator,
+      Executor asyncExecutor,
+      RequestLimiter requestLimiter,
+      RetryPolicy retryPolicy) {
+    this(
+        credential,
+        validator,
+        asyncExecutor,
+        requestLimiter,
+        retryPolicy,
+        HttpClientListener.none());
+  }
+
+  /**
+   * AbstractHttpClient 생성자
+   *
+   * @param credential 자격 증명 생성기
+   * @param validator 검증기
+   * @param asyncExecutor 비동기 요청의 서명 생성, 응답 서명 검증, 응답 본문 파싱을 실행하는 Executor
+   * @param requestLimiter 요청 전송 전에 허가를 받는 제한기
+   * @param retryPolicy 요청 재시도 정책
+   * @param httpClientListener 요청마다 구간별 소요 시간을 전달받는 리스너
+   */
+  public AbstractHttpClient(
+      Credential credential,
+      Validator validator,
+      Executor asyncExecutor,
+      RequestLimiter requestLimiter,
+      RetryPolicy retryPolicy,
+      HttpClientListener httpClientListener) {
     this.credential = requireNonNull(credential);
     this.validator = requireNonNull(validator);
+    this.asyncExecutor = requireNonNull(asyncExecutor);
+    this.requestLimiter = requireNonNull(requestLimiter);
+    this.retryPolicy = requireNonNull(retryPolicy);
+    this.httpClientListener = requireNonNull(httpClientListener);
   }
 
   @Override
   public <T> HttpResponse<T> execute(HttpRequest httpRequest, Class<T> responseClass) {
-    HttpRequest innerRequest =
-        new Builder()
-            .url(httpRequest.getUrl())
-            .httpMethod(httpRequest.getHttpMethod())
-            .headers(httpRequest.getHeaders())
-            .addHeader(AUTHORIZATION, getAuthorization(httpRequest))
-            .addHeader(USER_AGENT, getUserAgent())
-            .addHeader(WECHAT_PAY_SERIAL, getWechatPaySerial())
-            .body(httpRequest.getBody())
-            .build();
-    OriginalResponse originalResponse = innerExecute(innerRequest);
+    CallRecorder recorder = new CallRecorder(httpRequest, false);
+    HttpResponse<T> httpResponse;
+    try {
+      OriginalResponse originalResponse = executeWithRetry(httpRequest, recorder);
+      httpResponse = processResponse(originalResponse, responseClass, recorder);
+    } catch (RuntimeException e) {
+      complete(httpRequest, recorder, e);
+      throw e;
+    }
+    complete(httpRequest, recorder, null);
+    return httpResponse;
+  }
+
+  @Override
+  public <T> CompletableFuture<HttpResponse<T>> executeAsync(
+      HttpRequest httpRequest, Class<T> responseClass) {
+    // 서명 생성, 서명 검증, 역직렬화는 모두 asyncExecutor에서 실행하여 I/O 스레드를 점유하지 않음
+    CallRecorder recorder = new CallRecorder(httpRequest, true);
+    return executeAsyncWithRetry(httpRequest, recorder)
+        .thenApplyAsync(
+            originalResponse -> processResponse(originalResponse, responseClass, recorder),
+            asyncExecutor)
+        .whenComplete((httpResponse, throwable) -> complete(httpRequest, recorder, throwable));
+  }
+
+  private <T> HttpResponse<T> processResponse(
+      OriginalResponse originalResponse, Class<T> responseClass, CallRecorder recorder) {
+    long validationStart = System.nanoTime();
     validateResponse(originalResponse);
-    return assembleHttpResponse(originalResponse, responseClass);
+    long deserializationStart = System.nanoTime();
+    recorder.validationNanos = deserializationStart - validationStart;
+    HttpResponse<T> httpResponse = assembleHttpResponse(originalResponse, responseClass);
+    recorder.deserializationNanos = System.nanoTime() - deserializationStart;
+    return httpResponse;
+  }
+
+  private void complete(HttpRequest httpRequest, CallRecorder recorder, Throwable throwable) {
+    Throwable failure = unwrap(throwable);
+    recorder.commitEvent(failure);
+    if (httpClientListener == HttpClientListener.none()) {
+      return;
+    }
+    try {
+      httpClientListener.onRequestComplete(
+          recorder.toMetrics(httpRequest, credential.getMerchantId(), failure));
+    } catch (RuntimeException e) {
+      logger.warn("HttpClientListener failed to handle request metrics", e);
+    }
+  }
+
+  private OriginalResponse executeWithRetry(HttpRequest httpRequest, CallRecorder recorder) {
+    String failedHost = null;
+    for (int attempt = 1; ; attempt++) {
+      HttpRequest attemptRequest = retryPolicy.route(httpRequest, failedHost);
+      OriginalResponse originalResponse = null;
+      RuntimeException failure = null;
+      try {
+        originalResponse = executeOnce(attemptRequest, recorder);
+      } catch (RuntimeException e) {
+        failure = e;
+      }
+      if (!retryPolicy.shouldRetry(attemptRequest, originalResponse, failure, attempt)) {
+        if (failure != null) {
+          throw failure;
+        }
+        return originalResponse;
+      }
+      failedHost = retryPolicy.failedHost(attemptRequest, failure);
+      try {
+        Thread.sleep(retryPolicy.backoffMillis(attempt));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new HttpException(attemptRequest, e);
+      }
+    }
+  }
+
+  private OriginalResponse executeOnce(HttpRequest httpRequest, CallRecorder recorder) {
+    // 허가를 기다린 뒤에 서명해야 대기 시간만큼 서명의 timestamp가 지나지 않음
+    RequestLimiter.Permit permit = requestLimiter.acquire(httpRequest, credential.getMerchantId());
+    NetworkTimings timings = recorder.startAttempt();
+    OriginalResponse originalResponse;
+    try {
+      HttpRequest innerRequest = buildInnerRequest(httpRequest, recorder);
+      recorder.sendStarted();
+      originalResponse = innerExecute(innerRequest, timings);
+    } catch (RuntimeException e) {
+      recorder.sendFinished(null);
+      permit.onIgnore();
+      throw e;
+    }
+    recorder.sendFinished(originalResponse);
+    releasePermit(permit, originalResponse);
+    return originalResponse;
+  }
+
+  private CompletableFuture<OriginalResponse> executeAsyncWithRetry(
+      HttpRequest httpRequest, CallRecorder recorder) {
+    CompletableFuture<OriginalResponse> result = new CompletableFuture<>();
+    executeAsyncAttempt(httpRequest, 1, null, recorder, result);
+    return result;
+  }
+
+  private void executeAsyncAttempt(
+      HttpRequest httpRequest,
+      int attempt,
+      String failedHost,
+      CallRecorder recorder,
+      CompletableFuture<OriginalResponse> result) {
+    HttpRequest attemptRequest;
+    try {
+      attemptRequest = retryPolicy.route(httpRequest, failedHost);
+    } catch (Throwable t) {
+      result.completeExceptionally(t);
+      return;
+    }
+    // 허가를 기다리는 동안 asyncExecutor의 스레드를 점유하지 않고, 허가를 받은 뒤의 서명과 전송만 asyncExecutor에서 실행
+    requestLimiter
+        .acquireAsync(attemptRequest, credential.getMerchantId(), asyncExecutor)
+        .thenComposeAsync(permit -> sendAsync(attemptRequest, permit, recorder), asyncExecutor)
+        .whenComplete(
+            (originalResponse, throwable) -> {
+              Throwable failure = unwrap(throwable);
+              try {
+                if (!retryPolicy.shouldRetry(attemptRequest, originalResponse, failure, attempt)) {
+                  if (failure == null) {
+                    result.complete(originalResponse);
+                  } else {
+                    result.completeExceptionally(failure);
+                  }
+                  return;
+                }
+                String nextFailedHost = retryPolicy.failedHost(attemptRequest, failure);
+                RetryScheduler.INSTANCE.schedule(
+                    () ->
+                        executeAsyncAttempt(
+                            httpRequest, attempt + 1, nextFailedHost, recorder, result),
+                    retryPolicy.backoffMillis(attempt),
+                    TimeUnit.MILLISECONDS);
+              } catch (Throwable t) {
+                // 재시도 정책이나 스케줄러가 실패해도 호출자가 끝나지 않는 future를 기다리지 않도록 함
+                if (failure != null && failure != t) {
+                  t.addSuppressed(failure);
+                }
+                result.completeExceptionally(t);
+              }
+            });
+  }
+
+  private CompletableFuture<OriginalResponse> sendAsync(
+      HttpRequest httpRequest, RequestLimiter.Permit permit, CallRecorder recorder) {
+    NetworkTimings timings = recorder.startAttempt();
+    CompletableFuture<OriginalResponse> future;
+    try {
+      HttpRequest innerRequest = buildInnerRequest(httpRequest, recorder);
+      recorder.sendStarted();
+      future = innerExecuteAsync(innerRequest, timings);
+    } catch (RuntimeException e) {
+      recorder.sendFinished(null);
+      permit.onIgnore();
+      throw e;
+    }
+    return future.whenComplete(
+        (originalResponse, throwable) -> {
+          recorder.sendFinished(originalResponse);
+          if (throwable == null) {
+            releasePermit(permit, originalResponse);
+          } else {
+            permit.onIgnore();
+          }
+        });
+  }
+
+  private void releasePermit(RequestLimiter.Permit permit, OriginalResponse originalResponse) {
+    if (isThrottled(originalResponse)) {
+      permit.onThrottled();
+    } else if (isInvalidHttpCode(originalResponse.getStatusCode())) {
+      permit.onIgnore();
+    } else {
+      permit.onSuccess();
+    }
+  }
+
+  /**
+   * 위챗페이가 빈도 제한으로 요청을 거절했는지 판단. 429 상태 코드이거나 오류 코드가 FREQUENCY_LIMITED 계열이면 true
+   *
+   * @param originalResponse 원본 응답
+   * @return 빈도 제한 여부
+   */
+  protected boolean isThrottled(OriginalResponse originalResponse) {
+    int statusCode = originalResponse.getStatusCode();
+    if (statusCode == HTTP_TOO_MANY_REQUESTS) {
+      return true;
+    }
+    if (statusCode < HTTP_BAD_REQUEST) {
+      return false;
+    }
+    String errorCode = getErrorCode(originalResponse.getBody());
+    return errorCode != null && THROTTLED_ERROR_CODES.contains(errorCode);
+  }
+
+  private static String getErrorCode(String body) {
+    if (body == null || body.isEmpty()) {
+      return null;
+    }
+    try {
+      JsonObject jsonObject = GsonUtil.getGson().fromJson(body, JsonObject.class);
+      JsonElement code = jsonObject == null ? null : jsonObject.get("code");
+      return code == null || !code.isJsonPrimitive() ? null : code.getAsString();
+    } catch (JsonParseException e) {
+      return null;
+    }
+  }
+
+  private static Throwable unwrap(Throwable throwable) {
+    return throwable instanceof CompletionException && throwable.getCause() != null
+        ? throwable.getCause()
+        : throwable;
+  }
+
+  private HttpRequest buildInnerRequest(HttpRequest httpRequest, CallRecorder recorder) {
+    long signingStart = System.nanoTime();
+    String authorization = getAuthorization(httpRequest);
+    recorder.signingNanos += System.nanoTime() - signingStart;
+    return new Builder()
+        .url(httpRequest.getUrl())
+        .httpMethod(httpRequest.getHttpMethod())
+        .headers(httpRequest.getHeaders())
+        .addHeader(AUTHORIZATION, authorization)
+        .addHeader(USER_AGENT, getUserAgent())
+        .addHeader(WECHAT_PAY_SERIAL, getWechatPaySerial())
+        .body(httpRequest.getBody())
+        .build();
   }
 
   @Override
   public InputStream download(String url) {
+    return download(url, 0);
+  }
+
+  @Override
+  public InputStream download(String url, long offset) {
+    if (offset < 0) {
+      throw new IllegalArgumentException("Download offset must not be negative: " + offset);
+    }
     HttpRequest originRequest =
         new HttpRequest.Builder().httpMethod(HttpMethod.GET).url(url).build();
-    HttpRequest httpRequest =
+    HttpRequest.Builder builder =
         new HttpRequest.Builder()
             .url(url)
             .httpMethod(HttpMethod.GET)
             .addHeader(AUTHORIZATION, getAuthorization(originRequest))
             .addHeader(ACCEPT, "*/*")
             .addHeader(USER_AGENT, getUserAgent())
-            .addHeader(WECHAT_PAY_SERIAL, getWechatPaySerial())
-            .build();
-    return innerDownload(httpRequest);
+            .addHeader(WECHAT_PAY_SERIAL, getWechatPaySerial());
+    if (offset > 0) {
+      builder.addHeader(RANGE, "bytes=" + offset + "-");
+    }
+    SdkEvents.DownloadSpan event = SdkEvents.beginDownload(originRequest.getUrl(), offset);
+    InputStream inputStream;
+    try {
+      inputStream = innerDownload(builder.build());
+    } catch (RuntimeException e) {
+      event.fail();
+      throw e;
+    }
+    return event.track(inputStream);
   }
 
   protected abstract InputStream innerDownload(HttpRequest httpRequest);
 
+  /**
+   * Range 요청에 서버가 206이 아닌 전체 파일로 응답한 경우, 요청한 위치까지 건너뛴 스트림을 반환
+   *
+   * @param httpRequest 다운로드 요청
+   * @param statusCode 응답 상태 코드
+   * @param responseBodyStream 응답 본문 스트림
+   * @return 요청한 위치부터의 파일 스트림
+   * @throws IOException 건너뛸 바이트를 읽는 중 I/O 오류
+   */
+  protected static InputStream skipToRequestedRange(
+      HttpRequest httpRequest, int statusCode, InputStream responseBodyStream) throws IOException {
+    String range = httpRequest.getHeaders().getHeader(RANGE);
+    if (range == null || statusCode == HTTP_PARTIAL || responseBodyStream == null) {
+      return responseBodyStream;
+    }
+    long remaining = Long.parseLong(range.substring("bytes=".length(), range.length() - 1));
+    while (remaining > 0) {
+      long skipped = responseBodyStream.skip(remaining);
+      if (skipped <= 0) {
+        // skip()은 EOF가 아니어도 0을 반환할 수 있으므로 한 바이트를 읽어 EOF 여부를 확인
+        if (responseBodyStream.read() == -1) {
+          break;
+        }
+        skipped = 1;
+      }
+      remaining -= skipped;
+    }
+    return responseBodyStream;
+  }
+
   protected abstract OriginalResponse innerExecute(HttpRequest httpRequest);
 
+  /**
+   * 서명된 HTTP 요청을 비동기로 전송. 기본 구현은 asyncExecutor에서 innerExecute()를 실행하며, 논블로킹 I/O를 지원하는 클라이언트는 재정의할 수
+   * 있음
+   *
+   * @param httpRequest 서명된 HTTP 요청
+   * @return 원본 응답의 CompletableFuture
+   */
+  protected CompletableFuture<OriginalResponse> innerExecuteAsync(HttpRequest httpRequest) {
+    return CompletableFuture.supplyAsync(() -> innerExecute(httpRequest), asyncExecutor);
+  }
+
+  /**
+   * 서명된 HTTP 요청을 전송하면서 연결, 서버 대기, 응답 읽기 구간의 시각을 timings에 기록. 기본 구현은 구간을 기록하지 않고 innerExecute()를 호출함
+   *
+   * @param httpRequest 서명된 HTTP 요청
+   * @param timings 구간별 시각을 기록할 객체
+   * @return 원본 응답
+   */
+  protected OriginalResponse innerExecute(HttpRequest httpRequest, NetworkTimings timings) {
+    return innerExecute(httpRequest);
+  }
+
+  /**
+   * 서명된 HTTP 요청을 비동기로 전송하면서 구간별 시각을 timings에 기록. 기본 구현은 구간을 기록하지 않고 innerExecuteAsync()를 호출함
+   *
+   * @param httpRequest 서명된 HTTP 요청
+   * @param timings 구간별 시각을 기록할 객체
+   * @return 원본 응답의 CompletableFuture
+   */
+  protected CompletableFuture<OriginalResponse> innerExecuteAsync(
+      HttpRequest httpRequest, NetworkTimings timings) {
+    return innerExecuteAsync(httpRequest);
+  }
+
   private void validateResponse(OriginalResponse originalResponse) {
 
     if (isInvalidHttpCode(originalResponse.getStatusCode())) {
@@ -77,8 +494,7 @@ public abstract class AbstractHttpClient implements HttpClient {
           originalResponse.getBody());
     }
 
-    if (originalResponse.getBody() != null
-        && !originalResponse.getBody().isEmpty()
+    if (originalResponse.hasBody()
         && !MediaType.APPLICATION_JSON.equalsWith(originalResponse.getContentType())) {
       throw new MalformedMessageException(
           String.format(
@@ -86,7 +502,7 @@ public abstract class AbstractHttpClient implements HttpClient {
               originalResponse.getContentType(), originalResponse.getRequest()));
     }
 
-    if (!validator.validate(originalResponse.getHeaders(), originalResponse.getBody())) {
+    if (!validator.validate(originalResponse.getHeaders(), originalResponse.getBodyBytes())) {
       String requestId = originalResponse.getHeaders().getHeader(REQUEST_ID);
       throw new ValidationException(
           String.format(
@@ -118,11 +534,24 @@ public abstract class AbstractHttpClient implements HttpClient {
     if (requestBody instanceof FileRequestBody) {
       return ((FileRequestBody) requestBody).getMeta();
     }
+    if (requestBody instanceof FilePathRequestBody) {
+      return ((FilePathRequestBody) requestBody).getMeta();
+    }
     throw new UnsupportedOperationException(
         String.format("Unsupported RequestBody Type[%s]", requestBody.getClass().getName()));
   }
 
   private String getUserAgent() {
+    String cached = userAgent;
+    if (cached == null) {
+      // 여러 스레드가 동시에 만들어도 결과가 같으므로 잠그지 않음
+      cached = buildUserAgent();
+      userAgent = cached;
+    }
+    return cached;
+  }
+
+  private String buildUserAgent() {
     return String.format(
         USER_AGENT_FORMAT,
         getClass().getPackage().getImplementationVersion(),
@@ -145,7 +574,103 @@ public abstract class AbstractHttpClient implements HttpClient {
   protected abstract String getHttpClientInfo();
 
   private String getAuthorization(HttpRequest request) {
+    if (request.getBody() instanceof JsonRequestBody) {
+      // 전송할 때 사용하는 바이트로 서명하여 요청 본문을 다시 인코딩하지 않음
+      return credential.getAuthorization(
+          request.getUri(),
+          request.getHttpMethod().name(),
+          ((JsonRequestBody) request.getBody()).getBodyBytes());
+    }
     return credential.getAuthorization(
         request.getUri(), request.getHttpMethod().name(), getSignBody(request.getBody()));
   }
+
+  /** execute, executeAsync 한 번의 계측 값. 비동기 요청에서는 CompletableFuture 단계마다 차례로 갱신됨 */
+  private static final class CallRecorder {
+
+    private final boolean async;
+    private final long startNanos = System.nanoTime();
+    private final SdkEvents.HttpRequestSpan event;
+    private int attempts;
+    private long signingNanos;
+    private long sendStartNanos = -1;
+    private long networkNanos = -1;
+    private long validationNanos = -1;
+    private long deserializationNanos = -1;
+    private int statusCode;
+    private NetworkTimings networkTimings;
+
+    CallRecorder(HttpRequest httpRequest, boolean async) {
+      this.async = async;
+      this.event =
+          SdkEvents.beginHttpRequest(httpRequest.getHttpMethod().name(), httpRequest.getUrl());
+    }
+
+    NetworkTimings startAttempt() {
+      attempts++;
+      sendStartNanos = -1;
+      networkNanos = -1;
+      statusCode = 0;
+      networkTimings = new NetworkTimings();
+      return networkTimings;
+    }
+
+    void sendStarted() {
+      sendStartNanos = System.nanoTime();
+    }
+
+    void sendFinished(OriginalResponse originalResponse) {
+      if (sendStartNanos >= 0) {
+        networkNanos = System.nanoTime() - sendStartNanos;
+      }
+      if (originalResponse != null) {
+        statusCode = originalResponse.getStatusCode();
+      }
+    }
+
+    void commitEvent(Throwable failure) {
+      event.commit(
+          statusCode,
+          attempts,
+          failure instanceof ServiceException ? ((ServiceException) failure).getErrorCode() : null);
+    }
+
+    RequestMetrics toMetrics(HttpRequest httpRequest, String merchantId, Throwable failure) {
+      ServiceException serviceException =
+          failure instanceof ServiceException ? (ServiceException) failure : null;
+      return new RequestMetrics.Builder()
+          .httpRequest(httpRequest)
+          .merchantId(merchantId)
+          .async(async)
+          .attempts(attempts)
+          .statusCode(statusCode)
+          .errorCode(serviceException == null ? null : serviceException.getErrorCode())
+          .exception(failure)
+          .totalTime(Duration.ofNanos(System.nanoTime() - startNanos))
+          .signingTime(attempts == 0 ? null : Duration.ofNanos(signingNanos))
+          .networkTime(toDuration(networkNanos))
+          .validationTime(toDuration(validationNanos))
+          .deserializationTime(toDuration(deserializationNanos))
+          .networkTimings(networkTimings)
+          .build();
+    }
+
+    private static Duration toDuration(long nanos) {
+      return nanos < 0 ? null : Duration.ofNanos(nanos);
+    }
+  }
+
+  /** 비동기 요청의 재시도 대기용 스케줄러. 재시도를 사용할 때만 생성됨 */
+  private static final class RetryScheduler {
+
+    static final ScheduledExecutorService INSTANCE =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "wechatpay-retry-scheduler");
+              thread.setDaemon(true);
+              return thread;
+            });
+
+    private RetryScheduler() {}
+  }
 }
@@ -6,6 +6,14 @@ import com.wechat.pay.java.core.Config;
 import com.wechat.pay.java.core.auth.Credential;
 import com.wechat.pay.java.core.auth.Validator;
 import com.wechat.pay.java.core.http.apache.ApacheHttpClientAdapter;
+import com.wechat.pay.java.core.http.apache.TimingHttpRequestExecutor;
+import com.wechat.pay.java.core.http.metrics.HttpClientListener;
+import com.wechat.pay.java.core.http.ratelimit.AdaptiveRequestLimiter;
+import com.wechat.pay.java.core.http.ratelimit.RequestLimiter;
+import com.wechat.pay.java.core.http.retry.DomainCircuitBreaker;
+import com.wechat.pay.java.core.http.retry.RetryPolicy;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
@@ -17,6 +25,10 @@ public class ApacheHttpClientBuilder implements AbstractHttpClientBuilder<Apache
   private Validator validator;
 
   private CloseableHttpClient customizeApacheHttpClient;
+  private Executor asyncExecutor = ForkJoinPool.commonPool();
+  private RequestLimiter requestLimiter = RequestLimiter.unlimited();
+  private RetryPolicy retryPolicy = RetryPolicy.none();
+  private HttpClientListener httpClientListener = HttpClientListener.none();
 
   static PoolingHttpClientConnectionManager apacheHttpClientConnectionManager =
       new PoolingHttpClientConnectionManager();
@@ -25,6 +37,7 @@ public class ApacheHttpClientBuilder implements AbstractHttpClientBuilder<Apache
     return HttpClientBuilder.create()
         .setConnectionManager(apacheHttpClientConnectionManager)
         .setConnectionManagerShared(true)
+        .setRequestExecutor(new TimingHttpRequestExecutor())
         .build();
   }
 
@@ -39,6 +52,10 @@ public class ApacheHttpClientBuilder implements AbstractHttpClientBuilder<Apache
     result.credential = this.credential;
     result.validator = this.validator;
     result.customizeApacheHttpClient = this.customizeApacheHttpClient;
+    result.asyncExecutor = this.asyncExecutor;
+    result.requestLimiter = this.requestLimiter;
+    result.retryPolicy = this.retryPolicy;
+    result.httpClientListener = this.httpClientListener;
     return result;
   }
 
@@ -77,6 +94,53 @@ public class ApacheHttpClientBuilder implements AbstractHttpClientBuilder<Apache
     return this;
   }
 
+  /**
+   * 비동기 요청을 실행하는 Executor 설정, 기본값은 공용 ForkJoinPool. Apache HttpClient는 블로킹 I/O이므로 요청 전송도 이
+   * Executor에서 실행됨
+   *
+   * @param asyncExecutor executor
+   * @return apacheHttpClientBuilder
+   */
+  public ApacheHttpClientBuilder asyncExecutor(Executor asyncExecutor) {
+    this.asyncExecutor = requireNonNull(asyncExecutor);
+    return this;
+  }
+
+  /**
+   * 요청 제한기 설정, 기본값은 제한 없음. 예: {@link AdaptiveRequestLimiter}로 API별 초당 요청 수와 동시 요청 수를 제한
+   *
+   * @param requestLimiter 요청 제한기
+   * @return apacheHttpClientBuilder
+   */
+  public ApacheHttpClientBuilder requestLimiter(RequestLimiter requestLimiter) {
+    this.requestLimiter = requireNonNull(requestLimiter);
+    return this;
+  }
+
+  /**
+   * 재시도 정책 설정, 기본값은 재시도하지 않음. 시도마다 서명을 다시 생성하며, {@link DomainCircuitBreaker}를 함께 설정하면 장애 도메인을 피해 예비
+   * 도메인으로 요청을 보냄
+   *
+   * @param retryPolicy 재시도 정책
+   * @return apacheHttpClientBuilder
+   */
+  public ApacheHttpClientBuilder retryPolicy(RetryPolicy retryPolicy) {
+    this.retryPolicy = requireNonNull(retryPolicy);
+    return this;
+  }
+
+  /**
+   * 요청 계측 리스너 설정, 기본값은 계측하지 않음. 기본 apacheHttpClient를 사용하면 연결 획득과 서버 대기 시간도 함께 측정하며, 사용자 정의
+   * apacheHttpClient는 {@link TimingHttpRequestExecutor}를 설정해야 측정됨
+   *
+   * @param httpClientListener 요청 계측 리스너
+   * @return apacheHttpClientBuilder
+   */
+  public ApacheHttpClientBuilder httpClientListener(HttpClientListener httpClientListener) {
+    this.httpClientListener = requireNonNull(httpClientListener);
+    return this;
+  }
+
   public ApacheHttpClientBuilder config(Config config) {
     requireNonNull(config);
     this.credential = config.createCredential();
@@ -98,6 +162,13 @@ public class ApacheHttpClientBuilder implements AbstractHttpClientBuilder<Apache
         customizeApacheHttpClient == null
             ? initDefaultApacheHttpClient()
             : customizeApacheHttpClient;
-    return new ApacheHttpClientAdapter(credential, validator, httpclient);
+    return new ApacheHttpClientAdapter(
+        credential,
+        validator,
+        httpclient,
+        asyncExecutor,
+        requestLimiter,
+        retryPolicy,
+        httpClientListener);
   }
 }
@@ -27,6 +27,7 @@ public final class Constant {
   public static final String USER_AGENT = "User-Agent";
   public static final String ACCEPT = "Accept";
   public static final String CONTENT_TYPE = "Content-Type";
+  public static final String RANGE = "Range";
 
   public static final List<String> PRIMARY_API_DOMAIN =
       Collections.unmodifiableList(Arrays.asList("api.mch.weixin.qq.com", "api.wechatpay.cn"));
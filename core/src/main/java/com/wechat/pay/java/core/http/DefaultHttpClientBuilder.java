@@ -5,9 +5,17 @@ import static java.util.Objects.requireNonNull;
 import com.wechat.pay.java.core.Config;
 import com.wechat.pay.java.core.auth.Credential;
 import com.wechat.pay.java.core.auth.Validator;
+import com.wechat.pay.java.core.http.metrics.HttpClientListener;
 import com.wechat.pay.java.core.http.okhttp.OkHttpClientAdapter;
 import com.wechat.pay.java.core.http.okhttp.OkHttpMultiDomainInterceptor;
+import com.wechat.pay.java.core.http.okhttp.OkHttpTimingEventListener;
+import com.wechat.pay.java.core.http.ratelimit.AdaptiveRequestLimiter;
+import com.wechat.pay.java.core.http.ratelimit.RequestLimiter;
+import com.wechat.pay.java.core.http.retry.DomainCircuitBreaker;
+import com.wechat.pay.java.core.http.retry.RetryPolicy;
 import java.net.Proxy;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import okhttp3.ConnectionPool;
 import okhttp3.OkHttpClient;
@@ -36,6 +44,10 @@ public class DefaultHttpClientBuilder
   private Proxy proxy;
   private boolean retryMultiDomain = false;
   private Boolean retryOnConnectionFailure = null;
+  private Executor asyncExecutor = ForkJoinPool.commonPool();
+  private RequestLimiter requestLimiter = RequestLimiter.unlimited();
+  private RetryPolicy retryPolicy = RetryPolicy.none();
+  private HttpClientListener httpClientListener = HttpClientListener.none();
   private static final OkHttpMultiDomainInterceptor multiDomainInterceptor =
       new OkHttpMultiDomainInterceptor();
 
@@ -54,6 +66,12 @@ public class DefaultHttpClientBuilder
     result.writeTimeoutMs = this.writeTimeoutMs;
     result.connectTimeoutMs = this.connectTimeoutMs;
     result.proxy = this.proxy;
+    result.retryMultiDomain = this.retryMultiDomain;
+    result.retryOnConnectionFailure = this.retryOnConnectionFailure;
+    result.asyncExecutor = this.asyncExecutor;
+    result.requestLimiter = this.requestLimiter;
+    result.retryPolicy = this.retryPolicy;
+    result.httpClientListener = this.httpClientListener;
     return result;
   }
 
@@ -138,6 +156,52 @@ public class DefaultHttpClientBuilder
     return this;
   }
 
+  /**
+   * 비동기 요청의 서명 생성, 응답 서명 검증, 응답 본문 파싱을 실행하는 Executor 설정, 기본값은 공용 ForkJoinPool
+   *
+   * @param asyncExecutor executor
+   * @return defaultHttpClientBuilder
+   */
+  public DefaultHttpClientBuilder asyncExecutor(Executor asyncExecutor) {
+    this.asyncExecutor = requireNonNull(asyncExecutor);
+    return this;
+  }
+
+  /**
+   * 요청 제한기 설정, 기본값은 제한 없음. 예: {@link AdaptiveRequestLimiter}로 API별 초당 요청 수와 동시 요청 수를 제한
+   *
+   * @param requestLimiter 요청 제한기
+   * @return defaultHttpClientBuilder
+   */
+  public DefaultHttpClientBuilder requestLimiter(RequestLimiter requestLimiter) {
+    this.requestLimiter = requireNonNull(requestLimiter);
+    return this;
+  }
+
+  /**
+   * 재시도 정책 설정, 기본값은 재시도하지 않음. 시도마다 서명을 다시 생성하며, {@link DomainCircuitBreaker}를 함께 설정하면 장애 도메인을 피해 예비
+   * 도메인으로 요청을 보냄
+   *
+   * @param retryPolicy 재시도 정책
+   * @return defaultHttpClientBuilder
+   */
+  public DefaultHttpClientBuilder retryPolicy(RetryPolicy retryPolicy) {
+    this.retryPolicy = requireNonNull(retryPolicy);
+    return this;
+  }
+
+  /**
+   * 요청 계측 리스너 설정, 기본값은 계측하지 않음. 설정하면 OkHttp EventListener로 연결, TLS 핸드셰이크, 서버 대기 시간도 함께 측정하며,
+   * okHttpClient에 원래 설정된 EventListener도 그대로 호출됨
+   *
+   * @param httpClientListener 요청 계측 리스너
+   * @return defaultHttpClientBuilder
+   */
+  public DefaultHttpClientBuilder httpClientListener(HttpClientListener httpClientListener) {
+    this.httpClientListener = requireNonNull(httpClientListener);
+    return this;
+  }
+
   /**
    * 이중 도메인 재해 복구 활성화
    *
@@ -163,8 +227,30 @@ public class DefaultHttpClientBuilder
   public AbstractHttpClient build() {
     requireNonNull(credential);
     requireNonNull(validator);
-    okhttp3.OkHttpClient.Builder okHttpClientBuilder =
-        (customizeOkHttpClient == null ? defaultOkHttpClient : customizeOkHttpClient).newBuilder();
+    okhttp3.OkHttpClient baseOkHttpClient =
+        customizeOkHttpClient == null ? defaultOkHttpClient : customizeOkHttpClient;
+    return new OkHttpClientAdapter(
+        credential,
+        validator,
+        buildOkHttpClient(baseOkHttpClient),
+        asyncExecutor,
+        requestLimiter,
+        retryPolicy,
+        httpClientListener);
+  }
+
+  private okhttp3.OkHttpClient buildOkHttpClient(okhttp3.OkHttpClient baseOkHttpClient) {
+    if (connectTimeoutMs < 0
+        && readTimeoutMs < 0
+        && writeTimeoutMs < 0
+        && proxy == null
+        && !retryMultiDomain
+        && retryOnConnectionFailure == null
+        && httpClientListener == HttpClientListener.none()) {
+      // 변경할 설정이 없으면 그대로 공유하여, 가맹점마다 HttpClient를 만들 때 OkHttpClient 복사본이 쌓이지 않도록 함
+      return baseOkHttpClient;
+    }
+    okhttp3.OkHttpClient.Builder okHttpClientBuilder = baseOkHttpClient.newBuilder();
     if (connectTimeoutMs >= 0) {
       okHttpClientBuilder.connectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS);
     }
@@ -183,6 +269,10 @@ public class DefaultHttpClientBuilder
     if (retryOnConnectionFailure != null && !retryOnConnectionFailure) {
       okHttpClientBuilder.retryOnConnectionFailure(false);
     }
-    return new OkHttpClientAdapter(credential, validator, okHttpClientBuilder.build());
+    if (httpClientListener != HttpClientListener.none()) {
+      okHttpClientBuilder.eventListenerFactory(
+          OkHttpTimingEventListener.factory(baseOkHttpClient.eventListenerFactory()));
+    }
+    return okHttpClientBuilder.build();
   }
 }
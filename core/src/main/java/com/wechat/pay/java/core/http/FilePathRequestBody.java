@@ -0,0 +1,96 @@
+package com.wechat.pay.java.core.http;
+
+import static java.util.Objects.requireNonNull;
+
+import java.net.URLConnection;
+import java.nio.file.Path;
+
+/** 파일 경로 타입 요청 본문. 파일을 메모리에 올리지 않고 전송 시 파일에서 직접 스트리밍함 */
+public final class FilePathRequestBody implements RequestBody {
+
+  private final String meta;
+  private final String fileName;
+  private final Path path;
+
+  private FilePathRequestBody(String meta, String fileName, Path path) {
+    this.meta = meta;
+    this.fileName = fileName;
+    this.path = path;
+  }
+
+  /**
+   * 미디어 파일 메타 정보 가져오기
+   *
+   * @return 미디어 파일 메타 정보
+   */
+  public String getMeta() {
+    return meta;
+  }
+
+  /**
+   * 파일명 가져오기
+   *
+   * @return 파일명
+   */
+  public String getFileName() {
+    return fileName;
+  }
+
+  /**
+   * 파일 경로 가져오기
+   *
+   * @return 파일 경로
+   */
+  public Path getPath() {
+    return path;
+  }
+
+  @Override
+  public String getContentType() {
+    String contentTypeFromName = URLConnection.guessContentTypeFromName(fileName);
+    if (contentTypeFromName == null) {
+      // 어떤 종류의 바이너리 데이터임을 나타냄
+      return MediaType.APPLICATION_OCTET_STREAM.getValue();
+    }
+    return contentTypeFromName;
+  }
+
+  @Override
+  public String toString() {
+    return "FilePathRequestBody{meta=" + meta + ", fileName=" + fileName + ", path=" + path + "}";
+  }
+
+  public static class Builder {
+
+    private String meta;
+    private String fileName;
+    private Path path;
+
+    public Builder meta(String meta) {
+      this.meta = meta;
+      return this;
+    }
+
+    /**
+     * 파일명 설정, 선택 사항, 기본값은 파일 경로의 파일명
+     *
+     * @param fileName 파일명
+     * @return Builder
+     */
+    public Builder fileName(String fileName) {
+      this.fileName = fileName;
+      return this;
+    }
+
+    public Builder path(Path path) {
+      this.path = path;
+      return this;
+    }
+
+    public FilePathRequestBody build() {
+      requireNonNull(path);
+      return new FilePathRequestBody(
+          requireNonNull(meta), fileName == null ? path.getFileName().toString() : fileName, path);
+    }
+  }
+}
@@ -5,6 +5,7 @@ import com.wechat.pay.java.core.exception.MalformedMessageException;
 import com.wechat.pay.java.core.exception.ServiceException;
 import com.wechat.pay.java.core.exception.ValidationException;
 import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
 
 /** HTTP 요청 클라이언트, 자동으로 서명 생성 및 검증 */
 public interface HttpClient {
@@ -23,6 +24,24 @@ public interface HttpClient {
    */
   <T> HttpResponse<T> execute(HttpRequest request, Class<T> responseClass);
 
+  /**
+   * HTTP 요청을 비동기로 전송. 호출 스레드를 블로킹하지 않으며, 서명 생성, 응답 서명 검증, 응답 본문 파싱이 완료되면 반환된 CompletableFuture가 완료됨
+   *
+   * <p>요청이 실패하면 반환된 CompletableFuture는 예외로 완료되며, 원인(cause)은 execute()와 동일한 예외(HttpException,
+   * ValidationException, ServiceException, MalformedMessageException)임
+   *
+   * <p>기본 구현은 execute()를 공용 ForkJoinPool에서 실행함. 비동기 I/O를 지원하는 클라이언트는 이 메서드를 재정의해야 함
+   *
+   * @param request HTTP 요청
+   * @param responseClass 비즈니스 응답 클래스의 Class 객체, 비즈니스 응답 타입을 확정할 수 없거나 해당 요청에 응답 본문이 없는 경우 Object.class를 전달할 수 있음
+   * @param <T> Class 객체로 모델링된 클래스의 타입
+   * @return HTTP 응답의 CompletableFuture
+   */
+  default <T> CompletableFuture<HttpResponse<T>> executeAsync(
+      HttpRequest request, Class<T> responseClass) {
+    return CompletableFuture.supplyAsync(() -> execute(request, responseClass));
+  }
+
   /**
    * GET 요청 전송
    *
@@ -146,4 +165,22 @@ public interface HttpClient {
    * @return 파일 스트림
    */
   InputStream download(String url);
+
+  /**
+   * 지정한 위치부터 파일 다운로드, 중단된 다운로드를 이어받을 때 사용. 파일 스트림 사용 후 닫아야 함
+   *
+   * @param url 요청 URL
+   * @param offset 다운로드를 시작할 바이트 위치, 0이면 처음부터 다운로드
+   * @return offset 위치부터의 파일 스트림
+   */
+  default InputStream download(String url, long offset) {
+    if (offset < 0) {
+      throw new IllegalArgumentException("Download offset must not be negative: " + offset);
+    }
+    if (offset == 0) {
+      return download(url);
+    }
+    throw new UnsupportedOperationException(
+        getClass().getName() + " does not support downloading from an offset.");
+  }
 }
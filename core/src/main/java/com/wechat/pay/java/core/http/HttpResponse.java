@@ -1,8 +1,10 @@
 package com.wechat.pay.java.core.http;
 
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.JsonParseException;
 import com.wechat.pay.java.core.exception.MalformedMessageException;
 import com.wechat.pay.java.core.util.GsonUtil;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.Objects;
 
 /**
@@ -14,14 +16,19 @@ public final class HttpResponse<T> {
 
   private final HttpRequest request;
   private final HttpHeaders headers;
-  private final ResponseBody body;
+  // 응답 본문 문자열은 getBody()를 호출할 때 만듦, toString()에 포함되지 않도록 transient
+  private final transient OriginalResponse originalResponse;
+  private volatile ResponseBody body;
   private final T serviceResponse;
 
   private HttpResponse(
-      HttpRequest request, HttpHeaders headers, ResponseBody body, T serviceResponse) {
+      HttpRequest request,
+      HttpHeaders headers,
+      OriginalResponse originalResponse,
+      T serviceResponse) {
     this.request = request;
     this.headers = headers;
-    this.body = body;
+    this.originalResponse = originalResponse;
     this.serviceResponse = serviceResponse;
   }
 
@@ -49,7 +56,12 @@ public final class HttpResponse<T> {
    * @return 응답 본문
    */
   public ResponseBody getBody() {
-    return body;
+    ResponseBody result = body;
+    if (result == null && originalResponse != null) {
+      result = new JsonResponseBody.Builder().body(originalResponse.getBody()).build();
+      body = result;
+    }
+    return result;
   }
 
   /**
@@ -63,6 +75,7 @@ public final class HttpResponse<T> {
 
   @Override
   public String toString() {
+    getBody();
     return GsonUtil.getGson().toJson(this);
   }
 
@@ -88,23 +101,23 @@ public final class HttpResponse<T> {
      */
     public HttpResponse<T> build() {
       Objects.requireNonNull(originalResponse);
-      if (originalResponse.getBody() == null
-          || originalResponse.getBody().isEmpty()
-          || serviceResponseType == null) {
+      if (!originalResponse.hasBody() || serviceResponseType == null) {
         return new HttpResponse<>(
             originalResponse.getRequest(), originalResponse.getHeaders(), null, null);
       }
-      ResponseBody body = new JsonResponseBody.Builder().body(originalResponse.getBody()).build();
       T serviceResponse;
-      try {
-        serviceResponse =
-            GsonUtil.getGson().fromJson(originalResponse.getBody(), serviceResponseType);
-      } catch (JsonSyntaxException e) {
+      // Gson은 Reader를 JsonReader로 감싸 읽으므로 바이트 응답을 문자열로 만들지 않고 역직렬화함
+      try (Reader reader = originalResponse.openBodyReader()) {
+        serviceResponse = GsonUtil.getGson().fromJson(reader, serviceResponseType);
+      } catch (JsonParseException | IOException e) {
         throw new MalformedMessageException(
             String.format("Invalid json response body[%s]", originalResponse.getBody()), e);
       }
       return new HttpResponse<>(
-          originalResponse.getRequest(), originalResponse.getHeaders(), body, serviceResponse);
+          originalResponse.getRequest(),
+          originalResponse.getHeaders(),
+          originalResponse,
+          serviceResponse);
     }
   }
 }
@@ -1,16 +1,25 @@
 package com.wechat.pay.java.core.http;
 
-import static java.util.Objects.requireNonNull;
-
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import com.wechat.pay.java.core.util.GsonUtil;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 /** HTTP JSON 타입 요청 본문 */
+@JsonAdapter(JsonRequestBody.JsonRequestBodyAdapter.class)
 public final class JsonRequestBody implements RequestBody {
 
-  private final String body;
+  // 둘 중 하나로 생성하며, 다른 하나는 처음 필요할 때 변환하여 채움
+  private volatile String body;
+  private volatile byte[] bodyBytes;
 
-  private JsonRequestBody(String body) {
+  private JsonRequestBody(String body, byte[] bodyBytes) {
     this.body = body;
+    this.bodyBytes = bodyBytes;
   }
 
   /**
@@ -19,7 +28,26 @@ public final class JsonRequestBody implements RequestBody {
    * @return 요청 본문
    */
   public String getBody() {
-    return body;
+    String result = body;
+    if (result == null) {
+      result = new String(bodyBytes, StandardCharsets.UTF_8);
+      body = result;
+    }
+    return result;
+  }
+
+  /**
+   * UTF-8로 인코딩된 요청 본문 가져오기. 요청 서명과 전송에 같은 배열을 사용하며, 반환된 배열은 수정하면 안 됨
+   *
+   * @return 요청 본문 바이트
+   */
+  public byte[] getBodyBytes() {
+    byte[] result = bodyBytes;
+    if (result == null) {
+      result = body.getBytes(StandardCharsets.UTF_8);
+      bodyBytes = result;
+    }
+    return result;
   }
 
   @Override
@@ -35,14 +63,63 @@ public final class JsonRequestBody implements RequestBody {
   public static class Builder {
 
     private String body;
+    private byte[] bodyBytes;
 
     public Builder body(String body) {
       this.body = body;
+      this.bodyBytes = null;
+      return this;
+    }
+
+    /**
+     * UTF-8로 인코딩된 요청 본문 설정. 빌드 이후에는 배열을 수정하면 안 됨
+     *
+     * @param bodyBytes 요청 본문 바이트, 예: {@link GsonUtil#toJsonBytes(Object)}의 결과
+     * @return Builder
+     */
+    public Builder body(byte[] bodyBytes) {
+      this.bodyBytes = bodyBytes;
+      this.body = null;
       return this;
     }
 
     public JsonRequestBody build() {
-      return new JsonRequestBody(requireNonNull(body));
+      if (body == null && bodyBytes == null) {
+        throw new NullPointerException("body");
+      }
+      return new JsonRequestBody(body, bodyBytes);
+    }
+  }
+
+  /** 바이트로 생성한 요청 본문도 HttpRequest.toString() 등에서 문자열로 출력되도록 하는 어댑터 */
+  static final class JsonRequestBodyAdapter extends TypeAdapter<JsonRequestBody> {
+
+    @Override
+    public void write(JsonWriter out, JsonRequestBody value) throws IOException {
+      if (value == null) {
+        out.nullValue();
+        return;
+      }
+      out.beginObject().name("body").value(value.getBody()).endObject();
+    }
+
+    @Override
+    public JsonRequestBody read(JsonReader in) throws IOException {
+      if (in.peek() == JsonToken.NULL) {
+        in.nextNull();
+        return null;
+      }
+      String body = null;
+      in.beginObject();
+      while (in.hasNext()) {
+        if ("body".equals(in.nextName()) && in.peek() != JsonToken.NULL) {
+          body = in.nextString();
+        } else {
+          in.skipValue();
+        }
+      }
+      in.endObject();
+      return new Builder().body(body).build();
     }
   }
 }
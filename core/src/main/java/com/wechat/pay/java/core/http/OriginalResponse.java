@@ -1,5 +1,10 @@
 package com.wechat.pay.java.core.http;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Objects;
 
@@ -9,15 +14,24 @@ public class OriginalResponse {
   private final HttpRequest request;
   private final String contentType;
   private final int statusCode;
-  private final String body;
+  // HTTP 클라이언트가 읽은 응답 본문 바이트. 문자열로 응답을 만든 경우 null
+  private final byte[] bodyBytes;
+  // getBody()를 처음 호출할 때 bodyBytes를 UTF-8로 디코딩하여 채움
+  private volatile String body;
 
   private OriginalResponse(
-      HttpRequest request, int statusCode, HttpHeaders headers, String contentType, String body) {
+      HttpRequest request,
+      int statusCode,
+      HttpHeaders headers,
+      String contentType,
+      String body,
+      byte[] bodyBytes) {
     this.request = request;
     this.contentType = contentType;
     this.headers = headers;
     this.statusCode = statusCode;
     this.body = body;
+    this.bodyBytes = bodyBytes;
   }
 
   /**
@@ -39,12 +53,52 @@ public class OriginalResponse {
   }
 
   /**
-   * 응답 본문 가져오기
+   * 응답 본문 가져오기. 바이트로 읽은 응답은 처음 호출할 때 문자열로 디코딩함
    *
    * @return 응답 본문
    */
   public String getBody() {
-    return body;
+    String result = body;
+    if (result == null && bodyBytes != null) {
+      result = new String(bodyBytes, StandardCharsets.UTF_8);
+      body = result;
+    }
+    return result;
+  }
+
+  /**
+   * 응답 본문 바이트 가져오기. 서명 검증처럼 바이트가 필요한 곳에서 문자열을 거치지 않도록 사용하며, 반환된 배열은 수정하면 안 됨
+   *
+   * @return 응답 본문 바이트, 응답 본문이 없으면 null
+   */
+  public byte[] getBodyBytes() {
+    if (bodyBytes != null) {
+      return bodyBytes;
+    }
+    String result = body;
+    return result == null ? null : result.getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * 비어 있지 않은 응답 본문이 있는지 여부. 응답 본문을 디코딩하지 않음
+   *
+   * @return 응답 본문이 있으면 true
+   */
+  public boolean hasBody() {
+    if (bodyBytes != null) {
+      return bodyBytes.length > 0;
+    }
+    String result = body;
+    return result != null && !result.isEmpty();
+  }
+
+  /** 응답 본문을 읽는 Reader. 이미 문자열이 있으면 문자열을, 아니면 바이트를 직접 읽음 */
+  Reader openBodyReader() {
+    String result = body;
+    if (result != null || bodyBytes == null) {
+      return new StringReader(result == null ? "" : result);
+    }
+    return new InputStreamReader(new ByteArrayInputStream(bodyBytes), StandardCharsets.UTF_8);
   }
 
   public String getContentType() {
@@ -64,6 +118,7 @@ public class OriginalResponse {
     private String contentType;
 
     private String jsonBody;
+    private byte[] bodyBytes;
 
     /**
      * 응답 contentType 설정
@@ -117,6 +172,19 @@ public class OriginalResponse {
      */
     public Builder body(String jsonBody) {
       this.jsonBody = jsonBody;
+      this.bodyBytes = null;
+      return this;
+    }
+
+    /**
+     * HTTP 클라이언트가 읽은 응답 body 바이트 설정. 문자열로 변환하지 않고 그대로 보관하며, 빌드 이후에는 배열을 수정하면 안 됨
+     *
+     * @param bodyBytes UTF-8로 인코딩된 응답 body
+     * @return OriginalResponse Builder
+     */
+    public Builder body(byte[] bodyBytes) {
+      this.bodyBytes = bodyBytes;
+      this.jsonBody = null;
       return this;
     }
 
@@ -127,7 +195,7 @@ public class OriginalResponse {
      */
     public OriginalResponse build() {
       Objects.requireNonNull(request);
-      return new OriginalResponse(request, statusCode, headers, contentType, jsonBody);
+      return new OriginalResponse(request, statusCode, headers, contentType, jsonBody, bodyBytes);
     }
   }
 }
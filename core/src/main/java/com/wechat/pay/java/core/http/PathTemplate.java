@@ -0,0 +1,39 @@
+package com.wechat.pay.java.core.http;
+
+import java.util.regex.Pattern;
+
+/** API를 구분하기 위한 URL 경로 템플릿 */
+public final class PathTemplate {
+
+  private static final Pattern VERSION_SEGMENT = Pattern.compile("v\\d+");
+  private static final Pattern STATIC_SEGMENT = Pattern.compile("[a-z_-]+");
+
+  private PathTemplate() {}
+
+  /**
+   * URL 경로의 path 파라미터를 {@code {}}로 바꾼 템플릿. 버전(v3)을 제외하고 소문자, '-', '_'만으로 이루어지지 않은 구간을 파라미터로 간주함. 예:
+   * /v3/pay/transactions/out-trade-no/1217752501201407033233368018 →
+   * /v3/pay/transactions/out-trade-no/{}
+   *
+   * @param path URL 경로
+   * @return 경로 템플릿
+   */
+  public static String of(String path) {
+    String[] segments = path.split("/", -1);
+    StringBuilder template = new StringBuilder(path.length());
+    for (int i = 0; i < segments.length; i++) {
+      if (i > 0) {
+        template.append('/');
+      }
+      String segment = segments[i];
+      if (segment.isEmpty()
+          || VERSION_SEGMENT.matcher(segment).matches()
+          || STATIC_SEGMENT.matcher(segment).matches()) {
+        template.append(segment);
+      } else {
+        template.append("{}");
+      }
+    }
+    return template.toString();
+  }
+}
@@ -9,15 +9,22 @@ import com.wechat.pay.java.core.exception.HttpException;
 import com.wechat.pay.java.core.exception.MalformedMessageException;
 import com.wechat.pay.java.core.exception.ServiceException;
 import com.wechat.pay.java.core.http.AbstractHttpClient;
+import com.wechat.pay.java.core.http.FilePathRequestBody;
 import com.wechat.pay.java.core.http.FileRequestBody;
 import com.wechat.pay.java.core.http.HttpRequest;
 import com.wechat.pay.java.core.http.JsonRequestBody;
 import com.wechat.pay.java.core.http.OriginalResponse;
+import com.wechat.pay.java.core.http.metrics.HttpClientListener;
+import com.wechat.pay.java.core.http.metrics.NetworkTimings;
+import com.wechat.pay.java.core.http.ratelimit.RequestLimiter;
+import com.wechat.pay.java.core.http.retry.RetryPolicy;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.client.methods.CloseableHttpResponse;
@@ -26,6 +33,8 @@ import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPatch;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.entity.mime.HttpMultipartMode;
@@ -49,6 +58,48 @@ public class ApacheHttpClientAdapter extends AbstractHttpClient {
     this.apacheHttpClient = requireNonNull(client);
   }
 
+  public ApacheHttpClientAdapter(
+      Credential credential,
+      Validator validator,
+      CloseableHttpClient client,
+      Executor asyncExecutor) {
+    super(credential, validator, asyncExecutor);
+    this.apacheHttpClient = requireNonNull(client);
+  }
+
+  public ApacheHttpClientAdapter(
+      Credential credential,
+      Validator validator,
+      CloseableHttpClient client,
+      Executor asyncExecutor,
+      RequestLimiter requestLimiter) {
+    super(credential, validator, asyncExecutor, requestLimiter);
+    this.apacheHttpClient = requireNonNull(client);
+  }
+
+  public ApacheHttpClientAdapter(
+      Credential credential,
+      Validator validator,
+      CloseableHttpClient client,
+      Executor asyncExecutor,
+      RequestLimiter requestLimiter,
+      RetryPolicy retryPolicy) {
+    super(credential, validator, asyncExecutor, requestLimiter, retryPolicy);
+    this.apacheHttpClient = requireNonNull(client);
+  }
+
+  public ApacheHttpClientAdapter(
+      Credential credential,
+      Validator validator,
+      CloseableHttpClient client,
+      Executor asyncExecutor,
+      RequestLimiter requestLimiter,
+      RetryPolicy retryPolicy,
+      HttpClientListener httpClientListener) {
+    super(credential, validator, asyncExecutor, requestLimiter, retryPolicy, httpClientListener);
+    this.apacheHttpClient = requireNonNull(client);
+  }
+
   @Override
   protected String getHttpClientInfo() {
     return "apachehttp/" + apacheHttpClient.getClass().getPackage().getImplementationVersion();
@@ -56,14 +107,30 @@ public class ApacheHttpClientAdapter extends AbstractHttpClient {
 
   @Override
   public OriginalResponse innerExecute(HttpRequest wechatPayRequest) {
+    return innerExecute(wechatPayRequest, new NetworkTimings());
+  }
+
+  @Override
+  protected OriginalResponse innerExecute(HttpRequest wechatPayRequest, NetworkTimings timings) {
+    HttpClientContext context = HttpClientContext.create();
+    context.setAttribute(TimingHttpRequestExecutor.NETWORK_TIMINGS, timings);
+    timings.callStart();
     try (CloseableHttpResponse apacheHttpResponse =
-        apacheHttpClient.execute(buildApacheHttpRequest(wechatPayRequest))) {
-      return assembleOriginalResponse(wechatPayRequest, apacheHttpResponse);
+        apacheHttpClient.execute(buildApacheHttpRequest(wechatPayRequest), context)) {
+      timings.responseStart();
+      return assembleOriginalResponse(wechatPayRequest, apacheHttpResponse, timings);
     } catch (IOException e) {
       throw new HttpException(wechatPayRequest, e);
     }
   }
 
+  @Override
+  protected CompletableFuture<OriginalResponse> innerExecuteAsync(
+      HttpRequest wechatPayRequest, NetworkTimings timings) {
+    return CompletableFuture.supplyAsync(
+        () -> innerExecute(wechatPayRequest, timings), asyncExecutor);
+  }
+
   private org.apache.http.client.methods.HttpUriRequest buildApacheHttpRequest(
       HttpRequest wechatPayRequest) {
     String url = wechatPayRequest.getUrl().toString();
@@ -106,8 +173,8 @@ public class ApacheHttpClientAdapter extends AbstractHttpClient {
     }
     // ContentType 파라미터를 UTF-8로 지정, fix issues #352
     if (wechatPayRequestBody instanceof JsonRequestBody) {
-      return new StringEntity(
-          ((JsonRequestBody) wechatPayRequestBody).getBody(),
+      return new ByteArrayEntity(
+          ((JsonRequestBody) wechatPayRequestBody).getBodyBytes(),
           ContentType.create(wechatPayRequestBody.getContentType(), StandardCharsets.UTF_8));
     }
     if (wechatPayRequestBody instanceof FileRequestBody) {
@@ -122,6 +189,19 @@ public class ApacheHttpClientAdapter extends AbstractHttpClient {
           fileRequestBody.getFileName());
       return entityBuilder.build();
     }
+    if (wechatPayRequestBody instanceof FilePathRequestBody) {
+      FilePathRequestBody filePathRequestBody = (FilePathRequestBody) wechatPayRequestBody;
+      MultipartEntityBuilder entityBuilder = MultipartEntityBuilder.create();
+      entityBuilder.setMode(HttpMultipartMode.RFC6532);
+      entityBuilder.addTextBody(META_NAME, filePathRequestBody.getMeta(), APPLICATION_JSON);
+      // FileBody로 추가하여 전송 시 파일에서 직접 스트리밍
+      entityBuilder.addBinaryBody(
+          FILE_NAME,
+          filePathRequestBody.getPath().toFile(),
+          ContentType.create(filePathRequestBody.getContentType()),
+          filePathRequestBody.getFileName());
+      return entityBuilder.build();
+    }
     logger.error(
         "When an http request is sent and the apache request body is constructed, the requestBody"
             + " parameter"
@@ -131,11 +211,15 @@ public class ApacheHttpClientAdapter extends AbstractHttpClient {
   }
 
   private OriginalResponse assembleOriginalResponse(
-      HttpRequest wechatPayRequest, CloseableHttpResponse apacheHttpResponse) throws IOException {
+      HttpRequest wechatPayRequest,
+      CloseableHttpResponse apacheHttpResponse,
+      NetworkTimings timings)
+      throws IOException {
     Map<String, String> responseHeaders = assembleResponseHeader(apacheHttpResponse);
     HttpEntity entity = apacheHttpResponse.getEntity();
     try {
-      String responseBody = entity != null ? EntityUtils.toString(entity) : null;
+      byte[] responseBody = entity != null ? EntityUtils.toByteArray(entity) : null;
+      timings.responseEnd(responseBody != null ? responseBody.length : 0);
       return new OriginalResponse.Builder()
           .request(wechatPayRequest)
           .headers(responseHeaders)
@@ -162,9 +246,14 @@ public class ApacheHttpClientAdapter extends AbstractHttpClient {
 
   @Override
   protected InputStream innerDownload(HttpRequest httpRequest) {
+    CloseableHttpResponse apacheHttpResponse;
+    try {
+      apacheHttpResponse = apacheHttpClient.execute(buildApacheHttpRequest(httpRequest));
+    } catch (IOException e) {
+      throw new HttpException(httpRequest, e);
+    }
+    // 스트림을 반환하지 못하면 호출자가 닫을 수 없으므로 연결을 반납하도록 여기서 응답을 닫음
     try {
-      CloseableHttpResponse apacheHttpResponse =
-          apacheHttpClient.execute(buildApacheHttpRequest(httpRequest));
       if (isInvalidHttpCode(apacheHttpResponse.getStatusLine().getStatusCode())) {
         throw new ServiceException(
             httpRequest, apacheHttpResponse.getStatusLine().getStatusCode(), "");
@@ -173,9 +262,23 @@ public class ApacheHttpClientAdapter extends AbstractHttpClient {
       if (apacheHttpResponse.getEntity() != null) {
         responseBodyStream = apacheHttpResponse.getEntity().getContent();
       }
-      return responseBodyStream;
+      return skipToRequestedRange(
+          httpRequest, apacheHttpResponse.getStatusLine().getStatusCode(), responseBodyStream);
     } catch (IOException e) {
-      throw new HttpException(httpRequest, e);
+      HttpException exception = new HttpException(httpRequest, e);
+      closeQuietly(apacheHttpResponse, exception);
+      throw exception;
+    } catch (RuntimeException e) {
+      closeQuietly(apacheHttpResponse, e);
+      throw e;
+    }
+  }
+
+  private static void closeQuietly(CloseableHttpResponse apacheHttpResponse, Exception cause) {
+    try {
+      apacheHttpResponse.close();
+    } catch (IOException closeException) {
+      cause.addSuppressed(closeException);
     }
   }
 }
@@ -0,0 +1,36 @@
+package com.wechat.pay.java.core.http.apache;
+
+import com.wechat.pay.java.core.http.metrics.NetworkTimings;
+import java.io.IOException;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+/**
+ * 연결을 얻은 시각, 요청을 모두 보낸 시각을 {@link NetworkTimings}에 기록하는 HttpRequestExecutor. Apache HttpClient에는
+ * OkHttp EventListener에 해당하는 기능이 없으므로, HttpClientBuilder.setRequestExecutor()로 설정해 연결이 준비된 뒤의 구간을
+ * 측정함. TLS 핸드셰이크 시간은 연결 시간에 포함됨
+ */
+public class TimingHttpRequestExecutor extends HttpRequestExecutor {
+
+  /** HttpContext에서 NetworkTimings를 찾는 속성 이름 */
+  public static final String NETWORK_TIMINGS = "wechatpay.network-timings";
+
+  @Override
+  protected HttpResponse doSendRequest(
+      HttpRequest request, HttpClientConnection conn, HttpContext context)
+      throws IOException, HttpException {
+    NetworkTimings timings = (NetworkTimings) context.getAttribute(NETWORK_TIMINGS);
+    if (timings != null) {
+      timings.connectionAcquired();
+    }
+    HttpResponse response = super.doSendRequest(request, conn, context);
+    if (timings != null) {
+      timings.requestEnd();
+    }
+    return response;
+  }
+}
@@ -0,0 +1,28 @@
+package com.wechat.pay.java.core.http.metrics;
+
+/**
+ * 요청 계측 리스너. {@link com.wechat.pay.java.core.http.AbstractHttpClient}는 execute, executeAsync가 끝날
+ * 때마다 구간별 소요 시간을 담은 {@link RequestMetrics}를 전달함. 특정 메트릭 라이브러리에 의존하지 않으므로 Micrometer 등의 히스토그램에 직접
+ * 기록하면 됨
+ *
+ * <p>요청을 처리한 스레드에서 호출되므로 오래 걸리는 작업을 해서는 안 됨. 리스너가 던진 예외는 로그만 남기고 요청 결과에 영향을 주지 않음
+ */
+@FunctionalInterface
+public interface HttpClientListener {
+
+  /**
+   * 요청 하나가 끝났을 때 호출됨. 성공, 실패 모두 호출됨
+   *
+   * @param metrics 요청 계측 결과
+   */
+  void onRequestComplete(RequestMetrics metrics);
+
+  /**
+   * 아무것도 하지 않는 HttpClientListener
+   *
+   * @return HttpClientListener
+   */
+  static HttpClientListener none() {
+    return NoopHttpClientListener.INSTANCE;
+  }
+}
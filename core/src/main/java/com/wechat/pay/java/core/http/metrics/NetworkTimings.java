@@ -0,0 +1,116 @@
+package com.wechat.pay.java.core.http.metrics;
+
+import java.time.Duration;
+
+/**
+ * 요청 한 번의 네트워크 구간별 시각. HTTP 클라이언트 어댑터가 OkHttp EventListener 등으로 각 시점에 해당 메서드를 호출해 기록함. 기록되지 않은 구간의
+ * 소요 시간은 null
+ */
+public final class NetworkTimings {
+
+  private static final long UNSET = Long.MIN_VALUE;
+
+  private volatile long callStart = UNSET;
+  private volatile long secureConnectStart = UNSET;
+  private volatile long secureConnectEnd = UNSET;
+  private volatile long connectionAcquired = UNSET;
+  private volatile long requestEnd = UNSET;
+  private volatile long responseStart = UNSET;
+  private volatile long responseEnd = UNSET;
+  private volatile long responseBytes = -1;
+
+  /** 요청을 HTTP 클라이언트에 넘김 */
+  public void callStart() {
+    callStart = System.nanoTime();
+  }
+
+  /** TLS 핸드셰이크 시작 */
+  public void secureConnectStart() {
+    secureConnectStart = System.nanoTime();
+  }
+
+  /** TLS 핸드셰이크 완료 */
+  public void secureConnectEnd() {
+    secureConnectEnd = System.nanoTime();
+  }
+
+  /** 연결 풀에서 연결을 얻었거나 새 연결을 맺음 */
+  public void connectionAcquired() {
+    connectionAcquired = System.nanoTime();
+  }
+
+  /** 요청 헤더와 본문을 모두 보냄 */
+  public void requestEnd() {
+    requestEnd = System.nanoTime();
+  }
+
+  /** 응답 헤더를 받음 */
+  public void responseStart() {
+    responseStart = System.nanoTime();
+  }
+
+  /**
+   * 응답 본문을 모두 읽음
+   *
+   * @param responseBytes 응답 본문 바이트 수, 알 수 없으면 음수
+   */
+  public void responseEnd(long responseBytes) {
+    responseEnd = System.nanoTime();
+    if (responseBytes >= 0) {
+      this.responseBytes = responseBytes;
+    }
+  }
+
+  /**
+   * 응답 본문 바이트 수
+   *
+   * @return 바이트 수, 알 수 없으면 -1
+   */
+  public long getResponseBytes() {
+    return responseBytes;
+  }
+
+  /**
+   * 연결을 얻기까지의 시간. 새 연결이면 DNS 조회, TCP 연결, TLS 핸드셰이크를 포함함
+   *
+   * @return 소요 시간
+   */
+  public Duration getConnectTime() {
+    return between(callStart, connectionAcquired);
+  }
+
+  /**
+   * TLS 핸드셰이크 시간. 연결을 재사용했으면 null
+   *
+   * @return 소요 시간
+   */
+  public Duration getTlsHandshakeTime() {
+    return between(secureConnectStart, secureConnectEnd);
+  }
+
+  /**
+   * 요청을 보낸 뒤 응답 헤더를 받기까지 서버를 기다린 시간
+   *
+   * @return 소요 시간
+   */
+  public Duration getServerWaitTime() {
+    long sent = requestEnd != UNSET ? requestEnd : connectionAcquired;
+    return between(sent, responseStart);
+  }
+
+  /**
+   * 응답 본문을 읽는 데 걸린 시간
+   *
+   * @return 소요 시간
+   */
+  public Duration getResponseReadTime() {
+    return between(responseStart, responseEnd);
+  }
+
+  private static Duration between(long start, long end) {
+    if (start == UNSET || end == UNSET || end < start) {
+      return null;
+    }
+    return Duration.ofNanos(end - start);
+  }
+}
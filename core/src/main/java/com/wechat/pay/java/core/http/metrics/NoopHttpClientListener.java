@@ -0,0 +1,11 @@
+package com.wechat.pay.java.core.http.metrics;
+
+final class NoopHttpClientListener implements HttpClientListener {
+
+  static final NoopHttpClientListener INSTANCE = new NoopHttpClientListener();
+
+  private NoopHttpClientListener() {}
+
+  @Override
+  public void onRequestComplete(RequestMetrics metrics) {}
+}
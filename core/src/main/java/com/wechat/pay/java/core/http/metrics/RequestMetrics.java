@@ -0,0 +1,353 @@
+package com.wechat.pay.java.core.http.metrics;
+
+import static java.util.Objects.requireNonNull;
+
+import com.wechat.pay.java.core.http.HttpMethod;
+import com.wechat.pay.java.core.http.HttpRequest;
+import com.wechat.pay.java.core.http.PathTemplate;
+import java.time.Duration;
+
+/**
+ * execute, executeAsync 한 번의 계측 결과. 재시도한 경우 서명 시간은 모든 시도의 합이고, 네트워크 구간별 시간과 상태 코드는 마지막 시도의 값임. 측정하지
+ * 못한 구간의 소요 시간은 null
+ */
+public final class RequestMetrics {
+
+  private final HttpMethod httpMethod;
+  private final String host;
+  private final String endpoint;
+  private final String merchantId;
+  private final boolean async;
+  private final int attempts;
+  private final int statusCode;
+  private final long responseBytes;
+  private final String errorCode;
+  private final Throwable exception;
+  private final Duration totalTime;
+  private final Duration signingTime;
+  private final Duration networkTime;
+  private final Duration connectTime;
+  private final Duration tlsHandshakeTime;
+  private final Duration serverWaitTime;
+  private final Duration responseReadTime;
+  private final Duration validationTime;
+  private final Duration deserializationTime;
+
+  private RequestMetrics(Builder builder) {
+    this.httpMethod = builder.httpRequest.getHttpMethod();
+    this.host = builder.httpRequest.getUrl().getHost();
+    this.endpoint = PathTemplate.of(builder.httpRequest.getUrl().getPath());
+    this.merchantId = builder.merchantId;
+    this.async = builder.async;
+    this.attempts = builder.attempts;
+    this.statusCode = builder.statusCode;
+    this.errorCode = builder.errorCode;
+    this.exception = builder.exception;
+    this.totalTime = builder.totalTime;
+    this.signingTime = builder.signingTime;
+    this.networkTime = builder.networkTime;
+    this.validationTime = builder.validationTime;
+    this.deserializationTime = builder.deserializationTime;
+    NetworkTimings timings = builder.networkTimings;
+    this.responseBytes = timings == null ? -1 : timings.getResponseBytes();
+    this.connectTime = timings == null ? null : timings.getConnectTime();
+    this.tlsHandshakeTime = timings == null ? null : timings.getTlsHandshakeTime();
+    this.serverWaitTime = timings == null ? null : timings.getServerWaitTime();
+    this.responseReadTime = timings == null ? null : timings.getResponseReadTime();
+  }
+
+  /**
+   * HTTP 메서드
+   *
+   * @return HTTP 메서드
+   */
+  public HttpMethod getHttpMethod() {
+    return httpMethod;
+  }
+
+  /**
+   * 요청한 도메인. 재시도 중 예비 도메인으로 바뀐 경우 원래 요청의 도메인
+   *
+   * @return 도메인
+   */
+  public String getHost() {
+    return host;
+  }
+
+  /**
+   * path 파라미터를 {@code {}}로 바꾼 경로. API별로 메트릭을 집계할 때 사용. 예: /v3/pay/transactions/out-trade-no/{}
+   *
+   * @return 경로 템플릿
+   */
+  public String getEndpoint() {
+    return endpoint;
+  }
+
+  /**
+   * 요청한 가맹점 번호
+   *
+   * @return 가맹점 번호
+   */
+  public String getMerchantId() {
+    return merchantId;
+  }
+
+  /**
+   * executeAsync로 보낸 요청인지 여부
+   *
+   * @return 비동기 요청 여부
+   */
+  public boolean isAsync() {
+    return async;
+  }
+
+  /**
+   * 전송 시도 횟수. 재시도하지 않았으면 1, 전송 전에 실패했으면 0
+   *
+   * @return 시도 횟수
+   */
+  public int getAttempts() {
+    return attempts;
+  }
+
+  /**
+   * HTTP 상태 코드
+   *
+   * @return 상태 코드, 응답을 받지 못했으면 0
+   */
+  public int getStatusCode() {
+    return statusCode;
+  }
+
+  /**
+   * 응답 본문 바이트 수
+   *
+   * @return 바이트 수, 알 수 없으면 -1
+   */
+  public long getResponseBytes() {
+    return responseBytes;
+  }
+
+  /**
+   * 위챗페이 오류 코드. ServiceException으로 실패한 경우에만 값이 있음
+   *
+   * @return 오류 코드
+   */
+  public String getErrorCode() {
+    return errorCode;
+  }
+
+  /**
+   * 요청이 실패한 원인
+   *
+   * @return 예외, 성공했으면 null
+   */
+  public Throwable getException() {
+    return exception;
+  }
+
+  /**
+   * 요청 성공 여부
+   *
+   * @return 성공했으면 true
+   */
+  public boolean isSuccess() {
+    return exception == null;
+  }
+
+  /**
+   * execute 호출부터 응답 객체를 반환하기까지의 전체 시간
+   *
+   * @return 소요 시간
+   */
+  public Duration getTotalTime() {
+    return totalTime;
+  }
+
+  /**
+   * Authorization 서명 생성 시간
+   *
+   * @return 소요 시간
+   */
+  public Duration getSigningTime() {
+    return signingTime;
+  }
+
+  /**
+   * 서명된 요청을 HTTP 클라이언트에 넘긴 뒤 응답 본문까지 읽는 데 걸린 시간
+   *
+   * @return 소요 시간
+   */
+  public Duration getNetworkTime() {
+    return networkTime;
+  }
+
+  /**
+   * 연결을 얻기까지의 시간. 새 연결이면 DNS 조회, TCP 연결, TLS 핸드셰이크를 포함함
+   *
+   * @return 소요 시간
+   */
+  public Duration getConnectTime() {
+    return connectTime;
+  }
+
+  /**
+   * TLS 핸드셰이크 시간. 연결을 재사용했으면 null
+   *
+   * @return 소요 시간
+   */
+  public Duration getTlsHandshakeTime() {
+    return tlsHandshakeTime;
+  }
+
+  /**
+   * 요청을 보낸 뒤 응답 헤더를 받기까지 서버를 기다린 시간
+   *
+   * @return 소요 시간
+   */
+  public Duration getServerWaitTime() {
+    return serverWaitTime;
+  }
+
+  /**
+   * 응답 본문을 읽는 데 걸린 시간
+   *
+   * @return 소요 시간
+   */
+  public Duration getResponseReadTime() {
+    return responseReadTime;
+  }
+
+  /**
+   * 응답 서명 검증 시간
+   *
+   * @return 소요 시간
+   */
+  public Duration getValidationTime() {
+    return validationTime;
+  }
+
+  /**
+   * 응답 본문을 응답 객체로 역직렬화한 시간
+   *
+   * @return 소요 시간
+   */
+  public Duration getDeserializationTime() {
+    return deserializationTime;
+  }
+
+  @Override
+  public String toString() {
+    return "RequestMetrics{"
+        + "httpMethod="
+        + httpMethod
+        + ", endpoint='"
+        + endpoint
+        + '\''
+        + ", attempts="
+        + attempts
+        + ", statusCode="
+        + statusCode
+        + ", errorCode='"
+        + errorCode
+        + '\''
+        + ", totalTime="
+        + totalTime
+        + ", signingTime="
+        + signingTime
+        + ", networkTime="
+        + networkTime
+        + ", validationTime="
+        + validationTime
+        + ", deserializationTime="
+        + deserializationTime
+        + '}';
+  }
+
+  public static class Builder {
+
+    private HttpRequest httpRequest;
+    private String merchantId;
+    private boolean async;
+    private int attempts;
+    private int statusCode;
+    private String errorCode;
+    private Throwable exception;
+    private Duration totalTime;
+    private Duration signingTime;
+    private Duration networkTime;
+    private Duration validationTime;
+    private Duration deserializationTime;
+    private NetworkTimings networkTimings;
+
+    public Builder httpRequest(HttpRequest httpRequest) {
+      this.httpRequest = httpRequest;
+      return this;
+    }
+
+    public Builder merchantId(String merchantId) {
+      this.merchantId = merchantId;
+      return this;
+    }
+
+    public Builder async(boolean async) {
+      this.async = async;
+      return this;
+    }
+
+    public Builder attempts(int attempts) {
+      this.attempts = attempts;
+      return this;
+    }
+
+    public Builder statusCode(int statusCode) {
+      this.statusCode = statusCode;
+      return this;
+    }
+
+    public Builder errorCode(String errorCode) {
+      this.errorCode = errorCode;
+      return this;
+    }
+
+    public Builder exception(Throwable exception) {
+      this.exception = exception;
+      return this;
+    }
+
+    public Builder totalTime(Duration totalTime) {
+      this.totalTime = totalTime;
+      return this;
+    }
+
+    public Builder signingTime(Duration signingTime) {
+      this.signingTime = signingTime;
+      return this;
+    }
+
+    public Builder networkTime(Duration networkTime) {
+      this.networkTime = networkTime;
+      return this;
+    }
+
+    public Builder validationTime(Duration validationTime) {
+      this.validationTime = validationTime;
+      return this;
+    }
+
+    public Builder deserializationTime(Duration deserializationTime) {
+      this.deserializationTime = deserializationTime;
+      return this;
+    }
+
+    public Builder networkTimings(NetworkTimings networkTimings) {
+      this.networkTimings = networkTimings;
+      return this;
+    }
+
+    public RequestMetrics build() {
+      requireNonNull(httpRequest);
+      return new RequestMetrics(this);
+    }
+  }
+}
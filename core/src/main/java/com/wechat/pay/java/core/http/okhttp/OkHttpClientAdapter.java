@@ -8,14 +8,24 @@ import com.wechat.pay.java.core.exception.HttpException;
 import com.wechat.pay.java.core.exception.MalformedMessageException;
 import com.wechat.pay.java.core.exception.ServiceException;
 import com.wechat.pay.java.core.http.AbstractHttpClient;
+import com.wechat.pay.java.core.http.FilePathRequestBody;
 import com.wechat.pay.java.core.http.FileRequestBody;
 import com.wechat.pay.java.core.http.HttpRequest;
 import com.wechat.pay.java.core.http.JsonRequestBody;
 import com.wechat.pay.java.core.http.OriginalResponse;
+import com.wechat.pay.java.core.http.metrics.HttpClientListener;
+import com.wechat.pay.java.core.http.metrics.NetworkTimings;
+import com.wechat.pay.java.core.http.ratelimit.RequestLimiter;
+import com.wechat.pay.java.core.http.retry.RetryPolicy;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.MultipartBody;
 import okhttp3.Request;
 import okhttp3.RequestBody;
@@ -38,6 +48,48 @@ public final class OkHttpClientAdapter extends AbstractHttpClient {
     this.okHttpClient = requireNonNull(client);
   }
 
+  public OkHttpClientAdapter(
+      Credential credential,
+      Validator validator,
+      okhttp3.OkHttpClient client,
+      Executor asyncExecutor) {
+    super(credential, validator, asyncExecutor);
+    this.okHttpClient = requireNonNull(client);
+  }
+
+  public OkHttpClientAdapter(
+      Credential credential,
+      Validator validator,
+      okhttp3.OkHttpClient client,
+      Executor asyncExecutor,
+      RequestLimiter requestLimiter) {
+    super(credential, validator, asyncExecutor, requestLimiter);
+    this.okHttpClient = requireNonNull(client);
+  }
+
+  public OkHttpClientAdapter(
+      Credential credential,
+      Validator validator,
+      okhttp3.OkHttpClient client,
+      Executor asyncExecutor,
+      RequestLimiter requestLimiter,
+      RetryPolicy retryPolicy) {
+    super(credential, validator, asyncExecutor, requestLimiter, retryPolicy);
+    this.okHttpClient = requireNonNull(client);
+  }
+
+  public OkHttpClientAdapter(
+      Credential credential,
+      Validator validator,
+      okhttp3.OkHttpClient client,
+      Executor asyncExecutor,
+      RequestLimiter requestLimiter,
+      RetryPolicy retryPolicy,
+      HttpClientListener httpClientListener) {
+    super(credential, validator, asyncExecutor, requestLimiter, retryPolicy, httpClientListener);
+    this.okHttpClient = requireNonNull(client);
+  }
+
   @Override
   protected String getHttpClientInfo() {
     return "okhttp3/" + okHttpClient.getClass().getPackage().getImplementationVersion();
@@ -45,16 +97,60 @@ public final class OkHttpClientAdapter extends AbstractHttpClient {
 
   @Override
   public OriginalResponse innerExecute(HttpRequest wechatPayRequest) {
-    Request okHttpRequest = buildOkHttpRequest(wechatPayRequest);
+    return innerExecute(wechatPayRequest, new NetworkTimings());
+  }
+
+  @Override
+  protected OriginalResponse innerExecute(HttpRequest wechatPayRequest, NetworkTimings timings) {
+    Request okHttpRequest = buildOkHttpRequest(wechatPayRequest, timings);
+    timings.callStart();
     try (Response okHttpResponse = okHttpClient.newCall(okHttpRequest).execute()) {
-      return assembleOriginalResponse(wechatPayRequest, okHttpResponse);
+      timings.responseStart();
+      return assembleOriginalResponse(wechatPayRequest, okHttpResponse, timings);
     } catch (IOException e) {
       throw new HttpException(wechatPayRequest, e);
     }
   }
 
+  @Override
+  protected CompletableFuture<OriginalResponse> innerExecuteAsync(HttpRequest wechatPayRequest) {
+    return innerExecuteAsync(wechatPayRequest, new NetworkTimings());
+  }
+
+  @Override
+  protected CompletableFuture<OriginalResponse> innerExecuteAsync(
+      HttpRequest wechatPayRequest, NetworkTimings timings) {
+    CompletableFuture<OriginalResponse> future = new CompletableFuture<>();
+    Call call = okHttpClient.newCall(buildOkHttpRequest(wechatPayRequest, timings));
+    timings.callStart();
+    call.enqueue(
+        new Callback() {
+          @Override
+          public void onFailure(Call call, IOException e) {
+            future.completeExceptionally(new HttpException(wechatPayRequest, e));
+          }
+
+          @Override
+          public void onResponse(Call call, Response okHttpResponse) {
+            timings.responseStart();
+            try (Response response = okHttpResponse) {
+              future.complete(assembleOriginalResponse(wechatPayRequest, response, timings));
+            } catch (RuntimeException e) {
+              future.completeExceptionally(e);
+            }
+          }
+        });
+    return future;
+  }
+
   private Request buildOkHttpRequest(HttpRequest wechatPayRequest) {
-    Request.Builder okHttpRequestBuilder = new Request.Builder().url(wechatPayRequest.getUrl());
+    return buildOkHttpRequest(wechatPayRequest, null);
+  }
+
+  private Request buildOkHttpRequest(HttpRequest wechatPayRequest, NetworkTimings timings) {
+    // OkHttpTimingEventListener가 이 요청의 구간별 시각을 기록할 수 있도록 tag로 전달
+    Request.Builder okHttpRequestBuilder =
+        new Request.Builder().url(wechatPayRequest.getUrl()).tag(NetworkTimings.class, timings);
     Map<String, String> headers = wechatPayRequest.getHeaders().getHeaders();
     headers.forEach(okHttpRequestBuilder::addHeader);
     String method = wechatPayRequest.getHttpMethod().name();
@@ -76,6 +172,9 @@ public final class OkHttpClientAdapter extends AbstractHttpClient {
     if (wechatPayRequestBody instanceof FileRequestBody) {
       return createOkHttpMultipartRequestBody(wechatPayRequestBody);
     }
+    if (wechatPayRequestBody instanceof FilePathRequestBody) {
+      return createOkHttpMultipartRequestBody((FilePathRequestBody) wechatPayRequestBody);
+    }
     logger.error(
         "When an http request is sent and the okhttp request body is constructed, the requestBody parameter"
             + " type cannot be found,requestBody class name[{}]",
@@ -84,22 +183,26 @@ public final class OkHttpClientAdapter extends AbstractHttpClient {
   }
 
   @SuppressWarnings("deprecation")
-  private okhttp3.RequestBody createRequestBody(String content, okhttp3.MediaType mediaType) {
+  private okhttp3.RequestBody createRequestBody(byte[] content, okhttp3.MediaType mediaType) {
     // use an OkHttp3.x compatible method
     // see https://github.com/wechatpay-apiv3/wechatpay-java/issues/70
     return okhttp3.RequestBody.create(mediaType, content);
   }
 
   @SuppressWarnings("deprecation")
-  private okhttp3.RequestBody createRequestBody(byte[] content, okhttp3.MediaType mediaType) {
-    return okhttp3.RequestBody.create(mediaType, content);
+  private okhttp3.RequestBody createRequestBody(File file, okhttp3.MediaType mediaType) {
+    // 전송 시 okio Source로 파일을 읽어 소켓에 직접 씀
+    return okhttp3.RequestBody.create(mediaType, file);
   }
 
   private RequestBody createOkHttpRequestBody(
       com.wechat.pay.java.core.http.RequestBody wechatPayRequestBody) {
-    return createRequestBody(
-        ((JsonRequestBody) wechatPayRequestBody).getBody(),
-        okhttp3.MediaType.parse(wechatPayRequestBody.getContentType()));
+    // String으로 만들 때와 같이 charset=utf-8을 붙여 Content-Type이 바뀌지 않도록 함
+    okhttp3.MediaType mediaType = okhttp3.MediaType.parse(wechatPayRequestBody.getContentType());
+    if (mediaType != null && mediaType.charset() == null) {
+      mediaType = okhttp3.MediaType.parse(mediaType + "; charset=utf-8");
+    }
+    return createRequestBody(((JsonRequestBody) wechatPayRequestBody).getBodyBytes(), mediaType);
   }
 
   private RequestBody createOkHttpMultipartRequestBody(
@@ -115,6 +218,18 @@ public final class OkHttpClientAdapter extends AbstractHttpClient {
         .build();
   }
 
+  private RequestBody createOkHttpMultipartRequestBody(FilePathRequestBody filePathRequestBody) {
+    okhttp3.RequestBody okHttpFileBody =
+        createRequestBody(
+            filePathRequestBody.getPath().toFile(),
+            okhttp3.MediaType.parse(filePathRequestBody.getContentType()));
+    return new okhttp3.MultipartBody.Builder()
+        .setType(MultipartBody.FORM)
+        .addFormDataPart(META_NAME, filePathRequestBody.getMeta())
+        .addFormDataPart(FILE_NAME, filePathRequestBody.getFileName(), okHttpFileBody)
+        .build();
+  }
+
   private Map<String, String> assembleResponseHeader(Response okHttpResponse) {
     Map<String, String> responseHeaders = new ConcurrentHashMap<>();
     // use an OkHttp3.x compatible method
@@ -126,9 +241,11 @@ public final class OkHttpClientAdapter extends AbstractHttpClient {
   }
 
   private OriginalResponse assembleOriginalResponse(
-      HttpRequest wechatPayRequest, Response okHttpResponse) {
+      HttpRequest wechatPayRequest, Response okHttpResponse, NetworkTimings timings) {
     Map<String, String> responseHeaders = assembleResponseHeader(okHttpResponse);
     try {
+      byte[] responseBody = okHttpResponse.body().bytes();
+      timings.responseEnd(responseBody.length);
       return new OriginalResponse.Builder()
           .request(wechatPayRequest)
           .headers(responseHeaders)
@@ -137,7 +254,7 @@ public final class OkHttpClientAdapter extends AbstractHttpClient {
               okHttpResponse.body() == null || okHttpResponse.body().contentType() == null
                   ? null
                   : okHttpResponse.body().contentType().toString())
-          .body(okHttpResponse.body().string())
+          .body(responseBody)
           .build();
     } catch (IOException e) {
       throw new MalformedMessageException(
@@ -150,8 +267,14 @@ public final class OkHttpClientAdapter extends AbstractHttpClient {
   @Override
   protected InputStream innerDownload(HttpRequest httpRequest) {
     Request okHttpRequest = buildOkHttpRequest(httpRequest);
+    Response okHttpResponse;
+    try {
+      okHttpResponse = okHttpClient.newCall(okHttpRequest).execute();
+    } catch (IOException e) {
+      throw new HttpException(httpRequest, e);
+    }
+    // 스트림을 반환하지 못하면 호출자가 닫을 수 없으므로 연결을 반납하도록 여기서 응답을 닫음
     try {
-      Response okHttpResponse = okHttpClient.newCall(okHttpRequest).execute();
       if (isInvalidHttpCode(okHttpResponse.code())) {
         throw new ServiceException(httpRequest, okHttpResponse.code(), "");
       }
@@ -159,9 +282,13 @@ public final class OkHttpClientAdapter extends AbstractHttpClient {
       if (okHttpResponse.body() != null) {
         responseBodyStream = okHttpResponse.body().byteStream();
       }
-      return responseBodyStream;
+      return skipToRequestedRange(httpRequest, okHttpResponse.code(), responseBodyStream);
     } catch (IOException e) {
+      okHttpResponse.close();
       throw new HttpException(httpRequest, e);
+    } catch (RuntimeException e) {
+      okHttpResponse.close();
+      throw e;
     }
   }
 }
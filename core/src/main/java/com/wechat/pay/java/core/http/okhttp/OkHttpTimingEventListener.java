@@ -0,0 +1,202 @@
+package com.wechat.pay.java.core.http.okhttp;
+
+import com.wechat.pay.java.core.http.metrics.NetworkTimings;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.HttpUrl;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * OkHttp 이벤트로 TLS 핸드셰이크, 연결 획득, 요청 전송, 응답 크기를 {@link NetworkTimings}에 기록하는 EventListener. 모든 이벤트는
+ * OkHttpClient에 원래 설정된 EventListener에도 그대로 전달됨
+ */
+public final class OkHttpTimingEventListener extends EventListener {
+
+  private final NetworkTimings timings;
+  private final EventListener delegate;
+
+  private OkHttpTimingEventListener(NetworkTimings timings, EventListener delegate) {
+    this.timings = timings;
+    this.delegate = delegate;
+  }
+
+  /**
+   * OkHttpClientAdapter가 보낸 요청에만 구간별 시각을 기록하는 EventListener.Factory
+   *
+   * @param delegate OkHttpClient에 원래 설정된 EventListener.Factory
+   * @return EventListener.Factory
+   */
+  public static EventListener.Factory factory(EventListener.Factory delegate) {
+    return call -> {
+      EventListener listener = delegate.create(call);
+      NetworkTimings timings = call.request().tag(NetworkTimings.class);
+      return timings == null ? listener : new OkHttpTimingEventListener(timings, listener);
+    };
+  }
+
+  @Override
+  public void callStart(Call call) {
+    delegate.callStart(call);
+  }
+
+  @Override
+  public void proxySelectStart(Call call, HttpUrl url) {
+    delegate.proxySelectStart(call, url);
+  }
+
+  @Override
+  public void proxySelectEnd(Call call, HttpUrl url, List<Proxy> proxies) {
+    delegate.proxySelectEnd(call, url, proxies);
+  }
+
+  @Override
+  public void dnsStart(Call call, String domainName) {
+    delegate.dnsStart(call, domainName);
+  }
+
+  @Override
+  public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+    delegate.dnsEnd(call, domainName, inetAddressList);
+  }
+
+  @Override
+  public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+    delegate.connectStart(call, inetSocketAddress, proxy);
+  }
+
+  @Override
+  public void secureConnectStart(Call call) {
+    timings.secureConnectStart();
+    delegate.secureConnectStart(call);
+  }
+
+  @Override
+  public void secureConnectEnd(Call call, Handshake handshake) {
+    timings.secureConnectEnd();
+    delegate.secureConnectEnd(call, handshake);
+  }
+
+  @Override
+  public void connectEnd(
+      Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+    delegate.connectEnd(call, inetSocketAddress, proxy, protocol);
+  }
+
+  @Override
+  public void connectFailed(
+      Call call,
+      InetSocketAddress inetSocketAddress,
+      Proxy proxy,
+      Protocol protocol,
+      IOException ioe) {
+    delegate.connectFailed(call, inetSocketAddress, proxy, protocol, ioe);
+  }
+
+  @Override
+  public void connectionAcquired(Call call, Connection connection) {
+    timings.connectionAcquired();
+    delegate.connectionAcquired(call, connection);
+  }
+
+  @Override
+  public void connectionReleased(Call call, Connection connection) {
+    delegate.connectionReleased(call, connection);
+  }
+
+  @Override
+  public void requestHeadersStart(Call call) {
+    delegate.requestHeadersStart(call);
+  }
+
+  @Override
+  public void requestHeadersEnd(Call call, Request request) {
+    timings.requestEnd();
+    delegate.requestHeadersEnd(call, request);
+  }
+
+  @Override
+  public void requestBodyStart(Call call) {
+    delegate.requestBodyStart(call);
+  }
+
+  @Override
+  public void requestBodyEnd(Call call, long byteCount) {
+    timings.requestEnd();
+    delegate.requestBodyEnd(call, byteCount);
+  }
+
+  @Override
+  public void requestFailed(Call call, IOException ioe) {
+    delegate.requestFailed(call, ioe);
+  }
+
+  @Override
+  public void responseHeadersStart(Call call) {
+    delegate.responseHeadersStart(call);
+  }
+
+  @Override
+  public void responseHeadersEnd(Call call, Response response) {
+    delegate.responseHeadersEnd(call, response);
+  }
+
+  @Override
+  public void responseBodyStart(Call call) {
+    delegate.responseBodyStart(call);
+  }
+
+  @Override
+  public void responseBodyEnd(Call call, long byteCount) {
+    timings.responseEnd(byteCount);
+    delegate.responseBodyEnd(call, byteCount);
+  }
+
+  @Override
+  public void responseFailed(Call call, IOException ioe) {
+    delegate.responseFailed(call, ioe);
+  }
+
+  @Override
+  public void callEnd(Call call) {
+    delegate.callEnd(call);
+  }
+
+  @Override
+  public void callFailed(Call call, IOException ioe) {
+    delegate.callFailed(call, ioe);
+  }
+
+  @Override
+  public void canceled(Call call) {
+    delegate.canceled(call);
+  }
+
+  @Override
+  public void satisfactionFailure(Call call, Response response) {
+    delegate.satisfactionFailure(call, response);
+  }
+
+  @Override
+  public void cacheHit(Call call, Response cachedResponse) {
+    delegate.cacheHit(call, cachedResponse);
+  }
+
+  @Override
+  public void cacheMiss(Call call) {
+    delegate.cacheMiss(call);
+  }
+
+  @Override
+  public void cacheConditionalHit(Call call, Response cachedResponse) {
+    delegate.cacheConditionalHit(call, cachedResponse);
+  }
+}
@@ -0,0 +1,570 @@
+package com.wechat.pay.java.core.http.ratelimit;
+
+import static java.util.Objects.requireNonNull;
+
+import com.wechat.pay.java.core.exception.HttpException;
+import com.wechat.pay.java.core.http.HttpRequest;
+import com.wechat.pay.java.core.http.PathTemplate;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 가맹점 번호와 API(HTTP 메서드 + 경로 템플릿)별로 요청을 제한하는 RequestLimiter
+ *
+ * <ul>
+ *   <li>토큰 버킷으로 초당 요청 수를 제한
+ *   <li>동시 요청 수 한도를 AIMD로 조정. 성공하면 한도만큼의 요청마다 1씩 늘리고, 위챗페이가 빈도 제한으로 거절하면 backoffRatio를 곱해 줄임
+ * </ul>
+ *
+ * <p>{@link #acquire}는 허가를 기다리는 동안 호출 스레드를 블로킹함. {@link #acquireAsync}는 스레드를 점유하지 않고 대기열에 들어가며, 자리가
+ * 나거나 토큰이 채워지면 허가를 반환하는 스레드 또는 내부 스케줄러 스레드에서 future를 완료함
+ *
+ * <p>버킷은 가맹점 번호와 API 조합마다 하나씩 만들어지며, 버킷 수가 maxBuckets를 넘으면 처리 중인 요청이 없는 버킷을 오래 사용하지 않은 순서로 제거함. 제거된
+ * 버킷의 동시 요청 한도는 다음 요청에서 초기값부터 다시 조정됨
+ */
+public class AdaptiveRequestLimiter implements RequestLimiter {
+
+  // 제거된 버킷에서 acquireSlot이 반환하는 값. 세대는 0부터 증가하므로 겹치지 않음
+  private static final long RETIRED = -1;
+
+  private final double permitsPerSecond;
+  private final double burst;
+  private final double initialConcurrency;
+  private final int minConcurrency;
+  private final int maxConcurrency;
+  private final double backoffRatio;
+  private final long maxWaitNanos;
+  private final int maxBuckets;
+  private final ConcurrentMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+  private AdaptiveRequestLimiter(Builder builder) {
+    this.permitsPerSecond = builder.permitsPerSecond;
+    this.burst = builder.burst > 0 ? builder.burst : Math.max(1, permitsPerSecond);
+    this.initialConcurrency = builder.initialConcurrency;
+    this.minConcurrency = builder.minConcurrency;
+    this.maxConcurrency = builder.maxConcurrency;
+    this.backoffRatio = builder.backoffRatio;
+    this.maxWaitNanos = builder.maxWait.toNanos();
+    this.maxBuckets = builder.maxBuckets;
+  }
+
+  @Override
+  public Permit acquire(HttpRequest httpRequest, String merchantId) {
+    String key = keyOf(httpRequest, merchantId);
+    long deadline = System.nanoTime() + maxWaitNanos;
+    try {
+      Bucket bucket;
+      long generation;
+      // 자리를 받기 전에 버킷이 제거되었으면 새 버킷에서 다시 시도
+      do {
+        bucket = bucketOf(key);
+        generation = bucket.acquireSlot(deadline);
+      } while (generation == RETIRED);
+      try {
+        bucket.acquireToken(deadline);
+      } catch (InterruptedException | TimeoutException | RuntimeException e) {
+        bucket.release(generation, false, false);
+        throw e;
+      }
+      return new BucketPermit(bucket, generation);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new HttpException(httpRequest, e);
+    } catch (TimeoutException e) {
+      throw new HttpException(httpRequest, e);
+    }
+  }
+
+  @Override
+  public CompletableFuture<Permit> acquireAsync(
+      HttpRequest httpRequest, String merchantId, Executor executor) {
+    String key = keyOf(httpRequest, merchantId);
+    long deadline = System.nanoTime() + maxWaitNanos;
+    while (true) {
+      AsyncAcquisition acquisition = new AsyncAcquisition(httpRequest, bucketOf(key), deadline);
+      // 자리를 받거나 대기열에 들어가기 전에 버킷이 제거되었으면 새 버킷에서 다시 시도
+      if (acquisition.bucket.acquireSlotAsync(acquisition)) {
+        return acquisition.future;
+      }
+    }
+  }
+
+  /**
+   * 현재 동시 요청 한도. 모니터링용
+   *
+   * @param httpRequest 요청
+   * @param merchantId 가맹점 번호
+   * @return 동시 요청 한도, 아직 요청한 적이 없으면 초기값
+   */
+  public double getConcurrencyLimit(HttpRequest httpRequest, String merchantId) {
+    Bucket bucket = buckets.get(keyOf(httpRequest, merchantId));
+    return bucket == null ? initialConcurrency : bucket.getLimit();
+  }
+
+  /**
+   * 현재 버킷 수. 모니터링용
+   *
+   * @return 가맹점 번호와 API 조합별 버킷 수
+   */
+  public int getBucketCount() {
+    return buckets.size();
+  }
+
+  /** 키의 버킷을 조회하거나 생성. 반환한 버킷은 자리를 받기 전에 제거될 수 있으므로 호출자가 다시 확인해야 함 */
+  private Bucket bucketOf(String key) {
+    Bucket bucket = buckets.get(key);
+    if (bucket == null) {
+      Bucket created = new Bucket();
+      bucket = buckets.putIfAbsent(key, created);
+      if (bucket == null) {
+        bucket = created;
+        if (buckets.size() > maxBuckets) {
+          evictIdleBuckets(created);
+        }
+      }
+    }
+    return bucket;
+  }
+
+  /** 처리 중인 요청이 없는 버킷을 오래 사용하지 않은 순서로 제거. 매번 정리하지 않도록 한도의 3/4까지 줄임 */
+  private synchronized void evictIdleBuckets(Bucket created) {
+    int target = maxBuckets - maxBuckets / 4;
+    if (buckets.size() <= target) {
+      return;
+    }
+    List<Map.Entry<String, Bucket>> candidates = new ArrayList<>(buckets.entrySet());
+    candidates.sort((a, b) -> Long.compare(a.getValue().lastUsed, b.getValue().lastUsed));
+    for (Map.Entry<String, Bucket> entry : candidates) {
+      if (buckets.size() <= target) {
+        return;
+      }
+      // 방금 만든 버킷은 제거하지 않음. 다른 버킷이 모두 사용 중이면 잠시 한도를 넘을 수 있음
+      if (entry.getValue() != created && entry.getValue().retireIfIdle()) {
+        buckets.remove(entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
+  static String keyOf(HttpRequest httpRequest, String merchantId) {
+    return merchantId
+        + " "
+        + httpRequest.getHttpMethod()
+        + " "
+        + PathTemplate.of(httpRequest.getUri().getPath());
+  }
+
+  private final class Bucket {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private double tokens = burst;
+    private long refilledAt = System.nanoTime();
+    private double limit = initialConcurrency;
+    private int inFlight;
+    // 한도를 줄일 때마다 증가. 줄이기 전에 보낸 요청의 거절로 다시 줄이지 않도록 함
+    private long generation;
+    // acquireAsync로 자리를 기다리는 요청. 자리가 나면 acquire로 기다리는 스레드보다 먼저 받음
+    private final Deque<AsyncAcquisition> slotWaiters = new ArrayDeque<>();
+    // 정렬에만 쓰므로 잠금 없이 읽음
+    private volatile long lastUsed = System.nanoTime();
+    private boolean retired;
+
+    /** 처리 중이거나 기다리는 요청이 없으면 제거된 것으로 표시하고 true 반환 */
+    boolean retireIfIdle() {
+      lock.lock();
+      try {
+        if (inFlight == 0 && slotWaiters.isEmpty()) {
+          retired = true;
+        }
+        return retired;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /** 자리를 받고 현재 세대를 반환. 버킷이 이미 제거되었으면 {@link #RETIRED} */
+    long acquireSlot(long deadline) throws InterruptedException, TimeoutException {
+      lock.lock();
+      try {
+        while (true) {
+          // 기다리는 스레드는 처리 중인 요청으로 세지 않으므로 깨어날 때마다 제거 여부를 확인
+          if (retired) {
+            return RETIRED;
+          }
+          if (inFlight < (int) limit) {
+            break;
+          }
+          long remaining = deadline - System.nanoTime();
+          if (remaining <= 0) {
+            throw new TimeoutException(
+                String.format(
+                    "Waited too long for a request slot, concurrency limit[%.1f]", limit));
+          }
+          released.awaitNanos(remaining);
+        }
+        inFlight++;
+        lastUsed = System.nanoTime();
+        return generation;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /** 자리를 받거나 대기열에 넣고 true 반환. 버킷이 이미 제거되었으면 false */
+    boolean acquireSlotAsync(AsyncAcquisition acquisition) {
+      long grantedGeneration;
+      lock.lock();
+      try {
+        if (retired) {
+          return false;
+        }
+        lastUsed = System.nanoTime();
+        if (inFlight >= (int) limit || !slotWaiters.isEmpty()) {
+          slotWaiters.addLast(acquisition);
+          acquisition.scheduleTimeout();
+          return true;
+        }
+        inFlight++;
+        grantedGeneration = generation;
+      } finally {
+        lock.unlock();
+      }
+      acquisition.onSlotAcquired(grantedGeneration);
+      return true;
+    }
+
+    boolean removeWaiter(AsyncAcquisition acquisition) {
+      lock.lock();
+      try {
+        return slotWaiters.remove(acquisition);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void acquireToken(long deadline) throws InterruptedException, TimeoutException {
+      while (true) {
+        long waitNanos = tryAcquireToken();
+        if (waitNanos == 0) {
+          return;
+        }
+        checkTokenDeadline(waitNanos, deadline);
+        TimeUnit.NANOSECONDS.sleep(waitNanos);
+      }
+    }
+
+    void checkTokenDeadline(long waitNanos, long deadline) throws TimeoutException {
+      if (System.nanoTime() + waitNanos - deadline > 0) {
+        throw new TimeoutException(
+            String.format(
+                "Waited too long for a request token, permitsPerSecond[%s]", permitsPerSecond));
+      }
+    }
+
+    /** 토큰을 받았으면 0, 아니면 토큰이 채워질 때까지 기다려야 하는 나노초 */
+    long tryAcquireToken() {
+      if (permitsPerSecond <= 0) {
+        return 0;
+      }
+      lock.lock();
+      try {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - refilledAt) * permitsPerSecond / 1e9);
+        refilledAt = now;
+        if (tokens >= 1) {
+          tokens -= 1;
+          return 0;
+        }
+        return Math.max(1, (long) ((1 - tokens) * 1e9 / permitsPerSecond));
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void release(long startGeneration, boolean success, boolean throttled) {
+      List<AsyncAcquisition> granted = null;
+      long grantedGeneration;
+      lock.lock();
+      try {
+        inFlight--;
+        if (success) {
+          limit = Math.min(maxConcurrency, limit + 1 / limit);
+        } else if (throttled && startGeneration == generation) {
+          limit = Math.max(minConcurrency, limit * backoffRatio);
+          generation++;
+        }
+        while (inFlight < (int) limit && !slotWaiters.isEmpty()) {
+          if (granted == null) {
+            granted = new ArrayList<>();
+          }
+          granted.add(slotWaiters.pollFirst());
+          inFlight++;
+        }
+        grantedGeneration = generation;
+        released.signalAll();
+      } finally {
+        lock.unlock();
+      }
+      // 잠금 밖에서 이어지는 작업을 실행
+      if (granted != null) {
+        for (AsyncAcquisition acquisition : granted) {
+          acquisition.onSlotAcquired(grantedGeneration);
+        }
+      }
+    }
+
+    double getLimit() {
+      lock.lock();
+      try {
+        return limit;
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /** acquireAsync 한 번의 진행 상태. 자리를 받은 뒤 토큰이 부족하면 스케줄러에서 다시 시도함 */
+  private final class AsyncAcquisition {
+
+    private final HttpRequest httpRequest;
+    private final Bucket bucket;
+    private final long deadline;
+    private final CompletableFuture<Permit> future = new CompletableFuture<>();
+    // 버킷의 잠금 안에서 설정하고, 같은 잠금을 거쳐 대기열에서 꺼낸 뒤 읽음
+    private ScheduledFuture<?> timeout;
+    private long generation;
+
+    AsyncAcquisition(HttpRequest httpRequest, Bucket bucket, long deadline) {
+      this.httpRequest = httpRequest;
+      this.bucket = bucket;
+      this.deadline = deadline;
+    }
+
+    void scheduleTimeout() {
+      timeout =
+          Scheduler.INSTANCE.schedule(
+              this::onSlotTimeout, deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    private void onSlotTimeout() {
+      if (bucket.removeWaiter(this)) {
+        fail(
+            new TimeoutException(
+                String.format(
+                    "Waited too long for a request slot, concurrency limit[%.1f]",
+                    bucket.getLimit())));
+      }
+    }
+
+    void onSlotAcquired(long generation) {
+      if (timeout != null) {
+        timeout.cancel(false);
+      }
+      this.generation = generation;
+      acquireToken();
+    }
+
+    private void acquireToken() {
+      try {
+        long waitNanos = bucket.tryAcquireToken();
+        if (waitNanos == 0) {
+          future.complete(new BucketPermit(bucket, generation));
+          return;
+        }
+        bucket.checkTokenDeadline(waitNanos, deadline);
+        Scheduler.INSTANCE.schedule(this::acquireToken, waitNanos, TimeUnit.NANOSECONDS);
+      } catch (TimeoutException e) {
+        bucket.release(generation, false, false);
+        fail(e);
+      } catch (RuntimeException e) {
+        bucket.release(generation, false, false);
+        future.completeExceptionally(e);
+      }
+    }
+
+    private void fail(TimeoutException e) {
+      future.completeExceptionally(new HttpException(httpRequest, e));
+    }
+  }
+
+  /** acquireAsync의 대기 시간 초과와 토큰 재시도를 실행하는 공용 스케줄러 */
+  private static final class Scheduler {
+
+    static final ScheduledThreadPoolExecutor INSTANCE = newScheduler();
+
+    private Scheduler() {}
+
+    private static ScheduledThreadPoolExecutor newScheduler() {
+      ScheduledThreadPoolExecutor scheduler =
+          new ScheduledThreadPoolExecutor(
+              1,
+              runnable -> {
+                Thread thread = new Thread(runnable, "wechatpay-limiter-scheduler");
+                thread.setDaemon(true);
+                return thread;
+              });
+      // 허가를 받아 취소된 시간 초과 작업이 큐에 쌓이지 않도록 함
+      scheduler.setRemoveOnCancelPolicy(true);
+      return scheduler;
+    }
+  }
+
+  private static final class BucketPermit implements Permit {
+
+    private final Bucket bucket;
+    private final long generation;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    BucketPermit(Bucket bucket, long generation) {
+      this.bucket = bucket;
+      this.generation = generation;
+    }
+
+    @Override
+    public void onSuccess() {
+      if (released.compareAndSet(false, true)) {
+        bucket.release(generation, true, false);
+      }
+    }
+
+    @Override
+    public void onThrottled() {
+      if (released.compareAndSet(false, true)) {
+        bucket.release(generation, false, true);
+      }
+    }
+
+    @Override
+    public void onIgnore() {
+      if (released.compareAndSet(false, true)) {
+        bucket.release(generation, false, false);
+      }
+    }
+  }
+
+  public static class Builder {
+
+    private double permitsPerSecond;
+    private double burst;
+    private double initialConcurrency = 16;
+    private int minConcurrency = 1;
+    private int maxConcurrency = 256;
+    private double backoffRatio = 0.5;
+    private Duration maxWait = Duration.ofSeconds(10);
+    private int maxBuckets = 4096;
+
+    /**
+     * API별 초당 최대 요청 수 설정, 선택 사항, 기본값은 제한 없음
+     *
+     * @param permitsPerSecond 초당 최대 요청 수
+     * @return Builder
+     */
+    public Builder permitsPerSecond(double permitsPerSecond) {
+      this.permitsPerSecond = permitsPerSecond;
+      return this;
+    }
+
+    /**
+     * 순간적으로 허용하는 최대 요청 수 설정, 선택 사항, 기본값은 permitsPerSecond
+     *
+     * @param burst 토큰 버킷 크기
+     * @return Builder
+     */
+    public Builder burst(double burst) {
+      this.burst = burst;
+      return this;
+    }
+
+    /**
+     * API별 동시 요청 한도의 초기값 설정, 선택 사항, 기본값은 16
+     *
+     * @param initialConcurrency 동시 요청 한도 초기값
+     * @return Builder
+     */
+    public Builder initialConcurrency(int initialConcurrency) {
+      this.initialConcurrency = initialConcurrency;
+      return this;
+    }
+
+    /**
+     * 동시 요청 한도의 범위 설정, 선택 사항, 기본값은 1 ~ 256
+     *
+     * @param minConcurrency 최소 한도
+     * @param maxConcurrency 최대 한도
+     * @return Builder
+     */
+    public Builder concurrencyRange(int minConcurrency, int maxConcurrency) {
+      this.minConcurrency = minConcurrency;
+      this.maxConcurrency = maxConcurrency;
+      return this;
+    }
+
+    /**
+     * 빈도 제한 응답을 받았을 때 동시 요청 한도에 곱할 비율 설정, 선택 사항, 기본값은 0.5
+     *
+     * @param backoffRatio 0보다 크고 1보다 작은 비율
+     * @return Builder
+     */
+    public Builder backoffRatio(double backoffRatio) {
+      this.backoffRatio = backoffRatio;
+      return this;
+    }
+
+    /**
+     * 허가를 기다리는 최대 시간 설정, 선택 사항, 기본값은 10초. 초과하면 HttpException 발생
+     *
+     * @param maxWait 최대 대기 시간
+     * @return Builder
+     */
+    public Builder maxWait(Duration maxWait) {
+      this.maxWait = requireNonNull(maxWait);
+      return this;
+    }
+
+    /**
+     * 가맹점 번호와 API 조합별 버킷의 최대 수 설정, 선택 사항, 기본값은 4096. 넘으면 사용하지 않는 버킷부터 제거함
+     *
+     * @param maxBuckets 버킷의 최대 수
+     * @return Builder
+     */
+    public Builder maxBuckets(int maxBuckets) {
+      this.maxBuckets = maxBuckets;
+      return this;
+    }
+
+    public AdaptiveRequestLimiter build() {
+      if (permitsPerSecond < 0 || burst < 0) {
+        throw new IllegalArgumentException("permitsPerSecond and burst must not be negative.");
+      }
+      if (minConcurrency < 1 || maxConcurrency < minConcurrency) {
+        throw new IllegalArgumentException(
+            String.format("Invalid concurrency range[%d, %d].", minConcurrency, maxConcurrency));
+      }
+      if (initialConcurrency < minConcurrency || initialConcurrency > maxConcurrency) {
+        throw new IllegalArgumentException("initialConcurrency must be within concurrency range.");
+      }
+      if (backoffRatio <= 0 || backoffRatio >= 1) {
+        throw new IllegalArgumentException("backoffRatio must be between 0 and 1.");
+      }
+      if (maxBuckets < 1) {
+        throw new IllegalArgumentException("maxBuckets must be positive.");
+      }
+      return new AdaptiveRequestLimiter(this);
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package com.wechat.pay.java.core.http.ratelimit;
+
+import com.wechat.pay.java.core.exception.HttpException;
+import com.wechat.pay.java.core.http.HttpRequest;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * 요청 전송 전에 허가를 받는 클라이언트 측 제한기. {@link com.wechat.pay.java.core.http.AbstractHttpClient}는 요청마다
+ * {@link #acquire}로, executeAsync의 경우 {@link #acquireAsync}로 허가를 받고, 응답을 받은 뒤 결과에 따라 허가를 반환함
+ */
+public interface RequestLimiter {
+
+  /**
+   * 요청을 보내도 될 때까지 대기한 뒤 허가를 반환
+   *
+   * @param httpRequest 서명 전의 요청
+   * @param merchantId 요청하는 가맹점 번호
+   * @return 허가
+   * @throws HttpException 허가를 받지 못함. 예: 대기 시간 초과, 대기 중 인터럽트
+   */
+  Permit acquire(HttpRequest httpRequest, String merchantId);
+
+  /**
+   * 스레드를 블로킹하지 않고 허가를 받음. 기본 구현은 executor에서 {@link #acquire}를 호출하므로, 허가를 기다릴 수 있는 구현은 재정의하여
+   * executor의 스레드를 점유하지 않도록 해야 함
+   *
+   * @param httpRequest 서명 전의 요청
+   * @param merchantId 요청하는 가맹점 번호
+   * @param executor 기본 구현에서 {@link #acquire}를 실행할 Executor
+   * @return 허가를 받으면 완료되는 future. 허가를 받지 못하면 HttpException으로 완료됨
+   */
+  default CompletableFuture<Permit> acquireAsync(
+      HttpRequest httpRequest, String merchantId, Executor executor) {
+    return CompletableFuture.supplyAsync(() -> acquire(httpRequest, merchantId), executor);
+  }
+
+  /**
+   * 제한하지 않는 RequestLimiter
+   *
+   * @return RequestLimiter
+   */
+  static RequestLimiter unlimited() {
+    return UnlimitedRequestLimiter.INSTANCE;
+  }
+
+  /** 요청 하나에 대한 허가. 세 메서드 중 하나를 정확히 한 번 호출해야 함 */
+  interface Permit {
+
+    /** 위챗페이가 정상적으로 처리함 */
+    void onSuccess();
+
+    /** 위챗페이가 빈도 제한으로 거절함 */
+    void onThrottled();
+
+    /** 네트워크 오류 등 제한과 무관한 이유로 실패함 */
+    void onIgnore();
+  }
+}
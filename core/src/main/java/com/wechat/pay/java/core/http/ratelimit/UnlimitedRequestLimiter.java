@@ -0,0 +1,32 @@
+package com.wechat.pay.java.core.http.ratelimit;
+
+import com.wechat.pay.java.core.http.HttpRequest;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+final class UnlimitedRequestLimiter implements RequestLimiter, RequestLimiter.Permit {
+
+  static final UnlimitedRequestLimiter INSTANCE = new UnlimitedRequestLimiter();
+
+  private UnlimitedRequestLimiter() {}
+
+  @Override
+  public Permit acquire(HttpRequest httpRequest, String merchantId) {
+    return this;
+  }
+
+  @Override
+  public CompletableFuture<Permit> acquireAsync(
+      HttpRequest httpRequest, String merchantId, Executor executor) {
+    return CompletableFuture.completedFuture(this);
+  }
+
+  @Override
+  public void onSuccess() {}
+
+  @Override
+  public void onThrottled() {}
+
+  @Override
+  public void onIgnore() {}
+}
@@ -0,0 +1,175 @@
+package com.wechat.pay.java.core.http.retry;
+
+import static java.util.Objects.requireNonNull;
+
+import com.wechat.pay.java.core.http.Constant;
+import com.wechat.pay.java.core.http.HttpRequest;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 도메인별 서킷 브레이커. 한 도메인에서 연결 실패가 연속으로 failureThreshold번 발생하면 openDuration 동안 모든 요청을 예비 도메인으로 보내고, 그 후
+ * 요청 하나로 원래 도메인이 회복되었는지 확인함. 장애 중에 요청마다 주 도메인의 연결 타임아웃을 기다리지 않게 함
+ */
+public class DomainCircuitBreaker {
+
+  private final int failureThreshold;
+  private final long openNanos;
+  private final Map<String, String> failoverHosts;
+  private final ConcurrentMap<String, Health> healths = new ConcurrentHashMap<>();
+
+  private DomainCircuitBreaker(
+      int failureThreshold, Duration openDuration, Map<String, String> failoverHosts) {
+    this.failureThreshold = failureThreshold;
+    this.openNanos = openDuration.toNanos();
+    this.failoverHosts = failoverHosts;
+  }
+
+  /**
+   * 요청을 보낼 도메인 결정. 원래 도메인이 차단 상태이거나 직전 시도가 원래 도메인에서 실패했으면 예비 도메인으로 바꾼 요청을 반환
+   *
+   * @param httpRequest 요청
+   * @param failedHost 직전 시도가 연결에 실패한 도메인, 없으면 null
+   * @return 보낼 요청
+   */
+  HttpRequest route(HttpRequest httpRequest, String failedHost) {
+    String host = httpRequest.getUrl().getHost();
+    String failoverHost = failoverHosts.get(host);
+    if (failoverHost == null) {
+      return httpRequest;
+    }
+    if (host.equals(failedHost) || !health(host).allowRequest(System.nanoTime())) {
+      return withHost(httpRequest, failoverHost);
+    }
+    return httpRequest;
+  }
+
+  void onSuccess(String host) {
+    health(host).onSuccess();
+  }
+
+  void onFailure(String host) {
+    health(host).onFailure(System.nanoTime());
+  }
+
+  /**
+   * 도메인이 차단 상태인지 확인
+   *
+   * @param host 도메인
+   * @return 차단 상태이면 true
+   */
+  public boolean isOpen(String host) {
+    Health health = healths.get(host);
+    return health != null && health.openUntil.get() != 0;
+  }
+
+  private Health health(String host) {
+    return healths.computeIfAbsent(host, key -> new Health());
+  }
+
+  private static HttpRequest withHost(HttpRequest httpRequest, String host) {
+    URL url = httpRequest.getUrl();
+    try {
+      return new HttpRequest.Builder()
+          .httpMethod(httpRequest.getHttpMethod())
+          .url(new URL(url.getProtocol(), host, url.getPort(), url.getFile()))
+          .headers(httpRequest.getHeaders())
+          .body(httpRequest.getBody())
+          .build();
+    } catch (MalformedURLException e) {
+      throw new IllegalArgumentException("Invalid failover host: " + host, e);
+    }
+  }
+
+  private final class Health {
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    // 0이면 정상, 아니면 차단이 풀리는 System.nanoTime() 값
+    private final AtomicLong openUntil = new AtomicLong();
+
+    boolean allowRequest(long now) {
+      long until = openUntil.get();
+      if (until == 0) {
+        return true;
+      }
+      // 차단 시간이 지나면 요청 하나만 원래 도메인으로 보내고, 나머지는 결과가 나올 때까지 계속 우회
+      return now - until >= 0 && openUntil.compareAndSet(until, now + openNanos);
+    }
+
+    void onSuccess() {
+      consecutiveFailures.set(0);
+      openUntil.set(0);
+    }
+
+    void onFailure(long now) {
+      if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+        long until = now + openNanos;
+        openUntil.set(until == 0 ? 1 : until);
+      }
+    }
+  }
+
+  public static class Builder {
+
+    private int failureThreshold = 3;
+    private Duration openDuration = Duration.ofSeconds(30);
+    private final Map<String, String> failoverHosts = new HashMap<>();
+
+    public Builder() {
+      for (String host : Constant.PRIMARY_API_DOMAIN) {
+        failoverHosts.put(host, Constant.SECONDARY_API_DOMAIN);
+      }
+    }
+
+    /**
+     * 차단하기까지의 연속 실패 횟수 설정, 선택 사항, 기본값은 3
+     *
+     * @param failureThreshold 연속 실패 횟수
+     * @return Builder
+     */
+    public Builder failureThreshold(int failureThreshold) {
+      this.failureThreshold = failureThreshold;
+      return this;
+    }
+
+    /**
+     * 차단 시간 설정, 선택 사항, 기본값은 30초
+     *
+     * @param openDuration 차단 시간
+     * @return Builder
+     */
+    public Builder openDuration(Duration openDuration) {
+      this.openDuration = requireNonNull(openDuration);
+      return this;
+    }
+
+    /**
+     * 예비 도메인 설정, 선택 사항. 기본으로 api.mch.weixin.qq.com과 api.wechatpay.cn은 api2.wechatpay.cn으로 우회함
+     *
+     * @param host 원래 도메인
+     * @param failoverHost 예비 도메인
+     * @return Builder
+     */
+    public Builder failover(String host, String failoverHost) {
+      failoverHosts.put(requireNonNull(host), requireNonNull(failoverHost));
+      return this;
+    }
+
+    public DomainCircuitBreaker build() {
+      if (failureThreshold <= 0) {
+        throw new IllegalArgumentException("failureThreshold must be positive.");
+      }
+      if (openDuration.isNegative() || openDuration.isZero()) {
+        throw new IllegalArgumentException("openDuration must be positive.");
+      }
+      return new DomainCircuitBreaker(failureThreshold, openDuration, new HashMap<>(failoverHosts));
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package com.wechat.pay.java.core.http.retry;
+
+/**
+ * 재시도 예산. 재시도마다 토큰 1개를 쓰고 성공한 요청마다 tokenRatio만큼 돌려받으며, 토큰이 최대치의 절반 이하로 떨어지면 재시도하지 않음. 장애가 길어져도 재시도
+ * 요청이 성공 요청의 tokenRatio 배를 넘지 않아 장애를 키우지 않음
+ */
+public final class RetryBudget {
+
+  private final double maxTokens;
+  private final double tokenRatio;
+  private double tokens;
+
+  /**
+   * RetryBudget 생성자
+   *
+   * @param maxTokens 최대 토큰 수. 장애 초기에 연속으로 허용하는 재시도 수는 그 절반
+   * @param tokenRatio 성공한 요청마다 돌려받는 토큰 수
+   */
+  public RetryBudget(double maxTokens, double tokenRatio) {
+    if (maxTokens <= 0 || tokenRatio <= 0) {
+      throw new IllegalArgumentException("maxTokens and tokenRatio must be positive.");
+    }
+    this.maxTokens = maxTokens;
+    this.tokenRatio = tokenRatio;
+    this.tokens = maxTokens;
+  }
+
+  synchronized boolean tryAcquire() {
+    if (tokens <= maxTokens / 2) {
+      return false;
+    }
+    tokens -= 1;
+    return true;
+  }
+
+  synchronized void onSuccess() {
+    tokens = Math.min(maxTokens, tokens + tokenRatio);
+  }
+
+  synchronized double getTokens() {
+    return tokens;
+  }
+}
@@ -0,0 +1,292 @@
+package com.wechat.pay.java.core.http.retry;
+
+import static java.util.Objects.requireNonNull;
+
+import com.wechat.pay.java.core.exception.HttpException;
+import com.wechat.pay.java.core.http.HttpMethod;
+import com.wechat.pay.java.core.http.HttpRequest;
+import com.wechat.pay.java.core.http.JsonRequestBody;
+import com.wechat.pay.java.core.http.OriginalResponse;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 요청 재시도 정책. {@link com.wechat.pay.java.core.http.AbstractHttpClient}가 시도마다 서명을 다시 생성하여 전송하므로
+ * OkHttp와 Apache HttpClient 모두에서 동작함
+ *
+ * <ul>
+ *   <li>연결 단계의 실패는 요청이 서버에 도달하지 않았으므로 항상 재시도
+ *   <li>응답 대기 중 타임아웃, 429, 500, 502, 503, 504는 멱등한 요청만 재시도. GET, DELETE이거나 out_trade_no 등 가맹점이 지정한
+ *       멱등 키를 포함한 요청을 멱등하다고 봄
+ *   <li>재시도 간격은 지수 백오프에 full jitter를 적용
+ *   <li>{@link RetryBudget}, {@link DomainCircuitBreaker}를 선택적으로 사용
+ * </ul>
+ */
+public class RetryPolicy {
+
+  private static final RetryPolicy NONE = new Builder().maxAttempts(1).build();
+
+  private static final Set<Integer> RETRYABLE_STATUS_CODES =
+      Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(429, 500, 502, 503, 504)));
+  private static final Set<Integer> UNHEALTHY_STATUS_CODES =
+      Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(502, 503, 504)));
+  private static final String CONNECT_TIMED_OUT = "connect timed out";
+
+  private final int maxAttempts;
+  private final long initialBackoffMillis;
+  private final long maxBackoffMillis;
+  private final Set<String> idempotencyKeys;
+  private final RetryBudget retryBudget;
+  private final DomainCircuitBreaker circuitBreaker;
+
+  /**
+   * RetryPolicy 생성자, 하위 클래스에서 판단 기준을 바꿀 때 사용
+   *
+   * @param builder 설정을 담은 Builder
+   */
+  protected RetryPolicy(Builder builder) {
+    this.maxAttempts = builder.maxAttempts;
+    this.initialBackoffMillis = builder.initialBackoff.toMillis();
+    this.maxBackoffMillis = builder.maxBackoff.toMillis();
+    Set<String> keys = new LinkedHashSet<>();
+    for (String key : builder.idempotencyKeys) {
+      keys.add(key);
+      // URL 경로에서는 out-trade-no처럼 '-'로 연결됨
+      keys.add(key.replace('_', '-'));
+    }
+    this.idempotencyKeys = Collections.unmodifiableSet(keys);
+    this.retryBudget = builder.retryBudget;
+    this.circuitBreaker = builder.circuitBreaker;
+  }
+
+  /**
+   * 재시도하지 않는 정책
+   *
+   * @return RetryPolicy
+   */
+  public static RetryPolicy none() {
+    return NONE;
+  }
+
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  /**
+   * 이번 시도에서 요청을 보낼 도메인 결정
+   *
+   * @param httpRequest 원래 요청
+   * @param failedHost 직전 시도가 연결에 실패한 도메인, 없으면 null
+   * @return 보낼 요청
+   */
+  public HttpRequest route(HttpRequest httpRequest, String failedHost) {
+    return circuitBreaker == null ? httpRequest : circuitBreaker.route(httpRequest, failedHost);
+  }
+
+  /**
+   * 시도 결과를 기록하고 다시 시도할지 결정. 도메인 상태와 재시도 예산이 함께 갱신됨
+   *
+   * @param httpRequest 이번 시도에서 보낸 요청
+   * @param response 응답, 실패했으면 null
+   * @param failure 실패 원인, 응답을 받았으면 null
+   * @param attempt 이번 시도 횟수, 1부터 시작
+   * @return 다시 시도해야 하면 true
+   */
+  public boolean shouldRetry(
+      HttpRequest httpRequest, OriginalResponse response, Throwable failure, int attempt) {
+    String host = httpRequest.getUrl().getHost();
+    boolean retryable;
+    if (failure == null) {
+      int statusCode = response.getStatusCode();
+      recordHealth(host, !UNHEALTHY_STATUS_CODES.contains(statusCode));
+      retryable = RETRYABLE_STATUS_CODES.contains(statusCode) && isIdempotent(httpRequest);
+    } else {
+      boolean connectFailure = isConnectFailure(failure);
+      boolean ioFailure = failure instanceof HttpException && failure.getCause() != null;
+      // 응답 대기 중 타임아웃은 연결에는 성공한 것이므로 도메인 장애로 보지 않음
+      recordHealth(host, !connectFailure);
+      retryable = connectFailure || (ioFailure && isIdempotent(httpRequest));
+    }
+    if (!retryable) {
+      if (retryBudget != null
+          && failure == null
+          && !RETRYABLE_STATUS_CODES.contains(response.getStatusCode())) {
+        retryBudget.onSuccess();
+      }
+      return false;
+    }
+    return attempt < maxAttempts && (retryBudget == null || retryBudget.tryAcquire());
+  }
+
+  /**
+   * 다음 시도까지 기다릴 시간. 0부터 min(maxBackoff, initialBackoff * 2^(attempt-1)) 사이의 임의 값
+   *
+   * @param attempt 방금 실패한 시도 횟수, 1부터 시작
+   * @return 대기 시간, 단위 밀리초
+   */
+  public long backoffMillis(int attempt) {
+    long ceiling = initialBackoffMillis << Math.min(attempt - 1, 30);
+    if (ceiling <= 0 || ceiling > maxBackoffMillis) {
+      ceiling = maxBackoffMillis;
+    }
+    return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+  }
+
+  /**
+   * 연결에 실패한 도메인. 다음 시도에서 이 도메인을 피하는 데 사용
+   *
+   * @param httpRequest 이번 시도에서 보낸 요청
+   * @param failure 실패 원인
+   * @return 도메인, 연결 실패가 아니면 null
+   */
+  public String failedHost(HttpRequest httpRequest, Throwable failure) {
+    return isConnectFailure(failure) ? httpRequest.getUrl().getHost() : null;
+  }
+
+  boolean isIdempotent(HttpRequest httpRequest) {
+    HttpMethod method = httpRequest.getHttpMethod();
+    if (method == HttpMethod.GET || method == HttpMethod.DELETE) {
+      return true;
+    }
+    String path = httpRequest.getUri().getRawPath();
+    String body =
+        httpRequest.getBody() instanceof JsonRequestBody
+            ? ((JsonRequestBody) httpRequest.getBody()).getBody()
+            : null;
+    for (String key : idempotencyKeys) {
+      if ((path != null && path.contains("/" + key + "/"))
+          || (body != null && body.contains("\"" + key + "\""))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void recordHealth(String host, boolean healthy) {
+    if (circuitBreaker == null) {
+      return;
+    }
+    if (healthy) {
+      circuitBreaker.onSuccess(host);
+    } else {
+      circuitBreaker.onFailure(host);
+    }
+  }
+
+  static boolean isConnectFailure(Throwable failure) {
+    Throwable cause = failure instanceof HttpException ? failure.getCause() : null;
+    if (cause == null) {
+      return false;
+    }
+    if (cause instanceof ConnectException
+        || cause instanceof UnknownHostException
+        || cause instanceof NoRouteToHostException) {
+      return true;
+    }
+    // OkHttp는 소켓의 연결 타임아웃을 그대로 전달하며, 메시지는 JDK 12 이하에서 "connect timed out", JDK 13 이상에서
+    // "Connect timed out"임. Apache HttpClient는 ConnectTimeoutException을 사용
+    if (cause instanceof SocketTimeoutException) {
+      String message = cause.getMessage();
+      return message != null
+          && message.regionMatches(true, 0, CONNECT_TIMED_OUT, 0, CONNECT_TIMED_OUT.length());
+    }
+    return cause instanceof InterruptedIOException
+        && "ConnectTimeoutException".equals(cause.getClass().getSimpleName());
+  }
+
+  public static class Builder {
+
+    private int maxAttempts = 3;
+    private Duration initialBackoff = Duration.ofMillis(100);
+    private Duration maxBackoff = Duration.ofSeconds(2);
+    private Collection<String> idempotencyKeys =
+        Arrays.asList(
+            "out_trade_no",
+            "out_refund_no",
+            "out_order_no",
+            "out_batch_no",
+            "out_detail_no",
+            "out_bill_no",
+            "out_return_no",
+            "out_request_no");
+    private RetryBudget retryBudget;
+    private DomainCircuitBreaker circuitBreaker;
+
+    /**
+     * 첫 시도를 포함한 최대 시도 횟수 설정, 선택 사항, 기본값은 3
+     *
+     * @param maxAttempts 최대 시도 횟수
+     * @return Builder
+     */
+    public Builder maxAttempts(int maxAttempts) {
+      this.maxAttempts = maxAttempts;
+      return this;
+    }
+
+    /**
+     * 백오프 범위 설정, 선택 사항, 기본값은 100ms ~ 2s
+     *
+     * @param initialBackoff 첫 재시도 전 대기 시간의 상한
+     * @param maxBackoff 대기 시간의 최대 상한
+     * @return Builder
+     */
+    public Builder backoff(Duration initialBackoff, Duration maxBackoff) {
+      this.initialBackoff = requireNonNull(initialBackoff);
+      this.maxBackoff = requireNonNull(maxBackoff);
+      return this;
+    }
+
+    /**
+     * 멱등 키로 볼 파라미터 이름 설정, 선택 사항. 기본값은 out_trade_no, out_refund_no 등 가맹점 주문 번호 계열
+     *
+     * @param idempotencyKeys 파라미터 이름
+     * @return Builder
+     */
+    public Builder idempotencyKeys(Collection<String> idempotencyKeys) {
+      this.idempotencyKeys = requireNonNull(idempotencyKeys);
+      return this;
+    }
+
+    /**
+     * 재시도 예산 설정, 선택 사항, 기본값은 제한 없음
+     *
+     * @param retryBudget 재시도 예산
+     * @return Builder
+     */
+    public Builder retryBudget(RetryBudget retryBudget) {
+      this.retryBudget = retryBudget;
+      return this;
+    }
+
+    /**
+     * 도메인 서킷 브레이커 설정, 선택 사항, 기본값은 사용하지 않음
+     *
+     * @param circuitBreaker 도메인 서킷 브레이커
+     * @return Builder
+     */
+    public Builder circuitBreaker(DomainCircuitBreaker circuitBreaker) {
+      this.circuitBreaker = circuitBreaker;
+      return this;
+    }
+
+    public RetryPolicy build() {
+      if (maxAttempts <= 0) {
+        throw new IllegalArgumentException("maxAttempts must be positive.");
+      }
+      if (initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0) {
+        throw new IllegalArgumentException("Invalid backoff range.");
+      }
+      return new RetryPolicy(this);
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package com.wechat.pay.java.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.wechat.pay.CertificateRefresh")
+@Label("WeChat Pay Certificate Refresh")
+@Category({"WeChat Pay", "Certificate"})
+final class CertificateRefreshEvent extends jdk.jfr.Event
+    implements SdkEvents.CertificateRefreshSpan {
+
+  @Label("Key")
+  String key;
+
+  @Label("Certificate Count")
+  int certificateCount;
+
+  @Label("Success")
+  boolean success;
+
+  @Override
+  public void commit(int certificateCount, boolean success) {
+    end();
+    if (shouldCommit()) {
+      this.certificateCount = certificateCount;
+      this.success = success;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package com.wechat.pay.java.core.jfr;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.wechat.pay.Download")
+@Label("WeChat Pay Download")
+@Category({"WeChat Pay", "HTTP"})
+final class DownloadEvent extends jdk.jfr.Event implements SdkEvents.DownloadSpan {
+
+  @Label("Host")
+  String host;
+
+  @Label("Endpoint")
+  String endpoint;
+
+  @Label("Offset")
+  long offset;
+
+  @Label("Bytes Read")
+  @DataAmount
+  long bytesRead;
+
+  @Label("Completed")
+  boolean completed;
+
+  // transient 필드는 이벤트 필드로 기록되지 않음
+  private transient boolean committed;
+
+  @Override
+  public InputStream track(InputStream inputStream) {
+    if (inputStream == null) {
+      finish(true);
+      return null;
+    }
+    return new TrackedInputStream(inputStream);
+  }
+
+  @Override
+  public void fail() {
+    finish(false);
+  }
+
+  private synchronized void finish(boolean completed) {
+    if (committed) {
+      return;
+    }
+    committed = true;
+    end();
+    if (shouldCommit()) {
+      this.completed = completed;
+      commit();
+    }
+  }
+
+  private final class TrackedInputStream extends FilterInputStream {
+
+    private TrackedInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b < 0) {
+        finish(true);
+      } else {
+        bytesRead++;
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      int n = super.read(b, off, len);
+      if (n < 0) {
+        finish(true);
+      } else {
+        bytesRead += n;
+      }
+      return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      long skipped = super.skip(n);
+      bytesRead += skipped;
+      return skipped;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      } finally {
+        finish(false);
+      }
+    }
+  }
+}
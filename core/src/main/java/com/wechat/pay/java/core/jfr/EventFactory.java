@@ -0,0 +1,18 @@
+package com.wechat.pay.java.core.jfr;
+
+import java.net.URL;
+
+interface EventFactory {
+
+  SdkEvents.HttpRequestSpan beginHttpRequest(String method, URL url);
+
+  SdkEvents.Span beginSign(String algorithm, String certificateSerialNumber);
+
+  SdkEvents.VerifySpan beginVerify(String algorithm, String serialNumber);
+
+  SdkEvents.Span beginNotificationDecrypt(String algorithm, String originalType);
+
+  SdkEvents.CertificateRefreshSpan beginCertificateRefresh(String key);
+
+  SdkEvents.DownloadSpan beginDownload(URL url, long offset);
+}
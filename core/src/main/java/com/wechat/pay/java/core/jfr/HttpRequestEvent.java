@@ -0,0 +1,45 @@
+package com.wechat.pay.java.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.wechat.pay.HttpRequest")
+@Label("WeChat Pay HTTP Request")
+@Description("execute, executeAsync 한 번. 재시도를 포함하며 응답 서명 검증과 역직렬화까지의 시간")
+@Category({"WeChat Pay", "HTTP"})
+@StackTrace(false)
+final class HttpRequestEvent extends jdk.jfr.Event implements SdkEvents.HttpRequestSpan {
+
+  @Label("Method")
+  String method;
+
+  @Label("Host")
+  String host;
+
+  @Label("Endpoint")
+  @Description("path 파라미터를 {}로 바꾼 경로")
+  String endpoint;
+
+  @Label("Status Code")
+  int statusCode;
+
+  @Label("Attempts")
+  int attempts;
+
+  @Label("Error Code")
+  String errorCode;
+
+  @Override
+  public void commit(int statusCode, int attempts, String errorCode) {
+    end();
+    if (shouldCommit()) {
+      this.statusCode = statusCode;
+      this.attempts = attempts;
+      this.errorCode = errorCode;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package com.wechat.pay.java.core.jfr;
+
+import com.wechat.pay.java.core.http.PathTemplate;
+import java.net.URL;
+
+/** jdk.jfr을 사용할 수 있을 때 SdkEvents가 리플렉션으로 생성함. 녹화에서 꺼진 이벤트는 만들지 않음 */
+final class JfrEventFactory implements EventFactory {
+
+  @Override
+  public SdkEvents.HttpRequestSpan beginHttpRequest(String method, URL url) {
+    HttpRequestEvent event = new HttpRequestEvent();
+    if (!event.isEnabled()) {
+      return NoopEventFactory.INSTANCE;
+    }
+    event.method = method;
+    event.host = url.getHost();
+    event.endpoint = PathTemplate.of(url.getPath());
+    event.begin();
+    return event;
+  }
+
+  @Override
+  public SdkEvents.Span beginSign(String algorithm, String certificateSerialNumber) {
+    SignEvent event = new SignEvent();
+    if (!event.isEnabled()) {
+      return NoopEventFactory.INSTANCE;
+    }
+    event.algorithm = algorithm;
+    event.certificateSerialNumber = certificateSerialNumber;
+    event.begin();
+    return event;
+  }
+
+  @Override
+  public SdkEvents.VerifySpan beginVerify(String algorithm, String serialNumber) {
+    VerifyEvent event = new VerifyEvent();
+    if (!event.isEnabled()) {
+      return NoopEventFactory.INSTANCE;
+    }
+    event.algorithm = algorithm;
+    event.serialNumber = serialNumber;
+    event.begin();
+    return event;
+  }
+
+  @Override
+  public SdkEvents.Span beginNotificationDecrypt(String algorithm, String originalType) {
+    NotificationDecryptEvent event = new NotificationDecryptEvent();
+    if (!event.isEnabled()) {
+      return NoopEventFactory.INSTANCE;
+    }
+    event.algorithm = algorithm;
+    event.originalType = originalType;
+    event.begin();
+    return event;
+  }
+
+  @Override
+  public SdkEvents.CertificateRefreshSpan beginCertificateRefresh(String key) {
+    CertificateRefreshEvent event = new CertificateRefreshEvent();
+    if (!event.isEnabled()) {
+      return NoopEventFactory.INSTANCE;
+    }
+    event.key = key;
+    event.begin();
+    return event;
+  }
+
+  @Override
+  public SdkEvents.DownloadSpan beginDownload(URL url, long offset) {
+    DownloadEvent event = new DownloadEvent();
+    if (!event.isEnabled()) {
+      return NoopEventFactory.INSTANCE;
+    }
+    event.host = url.getHost();
+    event.endpoint = PathTemplate.of(url.getPath());
+    event.offset = offset;
+    event.begin();
+    return event;
+  }
+}
@@ -0,0 +1,67 @@
+package com.wechat.pay.java.core.jfr;
+
+import java.io.InputStream;
+import java.net.URL;
+
+final class NoopEventFactory
+    implements EventFactory,
+        SdkEvents.Span,
+        SdkEvents.VerifySpan,
+        SdkEvents.HttpRequestSpan,
+        SdkEvents.CertificateRefreshSpan,
+        SdkEvents.DownloadSpan {
+
+  static final NoopEventFactory INSTANCE = new NoopEventFactory();
+
+  private NoopEventFactory() {}
+
+  @Override
+  public SdkEvents.HttpRequestSpan beginHttpRequest(String method, URL url) {
+    return this;
+  }
+
+  @Override
+  public SdkEvents.Span beginSign(String algorithm, String certificateSerialNumber) {
+    return this;
+  }
+
+  @Override
+  public SdkEvents.VerifySpan beginVerify(String algorithm, String serialNumber) {
+    return this;
+  }
+
+  @Override
+  public SdkEvents.Span beginNotificationDecrypt(String algorithm, String originalType) {
+    return this;
+  }
+
+  @Override
+  public SdkEvents.CertificateRefreshSpan beginCertificateRefresh(String key) {
+    return this;
+  }
+
+  @Override
+  public SdkEvents.DownloadSpan beginDownload(URL url, long offset) {
+    return this;
+  }
+
+  @Override
+  public void commit() {}
+
+  @Override
+  public void commit(boolean verified) {}
+
+  @Override
+  public void commit(int statusCode, int attempts, String errorCode) {}
+
+  @Override
+  public void commit(int certificateCount, boolean success) {}
+
+  @Override
+  public InputStream track(InputStream inputStream) {
+    return inputStream;
+  }
+
+  @Override
+  public void fail() {}
+}
@@ -0,0 +1,19 @@
+package com.wechat.pay.java.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.wechat.pay.NotificationDecrypt")
+@Label("WeChat Pay Notification Decrypt")
+@Category({"WeChat Pay", "Crypto"})
+@StackTrace(false)
+final class NotificationDecryptEvent extends jdk.jfr.Event implements SdkEvents.Span {
+
+  @Label("Algorithm")
+  String algorithm;
+
+  @Label("Original Type")
+  String originalType;
+}
@@ -0,0 +1,163 @@
+package com.wechat.pay.java.core.jfr;
+
+import java.io.InputStream;
+import java.net.URL;
+
+/**
+ * SDK의 Java Flight Recorder 이벤트. HTTP 요청, 서명 생성과 검증, 콜백 통지 복호화, 플랫폼 인증서 업데이트, 파일 다운로드를 {@code
+ * com.wechat.pay.*} 이벤트로 기록하며, JMC 등에서 GC 등 JVM 이벤트와 같은 타임라인으로 볼 수 있음
+ *
+ * <p>jdk.jfr을 사용할 수 없는 JVM이나 이벤트가 꺼져 있는 녹화에서는 아무것도 기록하지 않음. 이벤트는 begin 메서드를 호출한 시점부터 commit을 호출한
+ * 시점까지를 소요 시간으로 기록함
+ */
+public final class SdkEvents {
+
+  private static final EventFactory FACTORY = createFactory();
+
+  private SdkEvents() {}
+
+  private static EventFactory createFactory() {
+    try {
+      Class.forName("jdk.jfr.Event");
+      // jdk.jfr이 없는 JVM에서 이벤트 클래스를 로드하지 않도록 리플렉션으로 생성
+      return (EventFactory)
+          Class.forName("com.wechat.pay.java.core.jfr.JfrEventFactory")
+              .getDeclaredConstructor()
+              .newInstance();
+    } catch (ReflectiveOperationException | LinkageError e) {
+      return NoopEventFactory.INSTANCE;
+    }
+  }
+
+  /**
+   * JFR 이벤트를 기록할 수 있는 JVM인지 여부
+   *
+   * @return 기록할 수 있으면 true
+   */
+  public static boolean isAvailable() {
+    return FACTORY != NoopEventFactory.INSTANCE;
+  }
+
+  /**
+   * HTTP 요청 이벤트 시작
+   *
+   * @param method HTTP 메서드
+   * @param url 요청 URL. 이벤트에는 도메인과 경로 템플릿만 기록됨
+   * @return 이벤트
+   */
+  public static HttpRequestSpan beginHttpRequest(String method, URL url) {
+    return FACTORY.beginHttpRequest(method, url);
+  }
+
+  /**
+   * 요청 서명 생성 이벤트 시작
+   *
+   * @param algorithm 서명 알고리즘
+   * @param certificateSerialNumber 가맹점 API 인증서 시리얼 번호
+   * @return 이벤트
+   */
+  public static Span beginSign(String algorithm, String certificateSerialNumber) {
+    return FACTORY.beginSign(algorithm, certificateSerialNumber);
+  }
+
+  /**
+   * 응답, 콜백 통지 서명 검증 이벤트 시작
+   *
+   * @param algorithm 서명 알고리즘
+   * @param serialNumber 위챗페이 플랫폼 인증서 시리얼 번호 또는 공개키 id
+   * @return 이벤트
+   */
+  public static VerifySpan beginVerify(String algorithm, String serialNumber) {
+    return FACTORY.beginVerify(algorithm, serialNumber);
+  }
+
+  /**
+   * 콜백 통지 resource 복호화 이벤트 시작
+   *
+   * @param algorithm AEAD 알고리즘
+   * @param originalType 암호화 전 객체 타입
+   * @return 이벤트
+   */
+  public static Span beginNotificationDecrypt(String algorithm, String originalType) {
+    return FACTORY.beginNotificationDecrypt(algorithm, originalType);
+  }
+
+  /**
+   * 플랫폼 인증서 업데이트 이벤트 시작
+   *
+   * @param key 가맹점 번호와 인증서 타입
+   * @return 이벤트
+   */
+  public static CertificateRefreshSpan beginCertificateRefresh(String key) {
+    return FACTORY.beginCertificateRefresh(key);
+  }
+
+  /**
+   * 파일 다운로드 이벤트 시작. 다운로드 스트림을 닫거나 끝까지 읽었을 때 기록됨
+   *
+   * @param url 다운로드 URL. 이벤트에는 도메인과 경로 템플릿만 기록됨
+   * @param offset 다운로드 시작 위치
+   * @return 이벤트
+   */
+  public static DownloadSpan beginDownload(URL url, long offset) {
+    return FACTORY.beginDownload(url, offset);
+  }
+
+  /** 진행 중인 이벤트 */
+  public interface Span {
+
+    /** 이벤트 종료 및 기록 */
+    void commit();
+  }
+
+  /** 진행 중인 서명 검증 이벤트 */
+  public interface VerifySpan {
+
+    /**
+     * 이벤트 종료 및 기록
+     *
+     * @param verified 서명 검증 통과 여부
+     */
+    void commit(boolean verified);
+  }
+
+  /** 진행 중인 HTTP 요청 이벤트 */
+  public interface HttpRequestSpan {
+
+    /**
+     * 이벤트 종료 및 기록
+     *
+     * @param statusCode HTTP 상태 코드, 응답을 받지 못했으면 0
+     * @param attempts 전송 시도 횟수
+     * @param errorCode 위챗페이 오류 코드
+     */
+    void commit(int statusCode, int attempts, String errorCode);
+  }
+
+  /** 진행 중인 플랫폼 인증서 업데이트 이벤트 */
+  public interface CertificateRefreshSpan {
+
+    /**
+     * 이벤트 종료 및 기록
+     *
+     * @param certificateCount 다운로드한 인증서 수
+     * @param success 업데이트 성공 여부
+     */
+    void commit(int certificateCount, boolean success);
+  }
+
+  /** 진행 중인 파일 다운로드 이벤트 */
+  public interface DownloadSpan {
+
+    /**
+     * 다운로드 스트림을 감싸 읽은 바이트 수를 세고, 스트림을 닫거나 끝까지 읽으면 이벤트를 기록함
+     *
+     * @param inputStream 다운로드 스트림
+     * @return 감싼 스트림
+     */
+    InputStream track(InputStream inputStream);
+
+    /** 스트림을 얻기 전에 다운로드가 실패함 */
+    void fail();
+  }
+}
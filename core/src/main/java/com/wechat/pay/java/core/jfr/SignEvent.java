@@ -0,0 +1,19 @@
+package com.wechat.pay.java.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.wechat.pay.Sign")
+@Label("WeChat Pay Sign")
+@Category({"WeChat Pay", "Crypto"})
+@StackTrace(false)
+final class SignEvent extends jdk.jfr.Event implements SdkEvents.Span {
+
+  @Label("Algorithm")
+  String algorithm;
+
+  @Label("Certificate Serial Number")
+  String certificateSerialNumber;
+}
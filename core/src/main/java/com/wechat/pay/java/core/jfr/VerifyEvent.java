@@ -0,0 +1,31 @@
+package com.wechat.pay.java.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.wechat.pay.Verify")
+@Label("WeChat Pay Verify")
+@Category({"WeChat Pay", "Crypto"})
+@StackTrace(false)
+final class VerifyEvent extends jdk.jfr.Event implements SdkEvents.VerifySpan {
+
+  @Label("Algorithm")
+  String algorithm;
+
+  @Label("Serial Number")
+  String serialNumber;
+
+  @Label("Verified")
+  boolean verified;
+
+  @Override
+  public void commit(boolean verified) {
+    end();
+    if (shouldCommit()) {
+      this.verified = verified;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,179 @@
+package com.wechat.pay.java.core.merchant;
+
+import static java.util.Objects.requireNonNull;
+
+import com.wechat.pay.java.core.Config;
+import com.wechat.pay.java.core.auth.Validator;
+import com.wechat.pay.java.core.cipher.PrivacyDecryptor;
+import com.wechat.pay.java.core.cipher.PrivacyEncryptor;
+import com.wechat.pay.java.core.http.AbstractHttpClientBuilder;
+import com.wechat.pay.java.core.http.HttpClient;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 가맹점 하나의 호출 컨텍스트. 설정에서 만든 자격 증명, 검증기, HttpClient와 민감 정보 암호화/복호화기, 서비스 인스턴스를 한 번만 만들어 재사용함. {@link
+ * MerchantContextRegistry}가 생성하고 관리함
+ */
+public final class MerchantContext {
+
+  private static final Logger logger = LoggerFactory.getLogger(MerchantContext.class);
+
+  private final String merchantId;
+  private final Config config;
+  private final Validator validator;
+  private final HttpClient httpClient;
+  private final ConcurrentHashMap<Class<?>, Object> services = new ConcurrentHashMap<>();
+  private volatile PrivacyEncryptor encryptor;
+  private volatile PrivacyDecryptor decryptor;
+  // 임대 수, -1이면 닫힘
+  private final AtomicInteger leases = new AtomicInteger();
+  private volatile boolean removed;
+
+  MerchantContext(
+      String merchantId, Config config, AbstractHttpClientBuilder<?> httpClientBuilder) {
+    this.merchantId = merchantId;
+    this.config = config;
+    this.validator = config.createValidator();
+    this.httpClient =
+        httpClientBuilder
+            .newInstance()
+            .credential(config.createCredential())
+            .validator(validator)
+            .build();
+  }
+
+  /**
+   * 가맹점 번호 가져오기
+   *
+   * @return 가맹점 번호
+   */
+  public String getMerchantId() {
+    return merchantId;
+  }
+
+  /**
+   * 가맹점 설정 가져오기
+   *
+   * @return 가맹점 설정
+   */
+  public Config getConfig() {
+    return config;
+  }
+
+  /**
+   * 가맹점의 HttpClient 가져오기, 서비스 Builder의 httpClient()에 전달하여 사용
+   *
+   * @return HttpClient
+   */
+  public HttpClient getHttpClient() {
+    return httpClient;
+  }
+
+  /**
+   * 민감 정보 암호화기 가져오기. 위챗페이 플랫폼 인증서가 교체되어 검증기의 시리얼 번호가 바뀌면 다시 생성함
+   *
+   * @return 민감 정보 암호화기
+   */
+  public PrivacyEncryptor getEncryptor() {
+    PrivacyEncryptor current = encryptor;
+    if (current == null || !current.getWechatpaySerial().equals(validator.getSerialNumber())) {
+      current = config.createEncryptor();
+      encryptor = current;
+    }
+    return current;
+  }
+
+  /**
+   * 민감 정보 복호화기 가져오기
+   *
+   * @return 민감 정보 복호화기
+   */
+  public PrivacyDecryptor getDecryptor() {
+    PrivacyDecryptor current = decryptor;
+    if (current == null) {
+      current = config.createDecryptor();
+      decryptor = current;
+    }
+    return current;
+  }
+
+  /**
+   * 서비스 인스턴스 가져오기, 처음 요청할 때 factory로 만들고 이후에는 같은 인스턴스를 반환함
+   *
+   * <pre>{@code
+   * RefundService refundService =
+   *     context.getService(
+   *         RefundService.class,
+   *         ctx -> new RefundService.Builder().httpClient(ctx.getHttpClient()).build());
+   * }</pre>
+   *
+   * @param serviceClass 서비스 타입
+   * @param factory 서비스 생성 함수
+   * @param <T> 서비스 타입
+   * @return 서비스 인스턴스
+   */
+  public <T> T getService(Class<T> serviceClass, Function<MerchantContext, ? extends T> factory) {
+    requireNonNull(factory);
+    return serviceClass.cast(services.computeIfAbsent(serviceClass, k -> factory.apply(this)));
+  }
+
+  /**
+   * 컨텍스트가 닫혔는지 확인. 닫힌 컨텍스트는 인증서 자동 업데이트가 해제되어 요청이 실패할 수 있음
+   *
+   * @return 닫혔으면 true
+   */
+  public boolean isClosed() {
+    return leases.get() < 0;
+  }
+
+  /**
+   * 임대 수 증가
+   *
+   * @return 임대했으면 true, 이미 닫혔으면 false
+   */
+  boolean retain() {
+    while (true) {
+      int current = leases.get();
+      if (current < 0) {
+        return false;
+      }
+      if (leases.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /** 임대 반납, 레지스트리에서 제거된 뒤 마지막 임대가 반납되면 닫음 */
+  void release() {
+    if (leases.decrementAndGet() == 0 && removed) {
+      closeIfUnused();
+    }
+  }
+
+  /** 레지스트리에서 제거될 때 호출됨. 임대 중이면 마지막 임대가 반납될 때 닫음 */
+  void markRemoved() {
+    removed = true;
+    closeIfUnused();
+  }
+
+  private void closeIfUnused() {
+    if (leases.compareAndSet(0, -1)) {
+      close();
+    }
+  }
+
+  /** 설정이 인증서 자동 업데이트처럼 정리할 자원을 가지고 있으면 닫음 */
+  private void close() {
+    if (config instanceof AutoCloseable) {
+      try {
+        ((AutoCloseable) config).close();
+      } catch (Exception e) {
+        logger.warn("Close config of merchant {} failed", merchantId, e);
+      }
+    }
+  }
+}
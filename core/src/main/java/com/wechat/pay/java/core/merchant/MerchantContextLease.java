@@ -0,0 +1,40 @@
+package com.wechat.pay.java.core.merchant;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link MerchantContextRegistry#acquire(String)}로 빌린 가맹점 컨텍스트. 임대 중에는 컨텍스트가 레지스트리에서 제거되어도 닫히지 않으며,
+ * 마지막 임대를 반납할 때 닫힘
+ *
+ * <pre>{@code
+ * try (MerchantContextLease lease = registry.acquire(merchantId)) {
+ *   refundService(lease.getContext()).create(request);
+ * }
+ * }</pre>
+ */
+public final class MerchantContextLease implements AutoCloseable {
+
+  private final MerchantContext context;
+  private final AtomicBoolean released = new AtomicBoolean();
+
+  MerchantContextLease(MerchantContext context) {
+    this.context = context;
+  }
+
+  /**
+   * 빌린 가맹점 컨텍스트 가져오기
+   *
+   * @return 가맹점 컨텍스트
+   */
+  public MerchantContext getContext() {
+    return context;
+  }
+
+  /** 컨텍스트 반납, 여러 번 호출해도 한 번만 반납함 */
+  @Override
+  public void close() {
+    if (released.compareAndSet(false, true)) {
+      context.release();
+    }
+  }
+}
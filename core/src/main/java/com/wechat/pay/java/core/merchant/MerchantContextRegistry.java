@@ -0,0 +1,310 @@
+package com.wechat.pay.java.core.merchant;
+
+import static java.util.Objects.requireNonNull;
+
+import com.wechat.pay.java.core.Config;
+import com.wechat.pay.java.core.http.AbstractHttpClientBuilder;
+import com.wechat.pay.java.core.http.DefaultHttpClientBuilder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 여러 가맹점의 {@link MerchantContext}를 관리하는 레지스트리. 서비스 제공자처럼 많은 가맹점을 대신해 호출하는 경우에 사용함. 컨텍스트는 처음 조회할 때
+ * configFactory로 설정을 만들어 생성하고, 최대 개수를 넘으면 가장 오래 사용하지 않은 컨텍스트부터 제거함.
+ *
+ * <p>모든 컨텍스트의 HttpClient는 같은 httpClientBuilder에서 만들어지므로 OkHttp의 연결 풀과 Dispatcher를 공유함. 인증서 자동 업데이트
+ * 설정을 사용하면 인증서 갱신도 {@link com.wechat.pay.java.core.certificate.AutoCertificateService}가 한곳에서 처리하며,
+ * 컨텍스트가 제거되면 {@link AutoCloseable}을 구현한 설정을 닫아 해당 가맹점의 갱신 등록도 해제함. {@link #acquire(String)}로 빌린
+ * 컨텍스트는 반납될 때까지 닫지 않음.
+ *
+ * <pre>{@code
+ * MerchantContextRegistry registry =
+ *     new MerchantContextRegistry.Builder()
+ *         .configFactory(merchantId -> loadConfig(merchantId))
+ *         .maximumSize(2000)
+ *         .build();
+ * HttpClient httpClient = registry.get("1900000001").getHttpClient();
+ * }</pre>
+ */
+public class MerchantContextRegistry {
+
+  private static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+  private final Function<String, ? extends Config> configFactory;
+  private final AbstractHttpClientBuilder<?> httpClientBuilder;
+  private final int maximumSize;
+  private final Consumer<MerchantContext> removalListener;
+  // accessOrder가 true이므로 조회할 때마다 순서가 바뀜, 반드시 contexts를 잠그고 접근해야 함
+  private final LinkedHashMap<String, ContextHolder> contexts =
+      new LinkedHashMap<>(16, 0.75f, true);
+
+  private MerchantContextRegistry(Builder builder) {
+    this.configFactory = builder.configFactory;
+    this.httpClientBuilder = builder.httpClientBuilder;
+    this.maximumSize = builder.maximumSize;
+    this.removalListener = builder.removalListener;
+  }
+
+  /**
+   * 가맹점 컨텍스트 가져오기, 없으면 생성함. 같은 가맹점을 동시에 조회하면 컨텍스트는 한 번만 생성되며, 다른 가맹점의 조회는 기다리지 않음
+   *
+   * <p>반환된 컨텍스트는 LRU 제거나 invalidate로 언제든 닫힐 수 있음. 닫힌 컨텍스트는 인증서 자동 업데이트 등록이 해제되어 응답 검증과 인증서 조회가
+   * 실패하므로, 컨텍스트나 그 서비스를 요청 처리 동안 사용하려면 {@link #acquire(String)}를 사용해야 함
+   *
+   * @param merchantId 가맹점 번호
+   * @return 가맹점 컨텍스트
+   */
+  public MerchantContext get(String merchantId) {
+    requireNonNull(merchantId);
+    while (true) {
+      ContextHolder holder;
+      List<MerchantContext> evicted = null;
+      synchronized (contexts) {
+        holder = contexts.get(merchantId);
+        if (holder == null) {
+          holder = new ContextHolder(merchantId);
+          contexts.put(merchantId, holder);
+          evicted = evictIfNecessary();
+        }
+      }
+      notifyRemoval(evicted);
+      MerchantContext context = holder.getOrCreate();
+      if (context != null) {
+        return context;
+      }
+      // 생성 중에 제거되어 닫힌 컨텍스트는 돌려주지 않고 다시 생성함
+    }
+  }
+
+  /**
+   * 가맹점 컨텍스트 빌리기, 없으면 생성함. 반납하기 전에는 컨텍스트가 레지스트리에서 제거되어도 닫히지 않으므로, 가맹점 수가 maximumSize를 넘어 제거가 자주
+   * 일어나도 진행 중인 요청이 실패하지 않음
+   *
+   * @param merchantId 가맹점 번호
+   * @return 임대, 사용이 끝나면 반드시 close()를 호출해야 함
+   */
+  public MerchantContextLease acquire(String merchantId) {
+    while (true) {
+      MerchantContext context = get(merchantId);
+      if (context.retain()) {
+        return new MerchantContextLease(context);
+      }
+      // 조회와 임대 사이에 제거되어 닫혔으므로 다시 조회함
+    }
+  }
+
+  /**
+   * 가맹점 컨텍스트 제거, 가맹점 설정이 바뀐 경우 호출하면 다음 조회 시 다시 생성함
+   *
+   * @param merchantId 가맹점 번호
+   */
+  public void invalidate(String merchantId) {
+    ContextHolder holder;
+    MerchantContext removed;
+    synchronized (contexts) {
+      holder = contexts.remove(merchantId);
+      removed = holder == null ? null : holder.markRemoved();
+    }
+    if (removed != null) {
+      notifyRemoval(Collections.singletonList(removed));
+    }
+  }
+
+  /** 모든 가맹점 컨텍스트 제거 */
+  public void invalidateAll() {
+    List<MerchantContext> removed = new ArrayList<>();
+    synchronized (contexts) {
+      for (ContextHolder holder : contexts.values()) {
+        MerchantContext context = holder.markRemoved();
+        if (context != null) {
+          removed.add(context);
+        }
+      }
+      contexts.clear();
+    }
+    notifyRemoval(removed);
+  }
+
+  /**
+   * 현재 보관 중인 가맹점 컨텍스트 수
+   *
+   * @return 컨텍스트 수
+   */
+  public int size() {
+    synchronized (contexts) {
+      return contexts.size();
+    }
+  }
+
+  private List<MerchantContext> evictIfNecessary() {
+    List<MerchantContext> evicted = null;
+    Iterator<ContextHolder> iterator = contexts.values().iterator();
+    while (contexts.size() > maximumSize && iterator.hasNext()) {
+      ContextHolder eldest = iterator.next();
+      iterator.remove();
+      MerchantContext context = eldest.markRemoved();
+      if (context != null) {
+        if (evicted == null) {
+          evicted = new ArrayList<>();
+        }
+        evicted.add(context);
+      }
+    }
+    return evicted;
+  }
+
+  private void notifyRemoval(List<MerchantContext> removed) {
+    if (removed == null) {
+      return;
+    }
+    for (MerchantContext context : removed) {
+      context.markRemoved();
+      if (removalListener != null) {
+        removalListener.accept(context);
+      }
+    }
+  }
+
+  private void remove(String merchantId, ContextHolder holder) {
+    synchronized (contexts) {
+      contexts.remove(merchantId, holder);
+    }
+  }
+
+  /** 가맹점별 생성 잠금, 생성 중에도 레지스트리 전체를 잠그지 않도록 함 */
+  private final class ContextHolder {
+    private final String merchantId;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile MerchantContext context;
+    // contexts를 잠그고 읽고 씀. 생성 중에 제거되면 생성을 마친 스레드가 컨텍스트를 닫음
+    private boolean removed;
+    // 생성 중에 제거되어 만든 컨텍스트를 닫았으면 true
+    private volatile boolean discarded;
+
+    private ContextHolder(String merchantId) {
+      this.merchantId = merchantId;
+    }
+
+    /**
+     * 컨텍스트 가져오기, 없으면 생성함
+     *
+     * @return 컨텍스트, 생성 중에 레지스트리에서 제거되었으면 null
+     */
+    private MerchantContext getOrCreate() {
+      MerchantContext current = context;
+      if (current != null) {
+        return current;
+      }
+      // 설정 생성 중 인증서 다운로드 같은 네트워크 I/O를 기다리므로, 가상 스레드가 캐리어 스레드를 고정하지 않도록 ReentrantLock을 사용
+      lock.lock();
+      try {
+        if (context == null && !discarded) {
+          MerchantContext created;
+          try {
+            Config config = requireNonNull(configFactory.apply(merchantId));
+            created = new MerchantContext(merchantId, config, httpClientBuilder);
+          } catch (RuntimeException e) {
+            // 실패한 가맹점이 자리를 차지하지 않도록 제거하고, 다음 조회에서 다시 시도함
+            remove(merchantId, this);
+            throw e;
+          }
+          synchronized (contexts) {
+            if (removed) {
+              discarded = true;
+            } else {
+              context = created;
+            }
+          }
+          if (discarded) {
+            // 제거할 때는 아직 컨텍스트가 없어 닫지 못했으므로, 인증서 갱신 등록이 남지 않도록 여기서 닫음
+            notifyRemoval(Collections.singletonList(created));
+          }
+        }
+        return context;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * 레지스트리에서 제거된 것으로 표시, contexts를 잠그고 호출해야 함
+     *
+     * @return 닫아야 할 컨텍스트, 아직 생성 중이면 null
+     */
+    private MerchantContext markRemoved() {
+      removed = true;
+      return context;
+    }
+  }
+
+  public static class Builder {
+    private Function<String, ? extends Config> configFactory;
+    private AbstractHttpClientBuilder<?> httpClientBuilder;
+    private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+    private Consumer<MerchantContext> removalListener;
+
+    /**
+     * 가맹점 번호로 설정을 만드는 함수 설정, 필수. 예: 데이터베이스에서 가맹점 키를 읽어 RSAPublicKeyConfig 생성
+     *
+     * @param configFactory 설정 생성 함수
+     * @return Builder
+     */
+    public Builder configFactory(Function<String, ? extends Config> configFactory) {
+      this.configFactory = configFactory;
+      return this;
+    }
+
+    /**
+     * 모든 가맹점의 HttpClient를 만드는 데 사용할 Builder 설정, 선택 사항. 가맹점마다 복사본에 자격 증명과 검증기만 설정하여 사용하므로, 타임아웃과
+     * OkHttpClient 등 공통 설정은 여기에 지정함. 기본값은 DefaultHttpClientBuilder
+     *
+     * @param httpClientBuilder HttpClient Builder
+     * @return Builder
+     */
+    public Builder httpClientBuilder(AbstractHttpClientBuilder<?> httpClientBuilder) {
+      // httpClientBuilder는 불변이 아니므로 복사본을 보관
+      this.httpClientBuilder = httpClientBuilder.newInstance();
+      return this;
+    }
+
+    /**
+     * 보관할 최대 컨텍스트 수 설정, 기본값은 {@value #DEFAULT_MAXIMUM_SIZE}
+     *
+     * @param maximumSize 최대 컨텍스트 수
+     * @return Builder
+     */
+    public Builder maximumSize(int maximumSize) {
+      this.maximumSize = maximumSize;
+      return this;
+    }
+
+    /**
+     * 컨텍스트가 제거될 때 호출할 함수 설정, 선택 사항. LRU 제거와 invalidate 모두 호출되며, 호출 스레드에서 동기적으로 실행됨. 임대 중인 컨텍스트는 마지막
+     * 임대가 반납될 때 닫히므로, 호출 시점에 설정이 아직 닫히지 않았을 수 있음
+     *
+     * @param removalListener 제거 알림 함수
+     * @return Builder
+     */
+    public Builder removalListener(Consumer<MerchantContext> removalListener) {
+      this.removalListener = removalListener;
+      return this;
+    }
+
+    public MerchantContextRegistry build() {
+      requireNonNull(configFactory);
+      if (maximumSize <= 0) {
+        throw new IllegalArgumentException("maximumSize must be positive, but got " + maximumSize);
+      }
+      if (httpClientBuilder == null) {
+        httpClientBuilder = new DefaultHttpClientBuilder();
+      }
+      return new MerchantContextRegistry(this);
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package com.wechat.pay.java.core.notification;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 메모리 기반 {@link NotificationReplayStore}. 저장 순서대로 최대 maximumSize개를 보관하며, 초과하거나 만료된 키는 먼저 제거됨.
+ *
+ * <p>maximumSize는 보관 기간(기본 25시간) 동안 받는 알림 수보다 커야 함. 가득 찬 상태에서 만료되지 않은 키를 제거하면 그 알림의 재전송을 다시 처리하게
+ * 되므로, 이때는 경고 로그를 남기고 {@link #getLiveEvictionCount()}를 증가시킴
+ */
+public class InMemoryNotificationReplayStore implements NotificationReplayStore {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(InMemoryNotificationReplayStore.class);
+
+  /** 키 하나에 약 200바이트이므로 약 20MB. 25시간 보관 시 시간당 4000건까지 중복을 걸러냄 */
+  private static final int DEFAULT_MAXIMUM_SIZE = 100000;
+
+  private static final long WARN_INTERVAL_MILLIS = 60_000;
+
+  private final int maximumSize;
+  private final Clock clock;
+  // key -> 만료 시각(epoch millis). 대부분 삽입 순서가 곧 만료 순서이므로 앞에서부터 정리하며, ttl이 짧아 먼저 만료된 뒤쪽 키는
+  // 조회 시 만료로 판정되고 앞쪽 키가 정리되거나 크기를 넘을 때 함께 제거됨
+  private final LinkedHashMap<String, Long> expirations = new LinkedHashMap<>();
+  private long liveEvictionCount;
+  private long lastWarnMillis = Long.MIN_VALUE;
+
+  public InMemoryNotificationReplayStore() {
+    this(DEFAULT_MAXIMUM_SIZE);
+  }
+
+  public InMemoryNotificationReplayStore(int maximumSize) {
+    this(maximumSize, Clock.systemUTC());
+  }
+
+  InMemoryNotificationReplayStore(int maximumSize, Clock clock) {
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("maximumSize must be positive.");
+    }
+    this.maximumSize = maximumSize;
+    this.clock = clock;
+  }
+
+  @Override
+  public synchronized boolean contains(String key) {
+    evictExpired();
+    return isLive(key);
+  }
+
+  @Override
+  public synchronized boolean putIfAbsent(String key, Duration ttl) {
+    evictExpired();
+    if (isLive(key)) {
+      return false;
+    }
+    expirations.remove(key);
+    expirations.put(key, clock.millis() + ttl.toMillis());
+    if (expirations.size() > maximumSize) {
+      Iterator<Map.Entry<String, Long>> iterator = expirations.entrySet().iterator();
+      Map.Entry<String, Long> eldest = iterator.next();
+      iterator.remove();
+      if (eldest.getValue() > clock.millis()) {
+        onLiveEviction(eldest.getKey());
+      }
+    }
+    return true;
+  }
+
+  /**
+   * 저장소가 가득 차 만료 전에 제거된 키의 수. 0보다 크면 maximumSize를 늘리거나 공유 저장소를 사용해야 함
+   *
+   * @return 만료 전에 제거된 키의 수
+   */
+  public synchronized long getLiveEvictionCount() {
+    return liveEvictionCount;
+  }
+
+  @Override
+  public synchronized void remove(String key) {
+    expirations.remove(key);
+  }
+
+  synchronized int size() {
+    return expirations.size();
+  }
+
+  private void onLiveEviction(String key) {
+    liveEvictionCount++;
+    long now = clock.millis();
+    // 가득 찬 동안에는 저장할 때마다 발생하므로 로그는 1분에 한 번만 남김
+    if (lastWarnMillis == Long.MIN_VALUE || now - lastWarnMillis >= WARN_INTERVAL_MILLIS) {
+      lastWarnMillis = now;
+      logger.warn(
+          "Notification replay store is full (maximumSize={}), evicted unexpired key[{}]. "
+              + "Replays of {} evicted notifications will not be detected, "
+              + "increase maximumSize or use a shared store.",
+          maximumSize,
+          key,
+          liveEvictionCount);
+    }
+  }
+
+  private boolean isLive(String key) {
+    Long expiration = expirations.get(key);
+    return expiration != null && expiration > clock.millis();
+  }
+
+  private void evictExpired() {
+    long now = clock.millis();
+    Iterator<Map.Entry<String, Long>> iterator = expirations.entrySet().iterator();
+    while (iterator.hasNext() && iterator.next().getValue() <= now) {
+      iterator.remove();
+    }
+  }
+}
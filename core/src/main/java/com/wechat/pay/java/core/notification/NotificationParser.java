@@ -2,13 +2,15 @@ package com.wechat.pay.java.core.notification;
 
 import static java.util.Objects.requireNonNull;
 
-import com.google.gson.Gson;
 import com.wechat.pay.java.core.cipher.AeadCipher;
 import com.wechat.pay.java.core.cipher.Verifier;
+import com.wechat.pay.java.core.exception.DuplicateNotificationException;
 import com.wechat.pay.java.core.exception.MalformedMessageException;
 import com.wechat.pay.java.core.exception.ValidationException;
+import com.wechat.pay.java.core.jfr.SdkEvents;
 import com.wechat.pay.java.core.util.GsonUtil;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
@@ -16,11 +18,21 @@ import java.util.Map;
 /** 알림 파서 */
 public class NotificationParser {
 
-  private final Gson gson = GsonUtil.getGson();
   private final Map<String, Verifier> verifiers = new HashMap<>();
   private final Map<String, AeadCipher> ciphers = new HashMap<>();
+  private final NotificationReplayGuard replayGuard;
 
   public NotificationParser(NotificationConfig... configs) {
+    this((NotificationReplayGuard) null, configs);
+  }
+
+  /**
+   * 재전송 방지를 사용하는 알림 파서 생성
+   *
+   * @param replayGuard 재전송 방지 설정, null이면 사용하지 않음
+   * @param configs 알림 설정
+   */
+  public NotificationParser(NotificationReplayGuard replayGuard, NotificationConfig... configs) {
     if (configs.length == 0) {
       throw new IllegalArgumentException("NotificationConfig is empty.");
     }
@@ -28,26 +40,76 @@ public class NotificationParser {
       this.verifiers.put(config.getSignType(), config.createVerifier());
       this.ciphers.put(config.getCipherType(), config.createAeadCipher());
     }
+    this.replayGuard = replayGuard;
   }
 
   public NotificationParser(Map<String, Verifier> verifiers, Map<String, AeadCipher> ciphers) {
+    this(verifiers, ciphers, null);
+  }
+
+  public NotificationParser(
+      Map<String, Verifier> verifiers,
+      Map<String, AeadCipher> ciphers,
+      NotificationReplayGuard replayGuard) {
     this.verifiers.putAll(verifiers);
     this.ciphers.putAll(ciphers);
+    this.replayGuard = replayGuard;
   }
 
   /**
-   * 위챗페이 콜백 알림 파싱
+   * 위챗페이 콜백 알림 파싱. 재전송 방지를 사용하는 경우 알림은 처리 중으로 기록되므로, 비즈니스 처리를 커밋한 뒤 {@link
+   * NotificationReplayGuard#markProcessed(RequestParam)}를, 실패하면 {@link
+   * NotificationReplayGuard#release(RequestParam)}를 호출해야 함
    *
    * @param requestParam 알림 파싱에 필요한 요청 파라미터
    * @param decryptObjectClass 복호화할 데이터의 Class 객체
    * @param <T> Class 객체로 모델링된 클래스의 타입
    * @return 복호화된 콜백 메시지
    * @throws MalformedMessageException 콜백 알림 파라미터가 올바르지 않거나 알림 데이터 파싱 실패
-   * @throws ValidationException 서명 검증 실패
+   * @throws ValidationException 서명 검증 실패, 또는 재전송 방지 사용 시 timestamp가 허용 범위를 벗어남
+   * @throws DuplicateNotificationException 재전송 방지 사용 시 이미 처리되었거나 처리 중인 알림
    */
   public <T> T parse(RequestParam requestParam, Class<T> decryptObjectClass) {
+    requireNonNull(decryptObjectClass);
+    ParsedNotification notification = verifyNotification(requestParam);
+    T decryptObject = notification.decrypt(decryptObjectClass);
+    if (replayGuard != null) {
+      replayGuard.markInFlight(NotificationReplayGuard.keyOf(requestParam, notification));
+    }
+    return decryptObject;
+  }
+
+  /**
+   * 위챗페이 콜백 알림의 서명만 검증. 복호화와 객체 변환은 반환된 {@link ParsedNotification}에서 필요할 때 수행하므로, event_type에 따라
+   * 처리하지 않을 알림은 복호화 비용 없이 걸러낼 수 있음. 재전송 방지를 사용하는 경우 서명 검증에 성공하면 처리 중으로 기록되므로, 처리를 마치면 {@link
+   * NotificationReplayGuard#markProcessed(RequestParam)}를 호출해야 함
+   *
+   * @param requestParam 알림 파싱에 필요한 요청 파라미터
+   * @return 서명 검증을 마친 알림
+   * @throws MalformedMessageException 콜백 알림 파라미터가 올바르지 않거나 알림 데이터 파싱 실패
+   * @throws ValidationException 서명 검증 실패, 또는 재전송 방지 사용 시 timestamp가 허용 범위를 벗어남
+   * @throws DuplicateNotificationException 재전송 방지 사용 시 이미 처리되었거나 처리 중인 알림
+   */
+  public ParsedNotification verify(RequestParam requestParam) {
+    ParsedNotification notification = verifyNotification(requestParam);
+    if (replayGuard != null) {
+      replayGuard.markInFlight(NotificationReplayGuard.keyOf(requestParam, notification));
+    }
+    return notification;
+  }
+
+  private ParsedNotification verifyNotification(RequestParam requestParam) {
     validateRequest(requestParam);
-    return getDecryptObject(requestParam, requireNonNull(decryptObjectClass));
+    if (replayGuard == null) {
+      verifySignature(requestParam);
+      return new ParsedNotification(parseNotification(requestParam), this);
+    }
+    // 서명 검증과 복호화보다 비용이 훨씬 적은 검사를 먼저 수행
+    replayGuard.checkTimestamp(requestParam, Instant.now());
+    Notification notification = parseNotification(requestParam);
+    replayGuard.checkNotProcessed(NotificationReplayGuard.keyOf(requestParam, notification));
+    verifySignature(requestParam);
+    return new ParsedNotification(notification, this);
   }
 
   private void validateRequest(RequestParam requestParam) {
@@ -80,6 +142,9 @@ public class NotificationParser {
               "Verify WechatPay notification parameters, signature is empty" + ".RequestParam[%s]",
               requestParam));
     }
+  }
+
+  private void verifySignature(RequestParam requestParam) {
     Verifier verifier = verifiers.get(requestParam.getSignType());
     if (verifier == null) {
       throw new ValidationException(
@@ -100,18 +165,28 @@ public class NotificationParser {
     }
   }
 
-  private <T> T getDecryptObject(RequestParam requestParam, Class<T> decryptObjectClass) {
-    Notification notification = gson.fromJson(requestParam.getBody(), Notification.class);
+  static Notification parseNotification(RequestParam requestParam) {
+    Notification notification =
+        GsonUtil.getGson().fromJson(requestParam.getBody(), Notification.class);
     validateNotification(notification);
-    String algorithm = notification.getResource().getAlgorithm();
-    String associatedData = notification.getResource().getAssociatedData();
-    String nonce = notification.getResource().createNonce();
-    String ciphertext = notification.getResource().getCiphertext();
-    String plaintext = decryptData(algorithm, associatedData, nonce, ciphertext);
-    return gson.fromJson(plaintext, decryptObjectClass);
+    return notification;
+  }
+
+  String decryptResource(Resource resource) {
+    SdkEvents.Span event =
+        SdkEvents.beginNotificationDecrypt(resource.getAlgorithm(), resource.getOriginalType());
+    try {
+      return decryptData(
+          resource.getAlgorithm(),
+          resource.getAssociatedData(),
+          resource.createNonce(),
+          resource.getCiphertext());
+    } finally {
+      event.commit();
+    }
   }
 
-  private void validateNotification(Notification notification) {
+  private static void validateNotification(Notification notification) {
     if (notification == null) {
       throw new MalformedMessageException(
           "The notification obtained by parsing the WechatPay notification is null.");
@@ -0,0 +1,212 @@
+package com.wechat.pay.java.core.notification;
+
+import static java.util.Objects.requireNonNull;
+
+import com.wechat.pay.java.core.exception.DuplicateNotificationException;
+import com.wechat.pay.java.core.exception.ValidationException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * 콜백 알림 재전송 방지 설정. {@link NotificationParser}에 전달하면 서명 검증과 복호화 전에 오래된 timestamp를 거부하고, 이미 처리된 알림을
+ * {@link DuplicateNotificationException}으로 바로 돌려보냄
+ *
+ * <p>파싱에 성공한 알림은 처리 중으로만 기록되며, 비즈니스 처리를 커밋한 뒤 {@link #markProcessed(RequestParam)}를 호출해야 처리 완료로
+ * 기록됨. 처리 도중 프로세스가 종료되어 markProcessed가 호출되지 않으면 처리 중 기록은 inFlightTtl이 지나 만료되고, 이후 위챗페이가 재전송한 알림은 다시
+ * 처리됨
+ */
+public class NotificationReplayGuard {
+
+  /** 위챗페이는 응답이 없으면 약 24시간 동안 알림을 재전송하므로 그보다 조금 길게 보관 */
+  private static final Duration DEFAULT_TTL = Duration.ofHours(25);
+
+  /** 위챗페이는 응답을 5초까지 기다리므로, 그보다 충분히 길면서 재전송 간격 몇 번 안에 만료되도록 설정 */
+  private static final Duration DEFAULT_IN_FLIGHT_TTL = Duration.ofMinutes(5);
+
+  private static final Duration DEFAULT_MAX_TIMESTAMP_SKEW = Duration.ofMinutes(5);
+
+  private static final String IN_FLIGHT_KEY_PREFIX = "in-flight:";
+
+  private final NotificationReplayStore store;
+  private final Duration ttl;
+  private final Duration inFlightTtl;
+  private final Duration maxTimestampSkew;
+
+  private NotificationReplayGuard(
+      NotificationReplayStore store,
+      Duration ttl,
+      Duration inFlightTtl,
+      Duration maxTimestampSkew) {
+    this.store = store;
+    this.ttl = ttl;
+    this.inFlightTtl = inFlightTtl;
+    this.maxTimestampSkew = maxTimestampSkew;
+  }
+
+  /**
+   * 비즈니스 처리를 커밋한 알림을 처리 완료로 기록. 이후 ttl 동안 같은 알림은 {@link DuplicateNotificationException}으로 거부됨
+   *
+   * @param requestParam 처리를 마친 알림의 요청 파라미터
+   */
+  public void markProcessed(RequestParam requestParam) {
+    String key = keyOf(requestParam, NotificationParser.parseNotification(requestParam));
+    // 완료 기록을 먼저 남겨야, 처리 중 기록이 사라진 직후에 도착한 재전송도 중복으로 판정됨
+    store.putIfAbsent(key, ttl);
+    store.remove(inFlightKey(key));
+  }
+
+  /**
+   * 비즈니스 처리에 실패한 알림의 처리 기록을 삭제하여, 위챗페이가 재전송한 알림을 다시 처리할 수 있도록 함
+   *
+   * @param requestParam 처리에 실패한 알림의 요청 파라미터
+   */
+  public void release(RequestParam requestParam) {
+    String key = keyOf(requestParam, NotificationParser.parseNotification(requestParam));
+    store.remove(key);
+    store.remove(inFlightKey(key));
+  }
+
+  void checkTimestamp(RequestParam requestParam, Instant now) {
+    long timestamp;
+    try {
+      timestamp = Long.parseLong(requestParam.getTimestamp());
+    } catch (NumberFormatException e) {
+      throw new ValidationException(
+          String.format(
+              "Verify WechatPay notification parameters, timestamp is invalid.RequestParam[%s]",
+              requestParam),
+          e);
+    }
+    Duration skew = Duration.between(Instant.ofEpochSecond(timestamp), now).abs();
+    if (skew.compareTo(maxTimestampSkew) > 0) {
+      throw new ValidationException(
+          String.format(
+              "Verify WechatPay notification parameters, timestamp is expired.RequestParam[%s]",
+              requestParam));
+    }
+  }
+
+  void checkNotProcessed(String key) {
+    if (store.contains(key)) {
+      throw duplicate(key);
+    }
+    if (store.contains(inFlightKey(key))) {
+      throw inProgress(key);
+    }
+  }
+
+  /** 알림을 처리 중으로 기록. 동시에 도착한 같은 알림 중 하나만 성공함 */
+  void markInFlight(String key) {
+    if (!store.putIfAbsent(inFlightKey(key), inFlightTtl)) {
+      throw inProgress(key);
+    }
+    // 사전 검사 이후에 다른 요청이 처리를 완료했을 수 있음
+    if (store.contains(key)) {
+      store.remove(inFlightKey(key));
+      throw duplicate(key);
+    }
+  }
+
+  static String keyOf(RequestParam requestParam, Notification notification) {
+    return keyOf(requestParam, notification.getId());
+  }
+
+  static String keyOf(RequestParam requestParam, ParsedNotification notification) {
+    return keyOf(requestParam, notification.getId());
+  }
+
+  private static String keyOf(RequestParam requestParam, String notificationId) {
+    if (notificationId != null) {
+      return notificationId;
+    }
+    // 알림 id가 없으면 서명 대상인 헤더 timestamp와 nonce로 재전송 여부를 판단
+    return requestParam.getTimestamp() + "-" + requestParam.getNonce();
+  }
+
+  private static String inFlightKey(String key) {
+    return IN_FLIGHT_KEY_PREFIX + key;
+  }
+
+  private static DuplicateNotificationException duplicate(String key) {
+    return new DuplicateNotificationException(
+        String.format("WechatPay notification has already been processed.Key[%s]", key), key);
+  }
+
+  private static DuplicateNotificationException inProgress(String key) {
+    return new DuplicateNotificationException(
+        String.format("WechatPay notification is being processed.Key[%s]", key), key, true);
+  }
+
+  public static class Builder {
+
+    private NotificationReplayStore store;
+    private Duration ttl = DEFAULT_TTL;
+    private Duration inFlightTtl = DEFAULT_IN_FLIGHT_TTL;
+    private Duration maxTimestampSkew = DEFAULT_MAX_TIMESTAMP_SKEW;
+
+    /**
+     * 처리 기록 저장소 설정, 선택 사항, 기본값은 {@link InMemoryNotificationReplayStore}
+     *
+     * @param store 처리 기록 저장소
+     * @return Builder
+     */
+    public Builder store(NotificationReplayStore store) {
+      this.store = store;
+      return this;
+    }
+
+    /**
+     * 처리 기록 보관 기간 설정, 선택 사항, 기본값은 25시간
+     *
+     * @param ttl 보관 기간
+     * @return Builder
+     */
+    public Builder ttl(Duration ttl) {
+      this.ttl = ttl;
+      return this;
+    }
+
+    /**
+     * 파싱 후 {@link #markProcessed(RequestParam)} 또는 {@link #release(RequestParam)}가 호출되지 않은 처리 중 기록의
+     * 보관 기간 설정, 선택 사항, 기본값은 5분. 비즈니스 처리에 걸리는 최대 시간보다 길어야 함
+     *
+     * @param inFlightTtl 처리 중 기록의 보관 기간
+     * @return Builder
+     */
+    public Builder inFlightTtl(Duration inFlightTtl) {
+      this.inFlightTtl = inFlightTtl;
+      return this;
+    }
+
+    /**
+     * 허용하는 Wechatpay-Timestamp와 현재 시각의 최대 차이 설정, 선택 사항, 기본값은 5분
+     *
+     * @param maxTimestampSkew 최대 시간 차이
+     * @return Builder
+     */
+    public Builder maxTimestampSkew(Duration maxTimestampSkew) {
+      this.maxTimestampSkew = maxTimestampSkew;
+      return this;
+    }
+
+    public NotificationReplayGuard build() {
+      requireNonNull(ttl);
+      requireNonNull(inFlightTtl);
+      requireNonNull(maxTimestampSkew);
+      if (ttl.isNegative() || ttl.isZero()) {
+        throw new IllegalArgumentException("ttl must be positive.");
+      }
+      if (inFlightTtl.isNegative() || inFlightTtl.isZero()) {
+        throw new IllegalArgumentException("inFlightTtl must be positive.");
+      }
+      if (maxTimestampSkew.isNegative() || maxTimestampSkew.isZero()) {
+        throw new IllegalArgumentException("maxTimestampSkew must be positive.");
+      }
+      return new NotificationReplayGuard(
+          store == null ? new InMemoryNotificationReplayStore() : store,
+          ttl,
+          inFlightTtl,
+          maxTimestampSkew);
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package com.wechat.pay.java.core.notification;
+
+import java.time.Duration;
+
+/**
+ * 처리 완료된 콜백 알림 키 저장소. 기본 구현은 {@link InMemoryNotificationReplayStore}이며, 여러 인스턴스가 콜백을 나누어 받는 경우
+ * Redis 등 공유 저장소로 구현하여 교체할 수 있음
+ */
+public interface NotificationReplayStore {
+
+  /**
+   * 키가 저장되어 있고 아직 만료되지 않았는지 확인
+   *
+   * @param key 알림 키
+   * @return 처리된 적이 있으면 true
+   */
+  boolean contains(String key);
+
+  /**
+   * 키가 없을 때만 저장. 원자적으로 동작해야 동시에 도착한 같은 알림 중 하나만 처리됨
+   *
+   * @param key 알림 키
+   * @param ttl 보관 기간
+   * @return 새로 저장했으면 true, 이미 있으면 false
+   */
+  boolean putIfAbsent(String key, Duration ttl);
+
+  /**
+   * 키 삭제. 비즈니스 처리에 실패하여 위챗페이의 재전송을 다시 받아야 할 때 사용
+   *
+   * @param key 알림 키
+   */
+  void remove(String key);
+}
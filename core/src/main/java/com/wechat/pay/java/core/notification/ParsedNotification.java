@@ -0,0 +1,88 @@
+package com.wechat.pay.java.core.notification;
+
+import static java.util.Objects.requireNonNull;
+
+import com.wechat.pay.java.core.exception.DecryptionException;
+import com.wechat.pay.java.core.exception.MalformedMessageException;
+import com.wechat.pay.java.core.util.GsonUtil;
+
+/**
+ * 서명 검증을 마친 위챗페이 콜백 알림. 봉투 필드(id, event_type 등)는 바로 읽을 수 있고, resource의 복호화와 객체 변환은 {@link
+ * #decrypt(Class)}를 처음 호출할 때 수행됨
+ */
+public final class ParsedNotification {
+
+  private final Notification notification;
+  private final NotificationParser parser;
+  private volatile String plaintext;
+
+  ParsedNotification(Notification notification, NotificationParser parser) {
+    this.notification = notification;
+    this.parser = parser;
+  }
+
+  public String getId() {
+    return notification.getId();
+  }
+
+  public String getCreateTime() {
+    return notification.getCreateTime();
+  }
+
+  public String getEventType() {
+    return notification.getEventType();
+  }
+
+  public String getResourceType() {
+    return notification.getResourceType();
+  }
+
+  public String getSummary() {
+    return notification.getSummary();
+  }
+
+  /**
+   * 암호화된 resource. 복호화 전의 원본 그대로임
+   *
+   * @return resource
+   */
+  public Resource getResource() {
+    return notification.getResource();
+  }
+
+  /**
+   * resource를 복호화한 JSON 문자열. 처음 호출할 때만 복호화하고 이후에는 결과를 재사용함
+   *
+   * @return 복호화된 JSON 문자열
+   * @throws MalformedMessageException 알고리즘에 대응하는 AeadCipher가 없음
+   * @throws DecryptionException 복호화 실패
+   */
+  public String getPlaintext() {
+    String result = plaintext;
+    if (result == null) {
+      // 경쟁 시 중복 복호화될 수 있으나 결과가 같으므로 잠금을 사용하지 않음
+      result = parser.decryptResource(notification.getResource());
+      plaintext = result;
+    }
+    return result;
+  }
+
+  /**
+   * resource를 복호화하여 지정한 타입으로 변환
+   *
+   * @param decryptObjectClass 복호화할 데이터의 Class 객체
+   * @param <T> Class 객체로 모델링된 클래스의 타입
+   * @return 복호화된 콜백 메시지
+   * @throws MalformedMessageException 알고리즘에 대응하는 AeadCipher가 없음
+   * @throws DecryptionException 복호화 실패
+   */
+  public <T> T decrypt(Class<T> decryptObjectClass) {
+    requireNonNull(decryptObjectClass);
+    return GsonUtil.getGson().fromJson(getPlaintext(), decryptObjectClass);
+  }
+
+  @Override
+  public String toString() {
+    return notification.toString();
+  }
+}
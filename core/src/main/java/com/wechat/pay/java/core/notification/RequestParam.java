@@ -12,9 +12,17 @@ public class RequestParam {
   private final String message;
   private final String body;
   private final String signType;
+  private final String timestamp;
+  private final String nonce;
 
   private RequestParam(
-      String serialNumber, String signature, String message, String body, String signType) {
+      String serialNumber,
+      String signature,
+      String message,
+      String body,
+      String signType,
+      String timestamp,
+      String nonce) {
     this.serialNumber = serialNumber;
     this.signature = signature;
     this.message = message;
@@ -25,6 +33,8 @@ public class RequestParam {
     } else {
       this.signType = signType;
     }
+    this.timestamp = timestamp;
+    this.nonce = nonce;
   }
 
   public String getSerialNumber() {
@@ -47,6 +57,14 @@ public class RequestParam {
     return signType;
   }
 
+  public String getTimestamp() {
+    return timestamp;
+  }
+
+  public String getNonce() {
+    return nonce;
+  }
+
   @Override
   public String toString() {
     return GsonUtil.getGson().toJson(this);
@@ -93,7 +111,7 @@ public class RequestParam {
 
     public RequestParam build() {
       String message = timestamp + "\n" + nonce + "\n" + body + "\n";
-      return new RequestParam(serialNumber, signature, message, body, signType);
+      return new RequestParam(serialNumber, signature, message, body, signType, timestamp, nonce);
     }
   }
 }
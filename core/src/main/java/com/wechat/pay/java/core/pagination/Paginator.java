@@ -0,0 +1,306 @@
+package com.wechat.pay.java.core.pagination;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * offset/limit로 페이지를 나누는 목록 API를 끝까지 조회하는 자동 페이지네이션. 빈 페이지, limit보다 적은 페이지, 또는 응답의 전체 건수만큼 조회한 페이지를
+ * 마지막 페이지로 판단함
+ *
+ * <pre>{@code
+ * Paginator<StockCollection, Stock> stocks =
+ *     new Paginator.Builder<StockCollection, Stock>()
+ *         .offsetType(Paginator.OffsetType.PAGE_NUMBER)
+ *         .pageSize(10)
+ *         .fetcher(
+ *             (offset, limit) -> {
+ *               request.setOffset((int) offset);
+ *               request.setLimit(limit);
+ *               return cashCouponsService.listStocks(request);
+ *             })
+ *         .items(StockCollection::getData)
+ *         .totalCount(StockCollection::getTotalCount)
+ *         .build();
+ * try (Stream<Stock> stream = stocks.stream(executor)) {
+ *   stream.forEach(stock -> ...);
+ * }
+ * }</pre>
+ *
+ * <p>다음 페이지는 소비자가 항목을 꺼낼 때 조회하므로, 소비가 느리면 조회도 그만큼 늦춰짐. prefetch executor를 지정하면 현재 페이지를 소비하는 동안 다음
+ * 페이지 하나만 미리 조회함
+ *
+ * @param <P> 페이지 응답 타입
+ * @param <T> 항목 타입
+ */
+public final class Paginator<P, T> implements Iterable<T> {
+
+  private final PageFetcher<? extends P> fetcher;
+  private final Function<? super P, ? extends List<? extends T>> items;
+  private final Function<? super P, ? extends Number> totalCount;
+  private final int pageSize;
+  private final OffsetType offsetType;
+
+  private Paginator(Builder<P, T> builder) {
+    this.fetcher = builder.fetcher;
+    this.items = builder.items;
+    this.totalCount = builder.totalCount;
+    this.pageSize = builder.pageSize;
+    this.offsetType = builder.offsetType;
+  }
+
+  /**
+   * 첫 페이지부터 모든 항목을 순서대로 내보내는 Iterator, 다음 페이지를 미리 조회하지 않음
+   *
+   * @return 항목 Iterator
+   */
+  @Override
+  public Iterator<T> iterator() {
+    return new PageIterator(null);
+  }
+
+  /**
+   * 첫 페이지부터 모든 항목을 순서대로 내보내는 Iterator. 현재 페이지를 소비하는 동안 prefetchExecutor에서 다음 페이지를 조회함
+   *
+   * @param prefetchExecutor 다음 페이지를 조회할 executor
+   * @return 항목 Iterator
+   */
+  public Iterator<T> iterator(Executor prefetchExecutor) {
+    return new PageIterator(requireNonNull(prefetchExecutor));
+  }
+
+  /**
+   * 첫 페이지부터 모든 항목을 순서대로 내보내는 Stream, 다음 페이지를 미리 조회하지 않음
+   *
+   * @return 항목 Stream
+   */
+  public Stream<T> stream() {
+    return stream(new PageIterator(null));
+  }
+
+  /**
+   * 첫 페이지부터 모든 항목을 순서대로 내보내는 Stream. 현재 페이지를 소비하는 동안 prefetchExecutor에서 다음 페이지를 조회하며, 끝까지 소비하지 않는
+   * 경우 Stream을 닫으면 미리 조회한 결과를 버림
+   *
+   * @param prefetchExecutor 다음 페이지를 조회할 executor
+   * @return 항목 Stream
+   */
+  public Stream<T> stream(Executor prefetchExecutor) {
+    return stream(new PageIterator(requireNonNull(prefetchExecutor)));
+  }
+
+  private Stream<T> stream(PageIterator iterator) {
+    // SIZED로 만들면 count() 등이 페이지를 조회하지 않고 끝날 수 있으므로 크기를 알리지 않음
+    Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED);
+    return StreamSupport.stream(spliterator, false).onClose(iterator::close);
+  }
+
+  /** offset 파라미터의 의미 */
+  public enum OffsetType {
+    /** 조회를 시작할 항목의 위치, 0부터 시작. 예: limit이 10이면 0, 10, 20 */
+    RECORD,
+    /** 페이지 번호, 0부터 시작. 예: 0, 1, 2 */
+    PAGE_NUMBER
+  }
+
+  /**
+   * 페이지 하나를 조회함
+   *
+   * @param <P> 페이지 응답 타입
+   */
+  @FunctionalInterface
+  public interface PageFetcher<P> {
+
+    /**
+     * 페이지 조회
+     *
+     * @param offset offsetType에 따른 항목 위치 또는 페이지 번호
+     * @param limit 페이지 크기
+     * @return 페이지 응답
+     */
+    P fetch(long offset, int limit);
+  }
+
+  private final class PageIterator implements Iterator<T> {
+
+    private final Executor prefetchExecutor;
+    // 소비 스레드에서만 변경됨
+    private Iterator<? extends T> current = Collections.emptyIterator();
+    private CompletableFuture<P> pending;
+    private long pageNumber;
+    private long fetchedCount;
+    private boolean lastPage;
+    private boolean closed;
+
+    PageIterator(Executor prefetchExecutor) {
+      this.prefetchExecutor = prefetchExecutor;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!current.hasNext()) {
+        if (lastPage || closed) {
+          return false;
+        }
+        current = takePage().iterator();
+      }
+      return true;
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return current.next();
+    }
+
+    private List<? extends T> takePage() {
+      P page;
+      if (pending == null) {
+        page = fetch(pageNumber, fetchedCount);
+      } else {
+        CompletableFuture<P> future = pending;
+        pending = null;
+        page = join(future);
+      }
+      List<? extends T> pageItems = items.apply(page);
+      if (pageItems == null) {
+        pageItems = Collections.emptyList();
+      }
+      pageNumber++;
+      fetchedCount += pageItems.size();
+      lastPage = isLastPage(page, pageItems);
+      if (!lastPage && prefetchExecutor != null) {
+        long nextPageNumber = pageNumber;
+        long nextRecordOffset = fetchedCount;
+        pending =
+            CompletableFuture.supplyAsync(
+                () -> fetch(nextPageNumber, nextRecordOffset), prefetchExecutor);
+      }
+      return pageItems;
+    }
+
+    private P fetch(long pageNumber, long recordOffset) {
+      long offset = offsetType == OffsetType.PAGE_NUMBER ? pageNumber : recordOffset;
+      return requireNonNull(fetcher.fetch(offset, pageSize), "fetcher returned null page");
+    }
+
+    private boolean isLastPage(P page, List<? extends T> pageItems) {
+      if (pageItems.isEmpty()) {
+        return true;
+      }
+      Number total = totalCount == null ? null : totalCount.apply(page);
+      // 전체 건수를 알면 limit보다 적게 반환한 페이지가 있어도 끝까지 조회함
+      return total != null ? fetchedCount >= total.longValue() : pageItems.size() < pageSize;
+    }
+
+    private P join(CompletableFuture<P> future) {
+      try {
+        return future.join();
+      } catch (CompletionException e) {
+        lastPage = true;
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        if (e.getCause() instanceof Error) {
+          throw (Error) e.getCause();
+        }
+        throw e;
+      }
+    }
+
+    void close() {
+      closed = true;
+      if (pending != null) {
+        pending.cancel(false);
+        pending = null;
+      }
+    }
+  }
+
+  public static class Builder<P, T> {
+
+    private PageFetcher<? extends P> fetcher;
+    private Function<? super P, ? extends List<? extends T>> items;
+    private Function<? super P, ? extends Number> totalCount;
+    private int pageSize;
+    private OffsetType offsetType = OffsetType.RECORD;
+
+    /**
+     * 페이지 조회 함수 설정, 필수. 함수는 offset과 limit을 요청에 설정하여 목록 API를 호출함
+     *
+     * @param fetcher 페이지 조회 함수
+     * @return Builder
+     */
+    public Builder<P, T> fetcher(PageFetcher<? extends P> fetcher) {
+      this.fetcher = fetcher;
+      return this;
+    }
+
+    /**
+     * 페이지 응답에서 항목 목록을 꺼내는 함수 설정, 필수. null을 반환하면 빈 페이지로 처리함
+     *
+     * @param items 항목 목록을 꺼내는 함수
+     * @return Builder
+     */
+    public Builder<P, T> items(Function<? super P, ? extends List<? extends T>> items) {
+      this.items = items;
+      return this;
+    }
+
+    /**
+     * 페이지 응답에서 전체 항목 수를 꺼내는 함수 설정, 선택 사항. 설정하지 않거나 null을 반환하면 limit보다 적은 페이지를 마지막 페이지로 판단함
+     *
+     * @param totalCount 전체 항목 수를 꺼내는 함수
+     * @return Builder
+     */
+    public Builder<P, T> totalCount(Function<? super P, ? extends Number> totalCount) {
+      this.totalCount = totalCount;
+      return this;
+    }
+
+    /**
+     * 페이지 크기(limit) 설정, 필수. API가 허용하는 최대값을 넘으면 마지막 페이지를 잘못 판단할 수 있음
+     *
+     * @param pageSize 페이지 크기
+     * @return Builder
+     */
+    public Builder<P, T> pageSize(int pageSize) {
+      this.pageSize = pageSize;
+      return this;
+    }
+
+    /**
+     * offset 파라미터의 의미 설정, 선택 사항, 기본값은 {@link OffsetType#RECORD}
+     *
+     * @param offsetType offset 의미
+     * @return Builder
+     */
+    public Builder<P, T> offsetType(OffsetType offsetType) {
+      this.offsetType = offsetType;
+      return this;
+    }
+
+    public Paginator<P, T> build() {
+      requireNonNull(fetcher);
+      requireNonNull(items);
+      requireNonNull(offsetType);
+      if (pageSize <= 0) {
+        throw new IllegalArgumentException("pageSize must be positive.");
+      }
+      return new Paginator<>(this);
+    }
+  }
+}
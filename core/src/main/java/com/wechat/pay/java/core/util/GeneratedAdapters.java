@@ -0,0 +1,10 @@
+package com.wechat.pay.java.core.util;
+
+import com.google.gson.TypeAdapterFactory;
+
+/**
+ * 빌드 시점에 생성한 모델 TypeAdapter를 제공하는 SDK 전용 서비스 인터페이스. gson-adapter-processor가 생성한 팩토리가 구현하고
+ * META-INF/services/com.wechat.pay.java.core.util.GeneratedAdapters에 등록하며, {@link GsonUtil}은 이
+ * 인터페이스의 구현만 불러옴. Gson의 {@link TypeAdapterFactory}를 서비스로 선언한 다른 라이브러리가 SDK 모델의 직렬화를 바꾸지 않도록 함
+ */
+public interface GeneratedAdapters extends TypeAdapterFactory {}
@@ -5,17 +5,32 @@ import com.google.gson.FieldAttributes;
 import com.google.gson.FieldNamingPolicy;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
 import com.google.gson.annotations.Expose;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /** Gson 유틸리티 클래스 */
 public class GsonUtil {
 
   private GsonUtil() {}
 
+  private static final Logger logger = LoggerFactory.getLogger(GsonUtil.class);
   private static final Gson gson;
+  private static final int INITIAL_BUFFER_SIZE = 1024;
+  private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+  private static final InstancePool<JsonBuffer> JSON_BUFFER = new InstancePool<>(JsonBuffer::new);
 
   static {
-    gson =
+    GsonBuilder builder =
         new GsonBuilder()
             .disableHtmlEscaping()
             .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
@@ -44,8 +59,30 @@ public class GsonUtil {
                   public boolean shouldSkipClass(Class<?> aClass) {
                     return false;
                   }
-                })
-            .create();
+                });
+    registerTypeAdapterFactories(builder);
+    gson = builder.create();
+  }
+
+  /**
+   * 클래스패스의 META-INF/services/com.wechat.pay.java.core.util.GeneratedAdapters에 등록된 팩토리를 추가함. service
+   * 모듈은 빌드 시점에 생성한 모델 TypeAdapter를 이렇게 제공하며, 팩토리가 없는 모델은 지금처럼 리플렉션 어댑터를 사용함. Gson 공용 서비스인
+   * TypeAdapterFactory는 다른 라이브러리도 등록할 수 있으므로 불러오지 않음
+   */
+  private static void registerTypeAdapterFactories(GsonBuilder builder) {
+    Iterator<GeneratedAdapters> factories =
+        ServiceLoader.load(GeneratedAdapters.class, GsonUtil.class.getClassLoader()).iterator();
+    while (true) {
+      try {
+        if (!factories.hasNext()) {
+          return;
+        }
+        builder.registerTypeAdapterFactory(factories.next());
+      } catch (ServiceConfigurationError e) {
+        // 팩토리를 불러오지 못해도 리플렉션 어댑터로 동작할 수 있으므로 예외를 던지지 않음
+        logger.warn("Failed to load GeneratedAdapters, reflective adapters will be used", e);
+      }
+    }
   }
 
   /**
@@ -66,4 +103,43 @@ public class GsonUtil {
   public static String toJson(Object object) {
     return gson.toJson(object);
   }
+
+  /**
+   * 객체를 UTF-8로 인코딩된 JSON 바이트로 변환. 재사용하는 버퍼에 직접 써서 중간 문자열을 만들지 않음
+   *
+   * @param object 변환할 객체
+   * @return UTF-8로 인코딩된 JSON
+   */
+  public static byte[] toJsonBytes(Object object) {
+    JsonBuffer buffer = JSON_BUFFER.acquire();
+    buffer.reset();
+    try {
+      Writer writer = new OutputStreamWriter(buffer, StandardCharsets.UTF_8);
+      gson.toJson(object, writer);
+      writer.flush();
+    } catch (IOException e) {
+      // ByteArrayOutputStream에 쓰므로 발생하지 않음
+      throw new JsonIOException(e);
+    }
+    byte[] json = buffer.toByteArray();
+    if (buffer.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+      // 큰 요청 한 번으로 늘어난 버퍼를 계속 보관하지 않음
+      JSON_BUFFER.discard(buffer);
+    } else {
+      JSON_BUFFER.release(buffer);
+    }
+    return json;
+  }
+
+  /** 내부 배열 크기를 확인할 수 있는 ByteArrayOutputStream */
+  private static final class JsonBuffer extends ByteArrayOutputStream {
+
+    JsonBuffer() {
+      super(INITIAL_BUFFER_SIZE);
+    }
+
+    int capacity() {
+      return buf.length;
+    }
+  }
 }
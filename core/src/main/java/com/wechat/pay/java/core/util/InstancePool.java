@@ -0,0 +1,98 @@
+package com.wechat.pay.java.core.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 스레드 안전하지 않은 객체(Signature, Cipher, 버퍼 등)를 재사용하기 위한 풀. SDK 내부용
+ *
+ * <p>모든 스레드가 크기가 제한된 하나의 풀을 공유함. 풀이 비어 있으면 새로 만들고, 가득 차 있으면 반납한 객체를 버림. ThreadLocal에 보관하면 가맹점마다 만드는
+ * 서명기, 검증기마다 스레드 수만큼 키가 설정된 객체가 남고, 가맹점 설정을 제거한 뒤에도 스레드가 종료될 때까지 개인키가 도달 가능한 상태로 남음. 가상 스레드는 작업마다
+ * 새로 만들어지므로 ThreadLocal은 재사용 효과도 없음
+ *
+ * <pre>{@code
+ * Signature signature = pool.acquire();
+ * try {
+ *   ...
+ *   pool.release(signature);
+ * } catch (SignatureException e) {
+ *   pool.discard(signature);
+ * }
+ * }</pre>
+ *
+ * @param <T> 재사용할 객체 타입
+ */
+public final class InstancePool<T> {
+
+  // 풀의 객체로 하는 작업은 I/O 없이 CPU만 사용하므로, 동시에 사용하는 수는 CPU 코어 수를 크게 넘지 않음
+  private static final int DEFAULT_MAX_POOLED =
+      Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+
+  private final Supplier<T> factory;
+  private final int maxPooled;
+  private final ConcurrentLinkedDeque<T> pooled = new ConcurrentLinkedDeque<>();
+  private final AtomicInteger pooledCount = new AtomicInteger();
+
+  /**
+   * InstancePool 생성자, 풀의 크기는 CPU 코어 수의 두 배
+   *
+   * @param factory 객체 생성 함수
+   */
+  public InstancePool(Supplier<T> factory) {
+    this(factory, DEFAULT_MAX_POOLED);
+  }
+
+  /**
+   * InstancePool 생성자
+   *
+   * @param factory 객체 생성 함수
+   * @param maxPooled 풀에 보관할 최대 객체 수
+   */
+  public InstancePool(Supplier<T> factory, int maxPooled) {
+    if (maxPooled <= 0) {
+      throw new IllegalArgumentException("maxPooled must be positive, but got " + maxPooled);
+    }
+    this.factory = requireNonNull(factory);
+    this.maxPooled = maxPooled;
+  }
+
+  /**
+   * 객체 가져오기. 사용이 끝나면 {@link #release(Object)} 또는 {@link #discard(Object)}를 호출해야 함
+   *
+   * @return 현재 스레드만 사용하는 객체
+   */
+  public T acquire() {
+    T instance = pooled.pollFirst();
+    if (instance == null) {
+      return factory.get();
+    }
+    pooledCount.decrementAndGet();
+    return instance;
+  }
+
+  /**
+   * 다시 사용할 수 있는 상태의 객체 반납
+   *
+   * @param instance acquire()로 가져온 객체
+   */
+  public void release(T instance) {
+    if (pooledCount.incrementAndGet() > maxPooled) {
+      pooledCount.decrementAndGet();
+      return;
+    }
+    // 최근에 반납한 객체부터 다시 사용하여 캐시 적중률을 높임
+    pooled.offerFirst(instance);
+  }
+
+  /**
+   * 상태를 알 수 없거나 너무 커진 객체를 재사용하지 않도록 버림
+   *
+   * @param instance acquire()로 가져온 객체
+   */
+  public void discard(T instance) {
+    // 가져온 객체는 풀에 없으므로 반납하지 않으면 됨
+  }
+}
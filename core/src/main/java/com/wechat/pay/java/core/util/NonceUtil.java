@@ -9,18 +9,29 @@ public class NonceUtil {
 
   private static final char[] SYMBOLS =
       "0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+  // 하위 6비트로 SYMBOLS의 인덱스를 뽑고, 62 이상은 버려서 문자마다 확률이 같도록 함
+  private static final int SYMBOL_MASK = 0x3F;
+  // SecureRandom은 스레드 안전함. 스레드마다 두면 가상 스레드에서는 호출마다 생성과 시드 수집이 일어나므로 하나를 공유함
   private static final SecureRandom random = new SecureRandom();
 
   /**
-   * SecureRandom을 사용하여 랜덤 문자열 생성
+   * SecureRandom을 사용하여 랜덤 문자열 생성. 문자마다 난수를 뽑지 않고 필요한 바이트를 한 번에 뽑음
    *
    * @param length 랜덤 문자열 길이
    * @return nonce 랜덤 문자열
    */
   public static String createNonce(int length) {
     char[] buf = new char[length];
-    for (int i = 0; i < length; ++i) {
-      buf[i] = SYMBOLS[random.nextInt(SYMBOLS.length)];
+    byte[] bytes = new byte[length];
+    int count = 0;
+    while (count < length) {
+      random.nextBytes(bytes);
+      for (int i = 0; i < bytes.length && count < length; i++) {
+        int index = bytes[i] & SYMBOL_MASK;
+        if (index < SYMBOLS.length) {
+          buf[count++] = SYMBOLS[index];
+        }
+      }
     }
     return new String(buf);
   }
@@ -4,6 +4,10 @@ import static java.util.Objects.requireNonNull;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
@@ -13,6 +17,7 @@ public class ShaUtil {
   private ShaUtil() {}
 
   public static final int BUFFER_SIZE = 1024;
+  private static final int FILE_BUFFER_SIZE = 64 * 1024;
   public static final String SHA1 = "SHA-1";
   public static final String SHA256 = "SHA-256";
 
@@ -58,6 +63,29 @@ public class ShaUtil {
     return getShaHexString(source, SHA256);
   }
 
+  /**
+   * 파일의 SHA256 HEX 인코딩 메시지 다이제스트 문자열 생성, 파일을 메모리에 올리지 않고 순차적으로 읽음
+   *
+   * @param path 파일 경로
+   * @return HEX 인코딩 메시지 다이제스트 문자열
+   * @throws IOException 파일 읽기 실패 등
+   */
+  public static String getSha256HexString(Path path) throws IOException {
+    requireNonNull(path);
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      MessageDigest digest = MessageDigest.getInstance(SHA256);
+      ByteBuffer buffer = ByteBuffer.allocateDirect(FILE_BUFFER_SIZE);
+      while (channel.read(buffer) != -1) {
+        buffer.flip();
+        digest.update(buffer);
+        buffer.clear();
+      }
+      return toHexString(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new SecurityException(e);
+    }
+  }
+
   private static String getShaHexString(InputStream inputStream, String algorithm)
       throws IOException {
     byte[] data = new byte[BUFFER_SIZE];
@@ -0,0 +1,111 @@
+package com.wechat.pay.java.core.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Java 21 가상 스레드 유틸리티. SDK는 Java 8을 대상으로 빌드하므로 가상 스레드 API를 실행 시점에 찾으며, 가상 스레드를 만들 수 없는 JVM에서는
+ * {@link #isSupported()}가 false를 반환함. Java 19, 20에는 API가 있지만 --enable-preview 없이는 호출할 수 없으므로 실제로
+ * 호출해 보고 판단함
+ *
+ * <p>동기 서비스 메서드는 응답을 기다리는 동안 스레드를 점유하므로, 가상 스레드에서 실행하면 플랫폼 스레드 수에 묶이지 않고 많은 요청을 동시에 진행할 수 있음. SDK가
+ * 재사용하는 Signature, Cipher와 버퍼는 ThreadLocal이 아닌 {@link InstancePool}의 크기가 제한된 공유 풀에 보관하므로, 작업마다 새로
+ * 만들어지는 가상 스레드에서도 재사용됨
+ *
+ * <pre>{@code
+ * ExecutorService executor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+ * executor.submit(() -> jsapiService.queryOrderByOutTradeNo(request));
+ * }</pre>
+ */
+public final class VirtualThreads {
+
+  private VirtualThreads() {}
+
+  // Executors.newVirtualThreadPerTaskExecutor(), 가상 스레드를 만들 수 없으면 null
+  private static final MethodHandle NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findExecutorFactory();
+  // Thread.isVirtual(), 가상 스레드를 만들 수 없으면 null
+  private static final MethodHandle IS_VIRTUAL =
+      NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR == null ? null : findIsVirtual();
+
+  private static MethodHandle findExecutorFactory() {
+    MethodHandle factory;
+    try {
+      factory =
+          MethodHandles.publicLookup()
+              .findStatic(
+                  Executors.class,
+                  "newVirtualThreadPerTaskExecutor",
+                  MethodType.methodType(ExecutorService.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      return null;
+    }
+    // Java 19, 20에서는 미리보기 기능이 꺼져 있으면 UnsupportedOperationException이 발생함
+    try {
+      ((ExecutorService) factory.invokeExact()).shutdown();
+      return factory;
+    } catch (Throwable e) {
+      return null;
+    }
+  }
+
+  private static MethodHandle findIsVirtual() {
+    try {
+      return MethodHandles.publicLookup()
+          .findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      return null;
+    }
+  }
+
+  /**
+   * 현재 JVM에서 가상 스레드를 사용할 수 있는지 확인
+   *
+   * @return 가상 스레드 ExecutorService를 만들 수 있으면 true
+   */
+  public static boolean isSupported() {
+    return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+  }
+
+  /**
+   * 현재 스레드가 가상 스레드인지 확인
+   *
+   * @return 가상 스레드이면 true, 가상 스레드를 사용할 수 없는 JVM에서는 항상 false
+   */
+  public static boolean isCurrentThreadVirtual() {
+    if (IS_VIRTUAL == null) {
+      return false;
+    }
+    try {
+      return (boolean) IS_VIRTUAL.invokeExact(Thread.currentThread());
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new IllegalStateException("Failed to check virtual thread", e);
+    }
+  }
+
+  /**
+   * 작업마다 새 가상 스레드를 만드는 ExecutorService 생성. 사용이 끝나면 shutdown()을 호출해야 함
+   *
+   * @return 가상 스레드 ExecutorService
+   * @throws UnsupportedOperationException 가상 스레드를 사용할 수 없는 경우
+   */
+  public static ExecutorService newVirtualThreadPerTaskExecutor() {
+    if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR == null) {
+      throw new UnsupportedOperationException(
+          "Virtual threads are not available, they require Java 21 or later (or"
+              + " --enable-preview on Java 19 and 20), current version is "
+              + System.getProperty("java.version"));
+    }
+    try {
+      return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invokeExact();
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new IllegalStateException("Failed to create virtual thread executor", e);
+    }
+  }
+}
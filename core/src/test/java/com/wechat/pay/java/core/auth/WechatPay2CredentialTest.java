@@ -13,6 +13,7 @@ import com.wechat.pay.java.core.cipher.Signer;
 import com.wechat.pay.java.core.http.HttpMethod;
 import com.wechat.pay.java.core.util.NonceUtil;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import org.junit.AfterClass;
 import org.junit.Assert;
@@ -121,4 +122,48 @@ public class WechatPay2CredentialTest {
       Assert.assertEquals(authorization, result);
     }
   }
+
+  @Test
+  public void testGetAuthorizationWithBytes() {
+    try (MockedStatic<NonceUtil> nonceUtilMockedStatic = mockStatic(NonceUtil.class)) {
+      nonceUtilMockedStatic.when(() -> NonceUtil.createNonce(anyInt())).thenReturn(NONCE);
+
+      Assert.assertEquals(
+          credential.getAuthorization(REQUEST_URI, HTTP_METHOD, SIGN_BODY),
+          credential.getAuthorization(
+              REQUEST_URI, HTTP_METHOD, SIGN_BODY.getBytes(StandardCharsets.UTF_8)));
+    }
+  }
+
+  @Test
+  public void testGetAuthorizationWithNonAsciiUrlAndBody() {
+    URI uri = URI.create("https://api.mch.weixin.qq.com/v3/商户/stores?name=门店");
+    String body = "{\"description\":\"Image形象店-深圳腾大-QQ公仔\"}";
+    String expectedMessage =
+        "POST\n/v3/商户/stores?name=门店\n" + TIMESTAMP + "\n" + NONCE + "\n" + body + "\n";
+    Signer signer =
+        new Signer() {
+          @Override
+          public SignatureResult sign(String message) {
+            Assert.assertEquals(expectedMessage, message);
+            return new SignatureResult("fake-sign", MERCHANT_CERTIFICATE_SERIAL_NUMBER);
+          }
+
+          @Override
+          public String getAlgorithm() {
+            return "fake-algorithm";
+          }
+        };
+
+    try (MockedStatic<NonceUtil> nonceUtilMockedStatic = mockStatic(NonceUtil.class)) {
+      nonceUtilMockedStatic.when(() -> NonceUtil.createNonce(anyInt())).thenReturn(NONCE);
+
+      String authorization =
+          new WechatPay2Credential(MERCHANT_ID, signer)
+              .getAuthorization(uri, HttpMethod.POST.name(), body);
+      Assert.assertTrue(
+          authorization.startsWith(SCHEMA_PREFIX + "fake-algorithm mchid=\"" + MERCHANT_ID));
+      Assert.assertTrue(authorization.endsWith("signature=\"fake-sign\""));
+    }
+  }
 }
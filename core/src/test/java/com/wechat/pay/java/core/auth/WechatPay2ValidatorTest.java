@@ -10,6 +10,7 @@ import static com.wechat.pay.java.core.model.TestConfig.WECHAT_PAY_CERTIFICATE;
 
 import com.wechat.pay.java.core.cipher.Verifier;
 import com.wechat.pay.java.core.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
@@ -59,4 +60,9 @@ public class WechatPay2ValidatorTest {
   public void testValidate() {
     Assert.assertTrue(validator.validate(httpHeaders, BODY));
   }
+
+  @Test
+  public void testValidateBytes() {
+    Assert.assertTrue(validator.validate(httpHeaders, BODY.getBytes(StandardCharsets.UTF_8)));
+  }
 }
@@ -0,0 +1,161 @@
+package com.wechat.pay.java.core.bulk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.wechat.pay.java.core.util.VirtualThreads;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BulkExecutorTest {
+
+  private final AtomicInteger running = new AtomicInteger();
+  private final AtomicInteger maxRunning = new AtomicInteger();
+  private final AtomicInteger calls = new AtomicInteger();
+  private ExecutorService pool;
+
+  @BeforeEach
+  void setUp() {
+    pool = Executors.newFixedThreadPool(16);
+  }
+
+  @AfterEach
+  void tearDown() {
+    pool.shutdownNow();
+  }
+
+  private String query(Integer request) {
+    calls.incrementAndGet();
+    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+    try {
+      TimeUnit.MILLISECONDS.sleep(20);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      running.decrementAndGet();
+    }
+    if (request % 10 == 0) {
+      throw new IllegalStateException("fake failure " + request);
+    }
+    return "order-" + request;
+  }
+
+  private CompletableFuture<String> queryAsync(Integer request) {
+    return CompletableFuture.supplyAsync(() -> query(request), pool);
+  }
+
+  private static List<Integer> requests(int count) {
+    return IntStream.rangeClosed(1, count).boxed().collect(Collectors.toList());
+  }
+
+  @Test
+  void testExecuteAsyncBoundsConcurrency() {
+    BulkExecutor bulkExecutor = new BulkExecutor.Builder().maxConcurrency(4).build();
+    List<BulkResult<Integer, String>> results;
+    try (Stream<BulkResult<Integer, String>> stream =
+        bulkExecutor.executeAsync(requests(40), this::queryAsync)) {
+      results = stream.collect(Collectors.toList());
+    }
+
+    assertEquals(40, results.size());
+    assertEquals(4, maxRunning.get());
+    for (BulkResult<Integer, String> result : results) {
+      if (result.getRequest() % 10 == 0) {
+        assertFalse(result.isSuccess());
+        assertNull(result.getResponse());
+        // CompletionException은 벗겨서 원래 예외를 전달
+        assertTrue(result.getException() instanceof IllegalStateException);
+      } else {
+        assertTrue(result.isSuccess());
+        assertEquals("order-" + result.getRequest(), result.getResponse());
+      }
+    }
+  }
+
+  @Test
+  void testExecuteSyncWithOwnedExecutor() {
+    BulkExecutor bulkExecutor = new BulkExecutor.Builder().maxConcurrency(3).build();
+    long successCount =
+        bulkExecutor.execute(requests(20), this::query).filter(BulkResult::isSuccess).count();
+
+    assertEquals(18, successCount);
+    assertEquals(20, calls.get());
+    assertTrue(maxRunning.get() <= 3);
+  }
+
+  @Test
+  void testRateLimit() {
+    BulkExecutor bulkExecutor =
+        new BulkExecutor.Builder().maxConcurrency(10).permitsPerSecond(50).executor(pool).build();
+    long start = System.nanoTime();
+    assertEquals(11, bulkExecutor.execute(requests(11), this::query).count());
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    // 50/s이면 11번째 요청은 첫 요청 후 최소 200ms 뒤에 전송됨
+    assertTrue(elapsedMillis >= 190, "elapsed " + elapsedMillis + "ms");
+  }
+
+  @Test
+  void testStopsDispatchingWhenClosedEarly() {
+    BulkExecutor bulkExecutor = new BulkExecutor.Builder().maxConcurrency(2).build();
+    try (Stream<BulkResult<Integer, String>> stream =
+        bulkExecutor.executeAsync(requests(100), this::queryAsync)) {
+      assertEquals(3, stream.limit(3).count());
+    }
+
+    assertTrue(calls.get() <= 4, "calls " + calls.get());
+  }
+
+  @Test
+  void testRequestBuildFailureIsReported() {
+    BulkExecutor bulkExecutor = new BulkExecutor.Builder().build();
+    List<BulkResult<Integer, String>> results =
+        bulkExecutor
+            .<Integer, String>executeAsync(
+                requests(2),
+                request -> {
+                  throw new IllegalArgumentException("bad request " + request);
+                })
+            .collect(Collectors.toList());
+
+    assertEquals(2, results.size());
+    assertTrue(results.get(0).getException() instanceof IllegalArgumentException);
+  }
+
+  @Test
+  void testInvalidBuilder() {
+    assertThrows(
+        IllegalArgumentException.class, () -> new BulkExecutor.Builder().maxConcurrency(0).build());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new BulkExecutor.Builder().permitsPerSecond(-1).build());
+  }
+
+  @Test
+  void testExecuteSyncWithVirtualThreads() {
+    BulkExecutor.Builder builder =
+        new BulkExecutor.Builder().maxConcurrency(8).virtualThreads(true);
+    if (!VirtualThreads.isSupported()) {
+      assertThrows(UnsupportedOperationException.class, builder::build);
+      return;
+    }
+    long successCount =
+        builder.build().execute(requests(40), this::query).filter(BulkResult::isSuccess).count();
+
+    assertEquals(36, successCount);
+    assertTrue(maxRunning.get() <= 8, "max running " + maxRunning.get());
+  }
+}
@@ -0,0 +1,181 @@
+package com.wechat.pay.java.core.certificate;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.wechat.pay.java.core.http.DefaultHttpClientBuilder;
+import com.wechat.pay.java.core.http.HttpClient;
+import com.wechat.pay.java.core.util.IOUtil;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AutoCertificateServiceRefreshTest {
+
+  private static final String SERIAL_NUMBER = "2C7A5E3B91D04F6A8E13B5C7D9F0A1B2C3D4E5F6";
+
+  private MockWebServer fastServer;
+  private MockWebServer slowServer;
+  private String certificatePem;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    fastServer = new MockWebServer();
+    fastServer.start();
+    slowServer = new MockWebServer();
+    slowServer.start();
+    try (InputStream inputStream =
+        getClass().getClassLoader().getResourceAsStream("snapshot_certificate.pem")) {
+      certificatePem = IOUtil.toString(inputStream);
+    }
+  }
+
+  @BeforeAll
+  static void initAll() {
+    // 다른 테스트 케이스의 영향을 피하기 위해
+    AutoCertificateService.shutdown();
+    AutoCertificateService.start(Duration.ofSeconds(1));
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    fastServer.shutdown();
+    slowServer.shutdown();
+  }
+
+  @Test
+  void testRefreshStats() {
+    for (int i = 0; i < 10; i++) {
+      fastServer.enqueue(newDownloadResponse());
+    }
+    AutoCertificateService.register("statsMerchant", "test", newDownloader(fastServer));
+
+    CertificateRefreshStats stats = AutoCertificateService.getRefreshStats("statsMerchant", "test");
+    assertEquals("statsMerchant", stats.getMerchantId());
+    assertEquals("test", stats.getType());
+    assertEquals(1, stats.getCertificateCount());
+    assertNotNull(stats.getNextRefreshTime());
+    // 지터는 주기를 줄이기만 함
+    assertTrue(stats.getNextRefreshTime().isBefore(Instant.now().plusSeconds(1)));
+
+    await()
+        .atMost(3, TimeUnit.SECONDS)
+        .untilAsserted(
+            () ->
+                assertTrue(
+                    AutoCertificateService.getRefreshStats("statsMerchant", "test")
+                            .getSuccessCount()
+                        >= 1));
+    stats = AutoCertificateService.getRefreshStats("statsMerchant", "test");
+    assertNotNull(stats.getLastSuccessTime());
+    assertNotNull(stats.getLastRefreshDuration());
+    assertTrue(
+        AutoCertificateService.getRefreshStats().stream()
+            .anyMatch(item -> "statsMerchant".equals(item.getMerchantId())));
+
+    AutoCertificateService.unregister("statsMerchant", "test");
+    assertNull(AutoCertificateService.getRefreshStats("statsMerchant", "test"));
+  }
+
+  @Test
+  void testFailingMerchantKeepsCertificates() {
+    fastServer.enqueue(newDownloadResponse());
+    for (int i = 0; i < 10; i++) {
+      fastServer.enqueue(new MockResponse().setResponseCode(500));
+    }
+    AutoCertificateService.register("failingMerchant", "test", newDownloader(fastServer));
+
+    await()
+        .atMost(5, TimeUnit.SECONDS)
+        .untilAsserted(
+            () ->
+                assertTrue(
+                    AutoCertificateService.getRefreshStats("failingMerchant", "test")
+                            .getConsecutiveFailures()
+                        >= 2));
+    CertificateRefreshStats stats =
+        AutoCertificateService.getRefreshStats("failingMerchant", "test");
+    assertEquals(0, stats.getSuccessCount());
+    assertNotNull(stats.getLastFailureTime());
+    assertNotNull(AutoCertificateService.getCertificate("failingMerchant", "test", SERIAL_NUMBER));
+
+    AutoCertificateService.unregister("failingMerchant", "test");
+  }
+
+  @Test
+  void testSlowMerchantDoesNotBlockOthers() {
+    for (int i = 0; i < 5; i++) {
+      slowServer.enqueue(newDownloadResponse().setHeadersDelay(4, TimeUnit.SECONDS));
+    }
+    for (int i = 0; i < 10; i++) {
+      fastServer.enqueue(newDownloadResponse());
+    }
+    AutoCertificateService.register("slowMerchant", "test", newDownloader(slowServer), null, true);
+    AutoCertificateService.register("fastMerchant", "test", newDownloader(fastServer));
+
+    await()
+        .atMost(3, TimeUnit.SECONDS)
+        .untilAsserted(
+            () ->
+                assertTrue(
+                    AutoCertificateService.getRefreshStats("fastMerchant", "test").getSuccessCount()
+                        >= 2));
+    assertNull(AutoCertificateService.getAvailableCertificate("slowMerchant", "test"));
+
+    AutoCertificateService.unregister("slowMerchant", "test");
+    AutoCertificateService.unregister("fastMerchant", "test");
+  }
+
+  @Test
+  void testSetRefreshParallelism() {
+    assertThrows(
+        IllegalArgumentException.class, () -> AutoCertificateService.setRefreshParallelism(0));
+    AutoCertificateService.setRefreshParallelism(8);
+    AutoCertificateService.setRefreshParallelism(
+        AutoCertificateService.DEFAULT_REFRESH_PARALLELISM);
+  }
+
+  private CertificateDownloader newDownloader(MockWebServer server) {
+    HttpClient client =
+        new DefaultHttpClientBuilder()
+            .credential(new AutoCertificateServiceTest.FakeCredential())
+            .validator(new AutoCertificateServiceTest.FakeValidator())
+            .readTimeoutMs(30000)
+            .build();
+    return new CertificateDownloader.Builder()
+        .httpClient(client)
+        .downloadUrl(server.url("/v3/certificates").toString())
+        .certificateHandler(new AutoCertificateServiceTest.FakeCertificateHandler())
+        .aeadCipher(new AutoCertificateServiceTest.FakeAeadCiper())
+        .build();
+  }
+
+  private MockResponse newDownloadResponse() {
+    String ciphertext =
+        Base64.getEncoder().encodeToString(certificatePem.getBytes(StandardCharsets.UTF_8));
+    return new MockResponse()
+        .addHeader("Content-Type", "application/json; charset=utf-8")
+        .setBody(
+            "{\"data\":[{\"serial_no\":\""
+                + SERIAL_NUMBER
+                + "\",\"encrypt_certificate\":{\"algorithm\":\"AEAD_AES_256_GCM\","
+                + "\"nonce\":\"61f9c719728a\",\"associated_data\":\"certificate\","
+                + "\"ciphertext\":\""
+                + ciphertext
+                + "\"}}]}");
+  }
+}
@@ -0,0 +1,342 @@
+package com.wechat.pay.java.core.certificate;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.wechat.pay.java.core.auth.Credential;
+import com.wechat.pay.java.core.auth.Validator;
+import com.wechat.pay.java.core.cipher.AeadAesCipher;
+import com.wechat.pay.java.core.cipher.AeadCipher;
+import com.wechat.pay.java.core.exception.DecryptionException;
+import com.wechat.pay.java.core.http.DefaultHttpClientBuilder;
+import com.wechat.pay.java.core.http.HttpClient;
+import com.wechat.pay.java.core.http.HttpHeaders;
+import com.wechat.pay.java.core.util.IOUtil;
+import com.wechat.pay.java.core.util.PemUtil;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CertificateSnapshotStoreTest {
+
+  private static final String SERIAL_NUMBER = "2C7A5E3B91D04F6A8E13B5C7D9F0A1B2C3D4E5F6";
+  private static final String EXPIRED_SERIAL_NUMBER = "440024045C4A427599D09BB4E3DE0279F2E813FD";
+  private static final AeadCipher CIPHER =
+      new AeadAesCipher("a7cde1ZJB1kG2e7VfTs3jQzaWizur8Gb".getBytes(StandardCharsets.UTF_8));
+  private static final AeadCipher OTHER_CIPHER =
+      new AeadAesCipher("b7cde1ZJB1kG2e7VfTs3jQzaWizur8Gb".getBytes(StandardCharsets.UTF_8));
+
+  @TempDir Path directory;
+
+  private MockWebServer server;
+  private String certificatePem;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = new MockWebServer();
+    server.start();
+    certificatePem = readResource("snapshot_certificate.pem");
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  @Test
+  void testFileStoreSaveAndLoad() {
+    FileCertificateSnapshotStore store = new FileCertificateSnapshotStore(directory);
+    assertNull(store.load("1900000001", "RSA"));
+
+    store.save("1900000001", "RSA", "v1.nonce.ciphertext");
+
+    assertEquals("v1.nonce.ciphertext", store.load("1900000001", "RSA"));
+    assertNull(store.load("1900000001", "ShangMi"));
+  }
+
+  @Test
+  void testFileStoreKeepsFilesInsideDirectory() {
+    FileCertificateSnapshotStore store = new FileCertificateSnapshotStore(directory);
+
+    store.save("../1900000001", "RSA", "v1.nonce.ciphertext");
+
+    assertTrue(Files.isRegularFile(directory.resolve(".._1900000001-RSA.snapshot")));
+    assertEquals("v1.nonce.ciphertext", store.load("../1900000001", "RSA"));
+  }
+
+  @Test
+  void testSealAndOpenSnapshot() throws IOException {
+    Map<String, X509Certificate> certificates = new HashMap<>();
+    certificates.put(SERIAL_NUMBER, PemUtil.loadX509FromString(certificatePem));
+    certificates.put(
+        EXPIRED_SERIAL_NUMBER,
+        PemUtil.loadX509FromString(readResource("wechat_pay_certificate.pem")));
+
+    String snapshot = CertificateSnapshotCodec.seal(CIPHER, "1900000001", "RSA", certificates);
+    assertFalse(snapshot.contains("BEGIN CERTIFICATE"));
+
+    Map<String, X509Certificate> loaded =
+        CertificateSnapshotCodec.open(
+            CIPHER, new RSACertificateHandler(), "1900000001", "RSA", snapshot);
+    // 만료된 인증서는 로드하지 않음
+    assertEquals(1, loaded.size());
+    assertEquals(certificates.get(SERIAL_NUMBER), loaded.get(SERIAL_NUMBER));
+  }
+
+  @Test
+  void testOpenRejectsUnauthenticatedSnapshot() {
+    Map<String, X509Certificate> certificates = new HashMap<>();
+    certificates.put(SERIAL_NUMBER, PemUtil.loadX509FromString(certificatePem));
+    String snapshot = CertificateSnapshotCodec.seal(CIPHER, "1900000001", "RSA", certificates);
+    CertificateHandler handler = new RSACertificateHandler();
+
+    // 다른 키로 만든 스냅샷
+    assertThrows(
+        DecryptionException.class,
+        () -> CertificateSnapshotCodec.open(OTHER_CIPHER, handler, "1900000001", "RSA", snapshot));
+    // 다른 가맹점의 스냅샷
+    assertThrows(
+        DecryptionException.class,
+        () -> CertificateSnapshotCodec.open(CIPHER, handler, "1900000002", "RSA", snapshot));
+    // 변조된 스냅샷
+    String tampered = snapshot.substring(0, snapshot.length() - 4) + "AAA=";
+    assertThrows(
+        DecryptionException.class,
+        () -> CertificateSnapshotCodec.open(CIPHER, handler, "1900000001", "RSA", tampered));
+    // 암호화되지 않은 PEM
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> CertificateSnapshotCodec.open(CIPHER, handler, "1900000001", "RSA", certificatePem));
+  }
+
+  @Test
+  void testRegisterWithSnapshotDoesNotDownload() {
+    InMemorySnapshotStore store = new InMemorySnapshotStore();
+    Map<String, X509Certificate> snapshot = new HashMap<>();
+    snapshot.put(SERIAL_NUMBER, PemUtil.loadX509FromString(certificatePem));
+    store.save(
+        "snapshotMerchant",
+        "test",
+        CertificateSnapshotCodec.seal(CIPHER, "snapshotMerchant", "test", snapshot));
+
+    AutoCertificateService.register("snapshotMerchant", "test", newDownloader(), store, false);
+
+    assertNotNull(AutoCertificateService.getCertificate("snapshotMerchant", "test", SERIAL_NUMBER));
+    assertNotNull(AutoCertificateService.getAvailableCertificate("snapshotMerchant", "test"));
+    assertEquals(0, server.getRequestCount());
+
+    AutoCertificateService.unregister("snapshotMerchant", "test");
+  }
+
+  @Test
+  void testAsyncRegisterDownloadsInBackground() {
+    InMemorySnapshotStore store = new InMemorySnapshotStore();
+    server.enqueue(newDownloadResponse());
+
+    AutoCertificateService.register("asyncMerchant", "test", newDownloader(), store, true);
+
+    await()
+        .atMost(5, TimeUnit.SECONDS)
+        .untilAsserted(
+            () ->
+                assertNotNull(
+                    AutoCertificateService.getCertificate("asyncMerchant", "test", SERIAL_NUMBER)));
+    await()
+        .atMost(5, TimeUnit.SECONDS)
+        .untilAsserted(() -> assertNotNull(store.load("asyncMerchant", "test")));
+    assertEquals(1, server.getRequestCount());
+
+    AutoCertificateService.unregister("asyncMerchant", "test");
+  }
+
+  @Test
+  void testAsyncRegisterWithEmptySnapshotWaitsForFirstDownload() {
+    InMemorySnapshotStore store = new InMemorySnapshotStore();
+    server.enqueue(newDownloadResponse().setBodyDelay(300, TimeUnit.MILLISECONDS));
+
+    AutoCertificateService.register("coldMerchant", "test", newDownloader(), store, true);
+
+    assertNull(AutoCertificateService.getAvailableCertificate("coldMerchant", "test"));
+    CertificateSnapshot snapshot =
+        AutoCertificateService.awaitCertificateSnapshot(
+            "coldMerchant", "test", Duration.ofSeconds(5));
+    assertEquals(SERIAL_NUMBER, snapshot.getAvailableSerialNumber());
+
+    AutoCertificateService.unregister("coldMerchant", "test");
+  }
+
+  @Test
+  void testAsyncRegisterWithEmptySnapshotFailsClearly() {
+    InMemorySnapshotStore store = new InMemorySnapshotStore();
+    server.enqueue(new MockResponse().setResponseCode(500));
+
+    AutoCertificateService.register("failedMerchant", "test", newDownloader(), store, true);
+
+    IllegalStateException e =
+        assertThrows(
+            IllegalStateException.class,
+            () ->
+                AutoCertificateService.awaitCertificateSnapshot(
+                    "failedMerchant", "test", Duration.ofSeconds(5)));
+    assertTrue(e.getMessage().contains("failedMerchant-test"));
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            AutoCertificateService.awaitCertificateSnapshot(
+                "unknownMerchant", "test", Duration.ofMillis(10)));
+
+    AutoCertificateService.unregister("failedMerchant", "test");
+  }
+
+  @Test
+  void testRegisterWithCorruptedSnapshotDownloads() throws IOException {
+    Files.write(
+        directory.resolve("corruptedMerchant-test.snapshot"),
+        ("Serial: "
+                + SERIAL_NUMBER
+                + "\n-----BEGIN CERTIFICATE-----\nbad\n-----END CERTIFICATE-----\n")
+            .getBytes(StandardCharsets.UTF_8));
+    FileCertificateSnapshotStore store = new FileCertificateSnapshotStore(directory);
+    server.enqueue(newDownloadResponse());
+
+    AutoCertificateService.register("corruptedMerchant", "test", newDownloader(), store, false);
+
+    assertNotNull(
+        AutoCertificateService.getCertificate("corruptedMerchant", "test", SERIAL_NUMBER));
+    // 다운로드 성공 후 손상된 스냅샷을 덮어씀
+    assertNotNull(
+        CertificateSnapshotCodec.open(
+                CIPHER,
+                new RSACertificateHandler(),
+                "corruptedMerchant",
+                "test",
+                store.load("corruptedMerchant", "test"))
+            .get(SERIAL_NUMBER));
+
+    AutoCertificateService.unregister("corruptedMerchant", "test");
+  }
+
+  @Test
+  void testRegisterWithForgedSnapshotDownloads() {
+    // APIv3 키를 모르는 제3자가 자신의 인증서로 만든 스냅샷
+    InMemorySnapshotStore store = new InMemorySnapshotStore();
+    Map<String, X509Certificate> forged = new HashMap<>();
+    forged.put("FORGED", PemUtil.loadX509FromString(certificatePem));
+    store.save(
+        "forgedMerchant",
+        "test",
+        CertificateSnapshotCodec.seal(OTHER_CIPHER, "forgedMerchant", "test", forged));
+    server.enqueue(newDownloadResponse());
+
+    AutoCertificateService.register("forgedMerchant", "test", newDownloader(), store, false);
+
+    assertNull(AutoCertificateService.getCertificate("forgedMerchant", "test", "FORGED"));
+    assertNotNull(AutoCertificateService.getCertificate("forgedMerchant", "test", SERIAL_NUMBER));
+    assertEquals(1, server.getRequestCount());
+
+    AutoCertificateService.unregister("forgedMerchant", "test");
+  }
+
+  private CertificateDownloader newDownloader() {
+    HttpClient client =
+        new DefaultHttpClientBuilder()
+            .credential(new FakeCredential())
+            .validator(new FakeValidator())
+            .build();
+    return new CertificateDownloader.Builder()
+        .httpClient(client)
+        .downloadUrl(server.url("/v3/certificates").toString())
+        .certificateHandler(new RSACertificateHandler())
+        .aeadCipher(CIPHER)
+        .build();
+  }
+
+  private MockResponse newDownloadResponse() {
+    String ciphertext =
+        CIPHER.encrypt(
+            "certificate".getBytes(StandardCharsets.UTF_8),
+            "61f9c719728a".getBytes(StandardCharsets.UTF_8),
+            certificatePem.getBytes(StandardCharsets.UTF_8));
+    return new MockResponse()
+        .addHeader("Content-Type", "application/json; charset=utf-8")
+        .setBody(
+            "{\"data\":[{\"serial_no\":\""
+                + SERIAL_NUMBER
+                + "\",\"encrypt_certificate\":{\"algorithm\":\"AEAD_AES_256_GCM\","
+                + "\"nonce\":\"61f9c719728a\",\"associated_data\":\"certificate\","
+                + "\"ciphertext\":\""
+                + ciphertext
+                + "\"}}]}");
+  }
+
+  private static String readResource(String name) throws IOException {
+    try (InputStream inputStream =
+        CertificateSnapshotStoreTest.class.getClassLoader().getResourceAsStream(name)) {
+      return IOUtil.toString(inputStream);
+    }
+  }
+
+  static class InMemorySnapshotStore implements CertificateSnapshotStore {
+    private final Map<String, String> snapshots = new ConcurrentHashMap<>();
+
+    @Override
+    public String load(String merchantId, String type) {
+      return snapshots.get(merchantId + "-" + type);
+    }
+
+    @Override
+    public void save(String merchantId, String type, String snapshot) {
+      snapshots.put(merchantId + "-" + type, snapshot);
+    }
+  }
+
+  static class FakeCredential implements Credential {
+
+    @Override
+    public String getSchema() {
+      return "fake-schema";
+    }
+
+    @Override
+    public String getMerchantId() {
+      return "fake-merchant";
+    }
+
+    @Override
+    public String getAuthorization(URI uri, String httpMethod, String signBody) {
+      return "fake-auth";
+    }
+  }
+
+  static class FakeValidator implements Validator {
+    @Override
+    public <T> boolean validate(HttpHeaders responseHeaders, String body) {
+      return true;
+    }
+
+    @Override
+    public <T> String getSerialNumber() {
+      return "";
+    }
+  }
+}
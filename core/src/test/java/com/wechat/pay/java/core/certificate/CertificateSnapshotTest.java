@@ -0,0 +1,77 @@
+package com.wechat.pay.java.core.certificate;
+
+import static com.wechat.pay.java.core.model.TestConfig.MERCHANT_CERTIFICATE;
+import static com.wechat.pay.java.core.model.TestConfig.MERCHANT_CERTIFICATE_SERIAL_NUMBER;
+import static com.wechat.pay.java.core.model.TestConfig.WECHAT_PAY_CERTIFICATE;
+import static com.wechat.pay.java.core.model.TestConfig.WECHAT_PAY_CERTIFICATE_SERIAL_NUMBER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class CertificateSnapshotTest {
+
+  @Test
+  void testOfCertificates() {
+    CertificateSnapshot snapshot =
+        CertificateSnapshot.of(Arrays.asList(MERCHANT_CERTIFICATE, WECHAT_PAY_CERTIFICATE));
+
+    assertEquals(2, snapshot.size());
+    assertSame(
+        WECHAT_PAY_CERTIFICATE, snapshot.getCertificate(WECHAT_PAY_CERTIFICATE_SERIAL_NUMBER));
+    assertSame(MERCHANT_CERTIFICATE, snapshot.getCertificate(MERCHANT_CERTIFICATE_SERIAL_NUMBER));
+    // 가장 늦게 만료되는 인증서를 사용 가능한 인증서로 선택
+    assertSame(WECHAT_PAY_CERTIFICATE, snapshot.getAvailableCertificate());
+    assertEquals(WECHAT_PAY_CERTIFICATE_SERIAL_NUMBER, snapshot.getAvailableSerialNumber());
+  }
+
+  @Test
+  void testGetCertificateWithDifferentFormat() {
+    CertificateSnapshot snapshot =
+        CertificateSnapshot.of(Collections.singletonList(WECHAT_PAY_CERTIFICATE));
+
+    assertSame(
+        WECHAT_PAY_CERTIFICATE,
+        snapshot.getCertificate(WECHAT_PAY_CERTIFICATE_SERIAL_NUMBER.toLowerCase()));
+    assertSame(
+        WECHAT_PAY_CERTIFICATE,
+        snapshot.getCertificate("00" + WECHAT_PAY_CERTIFICATE_SERIAL_NUMBER));
+    assertNull(snapshot.getCertificate("PUB_KEY_ID_0114232134912410000000000000"));
+    assertNull(snapshot.getCertificate(null));
+  }
+
+  @Test
+  void testOfDownloadedCertificates() {
+    Map<String, X509Certificate> downloaded = new HashMap<>();
+    downloaded.put(WECHAT_PAY_CERTIFICATE_SERIAL_NUMBER.toLowerCase(), WECHAT_PAY_CERTIFICATE);
+    CertificateSnapshot snapshot = CertificateSnapshot.of(downloaded);
+
+    assertSame(
+        WECHAT_PAY_CERTIFICATE, snapshot.getCertificate(WECHAT_PAY_CERTIFICATE_SERIAL_NUMBER));
+    assertEquals(WECHAT_PAY_CERTIFICATE_SERIAL_NUMBER, snapshot.getAvailableSerialNumber());
+    // 원본 Map을 변경해도 스냅샷에는 영향이 없음
+    downloaded.clear();
+    assertEquals(1, snapshot.size());
+    assertThrows(
+        UnsupportedOperationException.class, () -> snapshot.getCertificates().remove("any"));
+  }
+
+  @Test
+  void testEmpty() {
+    CertificateSnapshot snapshot = CertificateSnapshot.of(new HashMap<>());
+
+    assertSame(CertificateSnapshot.empty(), snapshot);
+    assertTrue(snapshot.isEmpty());
+    assertNull(snapshot.getAvailableCertificate());
+    assertNull(snapshot.getAvailableSerialNumber());
+    assertNull(snapshot.getCertificate(WECHAT_PAY_CERTIFICATE_SERIAL_NUMBER));
+  }
+}
@@ -65,4 +65,35 @@ public class AeadAesCipherTest {
         NONCE.getBytes(StandardCharsets.UTF_8),
         new byte[128]);
   }
+
+  @Test
+  public void testDecryptAfterFailure() {
+    try {
+      aeadAesCipher.decrypt(
+          ASSOCIATED_DATA.getBytes(StandardCharsets.UTF_8),
+          NONCE.getBytes(StandardCharsets.UTF_8),
+          new byte[128]);
+      Assert.fail();
+    } catch (DecryptionException ignored) {
+      // 실패한 복호화가 이후 호출에 영향을 주지 않아야 함
+    }
+    String plaintext =
+        aeadAesCipher.decrypt(
+            ASSOCIATED_DATA.getBytes(StandardCharsets.UTF_8),
+            NONCE.getBytes(StandardCharsets.UTF_8),
+            Base64.getDecoder().decode(CIPHERTEXT));
+    Assert.assertEquals(MESSAGE, plaintext);
+  }
+
+  @Test
+  public void testEncryptRepeatedly() {
+    for (int i = 0; i < 2; i++) {
+      String ciphertext =
+          aeadAesCipher.encrypt(
+              ASSOCIATED_DATA.getBytes(StandardCharsets.UTF_8),
+              NONCE.getBytes(StandardCharsets.UTF_8),
+              MESSAGE.getBytes(StandardCharsets.UTF_8));
+      Assert.assertEquals(CIPHERTEXT, ciphertext);
+    }
+  }
 }
@@ -2,6 +2,11 @@ package com.wechat.pay.java.core.cipher;
 
 import static com.wechat.pay.java.core.model.TestConfig.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -34,4 +39,33 @@ public class RSAPrivacyEncryptorTest {
     int paddingLen = 2 * 20 + 2; // OAEP adds 2 * sha1's length + 2 padding
     rsaPrivacyEncryptor.encrypt(new String(new char[256 - paddingLen + 1]));
   }
+
+  @Test
+  public void testEncryptAll() {
+    List<String> plaintexts = new ArrayList<>();
+    for (int i = 0; i < 64; i++) {
+      plaintexts.add(PLAINTEXT + i);
+    }
+    List<String> ciphertexts = rsaPrivacyEncryptor.encryptAll(plaintexts);
+    Assert.assertEquals(plaintexts.size(), ciphertexts.size());
+    for (int i = 0; i < plaintexts.size(); i++) {
+      Assert.assertEquals(plaintexts.get(i), rsaPrivacyDecryptor.decrypt(ciphertexts.get(i)));
+    }
+  }
+
+  @Test
+  public void testEncryptConcurrently() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<String>> futures = new ArrayList<>();
+      for (int i = 0; i < 32; i++) {
+        futures.add(executor.submit(() -> rsaPrivacyEncryptor.encrypt(PLAINTEXT)));
+      }
+      for (Future<String> future : futures) {
+        Assert.assertEquals(PLAINTEXT, rsaPrivacyDecryptor.decrypt(future.get()));
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
 }
@@ -5,9 +5,15 @@ import static com.wechat.pay.java.core.model.TestConfig.MERCHANT_CERTIFICATE_SER
 import static com.wechat.pay.java.core.model.TestConfig.MERCHANT_PRIVATE_KEY;
 
 import com.wechat.pay.java.core.certificate.InMemoryCertificateProvider;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.cert.X509Certificate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Vector;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -35,8 +41,67 @@ public class RSASignerTest {
             signatureResult.getCertificateSerialNumber(), message, signatureResult.getSign()));
   }
 
+  @Test
+  public void testSignRepeatedly() {
+    for (int i = 0; i < 3; i++) {
+      String message = "message-" + i;
+      SignatureResult signatureResult = rsaSigner.sign(message);
+      Assert.assertTrue(
+          rsaVerifier.verify(
+              signatureResult.getCertificateSerialNumber(), message, signatureResult.getSign()));
+    }
+  }
+
+  @Test
+  public void testSignConcurrently() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Boolean>> futures = new ArrayList<>();
+      for (int i = 0; i < 32; i++) {
+        String message = "message-" + i;
+        futures.add(
+            executor.submit(
+                () -> {
+                  SignatureResult signatureResult = rsaSigner.sign(message);
+                  return rsaVerifier.verify(
+                      signatureResult.getCertificateSerialNumber(),
+                      message,
+                      signatureResult.getSign());
+                }));
+      }
+      for (Future<Boolean> future : futures) {
+        Assert.assertTrue(future.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   @Test
   public void testGetAlgorithm() {
     Assert.assertEquals("SHA256-RSA2048", rsaSigner.getAlgorithm());
   }
+
+  @Test
+  public void testSignMessageParts() {
+    SignatureResult signatureResult =
+        rsaSigner.sign(
+            "mess".getBytes(StandardCharsets.UTF_8),
+            new byte[0],
+            "age".getBytes(StandardCharsets.UTF_8));
+    Assert.assertEquals(rsaSigner.sign("message").getSign(), signatureResult.getSign());
+    Assert.assertTrue(
+        rsaVerifier.verify(
+            signatureResult.getCertificateSerialNumber(), "message", signatureResult.getSign()));
+  }
+
+  @Test
+  public void testSignByteBufferParts() {
+    byte[] buffer = "xxmessxx".getBytes(StandardCharsets.UTF_8);
+    ByteBuffer prefix = ByteBuffer.wrap(buffer, 2, 4);
+    SignatureResult signatureResult =
+        rsaSigner.sign(prefix, ByteBuffer.wrap("age".getBytes(StandardCharsets.UTF_8)));
+    Assert.assertEquals(rsaSigner.sign("message").getSign(), signatureResult.getSign());
+    Assert.assertEquals(0, prefix.remaining());
+  }
 }
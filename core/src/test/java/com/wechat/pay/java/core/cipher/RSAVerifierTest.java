@@ -6,6 +6,7 @@ import static com.wechat.pay.java.core.model.TestConfig.WECHAT_PAY_CERTIFICATE_S
 import static com.wechat.pay.java.core.model.TestConfig.WECHAT_PAY_PUBLIC_KEY;
 
 import com.wechat.pay.java.core.certificate.InMemoryCertificateProvider;
+import java.nio.charset.StandardCharsets;
 import java.security.cert.X509Certificate;
 import java.util.List;
 import java.util.Vector;
@@ -50,4 +51,32 @@ public class RSAVerifierTest {
         publicKeyRsaVerifier.verify(
             WECHAT_PAY_CERTIFICATE_SERIAL_NUMBER, MESSAGE, SIGNATURE_RESULT.getSign()));
   }
+
+  @Test
+  public void testCertificateVerifyAfterFailure() {
+    Assert.assertFalse(
+        certificateRsaVerifier.verify(
+            MERCHANT_CERTIFICATE_SERIAL_NUMBER, "bad-message", SIGNATURE_RESULT.getSign()));
+    Assert.assertFalse(
+        certificateRsaVerifier.verify(MERCHANT_CERTIFICATE_SERIAL_NUMBER, MESSAGE, "YmFkLXNpZ24="));
+    Assert.assertTrue(
+        certificateRsaVerifier.verify(
+            MERCHANT_CERTIFICATE_SERIAL_NUMBER, MESSAGE, SIGNATURE_RESULT.getSign()));
+  }
+
+  @Test
+  public void testCertificateVerifyMessageParts() {
+    Assert.assertTrue(
+        certificateRsaVerifier.verify(
+            MERCHANT_CERTIFICATE_SERIAL_NUMBER,
+            SIGNATURE_RESULT.getSign(),
+            "mess".getBytes(StandardCharsets.UTF_8),
+            new byte[0],
+            "age".getBytes(StandardCharsets.UTF_8)));
+    Assert.assertFalse(
+        certificateRsaVerifier.verify(
+            MERCHANT_CERTIFICATE_SERIAL_NUMBER,
+            SIGNATURE_RESULT.getSign(),
+            "mess".getBytes(StandardCharsets.UTF_8)));
+  }
 }
@@ -12,6 +12,8 @@ import com.wechat.pay.java.core.exception.ValidationException;
 import com.wechat.pay.java.core.util.IOUtil;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Stream;
 import okhttp3.HttpUrl;
 import okhttp3.mockwebserver.MockResponse;
@@ -208,6 +210,73 @@ public interface HttpClientTest {
         HttpException.class, () -> client.get(null, "http://url.not.avalible", Response.class));
   }
 
+  @Test
+  default void testExecuteAsync_Response_200Ok() throws Exception {
+    HttpClient client = createHttpClient();
+    MockWebServer server = new MockWebServer();
+    server.enqueue(
+        new MockResponse()
+            .setBody(testResponseBody)
+            .setHeader("Test-Header", "HeaderValue")
+            .setHeader("Content-Type", "application/json; charset=utf-8"));
+    server.start();
+    HttpRequest httpRequest =
+        new HttpRequest.Builder()
+            .httpMethod(HttpMethod.POST)
+            .url(server.url(testUrl).url())
+            .body(new JsonRequestBody.Builder().body("post-data").build())
+            .build();
+
+    CompletableFuture<HttpResponse<Response>> future =
+        client.executeAsync(httpRequest, Response.class);
+    HttpResponse<Response> response = future.get();
+    assertEquals("one", response.getServiceResponse().one);
+    assertEquals(2, response.getServiceResponse().two);
+    assertEquals("HeaderValue", response.getHeaders().getHeader("Test-Header"));
+
+    RecordedRequest request = server.takeRequest();
+    assertNotNull(request.getHeader(AUTHORIZATION));
+    assertEquals("post-data", request.getBody().readUtf8());
+    server.shutdown();
+  }
+
+  @Test
+  default void testExecuteAsync_ServiceException() throws Exception {
+    HttpClient client = createHttpClient();
+    MockWebServer server = new MockWebServer();
+    server.enqueue(
+        new MockResponse()
+            .setStatus("HTTP/1.1 400 Bad Request")
+            .setBody("{\"code\":\"INVALID_REQUEST\",\"message\":\"test message\"}")
+            .setHeader("Content-Type", "application/json; charset=utf-8"));
+    server.start();
+    HttpRequest httpRequest =
+        new HttpRequest.Builder().httpMethod(HttpMethod.GET).url(server.url(testUrl).url()).build();
+
+    CompletableFuture<HttpResponse<Response>> future =
+        client.executeAsync(httpRequest, Response.class);
+    ExecutionException thrown = assertThrows(ExecutionException.class, future::get);
+    assertInstanceOf(ServiceException.class, thrown.getCause());
+    assertEquals("INVALID_REQUEST", ((ServiceException) thrown.getCause()).getErrorCode());
+    server.shutdown();
+  }
+
+  @Test
+  default void testExecuteAsync_ValidationException() throws Exception {
+    HttpClient client = createFalseValidationHttpClient();
+    MockWebServer server = new MockWebServer();
+    server.enqueue(new MockResponse().setStatus("HTTP/1.1 204 No Content"));
+    server.start();
+    HttpRequest httpRequest =
+        new HttpRequest.Builder().httpMethod(HttpMethod.GET).url(server.url(testUrl).url()).build();
+
+    ExecutionException thrown =
+        assertThrows(
+            ExecutionException.class, () -> client.executeAsync(httpRequest, Response.class).get());
+    assertInstanceOf(ValidationException.class, thrown.getCause());
+    server.shutdown();
+  }
+
   @Test
   default void testDownload_Response_200Ok() throws IOException, InterruptedException {
     HttpClient client = createHttpClient();
@@ -228,10 +297,45 @@ public interface HttpClientTest {
     server.shutdown();
   }
 
+  @Test
+  default void testDownloadFromOffset_Response_206PartialContent()
+      throws IOException, InterruptedException {
+    HttpClient client = createHttpClient();
+    MockWebServer server = new MockWebServer();
+    server.start();
+    HttpUrl requestUrl = server.url(testUrl);
+    server.enqueue(
+        new MockResponse()
+            .setResponseCode(206)
+            .setBody(testResponseBody.substring(5))
+            .setHeader("Content-Range", "bytes 5-20/21"));
+    InputStream inputStream = client.download(requestUrl.toString(), 5);
+    assertEquals(testResponseBody.substring(5), IOUtil.toString(inputStream));
+    RecordedRequest request = server.takeRequest();
+    assertEquals("bytes=5-", request.getHeader(Constant.RANGE));
+    assertNotNull(request.getHeader(AUTHORIZATION));
+    server.shutdown();
+  }
+
+  @Test
+  default void testDownloadFromOffset_RangeIgnored() throws IOException {
+    HttpClient client = createHttpClient();
+    MockWebServer server = new MockWebServer();
+    server.start();
+    HttpUrl requestUrl = server.url(testUrl);
+    // 서버가 Range를 무시하고 전체 파일로 응답한 경우
+    server.enqueue(new MockResponse().setBody(testResponseBody));
+    InputStream inputStream = client.download(requestUrl.toString(), 5);
+    assertEquals(testResponseBody.substring(5), IOUtil.toString(inputStream));
+    server.shutdown();
+  }
+
   @Test
   default void testDownload_IllegalArgumentException() {
     HttpClient client = createHttpClient();
     assertThrows(IllegalArgumentException.class, () -> client.download("illegal.url"));
+    assertThrows(
+        IllegalArgumentException.class, () -> client.download("https://example.com/bill", -1));
   }
 
   @ParameterizedTest
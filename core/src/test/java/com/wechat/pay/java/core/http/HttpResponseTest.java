@@ -1,12 +1,21 @@
 package com.wechat.pay.java.core.http;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.google.gson.JsonObject;
 import com.wechat.pay.java.core.exception.MalformedMessageException;
+import java.nio.charset.StandardCharsets;
 import org.junit.jupiter.api.Test;
 
 class HttpResponseTest {
 
+  private static final String BODY = "{\"out_trade_no\":\"订单-1217752501201407033233368018\"}";
+
   @Test
   void throwMalformedMessageException() {
     OriginalResponse response =
@@ -20,4 +29,56 @@ class HttpResponseTest {
         new HttpResponse.Builder<>().serviceResponseType(Object.class).originalResponse(response);
     assertThrows(MalformedMessageException.class, builder::build);
   }
+
+  @Test
+  void throwMalformedMessageExceptionFromBytes() {
+    OriginalResponse response = buildByteResponse("{\"a\":1} trailing");
+    HttpResponse.Builder<JsonObject> builder =
+        new HttpResponse.Builder<JsonObject>()
+            .serviceResponseType(JsonObject.class)
+            .originalResponse(response);
+    assertThrows(MalformedMessageException.class, builder::build);
+  }
+
+  @Test
+  void testBuildFromBytes() {
+    OriginalResponse response = buildByteResponse(BODY);
+    assertTrue(response.hasBody());
+
+    HttpResponse<JsonObject> httpResponse =
+        new HttpResponse.Builder<JsonObject>()
+            .serviceResponseType(JsonObject.class)
+            .originalResponse(response)
+            .build();
+
+    assertEquals(
+        "订单-1217752501201407033233368018",
+        httpResponse.getServiceResponse().get("out_trade_no").getAsString());
+    assertEquals(BODY, ((JsonResponseBody) httpResponse.getBody()).getBody());
+    assertTrue(httpResponse.toString().contains("\"body\":{\"body\""));
+    assertArrayEquals(BODY.getBytes(StandardCharsets.UTF_8), response.getBodyBytes());
+  }
+
+  @Test
+  void testBuildFromEmptyBytes() {
+    OriginalResponse response = buildByteResponse("");
+    assertFalse(response.hasBody());
+
+    HttpResponse<JsonObject> httpResponse =
+        new HttpResponse.Builder<JsonObject>()
+            .serviceResponseType(JsonObject.class)
+            .originalResponse(response)
+            .build();
+
+    assertNull(httpResponse.getBody());
+    assertNull(httpResponse.getServiceResponse());
+  }
+
+  private static OriginalResponse buildByteResponse(String body) {
+    return new OriginalResponse.Builder()
+        .contentType("application/json")
+        .request(new HttpRequest.Builder().httpMethod(HttpMethod.GET).url("https://test").build())
+        .body(body.getBytes(StandardCharsets.UTF_8))
+        .build();
+  }
 }
@@ -0,0 +1,57 @@
+package com.wechat.pay.java.core.http;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.wechat.pay.java.core.util.GsonUtil;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class JsonRequestBodyTest {
+
+  private static final String BODY = "{\"description\":\"Image形象店-深圳腾大-QQ公仔\"}";
+
+  @Test
+  void testBodyBytes() {
+    byte[] bytes = BODY.getBytes(StandardCharsets.UTF_8);
+    JsonRequestBody requestBody = new JsonRequestBody.Builder().body(bytes).build();
+
+    assertSame(bytes, requestBody.getBodyBytes());
+    assertEquals(BODY, requestBody.getBody());
+  }
+
+  @Test
+  void testBodyString() {
+    JsonRequestBody requestBody = new JsonRequestBody.Builder().body(BODY).build();
+
+    assertArrayEquals(BODY.getBytes(StandardCharsets.UTF_8), requestBody.getBodyBytes());
+    assertSame(requestBody.getBodyBytes(), requestBody.getBodyBytes());
+  }
+
+  @Test
+  void testToString() {
+    String expected = GsonUtil.getGson().toJson(new JsonRequestBody.Builder().body(BODY).build());
+    JsonRequestBody requestBody =
+        new JsonRequestBody.Builder().body(BODY.getBytes(StandardCharsets.UTF_8)).build();
+
+    assertEquals(expected, requestBody.toString());
+    assertEquals(
+        BODY, GsonUtil.getGson().fromJson(requestBody.toString(), JsonRequestBody.class).getBody());
+    HttpRequest httpRequest =
+        new HttpRequest.Builder()
+            .httpMethod(HttpMethod.POST)
+            .url("https://api.mch.weixin.qq.com/v3/pay/transactions/native")
+            .body(requestBody)
+            .build();
+    assertTrue(httpRequest.toString().contains(GsonUtil.toJson(BODY)));
+  }
+
+  @Test
+  void throwNullPointerException() {
+    JsonRequestBody.Builder builder = new JsonRequestBody.Builder();
+    assertThrows(NullPointerException.class, builder::build);
+  }
+}
@@ -0,0 +1,247 @@
+package com.wechat.pay.java.core.http.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.wechat.pay.java.core.auth.Credential;
+import com.wechat.pay.java.core.auth.Validator;
+import com.wechat.pay.java.core.exception.ServiceException;
+import com.wechat.pay.java.core.http.ApacheHttpClientBuilder;
+import com.wechat.pay.java.core.http.DefaultHttpClientBuilder;
+import com.wechat.pay.java.core.http.HttpClient;
+import com.wechat.pay.java.core.http.HttpHeaders;
+import com.wechat.pay.java.core.http.HttpMethod;
+import com.wechat.pay.java.core.http.HttpRequest;
+import com.wechat.pay.java.core.http.JsonRequestBody;
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HttpClientListenerTest {
+
+  private static final String MERCHANT_ID = "1230000109";
+  private static final String RESPONSE_BODY =
+      "{\"transaction_id\":\"1217752501201407033233368018\"}";
+
+  private final List<RequestMetrics> recorded = new CopyOnWriteArrayList<>();
+  private final HttpClientListener listener = recorded::add;
+  private MockWebServer server;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = new MockWebServer();
+    server.start();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  private static Credential credential() {
+    return new Credential() {
+      @Override
+      public String getSchema() {
+        return "fake-schema";
+      }
+
+      @Override
+      public String getMerchantId() {
+        return MERCHANT_ID;
+      }
+
+      @Override
+      public String getAuthorization(URI uri, String httpMethod, String signBody) {
+        return "fake-authorization";
+      }
+    };
+  }
+
+  private static Validator validator() {
+    return new Validator() {
+      @Override
+      public <T> boolean validate(HttpHeaders responseHeaders, String body) {
+        return true;
+      }
+
+      @Override
+      public <T> String getSerialNumber() {
+        return "";
+      }
+    };
+  }
+
+  private HttpRequest queryRequest() {
+    return new HttpRequest.Builder()
+        .httpMethod(HttpMethod.GET)
+        .url(
+            server.url("/v3/pay/transactions/out-trade-no/1217752501201407033233368018").toString())
+        .build();
+  }
+
+  private static MockResponse jsonResponse(int code, String body) {
+    return new MockResponse()
+        .setResponseCode(code)
+        .setHeader("Content-Type", "application/json")
+        .setBody(body);
+  }
+
+  private static void assertPhases(RequestMetrics metrics) {
+    assertNotNull(metrics.getTotalTime());
+    assertNotNull(metrics.getSigningTime());
+    assertNotNull(metrics.getNetworkTime());
+    assertNotNull(metrics.getConnectTime());
+    assertNotNull(metrics.getServerWaitTime());
+    assertNotNull(metrics.getResponseReadTime());
+    assertNotNull(metrics.getValidationTime());
+    assertNotNull(metrics.getDeserializationTime());
+    assertTrue(metrics.getTotalTime().compareTo(metrics.getNetworkTime()) >= 0);
+  }
+
+  @Test
+  void testOkHttpPhases() {
+    server.enqueue(jsonResponse(200, RESPONSE_BODY));
+    HttpClient client =
+        new DefaultHttpClientBuilder()
+            .credential(credential())
+            .validator(validator())
+            .httpClientListener(listener)
+            .build();
+
+    client.execute(queryRequest(), Object.class);
+
+    assertEquals(1, recorded.size());
+    RequestMetrics metrics = recorded.get(0);
+    assertTrue(metrics.isSuccess());
+    assertFalse(metrics.isAsync());
+    assertEquals(HttpMethod.GET, metrics.getHttpMethod());
+    assertEquals("/v3/pay/transactions/out-trade-no/{}", metrics.getEndpoint());
+    assertEquals(MERCHANT_ID, metrics.getMerchantId());
+    assertEquals(1, metrics.getAttempts());
+    assertEquals(200, metrics.getStatusCode());
+    assertEquals(RESPONSE_BODY.length(), metrics.getResponseBytes());
+    // 평문 HTTP 연결에는 TLS 핸드셰이크가 없음
+    assertNull(metrics.getTlsHandshakeTime());
+    assertPhases(metrics);
+  }
+
+  @Test
+  void testOkHttpAsyncReportsBeforeFutureCompletes() throws Exception {
+    server.enqueue(jsonResponse(200, RESPONSE_BODY));
+    HttpClient client =
+        new DefaultHttpClientBuilder()
+            .credential(credential())
+            .validator(validator())
+            .httpClientListener(listener)
+            .build();
+
+    client.executeAsync(queryRequest(), Object.class).get();
+
+    assertEquals(1, recorded.size());
+    assertTrue(recorded.get(0).isAsync());
+    assertPhases(recorded.get(0));
+  }
+
+  @Test
+  void testServiceExceptionErrorCode() {
+    server.enqueue(
+        jsonResponse(400, "{\"code\":\"PARAM_ERROR\",\"message\":\"out_trade_no is invalid\"}"));
+    HttpClient client =
+        new DefaultHttpClientBuilder()
+            .credential(credential())
+            .validator(validator())
+            .httpClientListener(listener)
+            .build();
+    HttpRequest request =
+        new HttpRequest.Builder()
+            .httpMethod(HttpMethod.POST)
+            .url(server.url("/v3/pay/transactions/jsapi").toString())
+            .body(new JsonRequestBody.Builder().body("{}").build())
+            .build();
+
+    assertThrows(ServiceException.class, () -> client.execute(request, Object.class));
+
+    RequestMetrics metrics = recorded.get(0);
+    assertFalse(metrics.isSuccess());
+    assertTrue(metrics.getException() instanceof ServiceException);
+    assertEquals(400, metrics.getStatusCode());
+    assertEquals("PARAM_ERROR", metrics.getErrorCode());
+    assertNull(metrics.getValidationTime());
+  }
+
+  @Test
+  void testExistingEventListenerIsKept() {
+    server.enqueue(jsonResponse(200, RESPONSE_BODY));
+    AtomicInteger callStarts = new AtomicInteger();
+    OkHttpClient okHttpClient =
+        new OkHttpClient.Builder()
+            .eventListener(
+                new EventListener() {
+                  @Override
+                  public void callStart(Call call) {
+                    callStarts.incrementAndGet();
+                  }
+                })
+            .build();
+    HttpClient client =
+        new DefaultHttpClientBuilder()
+            .credential(credential())
+            .validator(validator())
+            .okHttpClient(okHttpClient)
+            .httpClientListener(listener)
+            .build();
+
+    client.execute(queryRequest(), Object.class);
+
+    assertEquals(1, callStarts.get());
+    assertNotNull(recorded.get(0).getConnectTime());
+  }
+
+  @Test
+  void testListenerFailureDoesNotFailRequest() {
+    server.enqueue(jsonResponse(200, RESPONSE_BODY));
+    HttpClient client =
+        new DefaultHttpClientBuilder()
+            .credential(credential())
+            .validator(validator())
+            .httpClientListener(
+                metrics -> {
+                  throw new IllegalStateException("broken dashboard");
+                })
+            .build();
+
+    assertNotNull(client.execute(queryRequest(), Object.class).getServiceResponse());
+  }
+
+  @Test
+  void testApacheHttpPhases() {
+    server.enqueue(jsonResponse(200, RESPONSE_BODY));
+    HttpClient client =
+        new ApacheHttpClientBuilder()
+            .credential(credential())
+            .validator(validator())
+            .httpClientListener(listener)
+            .build();
+
+    client.execute(queryRequest(), Object.class);
+
+    RequestMetrics metrics = recorded.get(0);
+    assertEquals(200, metrics.getStatusCode());
+    assertEquals(RESPONSE_BODY.length(), metrics.getResponseBytes());
+    assertPhases(metrics);
+  }
+}
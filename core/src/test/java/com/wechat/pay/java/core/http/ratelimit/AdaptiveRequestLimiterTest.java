@@ -0,0 +1,320 @@
+package com.wechat.pay.java.core.http.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.wechat.pay.java.core.auth.Credential;
+import com.wechat.pay.java.core.auth.Validator;
+import com.wechat.pay.java.core.exception.HttpException;
+import com.wechat.pay.java.core.exception.ServiceException;
+import com.wechat.pay.java.core.http.DefaultHttpClientBuilder;
+import com.wechat.pay.java.core.http.HttpClient;
+import com.wechat.pay.java.core.http.HttpHeaders;
+import com.wechat.pay.java.core.http.HttpMethod;
+import com.wechat.pay.java.core.http.HttpRequest;
+import com.wechat.pay.java.core.http.PathTemplate;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveRequestLimiterTest {
+
+  private static final String MERCHANT_ID = "1230000109";
+
+  private static HttpRequest request(String url) {
+    return new HttpRequest.Builder().httpMethod(HttpMethod.GET).url(url).build();
+  }
+
+  @Test
+  void testPathTemplate() {
+    assertEquals(
+        "/v3/pay/transactions/out-trade-no/{}",
+        PathTemplate.of("/v3/pay/transactions/out-trade-no/1217752501201407033233368018"));
+    assertEquals(
+        "/v3/transfer/batches/out-batch-no/{}/details/out-detail-no/{}",
+        PathTemplate.of(
+            "/v3/transfer/batches/out-batch-no/plfk2020042013/details/out-detail-no/x23zy545Bd5436"));
+    assertEquals("/v3/refund/domestic/refunds", PathTemplate.of("/v3/refund/domestic/refunds"));
+  }
+
+  @Test
+  void testKeyIgnoresQueryAndPathParameters() {
+    HttpRequest first =
+        request("https://api.mch.weixin.qq.com/v3/pay/transactions/id/4200001?mchid=1230000109");
+    HttpRequest second =
+        request("https://api.mch.weixin.qq.com/v3/pay/transactions/id/4200002?mchid=1230000109");
+    assertEquals(
+        AdaptiveRequestLimiter.keyOf(first, MERCHANT_ID),
+        AdaptiveRequestLimiter.keyOf(second, MERCHANT_ID));
+    assertNotEquals(
+        AdaptiveRequestLimiter.keyOf(first, MERCHANT_ID),
+        AdaptiveRequestLimiter.keyOf(first, "1900000109"));
+  }
+
+  @Test
+  void testAdditiveIncreaseMultiplicativeDecrease() {
+    AdaptiveRequestLimiter limiter =
+        new AdaptiveRequestLimiter.Builder().initialConcurrency(8).build();
+    HttpRequest httpRequest = request("https://api.mch.weixin.qq.com/v3/refund/domestic/refunds");
+
+    RequestLimiter.Permit first = limiter.acquire(httpRequest, MERCHANT_ID);
+    RequestLimiter.Permit second = limiter.acquire(httpRequest, MERCHANT_ID);
+    first.onThrottled();
+    assertEquals(4, limiter.getConcurrencyLimit(httpRequest, MERCHANT_ID));
+    // 한도를 줄이기 전에 보낸 요청이 거절되어도 다시 줄이지 않음
+    second.onThrottled();
+    assertEquals(4, limiter.getConcurrencyLimit(httpRequest, MERCHANT_ID));
+
+    limiter.acquire(httpRequest, MERCHANT_ID).onSuccess();
+    assertEquals(4.25, limiter.getConcurrencyLimit(httpRequest, MERCHANT_ID));
+  }
+
+  @Test
+  void testConcurrencyLimitBlocksUntilTimeout() {
+    AdaptiveRequestLimiter limiter =
+        new AdaptiveRequestLimiter.Builder()
+            .initialConcurrency(1)
+            .maxWait(Duration.ofMillis(50))
+            .build();
+    HttpRequest httpRequest = request("https://api.mch.weixin.qq.com/v3/refund/domestic/refunds");
+
+    RequestLimiter.Permit permit = limiter.acquire(httpRequest, MERCHANT_ID);
+    HttpException e =
+        assertThrows(HttpException.class, () -> limiter.acquire(httpRequest, MERCHANT_ID));
+    assertTrue(e.getCause() instanceof TimeoutException);
+
+    // 다른 가맹점과 다른 API는 영향을 받지 않음
+    limiter.acquire(httpRequest, "1900000109").onSuccess();
+    limiter
+        .acquire(request("https://api.mch.weixin.qq.com/v3/bill/tradebill"), MERCHANT_ID)
+        .onIgnore();
+
+    permit.onIgnore();
+    limiter.acquire(httpRequest, MERCHANT_ID).onSuccess();
+  }
+
+  @Test
+  void testTokenBucket() {
+    AdaptiveRequestLimiter limiter =
+        new AdaptiveRequestLimiter.Builder().permitsPerSecond(20).burst(1).build();
+    HttpRequest httpRequest = request("https://api.mch.weixin.qq.com/v3/refund/domestic/refunds");
+
+    long start = System.nanoTime();
+    for (int i = 0; i < 4; i++) {
+      limiter.acquire(httpRequest, MERCHANT_ID).onSuccess();
+    }
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    // 첫 요청은 버킷의 토큰을 쓰고 이후 요청은 50ms 간격
+    assertTrue(elapsedMillis >= 140, "elapsed " + elapsedMillis + "ms");
+  }
+
+  @Test
+  void testAcquireAsyncWaitsForSlotWithoutBlocking() throws Exception {
+    AdaptiveRequestLimiter limiter =
+        new AdaptiveRequestLimiter.Builder().initialConcurrency(1).build();
+    HttpRequest httpRequest = request("https://api.mch.weixin.qq.com/v3/refund/domestic/refunds");
+    // 기다리는 동안 executor의 스레드를 사용하지 않음
+    Executor rejectingExecutor =
+        runnable -> {
+          throw new AssertionError("executor must not be used");
+        };
+
+    RequestLimiter.Permit permit = limiter.acquire(httpRequest, MERCHANT_ID);
+    CompletableFuture<RequestLimiter.Permit> waiting =
+        limiter.acquireAsync(httpRequest, MERCHANT_ID, rejectingExecutor);
+    assertFalse(waiting.isDone());
+
+    permit.onSuccess();
+    waiting.get(1, TimeUnit.SECONDS).onSuccess();
+    limiter.acquireAsync(httpRequest, MERCHANT_ID, rejectingExecutor).get(1, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void testAcquireAsyncTimesOut() throws Exception {
+    AdaptiveRequestLimiter limiter =
+        new AdaptiveRequestLimiter.Builder()
+            .initialConcurrency(1)
+            .maxWait(Duration.ofMillis(50))
+            .build();
+    HttpRequest httpRequest = request("https://api.mch.weixin.qq.com/v3/refund/domestic/refunds");
+
+    RequestLimiter.Permit permit = limiter.acquire(httpRequest, MERCHANT_ID);
+    CompletableFuture<RequestLimiter.Permit> waiting =
+        limiter.acquireAsync(httpRequest, MERCHANT_ID, Runnable::run);
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> waiting.get(1, TimeUnit.SECONDS));
+    assertTrue(e.getCause() instanceof HttpException);
+    assertTrue(e.getCause().getCause() instanceof TimeoutException);
+
+    // 시간이 초과된 요청은 자리를 차지하지 않음
+    permit.onIgnore();
+    limiter.acquireAsync(httpRequest, MERCHANT_ID, Runnable::run).get(1, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void testAcquireAsyncWaitsForToken() throws Exception {
+    AdaptiveRequestLimiter limiter =
+        new AdaptiveRequestLimiter.Builder().permitsPerSecond(20).burst(1).build();
+    HttpRequest httpRequest = request("https://api.mch.weixin.qq.com/v3/refund/domestic/refunds");
+
+    long start = System.nanoTime();
+    limiter.acquireAsync(httpRequest, MERCHANT_ID, Runnable::run).get(1, TimeUnit.SECONDS);
+    CompletableFuture<RequestLimiter.Permit> waiting =
+        limiter.acquireAsync(httpRequest, MERCHANT_ID, Runnable::run);
+    waiting.get(1, TimeUnit.SECONDS).onSuccess();
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    assertTrue(elapsedMillis >= 40, "elapsed " + elapsedMillis + "ms");
+  }
+
+  @Test
+  void testEvictsIdleBuckets() {
+    AdaptiveRequestLimiter limiter = new AdaptiveRequestLimiter.Builder().maxBuckets(4).build();
+    HttpRequest httpRequest = request("https://api.mch.weixin.qq.com/v3/refund/domestic/refunds");
+
+    RequestLimiter.Permit busy = limiter.acquire(httpRequest, MERCHANT_ID);
+    for (int i = 0; i < 20; i++) {
+      limiter.acquire(httpRequest, "19000001" + i).onSuccess();
+      assertTrue(limiter.getBucketCount() <= 4, "bucket count " + limiter.getBucketCount());
+    }
+    // 처리 중인 요청이 있는 버킷은 제거되지 않으므로 한도 조정이 반영됨
+    busy.onThrottled();
+    assertEquals(8, limiter.getConcurrencyLimit(httpRequest, MERCHANT_ID));
+  }
+
+  @Test
+  void testEvictionDoesNotExceedConcurrencyLimit() throws Exception {
+    // 버킷이 하나뿐이므로 두 가맹점이 번갈아 요청할 때마다 다른 버킷이 제거됨
+    AdaptiveRequestLimiter limiter =
+        new AdaptiveRequestLimiter.Builder().initialConcurrency(1).maxBuckets(1).build();
+    HttpRequest httpRequest = request("https://api.mch.weixin.qq.com/v3/refund/domestic/refunds");
+    String[] merchantIds = {MERCHANT_ID, "1900000109"};
+    AtomicInteger[] holders = {new AtomicInteger(), new AtomicInteger()};
+    AtomicInteger maxHolders = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        int index = t % 2;
+        boolean async = t % 4 >= 2;
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < 500; i++) {
+                    RequestLimiter.Permit permit =
+                        async
+                            ? limiter
+                                .acquireAsync(httpRequest, merchantIds[index], Runnable::run)
+                                .get(10, TimeUnit.SECONDS)
+                            : limiter.acquire(httpRequest, merchantIds[index]);
+                    maxHolders.accumulateAndGet(holders[index].incrementAndGet(), Math::max);
+                    holders[index].decrementAndGet();
+                    permit.onIgnore();
+                  }
+                  return null;
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    // 제거된 버킷에서 허가를 받으면 같은 API에 두 요청이 동시에 진행될 수 있음
+    assertEquals(1, maxHolders.get());
+  }
+
+  @Test
+  void testInvalidBuilder() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new AdaptiveRequestLimiter.Builder().backoffRatio(1).build());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new AdaptiveRequestLimiter.Builder().concurrencyRange(4, 2).build());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new AdaptiveRequestLimiter.Builder().initialConcurrency(300).build());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new AdaptiveRequestLimiter.Builder().maxBuckets(0).build());
+  }
+
+  @Test
+  void testHttpClientReportsThrottledResponse() throws Exception {
+    AdaptiveRequestLimiter limiter =
+        new AdaptiveRequestLimiter.Builder().initialConcurrency(8).build();
+    HttpClient client =
+        new DefaultHttpClientBuilder()
+            .credential(new FakeCredential())
+            .validator(new FakeValidator())
+            .requestLimiter(limiter)
+            .build();
+
+    MockWebServer server = new MockWebServer();
+    server.enqueue(
+        new MockResponse()
+            .setResponseCode(403)
+            .setBody("{\"code\":\"FREQUENCY_LIMITED\",\"message\":\"频率超限\"}")
+            .setHeader("Content-Type", "application/json"));
+    server.enqueue(new MockResponse().setBody("{}").setHeader("Content-Type", "application/json"));
+    server.start();
+    HttpRequest httpRequest =
+        request(server.url("/v3/refund/domestic/refunds/1217752501").toString());
+
+    ServiceException e =
+        assertThrows(ServiceException.class, () -> client.execute(httpRequest, Object.class));
+    assertEquals("FREQUENCY_LIMITED", e.getErrorCode());
+    assertEquals(4, limiter.getConcurrencyLimit(httpRequest, MERCHANT_ID));
+
+    client.execute(httpRequest, Object.class);
+    assertEquals(4.25, limiter.getConcurrencyLimit(httpRequest, MERCHANT_ID));
+    server.shutdown();
+  }
+
+  private static class FakeCredential implements Credential {
+
+    @Override
+    public String getSchema() {
+      return "fake-schema";
+    }
+
+    @Override
+    public String getMerchantId() {
+      return MERCHANT_ID;
+    }
+
+    @Override
+    public String getAuthorization(URI uri, String httpMethod, String signBody) {
+      return "fake-authorization";
+    }
+  }
+
+  private static class FakeValidator implements Validator {
+
+    @Override
+    public <T> boolean validate(HttpHeaders responseHeaders, String body) {
+      return true;
+    }
+
+    @Override
+    public <T> String getSerialNumber() {
+      return "";
+    }
+  }
+}
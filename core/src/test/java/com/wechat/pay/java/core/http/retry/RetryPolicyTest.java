@@ -0,0 +1,298 @@
+package com.wechat.pay.java.core.http.retry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.wechat.pay.java.core.auth.Credential;
+import com.wechat.pay.java.core.auth.Validator;
+import com.wechat.pay.java.core.exception.HttpException;
+import com.wechat.pay.java.core.exception.ServiceException;
+import com.wechat.pay.java.core.http.DefaultHttpClientBuilder;
+import com.wechat.pay.java.core.http.HttpClient;
+import com.wechat.pay.java.core.http.HttpHeaders;
+import com.wechat.pay.java.core.http.HttpMethod;
+import com.wechat.pay.java.core.http.HttpRequest;
+import com.wechat.pay.java.core.http.HttpResponse;
+import com.wechat.pay.java.core.http.JsonRequestBody;
+import com.wechat.pay.java.core.http.OriginalResponse;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.Test;
+
+class RetryPolicyTest {
+
+  private static final String PRIMARY_HOST = "127.0.0.2";
+  private static final String FAILOVER_HOST = "127.0.0.1";
+
+  private static HttpRequest get(String url) {
+    return new HttpRequest.Builder().httpMethod(HttpMethod.GET).url(url).build();
+  }
+
+  private static HttpRequest post(String url, String body) {
+    return new HttpRequest.Builder()
+        .httpMethod(HttpMethod.POST)
+        .url(url)
+        .body(new JsonRequestBody.Builder().body(body).build())
+        .build();
+  }
+
+  private static OriginalResponse response(HttpRequest httpRequest, int statusCode) {
+    return new OriginalResponse.Builder()
+        .request(httpRequest)
+        .statusCode(statusCode)
+        .headers(new HashMap<>())
+        .body("")
+        .build();
+  }
+
+  private static RetryPolicy fastPolicy(DomainCircuitBreaker circuitBreaker) {
+    return new RetryPolicy.Builder()
+        .backoff(Duration.ZERO, Duration.ZERO)
+        .circuitBreaker(circuitBreaker)
+        .build();
+  }
+
+  private static HttpClient createHttpClient(RetryPolicy retryPolicy) {
+    Credential credential =
+        new Credential() {
+          @Override
+          public String getSchema() {
+            return "fake-schema";
+          }
+
+          @Override
+          public String getMerchantId() {
+            return "1230000109";
+          }
+
+          @Override
+          public String getAuthorization(URI uri, String httpMethod, String signBody) {
+            return "fake-authorization";
+          }
+        };
+    Validator validator =
+        new Validator() {
+          @Override
+          public <T> boolean validate(HttpHeaders responseHeaders, String body) {
+            return true;
+          }
+
+          @Override
+          public <T> String getSerialNumber() {
+            return "";
+          }
+        };
+    return new DefaultHttpClientBuilder()
+        .credential(credential)
+        .validator(validator)
+        .retryPolicy(retryPolicy)
+        .build();
+  }
+
+  @Test
+  void testIdempotency() {
+    RetryPolicy policy = new RetryPolicy.Builder().build();
+    String refunds = "https://api.mch.weixin.qq.com/v3/refund/domestic/refunds";
+    assertTrue(policy.isIdempotent(get(refunds + "/1217752501201407033233368018")));
+    assertTrue(policy.isIdempotent(post(refunds, "{\"out_refund_no\":\"1217752501\"}")));
+    assertTrue(
+        policy.isIdempotent(
+            post(
+                "https://api.mch.weixin.qq.com/v3/pay/transactions/out-trade-no/1217752501/close",
+                "{\"mchid\":\"1230000109\"}")));
+    assertFalse(policy.isIdempotent(post(refunds, "{\"mchid\":\"1230000109\"}")));
+  }
+
+  @Test
+  void testShouldRetry() {
+    RetryPolicy policy = new RetryPolicy.Builder().maxAttempts(2).build();
+    HttpRequest query = get("https://api.mch.weixin.qq.com/v3/certificates");
+    HttpRequest create = post("https://api.mch.weixin.qq.com/v3/marketing/favor/stocks", "{}");
+
+    assertTrue(policy.shouldRetry(query, response(query, 503), null, 1));
+    assertFalse(policy.shouldRetry(query, response(query, 503), null, 2));
+    assertFalse(policy.shouldRetry(query, response(query, 400), null, 1));
+    // 멱등하지 않은 요청은 응답 대기 중 실패하면 재시도하지 않지만, 연결 실패는 서버에 도달하지 않았으므로 재시도
+    assertFalse(policy.shouldRetry(create, response(create, 503), null, 1));
+    assertFalse(
+        policy.shouldRetry(
+            create, null, new HttpException(create, new SocketTimeoutException("timeout")), 1));
+    assertTrue(
+        policy.shouldRetry(
+            create, null, new HttpException(create, new ConnectException("refused")), 1));
+    assertTrue(
+        policy.shouldRetry(
+            create,
+            null,
+            new HttpException(create, new SocketTimeoutException("connect timed out")),
+            1));
+    // JDK 13 이상의 NioSocketImpl이 사용하는 메시지
+    assertTrue(
+        policy.shouldRetry(
+            create,
+            null,
+            new HttpException(create, new SocketTimeoutException("Connect timed out")),
+            1));
+    assertFalse(
+        policy.shouldRetry(
+            create,
+            null,
+            new HttpException(create, new SocketTimeoutException("Read timed out")),
+            1));
+  }
+
+  @Test
+  void testReadTimeoutDoesNotTripCircuitBreaker() {
+    DomainCircuitBreaker circuitBreaker =
+        new DomainCircuitBreaker.Builder()
+            .failureThreshold(1)
+            .failover(PRIMARY_HOST, FAILOVER_HOST)
+            .build();
+    RetryPolicy policy = fastPolicy(circuitBreaker);
+    HttpRequest query = get("https://" + PRIMARY_HOST + "/v3/certificates");
+    HttpException readTimeout =
+        new HttpException(query, new SocketTimeoutException("Read timed out"));
+
+    assertTrue(policy.shouldRetry(query, null, readTimeout, 1));
+    assertFalse(circuitBreaker.isOpen(PRIMARY_HOST));
+    assertNull(policy.failedHost(query, readTimeout));
+    assertEquals(PRIMARY_HOST, policy.route(query, null).getUrl().getHost());
+
+    HttpException connectTimeout =
+        new HttpException(query, new SocketTimeoutException("Connect timed out"));
+    assertEquals(PRIMARY_HOST, policy.failedHost(query, connectTimeout));
+    policy.shouldRetry(query, null, connectTimeout, 1);
+    assertTrue(circuitBreaker.isOpen(PRIMARY_HOST));
+  }
+
+  @Test
+  void testBackoffWithJitter() {
+    RetryPolicy policy =
+        new RetryPolicy.Builder().backoff(Duration.ofMillis(100), Duration.ofMillis(300)).build();
+    for (int i = 0; i < 100; i++) {
+      assertTrue(policy.backoffMillis(1) <= 100);
+      assertTrue(policy.backoffMillis(2) <= 200);
+      assertTrue(policy.backoffMillis(10) <= 300);
+    }
+  }
+
+  @Test
+  void testRetryBudget() {
+    RetryBudget budget = new RetryBudget(4, 0.5);
+    RetryPolicy policy = new RetryPolicy.Builder().maxAttempts(10).retryBudget(budget).build();
+    HttpRequest query = get("https://api.mch.weixin.qq.com/v3/certificates");
+
+    assertTrue(policy.shouldRetry(query, response(query, 500), null, 1));
+    assertTrue(policy.shouldRetry(query, response(query, 500), null, 2));
+    assertFalse(policy.shouldRetry(query, response(query, 500), null, 3));
+
+    policy.shouldRetry(query, response(query, 200), null, 1);
+    assertEquals(2.5, budget.getTokens());
+    assertTrue(policy.shouldRetry(query, response(query, 500), null, 1));
+  }
+
+  @Test
+  void testCircuitBreakerRoutesAwayFromUnhealthyHost() throws InterruptedException {
+    DomainCircuitBreaker circuitBreaker =
+        new DomainCircuitBreaker.Builder()
+            .failureThreshold(2)
+            .openDuration(Duration.ofMillis(100))
+            .failover(PRIMARY_HOST, FAILOVER_HOST)
+            .build();
+    RetryPolicy policy = fastPolicy(circuitBreaker);
+    HttpRequest query = get("https://" + PRIMARY_HOST + ":8443/v3/certificates");
+    HttpException failure = new HttpException(query, new ConnectException("refused"));
+
+    // 직전 시도가 실패한 도메인은 차단 전이라도 바로 우회
+    assertEquals(FAILOVER_HOST, policy.route(query, PRIMARY_HOST).getUrl().getHost());
+    assertEquals(8443, policy.route(query, PRIMARY_HOST).getUrl().getPort());
+    policy.shouldRetry(query, null, failure, 1);
+    assertEquals(PRIMARY_HOST, policy.route(query, null).getUrl().getHost());
+    policy.shouldRetry(query, null, failure, 1);
+    assertTrue(circuitBreaker.isOpen(PRIMARY_HOST));
+    assertEquals(FAILOVER_HOST, policy.route(query, null).getUrl().getHost());
+
+    Thread.sleep(150);
+    // 차단 시간이 지나면 요청 하나만 원래 도메인으로 보내 회복 여부를 확인
+    assertEquals(PRIMARY_HOST, policy.route(query, null).getUrl().getHost());
+    assertEquals(FAILOVER_HOST, policy.route(query, null).getUrl().getHost());
+    policy.shouldRetry(query, response(query, 200), null, 1);
+    assertFalse(circuitBreaker.isOpen(PRIMARY_HOST));
+    assertEquals(PRIMARY_HOST, policy.route(query, null).getUrl().getHost());
+  }
+
+  @Test
+  void testExecuteRetriesIdempotentRequest() throws Exception {
+    MockWebServer server = new MockWebServer();
+    server.enqueue(new MockResponse().setResponseCode(503));
+    server.enqueue(new MockResponse().setBody("{}").setHeader("Content-Type", "application/json"));
+    server.enqueue(new MockResponse().setResponseCode(503));
+    server.enqueue(new MockResponse().setBody("{}").setHeader("Content-Type", "application/json"));
+    server.enqueue(new MockResponse().setResponseCode(503));
+    server.start();
+    HttpClient client = createHttpClient(fastPolicy(null));
+
+    client.execute(get(server.url("/v3/certificates").toString()), Object.class);
+    assertEquals(2, server.getRequestCount());
+    client.executeAsync(get(server.url("/v3/certificates").toString()), Object.class).get();
+    assertEquals(4, server.getRequestCount());
+    assertThrows(
+        ServiceException.class,
+        () ->
+            client.execute(post(server.url("/v3/marketing/favor/stocks").toString(), "{}"), null));
+    assertEquals(5, server.getRequestCount());
+    server.shutdown();
+  }
+
+  @Test
+  void testExecuteFailsOverOnConnectFailure() throws IOException {
+    MockWebServer server = new MockWebServer();
+    server.enqueue(new MockResponse().setBody("{}").setHeader("Content-Type", "application/json"));
+    server.start(InetAddress.getByName(FAILOVER_HOST), 0);
+    DomainCircuitBreaker circuitBreaker =
+        new DomainCircuitBreaker.Builder().failover(PRIMARY_HOST, FAILOVER_HOST).build();
+    HttpClient client = createHttpClient(fastPolicy(circuitBreaker));
+
+    String url = "http://" + PRIMARY_HOST + ":" + server.getPort() + "/v3/certificates";
+    client.execute(get(url), Object.class);
+    assertEquals(1, server.getRequestCount());
+    server.shutdown();
+  }
+
+  @Test
+  void testExecuteAsyncCompletesWhenPolicyThrows() throws IOException {
+    MockWebServer server = new MockWebServer();
+    server.enqueue(new MockResponse().setResponseCode(503));
+    server.start();
+    RetryPolicy throwingPolicy =
+        new RetryPolicy(new RetryPolicy.Builder()) {
+          @Override
+          public boolean shouldRetry(
+              HttpRequest httpRequest, OriginalResponse response, Throwable failure, int attempt) {
+            throw new IllegalStateException("policy failure");
+          }
+        };
+    HttpClient client = createHttpClient(throwingPolicy);
+
+    CompletableFuture<HttpResponse<Object>> future =
+        client.executeAsync(get(server.url("/v3/certificates").toString()), Object.class);
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+    assertTrue(e.getCause() instanceof IllegalStateException);
+    assertEquals("policy failure", e.getCause().getMessage());
+    server.shutdown();
+  }
+}
@@ -0,0 +1,157 @@
+package com.wechat.pay.java.core.jfr;
+
+import static com.wechat.pay.java.core.model.TestConfig.MERCHANT_CERTIFICATE;
+import static com.wechat.pay.java.core.model.TestConfig.MERCHANT_CERTIFICATE_SERIAL_NUMBER;
+import static com.wechat.pay.java.core.model.TestConfig.MERCHANT_PRIVATE_KEY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.wechat.pay.java.core.auth.Credential;
+import com.wechat.pay.java.core.auth.Validator;
+import com.wechat.pay.java.core.certificate.InMemoryCertificateProvider;
+import com.wechat.pay.java.core.cipher.RSASigner;
+import com.wechat.pay.java.core.cipher.RSAVerifier;
+import com.wechat.pay.java.core.cipher.SignatureResult;
+import com.wechat.pay.java.core.cipher.Verifier;
+import com.wechat.pay.java.core.http.DefaultHttpClientBuilder;
+import com.wechat.pay.java.core.http.HttpClient;
+import com.wechat.pay.java.core.http.HttpHeaders;
+import com.wechat.pay.java.core.http.HttpMethod;
+import com.wechat.pay.java.core.http.HttpRequest;
+import com.wechat.pay.java.core.util.IOUtil;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.Test;
+
+class SdkEventsTest {
+
+  private static final String BILL =
+      "交易时间,公众账号ID,商户号\n`2022-03-01 00:00:00,`wx8888888888888888,`1230000109";
+
+  private static HttpClient createHttpClient() {
+    Credential credential =
+        new Credential() {
+          @Override
+          public String getSchema() {
+            return "fake-schema";
+          }
+
+          @Override
+          public String getMerchantId() {
+            return "1230000109";
+          }
+
+          @Override
+          public String getAuthorization(URI uri, String httpMethod, String signBody) {
+            return "fake-authorization";
+          }
+        };
+    Validator validator =
+        new Validator() {
+          @Override
+          public <T> boolean validate(HttpHeaders responseHeaders, String body) {
+            return true;
+          }
+
+          @Override
+          public <T> String getSerialNumber() {
+            return "";
+          }
+        };
+    return new DefaultHttpClientBuilder().credential(credential).validator(validator).build();
+  }
+
+  private static List<RecordedEvent> eventsOf(List<RecordedEvent> events, String name) {
+    // 다른 테스트가 등록한 인증서 자동 갱신 등 백그라운드 스레드의 이벤트는 제외
+    String threadName = Thread.currentThread().getName();
+    return events.stream()
+        .filter(event -> event.getEventType().getName().equals(name))
+        .filter(event -> threadName.equals(event.getThread().getJavaName()))
+        .collect(Collectors.toList());
+  }
+
+  @Test
+  void testRecordSdkEvents() throws IOException {
+    assertTrue(SdkEvents.isAvailable());
+    MockWebServer server = new MockWebServer();
+    server.enqueue(new MockResponse().setHeader("Content-Type", "application/json").setBody("{}"));
+    server.enqueue(new MockResponse().setBody(BILL));
+    server.start();
+    HttpClient httpClient = createHttpClient();
+    Path file = Files.createTempFile("wechatpay-sdk-events", ".jfr");
+
+    try (Recording recording = new Recording()) {
+      recording.enable(HttpRequestEvent.class);
+      recording.enable(SignEvent.class);
+      recording.enable(VerifyEvent.class);
+      recording.enable(DownloadEvent.class);
+      recording.start();
+
+      SignatureResult signatureResult =
+          new RSASigner(MERCHANT_CERTIFICATE_SERIAL_NUMBER, MERCHANT_PRIVATE_KEY).sign("message");
+      Verifier verifier =
+          new RSAVerifier(
+              new InMemoryCertificateProvider(Collections.singletonList(MERCHANT_CERTIFICATE)));
+      assertTrue(
+          verifier.verify(
+              MERCHANT_CERTIFICATE_SERIAL_NUMBER, "message", signatureResult.getSign()));
+      assertFalse(
+          verifier.verify(
+              MERCHANT_CERTIFICATE_SERIAL_NUMBER, "tampered", signatureResult.getSign()));
+      httpClient.execute(
+          new HttpRequest.Builder()
+              .httpMethod(HttpMethod.GET)
+              .url(
+                  server.url("/v3/refund/domestic/refunds/1217752501201407033233368018").toString())
+              .build(),
+          Object.class);
+      try (InputStream inputStream =
+          httpClient.download(server.url("/v3/billdownload/file?token=abc").toString())) {
+        IOUtil.toString(inputStream);
+      }
+
+      recording.stop();
+      recording.dump(file);
+    } finally {
+      server.shutdown();
+    }
+    List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+    Files.delete(file);
+
+    List<RecordedEvent> signEvents = eventsOf(events, "com.wechat.pay.Sign");
+    assertEquals(1, signEvents.size());
+    assertEquals("SHA256-RSA2048", signEvents.get(0).getString("algorithm"));
+
+    List<RecordedEvent> verifyEvents = eventsOf(events, "com.wechat.pay.Verify");
+    assertEquals(2, verifyEvents.size());
+    assertTrue(verifyEvents.get(0).getBoolean("verified"));
+    assertFalse(verifyEvents.get(1).getBoolean("verified"));
+
+    List<RecordedEvent> requestEvents = eventsOf(events, "com.wechat.pay.HttpRequest");
+    assertEquals(1, requestEvents.size());
+    assertEquals("GET", requestEvents.get(0).getString("method"));
+    assertEquals("/v3/refund/domestic/refunds/{}", requestEvents.get(0).getString("endpoint"));
+    assertEquals(200, requestEvents.get(0).getInt("statusCode"));
+    assertEquals(1, requestEvents.get(0).getInt("attempts"));
+
+    List<RecordedEvent> downloadEvents = eventsOf(events, "com.wechat.pay.Download");
+    assertEquals(1, downloadEvents.size());
+    assertEquals("/v3/billdownload/file", downloadEvents.get(0).getString("endpoint"));
+    assertEquals(
+        BILL.getBytes(StandardCharsets.UTF_8).length, downloadEvents.get(0).getLong("bytesRead"));
+    assertTrue(downloadEvents.get(0).getBoolean("completed"));
+  }
+}
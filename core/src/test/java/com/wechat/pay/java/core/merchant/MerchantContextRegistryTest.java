@@ -0,0 +1,377 @@
+package com.wechat.pay.java.core.merchant;
+
+import static com.wechat.pay.java.core.model.TestConfig.API_V3_KEY;
+import static com.wechat.pay.java.core.model.TestConfig.DOWNLOAD_CERTIFICATE_RESPONSE;
+import static com.wechat.pay.java.core.model.TestConfig.MERCHANT_CERTIFICATE_SERIAL_NUMBER;
+import static com.wechat.pay.java.core.model.TestConfig.MERCHANT_PRIVATE_KEY;
+import static com.wechat.pay.java.core.model.TestConfig.WECHAT_PAY_PUBLIC_KEY;
+import static java.net.HttpURLConnection.HTTP_OK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.wechat.pay.java.core.Config;
+import com.wechat.pay.java.core.RSAAutoCertificateConfig;
+import com.wechat.pay.java.core.RSAPublicKeyConfig;
+import com.wechat.pay.java.core.auth.Credential;
+import com.wechat.pay.java.core.auth.Validator;
+import com.wechat.pay.java.core.certificate.AutoCertificateService;
+import com.wechat.pay.java.core.cipher.PrivacyDecryptor;
+import com.wechat.pay.java.core.cipher.PrivacyEncryptor;
+import com.wechat.pay.java.core.cipher.Signer;
+import com.wechat.pay.java.core.http.DefaultHttpClientBuilder;
+import com.wechat.pay.java.core.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.Test;
+
+class MerchantContextRegistryTest {
+
+  private static final String PUBLIC_KEY_ID = "PUB_KEY_ID_0000000000000024101100397200000006";
+
+  private final AtomicInteger createdCount = new AtomicInteger();
+
+  private Config createConfig(String merchantId) {
+    createdCount.incrementAndGet();
+    return new RSAPublicKeyConfig.Builder()
+        .merchantId(merchantId)
+        .privateKey(MERCHANT_PRIVATE_KEY)
+        .merchantSerialNumber(MERCHANT_CERTIFICATE_SERIAL_NUMBER)
+        .publicKey(WECHAT_PAY_PUBLIC_KEY)
+        .publicKeyId(PUBLIC_KEY_ID)
+        .apiV3Key(API_V3_KEY)
+        .build();
+  }
+
+  @Test
+  void testGetReusesContext() {
+    MerchantContextRegistry registry =
+        new MerchantContextRegistry.Builder().configFactory(this::createConfig).build();
+
+    MerchantContext context = registry.get("1900000001");
+    assertSame(context, registry.get("1900000001"));
+    assertEquals("1900000001", context.getMerchantId());
+    assertEquals(1, createdCount.get());
+
+    assertSame(context.getDecryptor(), context.getDecryptor());
+    assertSame(context.getEncryptor(), context.getEncryptor());
+    assertEquals(PUBLIC_KEY_ID, context.getEncryptor().getWechatpaySerial());
+  }
+
+  @Test
+  void testGetService() {
+    MerchantContextRegistry registry =
+        new MerchantContextRegistry.Builder().configFactory(this::createConfig).build();
+    MerchantContext context = registry.get("1900000001");
+
+    AtomicInteger serviceCount = new AtomicInteger();
+    FakeService service =
+        context.getService(
+            FakeService.class,
+            ctx -> {
+              serviceCount.incrementAndGet();
+              return new FakeService(ctx.getHttpClient());
+            });
+
+    assertSame(context.getHttpClient(), service.httpClient);
+    assertSame(service, context.getService(FakeService.class, FakeService::new));
+    assertEquals(1, serviceCount.get());
+  }
+
+  @Test
+  void testEvictLeastRecentlyUsed() {
+    List<String> removed = new ArrayList<>();
+    MerchantContextRegistry registry =
+        new MerchantContextRegistry.Builder()
+            .configFactory(this::createConfig)
+            .maximumSize(2)
+            .removalListener(context -> removed.add(context.getMerchantId()))
+            .build();
+
+    MerchantContext first = registry.get("1900000001");
+    registry.get("1900000002");
+    // 1900000001을 다시 사용하여 1900000002가 가장 오래 사용하지 않은 컨텍스트가 됨
+    registry.get("1900000001");
+    registry.get("1900000003");
+
+    assertEquals(2, registry.size());
+    assertEquals(1, removed.size());
+    assertEquals("1900000002", removed.get(0));
+    assertSame(first, registry.get("1900000001"));
+
+    registry.invalidate("1900000001");
+    assertEquals(2, removed.size());
+    assertNotSame(first, registry.get("1900000001"));
+
+    registry.invalidateAll();
+    assertEquals(0, registry.size());
+  }
+
+  @Test
+  void testCreateOnceUnderConcurrency() throws Exception {
+    CountDownLatch start = new CountDownLatch(1);
+    MerchantContextRegistry registry =
+        new MerchantContextRegistry.Builder().configFactory(this::createConfig).build();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<MerchantContext>> futures = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  return registry.get("1900000001");
+                }));
+      }
+      start.countDown();
+      MerchantContext context = futures.get(0).get(10, TimeUnit.SECONDS);
+      for (Future<MerchantContext> future : futures) {
+        assertSame(context, future.get(10, TimeUnit.SECONDS));
+      }
+      assertEquals(1, createdCount.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testFailedCreationIsRetried() {
+    AtomicInteger attempts = new AtomicInteger();
+    MerchantContextRegistry registry =
+        new MerchantContextRegistry.Builder()
+            .configFactory(
+                merchantId -> {
+                  if (attempts.incrementAndGet() == 1) {
+                    throw new IllegalStateException("config not ready");
+                  }
+                  return createConfig(merchantId);
+                })
+            .build();
+
+    assertThrows(IllegalStateException.class, () -> registry.get("1900000001"));
+    assertEquals(0, registry.size());
+    assertEquals("1900000001", registry.get("1900000001").getMerchantId());
+  }
+
+  @Test
+  void testRemovedMerchantStopsCertificateRefresh() {
+    AtomicInteger downloads = new AtomicInteger();
+    OkHttpClient okHttpClient =
+        new OkHttpClient.Builder()
+            .addInterceptor(
+                chain -> {
+                  downloads.incrementAndGet();
+                  return new Response.Builder()
+                      .request(chain.request())
+                      .code(HTTP_OK)
+                      .message("ok")
+                      .protocol(Protocol.HTTP_1_1)
+                      .body(
+                          ResponseBody.create(
+                              DOWNLOAD_CERTIFICATE_RESPONSE,
+                              MediaType.parse(
+                                  com.wechat.pay.java.core.http.MediaType.APPLICATION_JSON
+                                      .getValue())))
+                      .build();
+                })
+            .build();
+    MerchantContextRegistry registry =
+        new MerchantContextRegistry.Builder()
+            .configFactory(
+                merchantId ->
+                    new RSAAutoCertificateConfig.Builder()
+                        .merchantId(merchantId)
+                        .privateKey(MERCHANT_PRIVATE_KEY)
+                        .merchantSerialNumber(MERCHANT_CERTIFICATE_SERIAL_NUMBER)
+                        .apiV3Key(API_V3_KEY)
+                        .httpClientBuilder(
+                            new DefaultHttpClientBuilder().okHttpClient(okHttpClient))
+                        .build())
+            .maximumSize(1)
+            .build();
+
+    registry.get("1900000101");
+    assertEquals(1, downloads.get());
+    assertNotNull(AutoCertificateService.getRefreshStats("1900000101", "RSA"));
+
+    // LRU 제거된 가맹점은 갱신 예약과 인증서가 정리됨
+    registry.get("1900000102");
+    assertNull(AutoCertificateService.getRefreshStats("1900000101", "RSA"));
+    assertTrue(AutoCertificateService.getCertificateSnapshot("1900000101", "RSA").isEmpty());
+    assertNotNull(AutoCertificateService.getRefreshStats("1900000102", "RSA"));
+
+    registry.invalidate("1900000102");
+    assertNull(AutoCertificateService.getRefreshStats("1900000102", "RSA"));
+    assertEquals(2, downloads.get());
+  }
+
+  @Test
+  void testEvictedWhileCreatingIsClosed() throws Exception {
+    CountDownLatch creating = new CountDownLatch(1);
+    CountDownLatch evicted = new CountDownLatch(1);
+    List<CloseableConfig> configs = new ArrayList<>();
+    List<MerchantContext> removed = new ArrayList<>();
+    MerchantContextRegistry registry =
+        new MerchantContextRegistry.Builder()
+            .configFactory(
+                merchantId -> {
+                  CloseableConfig config = new CloseableConfig(createConfig(merchantId));
+                  synchronized (configs) {
+                    configs.add(config);
+                  }
+                  if (configs.size() == 1) {
+                    creating.countDown();
+                    try {
+                      evicted.await();
+                    } catch (InterruptedException e) {
+                      Thread.currentThread().interrupt();
+                    }
+                  }
+                  return config;
+                })
+            .maximumSize(1)
+            .removalListener(
+                context -> {
+                  synchronized (removed) {
+                    removed.add(context);
+                  }
+                })
+            .build();
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<MerchantContext> future = executor.submit(() -> registry.get("1900000001"));
+      assertTrue(creating.await(10, TimeUnit.SECONDS));
+      // 1900000001을 생성하는 동안 다른 가맹점이 추가되어 제거됨
+      registry.get("1900000002");
+      evicted.countDown();
+
+      MerchantContext context = future.get(10, TimeUnit.SECONDS);
+      // 생성 중에 제거된 컨텍스트는 닫히고, 조회한 스레드는 다시 생성한 컨텍스트를 받음
+      assertTrue(configs.get(0).closed);
+      assertSame(configs.get(0), removed.get(0).getConfig());
+      assertNotSame(configs.get(0), context.getConfig());
+      assertEquals(3, configs.size());
+      assertSame(context, registry.get("1900000001"));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testEvictedContextFromGetIsClosed() {
+    MerchantContextRegistry registry =
+        new MerchantContextRegistry.Builder()
+            .configFactory(merchantId -> new CloseableConfig(createConfig(merchantId)))
+            .maximumSize(1)
+            .build();
+
+    MerchantContext context = registry.get("1900000001");
+    registry.get("1900000002");
+    // get()으로 받은 컨텍스트는 제거되면 바로 닫힘
+    assertTrue(context.isClosed());
+    assertTrue(((CloseableConfig) context.getConfig()).closed);
+  }
+
+  @Test
+  void testLeasedContextIsClosedAfterRelease() {
+    List<String> removed = new ArrayList<>();
+    MerchantContextRegistry registry =
+        new MerchantContextRegistry.Builder()
+            .configFactory(merchantId -> new CloseableConfig(createConfig(merchantId)))
+            .maximumSize(1)
+            .removalListener(context -> removed.add(context.getMerchantId()))
+            .build();
+
+    MerchantContextLease first = registry.acquire("1900000001");
+    MerchantContextLease second = registry.acquire("1900000001");
+    MerchantContext context = first.getContext();
+    assertSame(context, second.getContext());
+
+    // 다른 가맹점이 추가되어 제거되어도 임대 중에는 닫히지 않음
+    try (MerchantContextLease other = registry.acquire("1900000002")) {
+      assertEquals("1900000002", other.getContext().getMerchantId());
+    }
+    assertEquals("1900000001", removed.get(0));
+    assertFalse(context.isClosed());
+
+    first.close();
+    first.close();
+    assertFalse(context.isClosed());
+    second.close();
+    assertTrue(context.isClosed());
+    assertTrue(((CloseableConfig) context.getConfig()).closed);
+
+    // 제거된 컨텍스트는 다시 임대할 수 없고 새로 생성됨
+    try (MerchantContextLease lease = registry.acquire("1900000001")) {
+      assertNotSame(context, lease.getContext());
+      assertFalse(lease.getContext().isClosed());
+    }
+  }
+
+  static class CloseableConfig implements Config, AutoCloseable {
+    private final Config delegate;
+    private volatile boolean closed;
+
+    CloseableConfig(Config delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public PrivacyEncryptor createEncryptor() {
+      return delegate.createEncryptor();
+    }
+
+    @Override
+    public PrivacyDecryptor createDecryptor() {
+      return delegate.createDecryptor();
+    }
+
+    @Override
+    public Credential createCredential() {
+      return delegate.createCredential();
+    }
+
+    @Override
+    public Validator createValidator() {
+      return delegate.createValidator();
+    }
+
+    @Override
+    public Signer createSigner() {
+      return delegate.createSigner();
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+
+  static class FakeService {
+    private final HttpClient httpClient;
+
+    FakeService(HttpClient httpClient) {
+      this.httpClient = httpClient;
+    }
+
+    FakeService(MerchantContext context) {
+      this(context.getHttpClient());
+    }
+  }
+}
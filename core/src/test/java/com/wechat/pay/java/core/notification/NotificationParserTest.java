@@ -16,6 +16,7 @@ import java.time.Instant;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -299,4 +300,65 @@ public class NotificationParserTest {
             .build();
     parser.parse(requestParam, Object.class);
   }
+
+  @Test
+  public void testVerifyDecryptsLazily() {
+    String body =
+        "{\"id\":\"EV-2018022511223320873\",\"create_time\":\"2015-05-20T13:29:35+08:00\","
+            + "\"event_type\":\"TRANSACTION.SUCCESS\",\"resource_type\":\"encrypt-resource\","
+            + "\"summary\":\"支付成功\",\"resource\":{\"algorithm\":\"AEAD_AES_256_GCM\","
+            + "\"ciphertext\":\"Y2lwaGVydGV4dA==\",\"associated_data\":\"transaction\","
+            + "\"nonce\":\"fdasflkja484w\"}}";
+    AtomicInteger decryptCount = new AtomicInteger();
+    AeadCipher fakeAeadCipher =
+        new AeadCipher() {
+          @Override
+          public String encrypt(byte[] associatedData, byte[] nonce, byte[] plaintext) {
+            return "fake-ciphertext";
+          }
+
+          @Override
+          public String decrypt(byte[] associatedData, byte[] nonce, byte[] ciphertext) {
+            decryptCount.incrementAndGet();
+            return DECRYPT_OBJECT_STRING;
+          }
+        };
+    Verifier fakeVerifier =
+        new Verifier() {
+          @Override
+          public boolean verify(String serialNumber, String message, String signature) {
+            return true;
+          }
+
+          @Override
+          public String getSerialNumber() {
+            return "";
+          }
+        };
+    Map<String, Verifier> verifiers = new HashMap<>();
+    Map<String, AeadCipher> ciphers = new HashMap<>();
+    verifiers.put(SIGN_TYPE, fakeVerifier);
+    ciphers.put("AEAD_AES_256_GCM", fakeAeadCipher);
+    NotificationParser parser = new NotificationParser(verifiers, ciphers);
+    RequestParam requestParam =
+        new Builder()
+            .serialNumber(WECHAT_PAY_CERTIFICATE_SERIAL_NUMBER)
+            .nonce("fdasflkja484w")
+            .signature(SIGNATURE)
+            .timestamp(String.valueOf(TIMESTAMP))
+            .body(body)
+            .build();
+
+    ParsedNotification parsedNotification = parser.verify(requestParam);
+    Assert.assertEquals("EV-2018022511223320873", parsedNotification.getId());
+    Assert.assertEquals("TRANSACTION.SUCCESS", parsedNotification.getEventType());
+    Assert.assertEquals("encrypt-resource", parsedNotification.getResourceType());
+    Assert.assertEquals("2015-05-20T13:29:35+08:00", parsedNotification.getCreateTime());
+    Assert.assertEquals(0, decryptCount.get());
+
+    Object decryptObject = parsedNotification.decrypt(Object.class);
+    Assert.assertEquals(DECRYPT_OBJECT_STRING, GsonUtil.getGson().toJson(decryptObject));
+    Assert.assertEquals(DECRYPT_OBJECT_STRING, parsedNotification.getPlaintext());
+    Assert.assertEquals(1, decryptCount.get());
+  }
 }
@@ -0,0 +1,306 @@
+package com.wechat.pay.java.core.notification;
+
+import static com.wechat.pay.java.core.model.TestConfig.WECHAT_PAY_CERTIFICATE_SERIAL_NUMBER;
+
+import com.wechat.pay.java.core.cipher.AeadCipher;
+import com.wechat.pay.java.core.cipher.Verifier;
+import com.wechat.pay.java.core.exception.DuplicateNotificationException;
+import com.wechat.pay.java.core.exception.ValidationException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class NotificationReplayGuardTest {
+
+  private static final String SIGN_TYPE = "WECHATPAY2-SHA256-RSA2048";
+  private static final String ALGORITHM = "AEAD_AES_256_GCM";
+  private static final String DECRYPT_OBJECT_STRING = "{\"decrypt-key\":\"decrypt-value\"}";
+  private static final String NOTIFICATION_BODY =
+      "{\"id\":\"EV-2018022511223320873\",\"resource\":{\"algorithm\":\""
+          + ALGORITHM
+          + "\",\"ciphertext\":\"Y2lwaGVydGV4dA==\",\"associated_data\":\"transaction\","
+          + "\"nonce\":\"fdasflkja484w\"}}";
+
+  private final AtomicInteger verifyCount = new AtomicInteger();
+  private final AtomicInteger decryptCount = new AtomicInteger();
+  private final AtomicBoolean signatureValid = new AtomicBoolean(true);
+
+  private NotificationParser createParser(NotificationReplayGuard guard) {
+    Verifier verifier =
+        new Verifier() {
+          @Override
+          public boolean verify(String serialNumber, String message, String signature) {
+            verifyCount.incrementAndGet();
+            return signatureValid.get();
+          }
+
+          @Override
+          public String getSerialNumber() {
+            return WECHAT_PAY_CERTIFICATE_SERIAL_NUMBER;
+          }
+        };
+    AeadCipher cipher =
+        new AeadCipher() {
+          @Override
+          public String encrypt(byte[] associatedData, byte[] nonce, byte[] plaintext) {
+            return "fake-ciphertext";
+          }
+
+          @Override
+          public String decrypt(byte[] associatedData, byte[] nonce, byte[] ciphertext) {
+            decryptCount.incrementAndGet();
+            return DECRYPT_OBJECT_STRING;
+          }
+        };
+    Map<String, Verifier> verifiers = new HashMap<>();
+    Map<String, AeadCipher> ciphers = new HashMap<>();
+    verifiers.put(SIGN_TYPE, verifier);
+    ciphers.put(ALGORITHM, cipher);
+    return new NotificationParser(verifiers, ciphers, guard);
+  }
+
+  private static RequestParam requestParam(long timestamp, String nonce, String body) {
+    return new RequestParam.Builder()
+        .serialNumber(WECHAT_PAY_CERTIFICATE_SERIAL_NUMBER)
+        .nonce(nonce)
+        .signature("fake-signature")
+        .signType(SIGN_TYPE)
+        .timestamp(String.valueOf(timestamp))
+        .body(body)
+        .build();
+  }
+
+  @Test
+  public void testDuplicateShortCircuitsBeforeVerify() {
+    NotificationReplayGuard guard = new NotificationReplayGuard.Builder().build();
+    NotificationParser parser = createParser(guard);
+    long now = Instant.now().getEpochSecond();
+    RequestParam requestParam = requestParam(now, "nonce-1", NOTIFICATION_BODY);
+    parser.parse(requestParam, Object.class);
+    guard.markProcessed(requestParam);
+
+    // 위챗페이의 재전송은 새로운 timestamp와 nonce로 다시 서명되지만 알림 id는 같음
+    DuplicateNotificationException e =
+        Assert.assertThrows(
+            DuplicateNotificationException.class,
+            () -> parser.parse(requestParam(now + 15, "nonce-2", NOTIFICATION_BODY), Object.class));
+    Assert.assertEquals("EV-2018022511223320873", e.getNotificationKey());
+    Assert.assertFalse(e.isInProgress());
+    Assert.assertEquals(1, verifyCount.get());
+    Assert.assertEquals(1, decryptCount.get());
+  }
+
+  @Test
+  public void testDuplicateWithoutNotificationId() {
+    NotificationReplayGuard guard = new NotificationReplayGuard.Builder().build();
+    NotificationParser parser = createParser(guard);
+    String body = NOTIFICATION_BODY.replace("\"id\":\"EV-2018022511223320873\",", "");
+    long now = Instant.now().getEpochSecond();
+    parser.parse(requestParam(now, "nonce-1", body), Object.class);
+    guard.markProcessed(requestParam(now, "nonce-1", body));
+    parser.parse(requestParam(now, "nonce-2", body), Object.class);
+
+    Assert.assertThrows(
+        DuplicateNotificationException.class,
+        () -> parser.parse(requestParam(now, "nonce-1", body), Object.class));
+    Assert.assertEquals(2, verifyCount.get());
+  }
+
+  @Test
+  public void testRejectStaleTimestamp() {
+    NotificationParser parser =
+        createParser(
+            new NotificationReplayGuard.Builder().maxTimestampSkew(Duration.ofMinutes(5)).build());
+    long stale = Instant.now().minus(Duration.ofMinutes(6)).getEpochSecond();
+
+    Assert.assertThrows(
+        ValidationException.class,
+        () -> parser.parse(requestParam(stale, "nonce-1", NOTIFICATION_BODY), Object.class));
+    Assert.assertThrows(
+        ValidationException.class,
+        () ->
+            parser.parse(
+                new RequestParam.Builder()
+                    .serialNumber(WECHAT_PAY_CERTIFICATE_SERIAL_NUMBER)
+                    .nonce("nonce-1")
+                    .signature("fake-signature")
+                    .timestamp("not-a-number")
+                    .body(NOTIFICATION_BODY)
+                    .build(),
+                Object.class));
+    Assert.assertEquals(0, verifyCount.get());
+  }
+
+  @Test
+  public void testFailedVerificationIsNotRecorded() {
+    NotificationParser parser = createParser(new NotificationReplayGuard.Builder().build());
+    long now = Instant.now().getEpochSecond();
+    signatureValid.set(false);
+    Assert.assertThrows(
+        ValidationException.class,
+        () -> parser.parse(requestParam(now, "nonce-1", NOTIFICATION_BODY), Object.class));
+
+    signatureValid.set(true);
+    Object decryptObject =
+        parser.parse(requestParam(now, "nonce-2", NOTIFICATION_BODY), Object.class);
+    Assert.assertNotNull(decryptObject);
+  }
+
+  @Test
+  public void testReleaseAllowsReprocessing() {
+    NotificationReplayGuard guard = new NotificationReplayGuard.Builder().build();
+    NotificationParser parser = createParser(guard);
+    RequestParam requestParam =
+        requestParam(Instant.now().getEpochSecond(), "nonce-1", NOTIFICATION_BODY);
+    parser.parse(requestParam, Object.class);
+
+    guard.release(requestParam);
+    parser.parse(requestParam, Object.class);
+    Assert.assertEquals(2, decryptCount.get());
+  }
+
+  @Test
+  public void testVerifyRecordsWithoutDecrypt() {
+    NotificationParser parser = createParser(new NotificationReplayGuard.Builder().build());
+    long now = Instant.now().getEpochSecond();
+    ParsedNotification notification =
+        parser.verify(requestParam(now, "nonce-1", NOTIFICATION_BODY));
+    Assert.assertEquals("EV-2018022511223320873", notification.getId());
+
+    DuplicateNotificationException e =
+        Assert.assertThrows(
+            DuplicateNotificationException.class,
+            () -> parser.verify(requestParam(now, "nonce-2", NOTIFICATION_BODY)));
+    Assert.assertTrue(e.isInProgress());
+    Assert.assertEquals(0, decryptCount.get());
+  }
+
+  @Test
+  public void testRedeliveryWhileInFlightIsInProgress() {
+    NotificationParser parser = createParser(new NotificationReplayGuard.Builder().build());
+    long now = Instant.now().getEpochSecond();
+    parser.parse(requestParam(now, "nonce-1", NOTIFICATION_BODY), Object.class);
+
+    // 처리가 커밋되지 않았으므로 성공 응답을 반환하면 안 되는 중복
+    DuplicateNotificationException e =
+        Assert.assertThrows(
+            DuplicateNotificationException.class,
+            () -> parser.parse(requestParam(now + 15, "nonce-2", NOTIFICATION_BODY), Object.class));
+    Assert.assertTrue(e.isInProgress());
+    Assert.assertEquals(1, verifyCount.get());
+  }
+
+  @Test
+  public void testRedeliveryAfterCrashIsProcessedAgain() {
+    MutableClock clock = new MutableClock();
+    NotificationReplayGuard guard =
+        new NotificationReplayGuard.Builder()
+            .store(new InMemoryNotificationReplayStore(100, clock))
+            .inFlightTtl(Duration.ofMinutes(1))
+            .build();
+    NotificationParser parser = createParser(guard);
+    long now = Instant.now().getEpochSecond();
+    // 파싱 후 비즈니스 처리를 커밋하기 전에 프로세스가 종료되어 markProcessed가 호출되지 않음
+    parser.parse(requestParam(now, "nonce-1", NOTIFICATION_BODY), Object.class);
+
+    clock.advance(Duration.ofMinutes(1));
+    RequestParam redelivery = requestParam(now + 60, "nonce-2", NOTIFICATION_BODY);
+    Assert.assertNotNull(parser.parse(redelivery, Object.class));
+    Assert.assertEquals(2, decryptCount.get());
+
+    guard.markProcessed(redelivery);
+    clock.advance(Duration.ofMinutes(1));
+    DuplicateNotificationException e =
+        Assert.assertThrows(
+            DuplicateNotificationException.class,
+            () ->
+                parser.parse(requestParam(now + 120, "nonce-3", NOTIFICATION_BODY), Object.class));
+    Assert.assertFalse(e.isInProgress());
+    Assert.assertEquals(2, decryptCount.get());
+  }
+
+  @Test
+  public void testDurationsMustBePositive() {
+    Assert.assertThrows(
+        IllegalArgumentException.class,
+        () -> new NotificationReplayGuard.Builder().inFlightTtl(Duration.ZERO).build());
+    Assert.assertThrows(
+        IllegalArgumentException.class,
+        () -> new NotificationReplayGuard.Builder().maxTimestampSkew(Duration.ZERO).build());
+    Assert.assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            new NotificationReplayGuard.Builder().maxTimestampSkew(Duration.ofMinutes(-5)).build());
+    Assert.assertThrows(
+        NullPointerException.class,
+        () -> new NotificationReplayGuard.Builder().maxTimestampSkew(null).build());
+  }
+
+  @Test
+  public void testInMemoryStoreEviction() {
+    MutableClock clock = new MutableClock();
+    InMemoryNotificationReplayStore store = new InMemoryNotificationReplayStore(2, clock);
+    Assert.assertTrue(store.putIfAbsent("a", Duration.ofSeconds(10)));
+    Assert.assertFalse(store.putIfAbsent("a", Duration.ofSeconds(10)));
+    Assert.assertTrue(store.putIfAbsent("b", Duration.ofSeconds(10)));
+    Assert.assertTrue(store.putIfAbsent("c", Duration.ofSeconds(10)));
+    // 최대 크기를 넘으면 가장 먼저 저장된 키부터 제거하며, 만료 전에 제거된 키는 따로 셈
+    Assert.assertFalse(store.contains("a"));
+    Assert.assertEquals(2, store.size());
+    Assert.assertEquals(1, store.getLiveEvictionCount());
+
+    clock.advance(Duration.ofSeconds(10));
+    Assert.assertFalse(store.contains("b"));
+    Assert.assertFalse(store.contains("c"));
+    Assert.assertEquals(0, store.size());
+    Assert.assertTrue(store.putIfAbsent("b", Duration.ofSeconds(10)));
+    Assert.assertEquals(1, store.getLiveEvictionCount());
+  }
+
+  @Test
+  public void testInMemoryStoreEvictsExpiredKeysWithoutCounting() {
+    MutableClock clock = new MutableClock();
+    InMemoryNotificationReplayStore store = new InMemoryNotificationReplayStore(2, clock);
+    Assert.assertTrue(store.putIfAbsent("a", Duration.ofSeconds(1)));
+    Assert.assertTrue(store.putIfAbsent("b", Duration.ofSeconds(60)));
+    clock.advance(Duration.ofSeconds(1));
+    Assert.assertTrue(store.putIfAbsent("c", Duration.ofSeconds(60)));
+    Assert.assertTrue(store.putIfAbsent("d", Duration.ofSeconds(60)));
+    // "a"는 만료되어 정리되었고, 가득 찬 상태에서 "b"는 만료 전에 제거됨
+    Assert.assertFalse(store.contains("b"));
+    Assert.assertTrue(store.contains("c"));
+    Assert.assertEquals(1, store.getLiveEvictionCount());
+  }
+
+  private static class MutableClock extends Clock {
+
+    private Instant instant = Instant.ofEpochSecond(1700000000L);
+
+    void advance(Duration duration) {
+      instant = instant.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+}
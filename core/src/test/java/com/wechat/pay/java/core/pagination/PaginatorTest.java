@@ -0,0 +1,200 @@
+package com.wechat.pay.java.core.pagination;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PaginatorTest {
+
+  private final List<String> requests = new CopyOnWriteArrayList<>();
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    executor = Executors.newSingleThreadExecutor();
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  /** 전체 total개 항목 중 offset(항목 위치)부터 limit개를 반환 */
+  private Page recordPage(long offset, int limit, long total) {
+    requests.add(offset + "/" + limit);
+    List<Long> items =
+        LongStream.range(offset, Math.min(offset + limit, total))
+            .boxed()
+            .collect(Collectors.toList());
+    return new Page(items, total);
+  }
+
+  @Test
+  void testRecordOffsetWithTotalCount() {
+    Paginator<Page, Long> paginator =
+        new Paginator.Builder<Page, Long>()
+            .pageSize(10)
+            .fetcher((offset, limit) -> recordPage(offset, limit, 25))
+            .items(page -> page.items)
+            .totalCount(page -> page.total)
+            .build();
+
+    List<Long> items = new ArrayList<>();
+    paginator.forEach(items::add);
+
+    assertEquals(25, items.size());
+    assertEquals(Long.valueOf(24), items.get(24));
+    assertEquals(Arrays.asList("0/10", "10/10", "20/10"), requests);
+  }
+
+  @Test
+  void testPageNumberOffsetStopsAtShortPage() {
+    Paginator<Page, Long> paginator =
+        new Paginator.Builder<Page, Long>()
+            .offsetType(Paginator.OffsetType.PAGE_NUMBER)
+            .pageSize(10)
+            .fetcher((offset, limit) -> recordPage(offset * limit, limit, 30 + 5))
+            .items(page -> page.items)
+            .build();
+
+    assertEquals(35, paginator.stream().count());
+    assertEquals(Arrays.asList("0/10", "10/10", "20/10", "30/10"), requests);
+  }
+
+  @Test
+  void testExactMultipleWithoutTotalCountEndsWithEmptyPage() {
+    Paginator<Page, Long> paginator =
+        new Paginator.Builder<Page, Long>()
+            .pageSize(10)
+            .fetcher((offset, limit) -> recordPage(offset, limit, 20))
+            .items(page -> page.items)
+            .build();
+
+    assertEquals(20, paginator.stream().count());
+    assertEquals(Arrays.asList("0/10", "10/10", "20/10"), requests);
+  }
+
+  @Test
+  void testEmptyFirstPageAndNullItems() {
+    Paginator<Page, Long> paginator =
+        new Paginator.Builder<Page, Long>()
+            .pageSize(10)
+            .fetcher((offset, limit) -> new Page(null, null))
+            .items(page -> page.items)
+            .build();
+
+    Iterator<Long> iterator = paginator.iterator();
+    assertFalse(iterator.hasNext());
+    assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  void testPrefetchFetchesOnlyNextPage() throws InterruptedException {
+    CountDownLatch secondPageRequested = new CountDownLatch(1);
+    Paginator<Page, Long> paginator =
+        new Paginator.Builder<Page, Long>()
+            .pageSize(10)
+            .fetcher(
+                (offset, limit) -> {
+                  if (offset == 10) {
+                    secondPageRequested.countDown();
+                  }
+                  return recordPage(offset, limit, 100);
+                })
+            .items(page -> page.items)
+            .totalCount(page -> page.total)
+            .build();
+
+    Iterator<Long> iterator = paginator.iterator(executor);
+    assertEquals(Long.valueOf(0), iterator.next());
+
+    // 첫 페이지를 소비하는 동안 두 번째 페이지만 미리 조회함
+    assertTrue(secondPageRequested.await(5, TimeUnit.SECONDS));
+    TimeUnit.MILLISECONDS.sleep(50);
+    assertEquals(Arrays.asList("0/10", "10/10"), requests);
+
+    List<Long> rest = new ArrayList<>();
+    iterator.forEachRemaining(rest::add);
+    assertEquals(99, rest.size());
+    assertEquals(10, requests.size());
+  }
+
+  @Test
+  void testPrefetchFailureIsThrownToConsumer() {
+    Paginator<Page, Long> paginator =
+        new Paginator.Builder<Page, Long>()
+            .pageSize(10)
+            .fetcher(
+                (offset, limit) -> {
+                  if (offset > 0) {
+                    throw new IllegalStateException("fake failure");
+                  }
+                  return recordPage(offset, limit, 100);
+                })
+            .items(page -> page.items)
+            .build();
+
+    try (Stream<Long> stream = paginator.stream(executor)) {
+      IllegalStateException e =
+          assertThrows(IllegalStateException.class, () -> stream.forEach(item -> {}));
+      assertEquals("fake failure", e.getMessage());
+    }
+  }
+
+  @Test
+  void testStopsFetchingWhenClosedEarly() {
+    Paginator<Page, Long> paginator =
+        new Paginator.Builder<Page, Long>()
+            .pageSize(10)
+            .fetcher((offset, limit) -> recordPage(offset, limit, 1000))
+            .items(page -> page.items)
+            .build();
+
+    try (Stream<Long> stream = paginator.stream()) {
+      assertEquals(15, stream.limit(15).count());
+    }
+    assertEquals(2, requests.size());
+  }
+
+  @Test
+  void testInvalidBuilder() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            new Paginator.Builder<Page, Long>()
+                .fetcher((offset, limit) -> null)
+                .items(page -> page.items)
+                .build());
+    assertThrows(
+        NullPointerException.class,
+        () -> new Paginator.Builder<Page, Long>().pageSize(10).items(page -> page.items).build());
+  }
+
+  private static final class Page {
+
+    private final List<Long> items;
+    private final Long total;
+
+    Page(List<Long> items, Long total) {
+      this.items = items;
+      this.total = total;
+    }
+  }
+}
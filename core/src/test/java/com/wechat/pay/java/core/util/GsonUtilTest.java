@@ -2,6 +2,8 @@ package com.wechat.pay.java.core.util;
 
 import com.google.gson.Gson;
 import com.wechat.pay.java.core.model.TestServiceRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -43,4 +45,22 @@ public class GsonUtilTest {
     Assert.assertEquals(outTradeNo, getTestServiceRequest.getOutTradeNo());
     Assert.assertEquals(gson.toJson(createTestServiceRequest), gson.toJson(getTestServiceRequest));
   }
+
+  @Test
+  public void testToJsonBytes() {
+    TestServiceRequest request = new TestServiceRequest();
+    request.setMchid("商户-1900000001");
+    request.setOutTradeNo("out_trade_no");
+
+    Assert.assertArrayEquals(
+        GsonUtil.toJson(request).getBytes(StandardCharsets.UTF_8), GsonUtil.toJsonBytes(request));
+    // 재사용하는 버퍼에 이전 결과가 남지 않음
+    Assert.assertArrayEquals("null".getBytes(StandardCharsets.UTF_8), GsonUtil.toJsonBytes(null));
+
+    char[] large = new char[100 * 1024];
+    Arrays.fill(large, 'a');
+    request.setAppid(new String(large));
+    Assert.assertArrayEquals(
+        GsonUtil.toJson(request).getBytes(StandardCharsets.UTF_8), GsonUtil.toJsonBytes(request));
+  }
 }
@@ -0,0 +1,102 @@
+package com.wechat.pay.java.core.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class InstancePoolTest {
+
+  @Test
+  void testPlatformThreadsSharePool() throws Exception {
+    AtomicInteger created = new AtomicInteger();
+    InstancePool<Object> pool = new InstancePool<>(() -> created.incrementAndGet(), 2);
+
+    Object first = pool.acquire();
+    pool.release(first);
+    assertSame(first, pool.acquire());
+
+    pool.discard(first);
+    assertNotSame(first, pool.acquire());
+    assertEquals(2, created.get());
+
+    // 다른 스레드가 반납한 객체를 재사용하며, 스레드에 객체가 남지 않음
+    Object[] other = new Object[1];
+    Thread thread = new Thread(() -> pool.release(other[0] = pool.acquire()));
+    thread.start();
+    thread.join();
+    assertEquals(3, other[0]);
+    assertSame(other[0], pool.acquire());
+
+    // 풀은 maxPooled개까지만 보관함
+    Object a = pool.acquire();
+    Object b = pool.acquire();
+    Object c = pool.acquire();
+    pool.release(a);
+    pool.release(b);
+    pool.release(c);
+    pool.acquire();
+    pool.acquire();
+    pool.acquire();
+    assertEquals(7, created.get());
+  }
+
+  @Test
+  void testVirtualThreadsSharePool() throws Exception {
+    assumeTrue(VirtualThreads.isSupported());
+    AtomicInteger created = new AtomicInteger();
+    InstancePool<Object> pool = new InstancePool<>(() -> created.incrementAndGet(), 2);
+    ExecutorService executor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+    try {
+      // 가상 스레드마다 ThreadLocal을 쓰면 작업마다 새로 만들어지지만, 반납한 객체는 다음 작업에서 재사용됨
+      for (int i = 0; i < 100; i++) {
+        executor
+            .submit(
+                () -> {
+                  assertTrue(VirtualThreads.isCurrentThreadVirtual());
+                  pool.release(pool.acquire());
+                })
+            .get(1, TimeUnit.SECONDS);
+      }
+      assertEquals(1, created.get());
+
+      // 풀은 maxPooled개까지만 보관함
+      executor
+          .submit(
+              () -> {
+                Object a = pool.acquire();
+                Object b = pool.acquire();
+                Object c = pool.acquire();
+                pool.release(a);
+                pool.release(b);
+                pool.release(c);
+                pool.acquire();
+                pool.acquire();
+                pool.acquire();
+              })
+          .get(1, TimeUnit.SECONDS);
+      assertEquals(4, created.get());
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(1, TimeUnit.SECONDS);
+    }
+  }
+
+  @Test
+  void testIsCurrentThreadVirtualOnPlatformThread() {
+    assertFalse(VirtualThreads.isCurrentThreadVirtual());
+  }
+
+  @Test
+  void testInvalidMaxPooled() {
+    assertThrows(IllegalArgumentException.class, () -> new InstancePool<>(Object::new, 0));
+  }
+}
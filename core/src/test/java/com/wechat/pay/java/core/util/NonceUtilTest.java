@@ -10,4 +10,14 @@ public class NonceUtilTest {
     String nonce = NonceUtil.createNonce(32);
     Assert.assertEquals(nonce.length(), 32);
   }
+
+  @Test
+  public void testCreateNonceSymbols() {
+    for (int length : new int[] {0, 1, 6, 32, 100}) {
+      String nonce = NonceUtil.createNonce(length);
+      Assert.assertEquals(length, nonce.length());
+      Assert.assertTrue(nonce.matches("[0-9a-zA-Z]*"));
+    }
+    Assert.assertNotEquals(NonceUtil.createNonce(32), NonceUtil.createNonce(32));
+  }
 }
@@ -5,6 +5,8 @@ import static org.mockito.ArgumentMatchers.anyString;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import org.junit.Assert;
@@ -35,6 +37,17 @@ public class ShaUtilTest {
     Assert.assertEquals(SHA256, sha);
   }
 
+  @Test
+  public void testPathGetSha256HexString() throws IOException {
+    Path file = Files.createTempFile("sha-util-test", ".txt");
+    try {
+      Files.write(file, MESSAGE.getBytes(StandardCharsets.UTF_8));
+      Assert.assertEquals(SHA256, ShaUtil.getSha256HexString(file));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
   @Test
   public void testBytesGetSha256HexString() {
     String sha = ShaUtil.getSha256HexString(MESSAGE.getBytes(StandardCharsets.UTF_8));
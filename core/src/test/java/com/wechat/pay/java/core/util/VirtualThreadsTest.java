@@ -0,0 +1,40 @@
+package com.wechat.pay.java.core.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadsTest {
+
+  private static boolean isJava21OrLater() {
+    String version = System.getProperty("java.specification.version");
+    return !version.startsWith("1.") && Integer.parseInt(version) >= 21;
+  }
+
+  @Test
+  void testIsSupported() {
+    assertEquals(isJava21OrLater(), VirtualThreads.isSupported());
+  }
+
+  @Test
+  void testNewVirtualThreadPerTaskExecutor() throws Exception {
+    if (!VirtualThreads.isSupported()) {
+      assertThrows(
+          UnsupportedOperationException.class, VirtualThreads::newVirtualThreadPerTaskExecutor);
+      return;
+    }
+    ExecutorService executor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+    try {
+      // Thread.isVirtual()은 Java 21 API이므로 toString으로 확인
+      String thread = executor.submit(() -> Thread.currentThread().toString()).get();
+      assertTrue(thread.startsWith("VirtualThread"), thread);
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(1, TimeUnit.SECONDS);
+    }
+  }
+}
@@ -0,0 +1,372 @@
+package com.wechat.pay.java.processor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/** 생성할 Java 소스를 만듦. 모델 이름과 겹치지 않도록 생성 코드의 모든 타입은 정규화된 이름으로 씀 */
+final class AdapterSourceWriter {
+
+  static final String ADAPTERS_CLASS = "GsonTypeAdapters";
+  static final String GENERATED_ADAPTERS_INTERFACE =
+      "com.wechat.pay.java.core.util.GeneratedAdapters";
+
+  private static final String HEADER =
+      "// Code generated by GsonTypeAdapterProcessor; DO NOT EDIT.\n\n";
+  private static final String GSON = "com.google.gson.Gson";
+  private static final String TYPE_ADAPTER = "com.google.gson.TypeAdapter";
+  private static final String JSON_READER = "com.google.gson.stream.JsonReader";
+  private static final String JSON_WRITER = "com.google.gson.stream.JsonWriter";
+  private static final String JSON_TOKEN = "com.google.gson.stream.JsonToken";
+  private static final String IO_EXCEPTION = "java.io.IOException";
+
+  private final StringBuilder out = new StringBuilder();
+  private int indent;
+
+  private AdapterSourceWriter() {}
+
+  /**
+   * 패키지의 모델 어댑터를 모은 GsonTypeAdapters 소스 생성
+   *
+   * @param packageName 패키지 이름
+   * @param models 패키지의 모델
+   * @return Java 소스
+   */
+  static String adapters(String packageName, List<ModelType> models) {
+    AdapterSourceWriter writer = new AdapterSourceWriter();
+    writer.writeAdapters(packageName, models);
+    return writer.out.toString();
+  }
+
+  /**
+   * 패키지 이름으로 GsonTypeAdapters를 찾는 TypeAdapterFactory 소스 생성
+   *
+   * @param qualifiedName 팩토리 클래스의 정규화된 이름
+   * @param packageNames GsonTypeAdapters를 생성한 패키지
+   * @return Java 소스
+   */
+  static String factory(String qualifiedName, Collection<String> packageNames) {
+    AdapterSourceWriter writer = new AdapterSourceWriter();
+    writer.writeFactory(qualifiedName, packageNames);
+    return writer.out.toString();
+  }
+
+  private void writeAdapters(String packageName, List<ModelType> models) {
+    out.append(HEADER);
+    line("package " + packageName + ";");
+    line("");
+    line("/** " + packageName + " 모델의 리플렉션을 사용하지 않는 Gson TypeAdapter */");
+    line("public final class " + ADAPTERS_CLASS + " {");
+    indent++;
+    line("");
+    line("private " + ADAPTERS_CLASS + "() {}");
+    line("");
+    line("/**");
+    line(" * rawType의 TypeAdapter 생성");
+    line(" *");
+    line(" * @param gson 필드 값을 읽고 쓰는 어댑터를 가져올 Gson");
+    line(" * @param rawType 모델 클래스");
+    line(" * @param <T> 모델 타입");
+    line(" * @return TypeAdapter, 이 패키지의 모델이 아니면 null");
+    line(" */");
+    line("@SuppressWarnings(\"unchecked\")");
+    line(
+        "public static <T> "
+            + TYPE_ADAPTER
+            + "<T> create("
+            + GSON
+            + " gson, Class<? super T> rawType) {");
+    indent++;
+    // 모델 클래스를 미리 로드하지 않도록 이름으로 먼저 찾음
+    line("switch (rawType.getName()) {");
+    indent++;
+    for (ModelType model : models) {
+      line("case \"" + model.getBinaryName() + "\":");
+      indent++;
+      line("return rawType == " + model.getCanonicalName() + ".class");
+      line(
+          "    ? ("
+              + TYPE_ADAPTER
+              + "<T>) new "
+              + model.getAdapterName()
+              + (model.isEnumType() ? "()" : "(gson)"));
+      line("    : null;");
+      indent--;
+    }
+    line("default:");
+    line("  return null;");
+    indent--;
+    line("}");
+    indent--;
+    line("}");
+    for (ModelType model : models) {
+      line("");
+      if (model.isEnumType()) {
+        writeEnumAdapter(model);
+      } else {
+        writeClassAdapter(model);
+      }
+    }
+    indent--;
+    line("}");
+  }
+
+  private void writeClassAdapter(ModelType model) {
+    String type = model.getCanonicalName();
+    line(
+        "static final class "
+            + model.getAdapterName()
+            + " extends "
+            + TYPE_ADAPTER
+            + "<"
+            + type
+            + "> {");
+    indent++;
+    for (ModelType.Adapter adapter : model.getAdapters()) {
+      line(
+          "private final "
+              + TYPE_ADAPTER
+              + "<"
+              + adapter.getTypeName()
+              + "> "
+              + adapter.getFieldName()
+              + ";");
+    }
+    line("");
+    if (hasParameterizedAdapter(model)) {
+      line("@SuppressWarnings(\"unchecked\")");
+    }
+    line(model.getAdapterName() + "(" + GSON + " gson) {");
+    indent++;
+    for (ModelType.Adapter adapter : model.getAdapters()) {
+      line("this." + adapter.getFieldName() + " = " + adapter.getInitializer() + ";");
+    }
+    indent--;
+    line("}");
+    line("");
+    line("@Override");
+    line(
+        "public void write("
+            + JSON_WRITER
+            + " out, "
+            + type
+            + " value) throws "
+            + IO_EXCEPTION
+            + " {");
+    indent++;
+    writeNullValue();
+    line("out.beginObject();");
+    for (ModelType.Field field : model.getFields()) {
+      if (!field.isSerialize()) {
+        continue;
+      }
+      line("out.name(" + literal(field.getSerializedName()) + ");");
+      line(field.getAdapter().getFieldName() + ".write(out, value." + field.getGetter() + "());");
+    }
+    line("out.endObject();");
+    indent--;
+    line("}");
+    line("");
+    line("@Override");
+    line("public " + type + " read(" + JSON_READER + " in) throws " + IO_EXCEPTION + " {");
+    indent++;
+    writeReadNull();
+    line(type + " value = new " + type + "();");
+    // 리플렉션 어댑터와 같이 객체가 아닌 JSON은 JsonSyntaxException으로 알림
+    line("try {");
+    indent++;
+    line("in.beginObject();");
+    line("while (in.hasNext()) {");
+    indent++;
+    line("switch (in.nextName()) {");
+    indent++;
+    for (ModelType.Field field : model.getFields()) {
+      if (!field.isDeserialize()) {
+        continue;
+      }
+      line("case " + literal(field.getSerializedName()) + ":");
+      indent++;
+      if (field.isPrimitive()) {
+        String local = "read" + field.getSetter().substring("set".length());
+        line(
+            field.getAdapter().getTypeName()
+                + " "
+                + local
+                + " = "
+                + field.getAdapter().getFieldName()
+                + ".read(in);");
+        line("if (" + local + " != null) {");
+        line("  value." + field.getSetter() + "(" + local + ");");
+        line("}");
+      } else {
+        line(
+            "value." + field.getSetter() + "(" + field.getAdapter().getFieldName() + ".read(in));");
+      }
+      line("break;");
+      indent--;
+    }
+    line("default:");
+    line("  in.skipValue();");
+    indent--;
+    line("}");
+    indent--;
+    line("}");
+    line("in.endObject();");
+    indent--;
+    line("} catch (IllegalStateException e) {");
+    line("  throw new com.google.gson.JsonSyntaxException(e);");
+    line("}");
+    line("return value;");
+    indent--;
+    line("}");
+    indent--;
+    line("}");
+  }
+
+  private void writeEnumAdapter(ModelType model) {
+    String type = model.getCanonicalName();
+    line(
+        "static final class "
+            + model.getAdapterName()
+            + " extends "
+            + TYPE_ADAPTER
+            + "<"
+            + type
+            + "> {");
+    indent++;
+    line("");
+    line("@Override");
+    line(
+        "public void write("
+            + JSON_WRITER
+            + " out, "
+            + type
+            + " value) throws "
+            + IO_EXCEPTION
+            + " {");
+    indent++;
+    writeNullValue();
+    line("switch (value) {");
+    indent++;
+    for (Map.Entry<String, String> constant : model.getConstants().entrySet()) {
+      line("case " + constant.getKey() + ":");
+      line("  out.value(" + literal(constant.getValue()) + ");");
+      line("  break;");
+    }
+    line("default:");
+    line("  out.value(value.name());");
+    indent--;
+    line("}");
+    indent--;
+    line("}");
+    line("");
+    line("@Override");
+    line("public " + type + " read(" + JSON_READER + " in) throws " + IO_EXCEPTION + " {");
+    indent++;
+    writeReadNull();
+    // Gson의 열거형 어댑터와 같이 알 수 없는 값은 null
+    line("switch (in.nextString()) {");
+    indent++;
+    for (Map.Entry<String, String> constant : model.getConstants().entrySet()) {
+      line("case " + literal(constant.getValue()) + ":");
+      line("  return " + type + "." + constant.getKey() + ";");
+    }
+    line("default:");
+    line("  return null;");
+    indent--;
+    line("}");
+    indent--;
+    line("}");
+    indent--;
+    line("}");
+  }
+
+  private void writeFactory(String qualifiedName, Collection<String> packageNames) {
+    int index = qualifiedName.lastIndexOf('.');
+    String packageName = qualifiedName.substring(0, index);
+    String simpleName = qualifiedName.substring(index + 1);
+    out.append(HEADER);
+    line("package " + packageName + ";");
+    line("");
+    line("/** 빌드 시점에 생성한 모델 TypeAdapter를 Gson에 제공하는 팩토리, GsonUtil이 ServiceLoader로 등록함 */");
+    line("public final class " + simpleName + " implements " + GENERATED_ADAPTERS_INTERFACE + " {");
+    indent++;
+    line("");
+    line("@Override");
+    line(
+        "public <T> "
+            + TYPE_ADAPTER
+            + "<T> create("
+            + GSON
+            + " gson, com.google.gson.reflect.TypeToken<T> type) {");
+    indent++;
+    line("Class<? super T> rawType = type.getRawType();");
+    line("String name = rawType.getName();");
+    line("int index = name.lastIndexOf('.');");
+    line("if (index < 0) {");
+    line("  return null;");
+    line("}");
+    line("switch (name.substring(0, index)) {");
+    indent++;
+    for (String name : packageNames) {
+      line("case \"" + name + "\":");
+      line("  return " + name + "." + ADAPTERS_CLASS + ".create(gson, rawType);");
+    }
+    line("default:");
+    line("  return null;");
+    indent--;
+    line("}");
+    indent--;
+    line("}");
+    indent--;
+    line("}");
+  }
+
+  private void writeNullValue() {
+    line("if (value == null) {");
+    line("  out.nullValue();");
+    line("  return;");
+    line("}");
+  }
+
+  private void writeReadNull() {
+    line("if (in.peek() == " + JSON_TOKEN + ".NULL) {");
+    line("  in.nextNull();");
+    line("  return null;");
+    line("}");
+  }
+
+  private static boolean hasParameterizedAdapter(ModelType model) {
+    for (ModelType.Adapter adapter : model.getAdapters()) {
+      if (adapter.isParameterized()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void line(String text) {
+    if (!text.isEmpty()) {
+      for (int i = 0; i < indent; i++) {
+        out.append("  ");
+      }
+      out.append(text);
+    }
+    out.append('\n');
+  }
+
+  private static String literal(String value) {
+    StringBuilder builder = new StringBuilder("\"");
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        builder.append('\\').append(c);
+      } else if (c < 0x20 || c > 0x7e) {
+        builder.append(String.format("\\u%04x", (int) c));
+      } else {
+        builder.append(c);
+      }
+    }
+    return builder.append('"').toString();
+  }
+}
@@ -0,0 +1,145 @@
+package com.wechat.pay.java.processor;
+
+import com.google.gson.annotations.SerializedName;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * {@code @SerializedName}을 사용하는 모델마다 리플렉션을 사용하지 않는 Gson TypeAdapter를 생성하는 어노테이션 프로세서.
+ *
+ * <p>패키지마다 모델 어댑터를 모은 GsonTypeAdapters 클래스를, 전체에 대해 패키지 이름으로 GsonTypeAdapters를 찾는
+ * TypeAdapterFactory 하나를 생성하고, 팩토리를 SDK 전용 서비스인
+ * META-INF/services/com.wechat.pay.java.core.util.GeneratedAdapters에 등록함. 팩토리 이름은 {@value
+ * #FACTORY_OPTION} 옵션으로 지정함.
+ *
+ * <p>상속, 제네릭, {@code @SerializedName}이 없는 필드, getter/setter가 없는 필드처럼 리플렉션 어댑터와 같은 결과를 보장할 수 없는 모델은
+ * 생성하지 않으며, 이런 모델은 지금처럼 Gson의 리플렉션 어댑터로 처리됨
+ */
+@SupportedAnnotationTypes("com.google.gson.annotations.SerializedName")
+@SupportedOptions(GsonTypeAdapterProcessor.FACTORY_OPTION)
+public final class GsonTypeAdapterProcessor extends AbstractProcessor {
+
+  static final String FACTORY_OPTION = "wechatpay.gsonTypeAdapterFactory";
+  private static final String DEFAULT_FACTORY =
+      "com.wechat.pay.java.service.GeneratedTypeAdapterFactory";
+  private static final String SERVICE_FILE =
+      "META-INF/services/" + AdapterSourceWriter.GENERATED_ADAPTERS_INTERFACE;
+
+  private boolean generated;
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    if (annotations.isEmpty()) {
+      return false;
+    }
+    Set<TypeElement> types =
+        new TreeSet<>(Comparator.comparing(type -> type.getQualifiedName().toString()));
+    for (Element element : roundEnv.getElementsAnnotatedWith(SerializedName.class)) {
+      Element enclosing = element.getEnclosingElement();
+      if (enclosing.getKind() == ElementKind.CLASS || enclosing.getKind() == ElementKind.ENUM) {
+        types.add((TypeElement) enclosing);
+      }
+    }
+    if (types.isEmpty()) {
+      return false;
+    }
+    if (generated) {
+      // 팩토리는 한 번만 생성할 수 있으므로, 생성된 소스에서 새로 나온 모델은 리플렉션 어댑터를 사용함
+      note("%d models found in a later round use reflective adapters", types.size());
+      return false;
+    }
+    generated = true;
+
+    ModelScanner scanner = new ModelScanner(processingEnv);
+    Map<String, List<ModelType>> models = new TreeMap<>();
+    int skipped = 0;
+    for (TypeElement type : types) {
+      try {
+        ModelType model = scanner.scan(type);
+        models.computeIfAbsent(model.getPackageName(), key -> new ArrayList<>()).add(model);
+      } catch (ModelScanner.UnsupportedModelException e) {
+        skipped++;
+        note("%s uses the reflective adapter: %s", type.getQualifiedName(), e.getMessage());
+      }
+    }
+    if (models.isEmpty()) {
+      return false;
+    }
+    String factory = processingEnv.getOptions().getOrDefault(FACTORY_OPTION, DEFAULT_FACTORY);
+    try {
+      for (Map.Entry<String, List<ModelType>> entry : models.entrySet()) {
+        writeSource(
+            entry.getKey() + "." + AdapterSourceWriter.ADAPTERS_CLASS,
+            AdapterSourceWriter.adapters(entry.getKey(), entry.getValue()),
+            entry.getValue());
+      }
+      writeSource(factory, AdapterSourceWriter.factory(factory, models.keySet()), null);
+      writeServiceFile(factory);
+    } catch (IOException e) {
+      processingEnv
+          .getMessager()
+          .printMessage(Diagnostic.Kind.ERROR, "Failed to generate Gson TypeAdapters: " + e);
+      return false;
+    }
+    note(
+        "Generated Gson TypeAdapters for %d models, %d models use reflective adapters",
+        types.size() - skipped, skipped);
+    return false;
+  }
+
+  private void writeSource(String qualifiedName, String source, List<ModelType> origins)
+      throws IOException {
+    Filer filer = processingEnv.getFiler();
+    // 증분 컴파일에서 모델이 바뀌면 다시 생성되도록 원본 모델을 함께 전달
+    List<Element> originatingElements = new ArrayList<>();
+    if (origins != null) {
+      for (ModelType model : origins) {
+        originatingElements.add(
+            processingEnv.getElementUtils().getTypeElement(model.getCanonicalName()));
+      }
+    }
+    JavaFileObject file =
+        filer.createSourceFile(qualifiedName, originatingElements.toArray(new Element[0]));
+    try (Writer writer = file.openWriter()) {
+      writer.write(source);
+    }
+  }
+
+  private void writeServiceFile(String factory) throws IOException {
+    FileObject file =
+        processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+    try (Writer writer = file.openWriter()) {
+      writer.write(factory);
+      writer.write('\n');
+    }
+  }
+
+  private void note(String format, Object... args) {
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, String.format(format, args));
+  }
+}
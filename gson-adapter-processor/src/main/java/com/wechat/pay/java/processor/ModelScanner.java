@@ -0,0 +1,293 @@
+package com.wechat.pay.java.processor;
+
+import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.SerializedName;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+/** 모델 클래스와 열거형을 분석하여 TypeAdapter를 생성할 수 있는지 확인하고 {@link ModelType}을 만듦 */
+final class ModelScanner {
+
+  private static final String TYPE_TOKEN = "com.google.gson.reflect.TypeToken";
+
+  private final Elements elements;
+  private final Types types;
+
+  ModelScanner(ProcessingEnvironment processingEnv) {
+    this.elements = processingEnv.getElementUtils();
+    this.types = processingEnv.getTypeUtils();
+  }
+
+  /**
+   * 모델 분석
+   *
+   * @param type 모델 클래스 또는 열거형
+   * @return 분석 결과
+   * @throws UnsupportedModelException 리플렉션 어댑터와 같은 결과를 보장할 수 없는 모델
+   */
+  ModelType scan(TypeElement type) throws UnsupportedModelException {
+    checkAccessible(type);
+    ModelType model =
+        new ModelType(
+            type.getKind() == ElementKind.ENUM,
+            elements.getPackageOf(type).getQualifiedName().toString(),
+            type.getQualifiedName().toString(),
+            elements.getBinaryName(type).toString(),
+            adapterName(type));
+    if (model.isEnumType()) {
+      scanEnum(type, model);
+    } else {
+      scanClass(type, model);
+    }
+    return model;
+  }
+
+  private void scanEnum(TypeElement type, ModelType model) throws UnsupportedModelException {
+    Set<String> names = new HashSet<>();
+    for (Element element : type.getEnclosedElements()) {
+      if (element.getKind() != ElementKind.ENUM_CONSTANT) {
+        continue;
+      }
+      String constantName = element.getSimpleName().toString();
+      SerializedName serializedName = element.getAnnotation(SerializedName.class);
+      if (serializedName != null && serializedName.alternate().length > 0) {
+        throw new UnsupportedModelException(constantName + " has alternate names");
+      }
+      String name = serializedName == null ? constantName : serializedName.value();
+      if (!names.add(name)) {
+        throw new UnsupportedModelException("duplicate JSON value " + name);
+      }
+      model.addConstant(constantName, name);
+    }
+  }
+
+  private void scanClass(TypeElement type, ModelType model) throws UnsupportedModelException {
+    if (!type.getTypeParameters().isEmpty()) {
+      throw new UnsupportedModelException("generic class");
+    }
+    if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+      throw new UnsupportedModelException("abstract class");
+    }
+    if (!isObject(type.getSuperclass())) {
+      throw new UnsupportedModelException("superclass fields would not be generated");
+    }
+    if (!hasNoArgConstructor(type)) {
+      throw new UnsupportedModelException("no accessible no-arg constructor");
+    }
+    Set<String> names = new HashSet<>();
+    for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+      Set<Modifier> modifiers = field.getModifiers();
+      // Gson 기본 설정과 같이 static, transient 필드는 제외
+      if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+        continue;
+      }
+      String fieldName = field.getSimpleName().toString();
+      SerializedName serializedName = field.getAnnotation(SerializedName.class);
+      if (serializedName == null) {
+        throw new UnsupportedModelException(fieldName + " has no @SerializedName");
+      }
+      if (serializedName.alternate().length > 0) {
+        throw new UnsupportedModelException(fieldName + " has alternate names");
+      }
+      if (!names.add(serializedName.value())) {
+        throw new UnsupportedModelException("duplicate JSON field " + serializedName.value());
+      }
+      TypeMirror fieldType = field.asType();
+      if (!isSupported(fieldType)) {
+        throw new UnsupportedModelException(fieldName + " has unsupported type " + fieldType);
+      }
+      boolean primitive = fieldType.getKind().isPrimitive();
+      // 예약어와 겹쳐 밑줄을 붙인 필드(_switch)는 밑줄을 뺀 이름의 getter/setter를 사용함
+      String property = fieldName.replaceFirst("^_+", "");
+      String capitalized = Character.toUpperCase(property.charAt(0)) + property.substring(1);
+      String getter = findGetter(type, fieldType, "get" + capitalized);
+      if (getter == null && fieldType.getKind() == TypeKind.BOOLEAN) {
+        getter = findGetter(type, fieldType, "is" + capitalized);
+      }
+      String setter = findSetter(type, fieldType, "set" + capitalized);
+      if (getter == null || setter == null) {
+        throw new UnsupportedModelException(fieldName + " has no getter or setter");
+      }
+      // GsonUtil의 ExclusionStrategy와 같이 @Expose의 serialize, deserialize를 따름
+      Expose expose = field.getAnnotation(Expose.class);
+      TypeMirror adapterType = primitive ? boxed(fieldType) : fieldType;
+      model.addField(
+          new ModelType.Field(
+              serializedName.value(),
+              getter,
+              setter,
+              model.adapterFor(
+                  adapterType.toString(), simpleName(adapterType), initializer(adapterType)),
+              primitive,
+              expose == null || expose.serialize(),
+              expose == null || expose.deserialize()));
+    }
+  }
+
+  private void checkAccessible(TypeElement type) throws UnsupportedModelException {
+    Element element = type;
+    while (!(element instanceof PackageElement)) {
+      Set<Modifier> modifiers = element.getModifiers();
+      if (modifiers.contains(Modifier.PRIVATE)) {
+        throw new UnsupportedModelException("private type");
+      }
+      Element enclosing = element.getEnclosingElement();
+      if (!(enclosing instanceof PackageElement)
+          && element.getKind() == ElementKind.CLASS
+          && !modifiers.contains(Modifier.STATIC)) {
+        throw new UnsupportedModelException("inner class");
+      }
+      element = enclosing;
+    }
+  }
+
+  private boolean hasNoArgConstructor(TypeElement type) {
+    for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+      if (constructor.getParameters().isEmpty()
+          && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private String findGetter(TypeElement type, TypeMirror fieldType, String name) {
+    for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+      if (method.getSimpleName().contentEquals(name)
+          && method.getParameters().isEmpty()
+          && isCallable(method)
+          && types.isSameType(method.getReturnType(), fieldType)) {
+        return name;
+      }
+    }
+    return null;
+  }
+
+  private String findSetter(TypeElement type, TypeMirror fieldType, String name) {
+    for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+      List<? extends VariableElement> parameters = method.getParameters();
+      if (method.getSimpleName().contentEquals(name)
+          && parameters.size() == 1
+          && isCallable(method)
+          && types.isSameType(parameters.get(0).asType(), fieldType)) {
+        return name;
+      }
+    }
+    return null;
+  }
+
+  private static boolean isCallable(ExecutableElement method) {
+    Set<Modifier> modifiers = method.getModifiers();
+    return !modifiers.contains(Modifier.PRIVATE) && !modifiers.contains(Modifier.STATIC);
+  }
+
+  private boolean isObject(TypeMirror type) {
+    return type.getKind() == TypeKind.DECLARED
+        && ((TypeElement) ((DeclaredType) type).asElement())
+            .getQualifiedName()
+            .contentEquals("java.lang.Object");
+  }
+
+  /** 기본 타입과, 타입 인자가 모두 구체 타입인 클래스 타입만 지원함. 와일드카드, 타입 변수, 배열은 리플렉션 어댑터에 맡김 */
+  private boolean isSupported(TypeMirror type) {
+    if (type.getKind().isPrimitive()) {
+      return true;
+    }
+    if (type.getKind() != TypeKind.DECLARED) {
+      return false;
+    }
+    for (TypeMirror argument : ((DeclaredType) type).getTypeArguments()) {
+      if (argument.getKind() != TypeKind.DECLARED || !isSupported(argument)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private TypeMirror boxed(TypeMirror type) {
+    return types.boxedClass(types.getPrimitiveType(type.getKind())).asType();
+  }
+
+  private static String qualifiedName(TypeMirror type) {
+    return ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+  }
+
+  /** Gson에서 어댑터를 가져오는 식. 제네릭 타입은 리플렉션 대신 TypeToken.getParameterized로 타입을 만듦 */
+  private static String initializer(TypeMirror type) {
+    List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+    if (arguments.isEmpty()) {
+      return "gson.getAdapter(" + qualifiedName(type) + ".class)";
+    }
+    return "(com.google.gson.TypeAdapter<"
+        + type
+        + ">) gson.getAdapter("
+        + parameterized(type)
+        + ")";
+  }
+
+  private static String typeExpression(TypeMirror type) {
+    if (((DeclaredType) type).getTypeArguments().isEmpty()) {
+      return qualifiedName(type) + ".class";
+    }
+    return parameterized(type) + ".getType()";
+  }
+
+  private static String parameterized(TypeMirror type) {
+    StringBuilder builder =
+        new StringBuilder(TYPE_TOKEN)
+            .append(".getParameterized(")
+            .append(qualifiedName(type))
+            .append(".class");
+    for (TypeMirror argument : ((DeclaredType) type).getTypeArguments()) {
+      builder.append(", ").append(typeExpression(argument));
+    }
+    return builder.append(')').toString();
+  }
+
+  /** 어댑터 필드 이름, 예: java.util.List&lt;Promotion&gt; → listPromotion */
+  private static String simpleName(TypeMirror type) {
+    StringBuilder builder =
+        new StringBuilder(((DeclaredType) type).asElement().getSimpleName().toString());
+    for (TypeMirror argument : ((DeclaredType) type).getTypeArguments()) {
+      builder.append(simpleName(argument));
+    }
+    builder.setCharAt(0, Character.toLowerCase(builder.charAt(0)));
+    return builder.toString();
+  }
+
+  /** 중첩 클래스는 바깥 클래스 이름을 붙여 같은 패키지 안에서 이름이 겹치지 않도록 함, 예: Outer.Inner → OuterInnerAdapter */
+  private static String adapterName(TypeElement type) {
+    StringBuilder builder = new StringBuilder("Adapter");
+    Element element = type;
+    while (!(element instanceof PackageElement)) {
+      builder.insert(0, element.getSimpleName());
+      element = element.getEnclosingElement();
+    }
+    return builder.toString();
+  }
+
+  /** TypeAdapter를 생성하지 않고 리플렉션 어댑터를 사용할 모델 */
+  static final class UnsupportedModelException extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    UnsupportedModelException(String reason) {
+      super(reason);
+    }
+  }
+}
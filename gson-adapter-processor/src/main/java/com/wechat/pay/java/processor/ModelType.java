@@ -0,0 +1,196 @@
+package com.wechat.pay.java.processor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** TypeAdapter를 생성할 모델 클래스 또는 열거형 */
+final class ModelType {
+
+  private final boolean enumType;
+  private final String packageName;
+  private final String canonicalName;
+  private final String binaryName;
+  private final String adapterName;
+  private final List<Field> fields = new ArrayList<>();
+  private final Map<String, Adapter> adapters = new LinkedHashMap<>();
+  // 열거형 상수 이름과 JSON 값, 선언 순서
+  private final Map<String, String> constants = new LinkedHashMap<>();
+
+  ModelType(
+      boolean enumType,
+      String packageName,
+      String canonicalName,
+      String binaryName,
+      String adapterName) {
+    this.enumType = enumType;
+    this.packageName = packageName;
+    this.canonicalName = canonicalName;
+    this.binaryName = binaryName;
+    this.adapterName = adapterName;
+  }
+
+  boolean isEnumType() {
+    return enumType;
+  }
+
+  String getPackageName() {
+    return packageName;
+  }
+
+  /** 생성 코드에서 모델을 가리키는 이름, 예: com.example.Outer.Inner */
+  String getCanonicalName() {
+    return canonicalName;
+  }
+
+  /** Class.getName()과 같은 이름, 예: com.example.Outer$Inner */
+  String getBinaryName() {
+    return binaryName;
+  }
+
+  /** GsonTypeAdapters 안에 생성할 어댑터 클래스 이름 */
+  String getAdapterName() {
+    return adapterName;
+  }
+
+  List<Field> getFields() {
+    return fields;
+  }
+
+  Collection<Adapter> getAdapters() {
+    return adapters.values();
+  }
+
+  Map<String, String> getConstants() {
+    return constants;
+  }
+
+  void addField(Field field) {
+    fields.add(field);
+  }
+
+  void addConstant(String constantName, String serializedName) {
+    constants.put(constantName, serializedName);
+  }
+
+  /**
+   * 필드 타입에 해당하는 어댑터를 가져오고, 없으면 추가함. 같은 타입의 필드는 어댑터 하나를 공유함
+   *
+   * @param typeName 어댑터가 다루는 타입, 예: java.util.List&lt;java.lang.String&gt;
+   * @param simpleName 어댑터 필드 이름의 바탕이 되는 이름, 예: listString
+   * @param initializer Gson에서 어댑터를 가져오는 식
+   * @return 어댑터
+   */
+  Adapter adapterFor(String typeName, String simpleName, String initializer) {
+    Adapter adapter = adapters.get(typeName);
+    if (adapter == null) {
+      String fieldName = simpleName + "Adapter";
+      for (int i = 2; containsAdapterField(fieldName); i++) {
+        fieldName = simpleName + "Adapter" + i;
+      }
+      adapter = new Adapter(typeName, fieldName, initializer);
+      adapters.put(typeName, adapter);
+    }
+    return adapter;
+  }
+
+  private boolean containsAdapterField(String fieldName) {
+    for (Adapter adapter : adapters.values()) {
+      if (adapter.getFieldName().equals(fieldName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** 모델의 JSON 필드 하나 */
+  static final class Field {
+
+    private final String serializedName;
+    private final String getter;
+    private final String setter;
+    private final Adapter adapter;
+    private final boolean primitive;
+    private final boolean serialize;
+    private final boolean deserialize;
+
+    Field(
+        String serializedName,
+        String getter,
+        String setter,
+        Adapter adapter,
+        boolean primitive,
+        boolean serialize,
+        boolean deserialize) {
+      this.serializedName = serializedName;
+      this.getter = getter;
+      this.setter = setter;
+      this.adapter = adapter;
+      this.primitive = primitive;
+      this.serialize = serialize;
+      this.deserialize = deserialize;
+    }
+
+    String getSerializedName() {
+      return serializedName;
+    }
+
+    String getGetter() {
+      return getter;
+    }
+
+    String getSetter() {
+      return setter;
+    }
+
+    Adapter getAdapter() {
+      return adapter;
+    }
+
+    /** 기본 타입 필드는 JSON 값이 null이면 리플렉션 어댑터처럼 값을 설정하지 않음 */
+    boolean isPrimitive() {
+      return primitive;
+    }
+
+    boolean isSerialize() {
+      return serialize;
+    }
+
+    boolean isDeserialize() {
+      return deserialize;
+    }
+  }
+
+  /** 모델 어댑터가 필드 값을 읽고 쓸 때 위임하는 Gson 어댑터 */
+  static final class Adapter {
+
+    private final String typeName;
+    private final String fieldName;
+    private final String initializer;
+
+    private Adapter(String typeName, String fieldName, String initializer) {
+      this.typeName = typeName;
+      this.fieldName = fieldName;
+      this.initializer = initializer;
+    }
+
+    String getTypeName() {
+      return typeName;
+    }
+
+    String getFieldName() {
+      return fieldName;
+    }
+
+    String getInitializer() {
+      return initializer;
+    }
+
+    /** 제네릭 타입은 TypeToken으로 가져오므로 unchecked 변환이 필요함 */
+    boolean isParameterized() {
+      return typeName.indexOf('<') >= 0;
+    }
+  }
+}
@@ -0,0 +1,289 @@
+package com.wechat.pay.java.service;
+
+import com.wechat.pay.java.core.pagination.Paginator;
+import com.wechat.pay.java.core.pagination.Paginator.OffsetType;
+import com.wechat.pay.java.service.cashcoupons.CashCouponsService;
+import com.wechat.pay.java.service.cashcoupons.model.AvailableMerchantCollection;
+import com.wechat.pay.java.service.cashcoupons.model.Coupon;
+import com.wechat.pay.java.service.cashcoupons.model.CouponCollection;
+import com.wechat.pay.java.service.cashcoupons.model.ListAvailableMerchantsRequest;
+import com.wechat.pay.java.service.cashcoupons.model.ListCouponsByFilterRequest;
+import com.wechat.pay.java.service.cashcoupons.model.ListStocksRequest;
+import com.wechat.pay.java.service.cashcoupons.model.Stock;
+import com.wechat.pay.java.service.cashcoupons.model.StockCollection;
+import com.wechat.pay.java.service.giftactivity.GiftActivityService;
+import com.wechat.pay.java.service.giftactivity.model.ActivityInformation;
+import com.wechat.pay.java.service.giftactivity.model.ListActivitiesRequest;
+import com.wechat.pay.java.service.giftactivity.model.ListActivitiesResponse;
+import com.wechat.pay.java.service.lovefeast.LovefeastService;
+import com.wechat.pay.java.service.lovefeast.model.ListByUserRequest;
+import com.wechat.pay.java.service.lovefeast.model.OrdersEntity;
+import com.wechat.pay.java.service.lovefeast.model.OrdersListByUserResponse;
+import com.wechat.pay.java.service.merchantexclusivecoupon.MerchantExclusiveCouponService;
+import com.wechat.pay.java.service.merchantexclusivecoupon.model.CouponCodeEntity;
+import com.wechat.pay.java.service.merchantexclusivecoupon.model.CouponCodeListResponse;
+import com.wechat.pay.java.service.merchantexclusivecoupon.model.QueryCouponCodeListRequest;
+import com.wechat.pay.java.service.payrollcard.PayrollCardService;
+import com.wechat.pay.java.service.payrollcard.model.AuthenticationEntity;
+import com.wechat.pay.java.service.payrollcard.model.ListAuthenticationsRequest;
+import com.wechat.pay.java.service.payrollcard.model.ListAuthenticationsResponse;
+import com.wechat.pay.java.service.retailstore.RetailStoreService;
+import com.wechat.pay.java.service.retailstore.model.ListRepresentativeRequest;
+import com.wechat.pay.java.service.retailstore.model.ListRepresentativeResponse;
+import com.wechat.pay.java.service.retailstore.model.ListStoreRequest;
+import com.wechat.pay.java.service.retailstore.model.ListStoreResponse;
+import com.wechat.pay.java.service.retailstore.model.RepresentativeInfo;
+import com.wechat.pay.java.service.retailstore.model.RetailStoreInfo;
+import com.wechat.pay.java.service.transferbatch.TransferBatchService;
+import com.wechat.pay.java.service.transferbatch.model.GetTransferBatchByNoRequest;
+import com.wechat.pay.java.service.transferbatch.model.TransferBatchEntity;
+import com.wechat.pay.java.service.transferbatch.model.TransferDetailCompact;
+
+/**
+ * offset/limit 목록 API의 자동 페이지네이션. 요청의 offset과 limit은 페이지를 조회할 때마다 덮어쓰며, limit이 없으면 API가 허용하는 최대 페이지
+ * 크기를 사용함. 같은 요청 객체를 다른 곳에서 동시에 사용하면 안 됨
+ *
+ * <pre>{@code
+ * try (Stream<Stock> stocks = Paginators.listStocks(cashCouponsService, request).stream(executor)) {
+ *   stocks.forEach(stock -> ...);
+ * }
+ * }</pre>
+ */
+public final class Paginators {
+
+  private Paginators() {}
+
+  /**
+   * 쿠폰 배치 목록 조회, {@link CashCouponsService#listStocks}
+   *
+   * @param service 서비스
+   * @param request 요청 파라미터, offset은 페이지 번호
+   * @return 쿠폰 배치 Paginator
+   */
+  public static Paginator<StockCollection, Stock> listStocks(
+      CashCouponsService service, ListStocksRequest request) {
+    return new Paginator.Builder<StockCollection, Stock>()
+        .offsetType(OffsetType.PAGE_NUMBER)
+        .pageSize(pageSize(request.getLimit(), 10))
+        .fetcher(
+            (offset, limit) -> {
+              request.setOffset((int) offset);
+              request.setLimit(limit);
+              return service.listStocks(request);
+            })
+        .items(StockCollection::getData)
+        .totalCount(StockCollection::getTotalCount)
+        .build();
+  }
+
+  /**
+   * 조건에 맞는 사용자 쿠폰 조회, {@link CashCouponsService#listCouponsByFilter}
+   *
+   * @param service 서비스
+   * @param request 요청 파라미터, offset은 페이지 번호
+   * @return 쿠폰 Paginator
+   */
+  public static Paginator<CouponCollection, Coupon> listCouponsByFilter(
+      CashCouponsService service, ListCouponsByFilterRequest request) {
+    return new Paginator.Builder<CouponCollection, Coupon>()
+        .offsetType(OffsetType.PAGE_NUMBER)
+        .pageSize(pageSize(request.getLimit(), 20))
+        .fetcher(
+            (offset, limit) -> {
+              request.setOffset((int) offset);
+              request.setLimit(limit);
+              return service.listCouponsByFilter(request);
+            })
+        .items(CouponCollection::getData)
+        .totalCount(CouponCollection::getTotalCount)
+        .build();
+  }
+
+  /**
+   * 쿠폰 사용 가능 가맹점 조회, {@link CashCouponsService#listAvailableMerchants}
+   *
+   * @param service 서비스
+   * @param request 요청 파라미터, offset은 페이지 번호
+   * @return 가맹점 번호 Paginator
+   */
+  public static Paginator<AvailableMerchantCollection, String> listAvailableMerchants(
+      CashCouponsService service, ListAvailableMerchantsRequest request) {
+    return new Paginator.Builder<AvailableMerchantCollection, String>()
+        .offsetType(OffsetType.PAGE_NUMBER)
+        .pageSize(pageSize(request.getLimit(), 50))
+        .fetcher(
+            (offset, limit) -> {
+              request.setOffset((int) offset);
+              request.setLimit(limit);
+              return service.listAvailableMerchants(request);
+            })
+        .items(AvailableMerchantCollection::getData)
+        .totalCount(AvailableMerchantCollection::getTotalCount)
+        .build();
+  }
+
+  /**
+   * 소매점 활동의 매장 목록 조회, {@link RetailStoreService#listStore}
+   *
+   * @param service 서비스
+   * @param request 요청 파라미터, offset은 페이지 번호
+   * @return 매장 Paginator
+   */
+  public static Paginator<ListStoreResponse, RetailStoreInfo> listStore(
+      RetailStoreService service, ListStoreRequest request) {
+    return new Paginator.Builder<ListStoreResponse, RetailStoreInfo>()
+        .offsetType(OffsetType.PAGE_NUMBER)
+        .pageSize(pageSize(request.getLimit(), 10))
+        .fetcher(
+            (offset, limit) -> {
+              request.setOffset(offset);
+              request.setLimit((long) limit);
+              return service.listStore(request);
+            })
+        .items(ListStoreResponse::getData)
+        .totalCount(ListStoreResponse::getTotalCount)
+        .build();
+  }
+
+  /**
+   * 소매점 활동의 비즈니스 대리인 목록 조회, {@link RetailStoreService#listRepresentative}
+   *
+   * @param service 서비스
+   * @param request 요청 파라미터, offset은 페이지 번호
+   * @return 비즈니스 대리인 Paginator
+   */
+  public static Paginator<ListRepresentativeResponse, RepresentativeInfo> listRepresentative(
+      RetailStoreService service, ListRepresentativeRequest request) {
+    return new Paginator.Builder<ListRepresentativeResponse, RepresentativeInfo>()
+        .offsetType(OffsetType.PAGE_NUMBER)
+        .pageSize(pageSize(request.getLimit(), 10))
+        .fetcher(
+            (offset, limit) -> {
+              request.setOffset(offset);
+              request.setLimit((long) limit);
+              return service.listRepresentative(request);
+            })
+        .items(ListRepresentativeResponse::getData)
+        .totalCount(ListRepresentativeResponse::getTotalCount)
+        .build();
+  }
+
+  /**
+   * 결제 선물 활동 목록 조회, {@link GiftActivityService#listActivities}
+   *
+   * @param service 서비스
+   * @param request 요청 파라미터, offset은 페이지 번호
+   * @return 활동 Paginator
+   */
+  public static Paginator<ListActivitiesResponse, ActivityInformation> listActivities(
+      GiftActivityService service, ListActivitiesRequest request) {
+    return new Paginator.Builder<ListActivitiesResponse, ActivityInformation>()
+        .offsetType(OffsetType.PAGE_NUMBER)
+        .pageSize(pageSize(request.getLimit(), 10))
+        .fetcher(
+            (offset, limit) -> {
+              request.setOffset(offset);
+              request.setLimit((long) limit);
+              return service.listActivities(request);
+            })
+        .items(ListActivitiesResponse::getData)
+        .totalCount(ListActivitiesResponse::getTotalCount)
+        .build();
+  }
+
+  /**
+   * 가맹점 전용 쿠폰의 사전 업로드 코드 목록 조회, {@link MerchantExclusiveCouponService#queryCouponCodeList}
+   *
+   * @param service 서비스
+   * @param request 요청 파라미터, offset은 항목 위치
+   * @return 쿠폰 코드 Paginator
+   */
+  public static Paginator<CouponCodeListResponse, CouponCodeEntity> queryCouponCodeList(
+      MerchantExclusiveCouponService service, QueryCouponCodeListRequest request) {
+    return new Paginator.Builder<CouponCodeListResponse, CouponCodeEntity>()
+        .pageSize(pageSize(request.getLimit(), 50))
+        .fetcher(
+            (offset, limit) -> {
+              request.setOffset(offset);
+              request.setLimit((long) limit);
+              return service.queryCouponCodeList(request);
+            })
+        .items(CouponCodeListResponse::getData)
+        .totalCount(CouponCodeListResponse::getTotalCount)
+        .build();
+  }
+
+  /**
+   * 사용자의 사랑의 식사 주문 목록 조회, {@link LovefeastService#listByUser}
+   *
+   * @param service 서비스
+   * @param request 요청 파라미터, offset은 항목 위치
+   * @return 주문 Paginator
+   */
+  public static Paginator<OrdersListByUserResponse, OrdersEntity> listByUser(
+      LovefeastService service, ListByUserRequest request) {
+    return new Paginator.Builder<OrdersListByUserResponse, OrdersEntity>()
+        .pageSize(pageSize(request.getLimit(), 10))
+        .fetcher(
+            (offset, limit) -> {
+              request.setOffset((int) offset);
+              request.setLimit(limit);
+              return service.listByUser(request);
+            })
+        .items(OrdersListByUserResponse::getData)
+        .totalCount(OrdersListByUserResponse::getTotalCount)
+        .build();
+  }
+
+  /**
+   * 급여 카드 신원 인증 기록 조회, {@link PayrollCardService#listAuthentications}
+   *
+   * @param service 서비스
+   * @param request 요청 파라미터, offset은 항목 위치
+   * @return 인증 기록 Paginator
+   */
+  public static Paginator<ListAuthenticationsResponse, AuthenticationEntity> listAuthentications(
+      PayrollCardService service, ListAuthenticationsRequest request) {
+    return new Paginator.Builder<ListAuthenticationsResponse, AuthenticationEntity>()
+        .pageSize(pageSize(request.getLimit(), 10))
+        .fetcher(
+            (offset, limit) -> {
+              request.setOffset(offset);
+              request.setLimit((long) limit);
+              return service.listAuthentications(request);
+            })
+        .items(ListAuthenticationsResponse::getData)
+        .totalCount(ListAuthenticationsResponse::getTotalCount)
+        .build();
+  }
+
+  /**
+   * 위챗페이 배치 번호로 이체 상세 목록 조회, {@link TransferBatchService#getTransferBatchByNo}. needQueryDetail은
+   * true로 설정함
+   *
+   * @param service 서비스
+   * @param request 요청 파라미터, offset은 항목 위치
+   * @return 이체 상세 Paginator
+   */
+  public static Paginator<TransferBatchEntity, TransferDetailCompact> getTransferBatchByNo(
+      TransferBatchService service, GetTransferBatchByNoRequest request) {
+    return new Paginator.Builder<TransferBatchEntity, TransferDetailCompact>()
+        .pageSize(pageSize(request.getLimit(), 100))
+        .fetcher(
+            (offset, limit) -> {
+              request.setNeedQueryDetail(true);
+              request.setOffset((int) offset);
+              request.setLimit(limit);
+              return service.getTransferBatchByNo(request);
+            })
+        .items(TransferBatchEntity::getTransferDetailList)
+        .totalCount(
+            entity ->
+                entity.getTransferBatch() == null ? null : entity.getTransferBatch().getTotalNum())
+        .build();
+  }
+
+  private static int pageSize(Number limit, int defaultPageSize) {
+    return limit == null || limit.intValue() <= 0 ? defaultPageSize : limit.intValue();
+  }
+}
@@ -15,11 +15,24 @@ import com.wechat.pay.java.service.billdownload.model.QueryBillEntity;
 import com.wechat.pay.java.service.billdownload.model.TarType;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Objects;
 import java.util.zip.GZIPInputStream;
 
 public class BillDownloadServiceExtension {
 
+  private static final int HTTP_RANGE_NOT_SATISFIABLE = 416;
+  private static final long TRANSFER_CHUNK_SIZE = 1024 * 1024;
+  private static final int GZIP_BUFFER_SIZE = 8192;
+  private static final String RESUME_SUFFIX = ".resume";
+
   private final BillDownloadService service;
 
   private final HttpClient httpClient;
@@ -68,11 +81,137 @@ public class BillDownloadServiceExtension {
     return new DigestBillEntity(stream, billEntity.getHashValue(), billEntity.getHashType());
   }
 
+  /**
+   * 거래 청단을 행 단위로 읽기. 청단 전체를 메모리에 올리지 않으며, 마지막 행까지 읽으면 요약을 자동으로 검증함. 압축 해제 지원.
+   *
+   * @param request 요청 매개변수
+   * @return BillReader, 사용 후 닫아야 함
+   * @throws HttpException HTTP 요청 전송 실패. 예: 요청 매개변수 구성 실패, 요청 전송 실패, I/O 오류 등. 요청 정보 포함.
+   * @throws ValidationException HTTP 요청 전송 성공, 위챗페이 반환 서명 검증 실패.
+   * @throws ServiceException HTTP 요청 전송 성공, 서비스 반환 예외. 예: 반환 상태 코드가 200보다 작거나 300보다 크거나 같음.
+   * @throws MalformedMessageException 서비스 반환 성공, 반환 본문 파싱 실패 또는 청단 요약 검증 실패.
+   */
+  public BillReader readTradeBill(GetTradeBillRequest request) {
+    return new BillReader(getTradeBill(request));
+  }
+
+  /**
+   * 자금 청단을 행 단위로 읽기. 청단 전체를 메모리에 올리지 않으며, 마지막 행까지 읽으면 요약을 자동으로 검증함. 압축 해제 지원.
+   *
+   * @param request 요청 매개변수
+   * @return BillReader, 사용 후 닫아야 함
+   * @throws HttpException HTTP 요청 전송 실패. 예: 요청 매개변수 구성 실패, 요청 전송 실패, I/O 오류 등. 요청 정보 포함.
+   * @throws ValidationException HTTP 요청 전송 성공, 위챗페이 반환 서명 검증 실패.
+   * @throws ServiceException HTTP 요청 전송 성공, 서비스 반환 예외. 예: 반환 상태 코드가 200보다 작거나 300보다 크거나 같음.
+   * @throws MalformedMessageException 서비스 반환 성공, 반환 본문 파싱 실패 또는 청단 요약 검증 실패.
+   */
+  public BillReader readFundFlowBill(GetFundFlowBillRequest request) {
+    return new BillReader(getFundFlowBill(request));
+  }
+
+  /**
+   * 거래 청단을 파일로 다운로드. 다운로드 중에는 "파일명.resume"에 청단 요약을 기록하며, 파일과 함께 남아 있는 기록이 같은 청단이면 파일 크기부터 HTTP
+   * Range로 이어서 다운로드하고 아니면 처음부터 다시 다운로드함. 압축된 청단은 압축된 상태로 저장되며, 반환된 DigestBillEntity에서 읽을 때 압축이 해제됨.
+   *
+   * @param request 요청 매개변수
+   * @param path 저장할 파일 경로
+   * @return 저장한 파일을 읽는 DigestBillEntity, 소비 후 요약을 검증해야 함
+   * @throws HttpException HTTP 요청 전송 실패. 예: 요청 매개변수 구성 실패, 요청 전송 실패, I/O 오류 등. 요청 정보 포함.
+   * @throws ValidationException HTTP 요청 전송 성공, 위챗페이 반환 서명 검증 실패.
+   * @throws ServiceException HTTP 요청 전송 성공, 서비스 반환 예외. 예: 반환 상태 코드가 200보다 작거나 300보다 크거나 같음.
+   * @throws MalformedMessageException 서비스 반환 성공, content-type이 application/json이 아니거나 반환 본문 파싱 실패.
+   * @throws UncheckedIOException 파일 쓰기 또는 읽기 실패
+   */
+  public DigestBillEntity downloadTradeBill(GetTradeBillRequest request, Path path) {
+    QueryBillEntity billEntity = service.getTradeBill(request);
+    return spoolBill(billEntity, request.getTarType(), path);
+  }
+
+  /**
+   * 자금 청단을 파일로 다운로드. 다운로드 중에는 "파일명.resume"에 청단 요약을 기록하며, 파일과 함께 남아 있는 기록이 같은 청단이면 파일 크기부터 HTTP
+   * Range로 이어서 다운로드하고 아니면 처음부터 다시 다운로드함. 압축된 청단은 압축된 상태로 저장되며, 반환된 DigestBillEntity에서 읽을 때 압축이 해제됨.
+   *
+   * @param request 요청 매개변수
+   * @param path 저장할 파일 경로
+   * @return 저장한 파일을 읽는 DigestBillEntity, 소비 후 요약을 검증해야 함
+   * @throws HttpException HTTP 요청 전송 실패. 예: 요청 매개변수 구성 실패, 요청 전송 실패, I/O 오류 등. 요청 정보 포함.
+   * @throws ValidationException HTTP 요청 전송 성공, 위챗페이 반환 서명 검증 실패.
+   * @throws ServiceException HTTP 요청 전송 성공, 서비스 반환 예외. 예: 반환 상태 코드가 200보다 작거나 300보다 크거나 같음.
+   * @throws MalformedMessageException 서비스 반환 성공, content-type이 application/json이 아니거나 반환 본문 파싱 실패.
+   * @throws UncheckedIOException 파일 쓰기 또는 읽기 실패
+   */
+  public DigestBillEntity downloadFundFlowBill(GetFundFlowBillRequest request, Path path) {
+    QueryBillEntity billEntity = service.getFundFlowBill(request);
+    return spoolBill(billEntity, request.getTarType(), path);
+  }
+
+  private DigestBillEntity spoolBill(QueryBillEntity billEntity, TarType tarType, Path path) {
+    Path resumePath = path.resolveSibling(path.getFileName() + RESUME_SUFFIX);
+    // download_url의 token은 조회할 때마다 바뀌므로 청단 요약으로 같은 청단인지 판단
+    String resumeKey = billEntity.getHashType() + ":" + billEntity.getHashValue();
+    try (FileChannel channel =
+        FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+      if (!resumeKey.equals(readResumeKey(resumePath))) {
+        channel.truncate(0);
+        Files.write(resumePath, resumeKey.getBytes(StandardCharsets.UTF_8));
+      }
+      long position = channel.size();
+      InputStream stream;
+      try {
+        stream = httpClient.download(billEntity.getDownloadUrl(), position);
+      } catch (ServiceException e) {
+        // 이미 전체 파일을 받은 경우 서버는 416으로 응답함
+        if (e.getHttpStatusCode() != HTTP_RANGE_NOT_SATISFIABLE) {
+          throw e;
+        }
+        stream = null;
+      }
+      if (stream != null) {
+        try (ReadableByteChannel source = Channels.newChannel(stream)) {
+          long transferred;
+          while ((transferred = channel.transferFrom(source, position, TRANSFER_CHUNK_SIZE)) > 0) {
+            position += transferred;
+          }
+        }
+      }
+      Files.delete(resumePath);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    InputStream fileStream;
+    try {
+      fileStream = Files.newInputStream(path);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    try {
+      return new DigestBillEntity(
+          decompress(fileStream, tarType), billEntity.getHashValue(), billEntity.getHashType());
+    } catch (RuntimeException e) {
+      try {
+        fileStream.close();
+      } catch (IOException closeException) {
+        e.addSuppressed(closeException);
+      }
+      throw e;
+    }
+  }
+
+  private static String readResumeKey(Path resumePath) throws IOException {
+    if (!Files.isRegularFile(resumePath)) {
+      return null;
+    }
+    return new String(Files.readAllBytes(resumePath), StandardCharsets.UTF_8);
+  }
+
   private InputStream getBillStream(QueryBillEntity billEntity, TarType tarType) {
-    InputStream stream = httpClient.download(billEntity.getDownloadUrl());
+    return decompress(httpClient.download(billEntity.getDownloadUrl()), tarType);
+  }
+
+  private static InputStream decompress(InputStream stream, TarType tarType) {
     if (tarType == TarType.GZIP) {
       try {
-        stream = new GZIPInputStream(stream);
+        stream = new GZIPInputStream(stream, GZIP_BUFFER_SIZE);
       } catch (IOException e) {
         throw new MalformedMessageException("invalid response", e);
       }
@@ -0,0 +1,193 @@
+package com.wechat.pay.java.service.billdownload;
+
+import com.wechat.pay.java.core.exception.MalformedMessageException;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 청단을 한 행씩 읽는 리더. 청단 전체를 메모리에 올리지 않으므로 큰 청단도 일정한 메모리로 처리할 수 있음.
+ *
+ * <p>청단의 첫 행은 헤더, 이후 ` 기호로 시작하는 행은 데이터 행이며, 마지막 두 행은 통계 헤더와 통계 행임. 마지막 데이터 행까지 읽으면 청단 요약을 자동으로
+ * 검증하며, 검증에 실패하면 MalformedMessageException을 던짐. 사용 후 close()를 호출해야 함.
+ */
+public class BillReader implements Iterator<BillRow>, Closeable {
+
+  private static final char VALUE_PREFIX = '`';
+  private static final String VALUE_SEPARATOR = ",`";
+  private static final char BOM = '\uFEFF';
+
+  private final DigestBillEntity billEntity;
+  private final BufferedReader reader;
+  private final RowFormat format;
+  private String nextLine;
+  private BillRow summary;
+
+  /**
+   * BillReader 생성자
+   *
+   * @param billEntity 다운로드한 청단, 압축은 이미 해제되어 있어야 함
+   */
+  public BillReader(DigestBillEntity billEntity) {
+    this.billEntity = billEntity;
+    this.reader =
+        new BufferedReader(
+            new InputStreamReader(billEntity.getInputStream(), StandardCharsets.UTF_8));
+    try {
+      String header = readLine();
+      if (header != null && !header.isEmpty() && header.charAt(0) == BOM) {
+        header = header.substring(1);
+      }
+      this.format = new RowFormat(header);
+      this.nextLine = header == null ? null : readLine();
+      if (!isDataLine(nextLine)) {
+        finish();
+      }
+    } catch (RuntimeException e) {
+      // 생성에 실패하면 호출자가 close()를 호출할 수 없으므로 여기서 닫음
+      try {
+        reader.close();
+      } catch (IOException closeException) {
+        e.addSuppressed(closeException);
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * 청단 헤더의 열 이름 목록 가져오기
+   *
+   * @return 열 이름 목록
+   */
+  public List<String> getColumns() {
+    return format.columns;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return isDataLine(nextLine);
+  }
+
+  @Override
+  public BillRow next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    BillRow row = format.parseValues(nextLine);
+    nextLine = readLine();
+    if (!isDataLine(nextLine)) {
+      finish();
+    }
+    return row;
+  }
+
+  /**
+   * 청단 통계 행 가져오기, 모든 데이터 행을 읽은 후에 사용 가능
+   *
+   * @return 통계 행, 아직 데이터 행을 모두 읽지 않았거나 청단에 통계 행이 없으면 null
+   */
+  public BillRow getSummary() {
+    return summary;
+  }
+
+  /**
+   * 남은 데이터 행을 순차 Stream으로 가져오기. Stream을 닫으면 이 리더도 닫힘
+   *
+   * @return 데이터 행의 Stream
+   */
+  public Stream<BillRow> stream() {
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL),
+            false)
+        .onClose(
+            () -> {
+              try {
+                close();
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            });
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  private static boolean isDataLine(String line) {
+    return line != null && !line.isEmpty() && line.charAt(0) == VALUE_PREFIX;
+  }
+
+  private void finish() {
+    if (nextLine != null) {
+      RowFormat summaryFormat = new RowFormat(nextLine);
+      String summaryLine = readLine();
+      if (summaryLine != null) {
+        summary = summaryFormat.parseValues(summaryLine);
+      }
+      // 요약은 청단 전체에 대해 계산되므로 남은 내용을 끝까지 읽음
+      while (readLine() != null) {
+        // 통계 행 이후의 빈 줄 등은 무시
+      }
+      nextLine = null;
+    }
+    if (!billEntity.verifyHash()) {
+      throw new MalformedMessageException(
+          "The hash of the downloaded bill does not match the hash_value returned by WechatPay.");
+    }
+  }
+
+  private String readLine() {
+    try {
+      return reader.readLine();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** 헤더 행으로부터 만든 열 정보, 같은 형식의 행이 공유함 */
+  private static final class RowFormat {
+    private final List<String> columns;
+    private final Map<String, Integer> columnIndexes;
+
+    private RowFormat(String header) {
+      if (header == null || header.isEmpty()) {
+        this.columns = Collections.emptyList();
+      } else {
+        this.columns = Collections.unmodifiableList(Arrays.asList(header.split(",", -1)));
+      }
+      this.columnIndexes = new HashMap<>(columns.size() * 2);
+      for (int i = 0; i < columns.size(); i++) {
+        columnIndexes.put(columns.get(i), i);
+      }
+    }
+
+    /** 각 값은 ` 기호로 시작하므로 ",`"로 구분하여, 값에 포함된 쉼표를 구분자로 오인하지 않음 */
+    private BillRow parseValues(String line) {
+      List<String> values = new ArrayList<>(columns.size());
+      int start = line.charAt(0) == VALUE_PREFIX ? 1 : 0;
+      int end;
+      while ((end = line.indexOf(VALUE_SEPARATOR, start)) != -1) {
+        values.add(line.substring(start, end));
+        start = end + VALUE_SEPARATOR.length();
+      }
+      values.add(line.substring(start));
+      return new BillRow(columns, columnIndexes, values.toArray(new String[0]));
+    }
+  }
+}
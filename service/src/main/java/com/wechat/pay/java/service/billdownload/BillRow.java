@@ -0,0 +1,92 @@
+package com.wechat.pay.java.service.billdownload;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/** 청단의 한 행. 값은 청단 헤더의 열 이름 또는 열 번호로 조회 */
+public final class BillRow {
+
+  private final List<String> columns;
+  private final Map<String, Integer> columnIndexes;
+  private final String[] values;
+
+  BillRow(List<String> columns, Map<String, Integer> columnIndexes, String[] values) {
+    this.columns = columns;
+    this.columnIndexes = columnIndexes;
+    this.values = values;
+  }
+
+  /**
+   * 열 번호로 값 가져오기
+   *
+   * @param index 0부터 시작하는 열 번호
+   * @return 값, 앞의 ` 기호는 제거됨
+   */
+  public String get(int index) {
+    return values[index];
+  }
+
+  /**
+   * 열 이름으로 값 가져오기
+   *
+   * @param column 청단 헤더의 열 이름
+   * @return 값, 해당 열이 없으면 null
+   */
+  public String get(String column) {
+    Integer index = columnIndexes.get(column);
+    if (index == null || index >= values.length) {
+      return null;
+    }
+    return values[index];
+  }
+
+  /**
+   * 금액 열의 값을 BigDecimal로 가져오기
+   *
+   * @param column 청단 헤더의 열 이름
+   * @return 금액(단위: 위안), 해당 열이 없거나 값이 비어 있으면 null
+   * @throws NumberFormatException 값이 숫자가 아닌 경우
+   */
+  public BigDecimal getDecimal(String column) {
+    String value = get(column);
+    if (value == null || value.isEmpty()) {
+      return null;
+    }
+    return new BigDecimal(value);
+  }
+
+  /**
+   * 값의 개수 가져오기
+   *
+   * @return 값의 개수
+   */
+  public int size() {
+    return values.length;
+  }
+
+  /**
+   * 청단 헤더의 열 이름 목록 가져오기
+   *
+   * @return 열 이름 목록
+   */
+  public List<String> getColumns() {
+    return columns;
+  }
+
+  /**
+   * 모든 값 가져오기
+   *
+   * @return 값 목록
+   */
+  public List<String> getValues() {
+    return Collections.unmodifiableList(Arrays.asList(values));
+  }
+
+  @Override
+  public String toString() {
+    return "BillRow" + Arrays.toString(values);
+  }
+}
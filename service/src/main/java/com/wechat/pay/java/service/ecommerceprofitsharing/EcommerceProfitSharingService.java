@@ -12,7 +12,7 @@
 package com.wechat.pay.java.service.ecommerceprofitsharing;
 
 import static com.wechat.pay.java.core.http.UrlEncoder.urlEncode;
-import static com.wechat.pay.java.core.util.GsonUtil.toJson;
+import static com.wechat.pay.java.core.util.GsonUtil.toJsonBytes;
 import static java.util.Objects.requireNonNull;
 
 import com.wechat.pay.java.core.Config;
@@ -460,6 +460,6 @@ public class EcommerceProfitSharingService {
   }
 
   private RequestBody createRequestBody(Object request) {
-    return new JsonRequestBody.Builder().body(toJson(request)).build();
+    return new JsonRequestBody.Builder().body(toJsonBytes(request)).build();
   }
 }
@@ -9,17 +9,22 @@ import com.wechat.pay.java.core.exception.ServiceException;
 import com.wechat.pay.java.core.exception.ValidationException;
 import com.wechat.pay.java.core.http.Constant;
 import com.wechat.pay.java.core.http.DefaultHttpClientBuilder;
+import com.wechat.pay.java.core.http.FilePathRequestBody;
 import com.wechat.pay.java.core.http.FileRequestBody;
 import com.wechat.pay.java.core.http.HttpClient;
 import com.wechat.pay.java.core.http.HttpMethod;
 import com.wechat.pay.java.core.http.HttpRequest;
 import com.wechat.pay.java.core.http.MediaType;
-import com.wechat.pay.java.core.util.IOUtil;
+import com.wechat.pay.java.core.http.RequestBody;
+import com.wechat.pay.java.core.util.GsonUtil;
+import com.wechat.pay.java.core.util.ShaUtil;
 import com.wechat.pay.java.service.file.model.FileUploadResponse;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /** 파일 업로드 서비스 */
 public class FileUploadService {
@@ -65,12 +70,27 @@ public class FileUploadService {
    */
   public FileUploadResponse uploadVideo(String uploadPath, String meta, String videoPath)
       throws IOException {
-    File file = new File(videoPath);
-    try (FileInputStream inputStream = new FileInputStream(file)) {
-      return uploadFile(uploadPath, meta, file.getName(), IOUtil.toByteArray(inputStream));
-    } catch (FileNotFoundException e) {
+    Path path = Paths.get(videoPath);
+    if (!Files.isRegularFile(path)) {
       throw new IllegalArgumentException("Upload video, file not found in videoPath:" + videoPath);
     }
+    return uploadFile(uploadPath, new FilePathRequestBody.Builder().meta(meta).path(path).build());
+  }
+
+  /**
+   * 비디오 업로드. 파일을 한 번 순차적으로 읽어 SHA256을 계산하여 meta를 만들고, 전송 시 파일에서 직접 스트리밍하므로 파일 전체를 메모리에 올리지 않음
+   *
+   * @param uploadPath 업로드 경로
+   * @param videoPath 비디오 파일 경로
+   * @return 업로드 결과
+   * @throws HttpException HTTP 요청 전송 실패. 예: 요청 매개변수 구성 실패, 요청 전송 실패, I/O 오류 등. 요청 정보 포함.
+   * @throws ValidationException HTTP 요청 전송 성공, 위챗페이 반환 서명 검증 실패.
+   * @throws ServiceException HTTP 요청 전송 성공, 서비스 반환 예외. 예: 반환 상태 코드가 200보다 작거나 300보다 크거나 같음.
+   * @throws MalformedMessageException 서비스 반환 성공, content-type이 application/json이 아니거나 반환 본문 파싱 실패.
+   * @throws IOException 비디오 파일 읽기 실패.
+   */
+  public FileUploadResponse uploadVideo(String uploadPath, Path videoPath) throws IOException {
+    return uploadFile(uploadPath, createFilePathRequestBody(videoPath));
   }
 
   /**
@@ -106,12 +126,27 @@ public class FileUploadService {
    */
   public FileUploadResponse uploadImage(String uploadPath, String meta, String imagePath)
       throws IOException {
-    File file = new File(imagePath);
-    try (FileInputStream inputStream = new FileInputStream(file)) {
-      return uploadFile(uploadPath, meta, file.getName(), IOUtil.toByteArray(inputStream));
-    } catch (FileNotFoundException e) {
+    Path path = Paths.get(imagePath);
+    if (!Files.isRegularFile(path)) {
       throw new IllegalArgumentException("Upload image, file not found in imagePath:" + imagePath);
     }
+    return uploadFile(uploadPath, new FilePathRequestBody.Builder().meta(meta).path(path).build());
+  }
+
+  /**
+   * 이미지 업로드. 파일을 한 번 순차적으로 읽어 SHA256을 계산하여 meta를 만들고, 전송 시 파일에서 직접 스트리밍하므로 파일 전체를 메모리에 올리지 않음
+   *
+   * @param uploadPath 업로드 경로
+   * @param imagePath 이미지 파일 경로
+   * @return 업로드 결과
+   * @throws HttpException HTTP 요청 전송 실패. 예: 요청 매개변수 구성 실패, 요청 전송 실패, I/O 오류 등. 요청 정보 포함.
+   * @throws ValidationException HTTP 요청 전송 성공, 위챗페이 반환 서명 검증 실패.
+   * @throws ServiceException HTTP 요청 전송 성공, 서비스 반환 예외. 예: 반환 상태 코드가 200보다 작거나 300보다 크거나 같음.
+   * @throws MalformedMessageException 서비스 반환 성공, content-type이 application/json이 아니거나 반환 본문 파싱 실패.
+   * @throws IOException 이미지 파일 읽기 실패.
+   */
+  public FileUploadResponse uploadImage(String uploadPath, Path imagePath) throws IOException {
+    return uploadFile(uploadPath, createFilePathRequestBody(imagePath));
   }
 
   /**
@@ -134,14 +169,31 @@ public class FileUploadService {
 
   private FileUploadResponse uploadFile(
       String uploadPath, String meta, String fileName, byte[] file) {
+    return uploadFile(
+        uploadPath, new FileRequestBody.Builder().meta(meta).fileName(fileName).file(file).build());
+  }
+
+  private FileUploadResponse uploadFile(String uploadPath, RequestBody body) {
     HttpRequest request =
         new HttpRequest.Builder()
             .addHeader(Constant.ACCEPT, " */*")
             .addHeader(Constant.CONTENT_TYPE, MediaType.MULTIPART_FORM_DATA.getValue())
             .httpMethod(HttpMethod.POST)
             .url(uploadPath)
-            .body(new FileRequestBody.Builder().meta(meta).fileName(fileName).file(file).build())
+            .body(body)
             .build();
     return httpClient.execute(request, FileUploadResponse.class).getServiceResponse();
   }
+
+  private static FilePathRequestBody createFilePathRequestBody(Path path) throws IOException {
+    String fileName = path.getFileName().toString();
+    Map<String, String> meta = new LinkedHashMap<>();
+    meta.put("filename", fileName);
+    meta.put("sha256", ShaUtil.getSha256HexString(path));
+    return new FilePathRequestBody.Builder()
+        .meta(GsonUtil.toJson(meta))
+        .fileName(fileName)
+        .path(path)
+        .build();
+  }
 }
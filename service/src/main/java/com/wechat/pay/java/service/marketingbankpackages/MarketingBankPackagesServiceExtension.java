@@ -156,8 +156,8 @@ public class MarketingBankPackagesServiceExtension {
 
     // 2. 파일 내용을 행별로 암호화
     StringBuilder sb = new StringBuilder();
-    for (String each : fileContentList) {
-      sb.append(encryptor.encrypt(each)).append("\n");
+    for (String each : encryptor.encryptAll(fileContentList)) {
+      sb.append(each).append("\n");
     }
     String encryptedFileContent = sb.toString();
 
@@ -12,7 +12,7 @@
 package com.wechat.pay.java.service.payments.jsapi;
 
 import static com.wechat.pay.java.core.http.UrlEncoder.urlEncode;
-import static com.wechat.pay.java.core.util.GsonUtil.toJson;
+import static com.wechat.pay.java.core.util.GsonUtil.toJsonBytes;
 import static java.util.Objects.requireNonNull;
 
 import com.wechat.pay.java.core.Config;
@@ -38,6 +38,7 @@ import com.wechat.pay.java.service.payments.jsapi.model.PrepayResponse;
 import com.wechat.pay.java.service.payments.jsapi.model.QueryOrderByIdRequest;
 import com.wechat.pay.java.service.payments.jsapi.model.QueryOrderByOutTradeNoRequest;
 import com.wechat.pay.java.service.payments.model.Transaction;
+import java.util.concurrent.CompletableFuture;
 
 /** JsapiService 서비스 */
 public class JsapiService {
@@ -110,6 +111,23 @@ public class JsapiService {
    * @throws MalformedMessageException 서비스 응답 성공, content-type이 application/json이 아니거나 응답 본문 파싱 실패.
    */
   public void closeOrder(CloseOrderRequest request) {
+    httpClient.execute(buildCloseOrderRequest(request), null);
+  }
+
+  /**
+   * 주문 닫기 (비동기)
+   *
+   * @param request 요청 파라미터
+   * @return 요청 완료 시 완료되는 CompletableFuture
+   * @throws HttpException HTTP 요청 구성 실패. 요청 전송 이후의 예외는 반환된 CompletableFuture로 전달됨.
+   */
+  public CompletableFuture<Void> closeOrderAsync(CloseOrderRequest request) {
+    return httpClient
+        .executeAsync(buildCloseOrderRequest(request), null)
+        .thenApply(httpResponse -> null);
+  }
+
+  private HttpRequest buildCloseOrderRequest(CloseOrderRequest request) {
     String requestPath =
         "https://api.mch.weixin.qq.com/v3/pay/transactions/out-trade-no/{out_trade_no}/close";
 
@@ -124,14 +142,12 @@ public class JsapiService {
     HttpHeaders headers = new HttpHeaders();
     headers.addHeader(Constant.ACCEPT, MediaType.APPLICATION_JSON.getValue());
     headers.addHeader(Constant.CONTENT_TYPE, MediaType.APPLICATION_JSON.getValue());
-    HttpRequest httpRequest =
-        new HttpRequest.Builder()
-            .httpMethod(HttpMethod.POST)
-            .url(requestPath)
-            .headers(headers)
-            .body(createRequestBody(realRequest))
-            .build();
-    httpClient.execute(httpRequest, null);
+    return new HttpRequest.Builder()
+        .httpMethod(HttpMethod.POST)
+        .url(requestPath)
+        .headers(headers)
+        .body(createRequestBody(realRequest))
+        .build();
   }
 
   /**
@@ -145,6 +161,25 @@ public class JsapiService {
    * @throws MalformedMessageException 서비스 응답 성공, content-type이 application/json이 아니거나 응답 본문 파싱 실패.
    */
   public PrepayResponse prepay(PrepayRequest request) {
+    HttpResponse<PrepayResponse> httpResponse =
+        httpClient.execute(buildPrepayRequest(request), PrepayResponse.class);
+    return httpResponse.getServiceResponse();
+  }
+
+  /**
+   * JSAPI 결제 주문 (비동기)
+   *
+   * @param request 요청 파라미터
+   * @return PrepayResponse의 CompletableFuture
+   * @throws HttpException HTTP 요청 구성 실패. 요청 전송 이후의 예외는 반환된 CompletableFuture로 전달됨.
+   */
+  public CompletableFuture<PrepayResponse> prepayAsync(PrepayRequest request) {
+    return httpClient
+        .executeAsync(buildPrepayRequest(request), PrepayResponse.class)
+        .thenApply(HttpResponse::getServiceResponse);
+  }
+
+  private HttpRequest buildPrepayRequest(PrepayRequest request) {
     String requestPath = "https://api.mch.weixin.qq.com/v3/pay/transactions/jsapi";
     PrepayRequest realRequest = request;
     if (this.hostName != null) {
@@ -153,16 +188,12 @@ public class JsapiService {
     HttpHeaders headers = new HttpHeaders();
     headers.addHeader(Constant.ACCEPT, MediaType.APPLICATION_JSON.getValue());
     headers.addHeader(Constant.CONTENT_TYPE, MediaType.APPLICATION_JSON.getValue());
-    HttpRequest httpRequest =
-        new HttpRequest.Builder()
-            .httpMethod(HttpMethod.POST)
-            .url(requestPath)
-            .headers(headers)
-            .body(createRequestBody(realRequest))
-            .build();
-    HttpResponse<PrepayResponse> httpResponse =
-        httpClient.execute(httpRequest, PrepayResponse.class);
-    return httpResponse.getServiceResponse();
+    return new HttpRequest.Builder()
+        .httpMethod(HttpMethod.POST)
+        .url(requestPath)
+        .headers(headers)
+        .body(createRequestBody(realRequest))
+        .build();
   }
 
   /**
@@ -176,6 +207,25 @@ public class JsapiService {
    * @throws MalformedMessageException 서비스 응답 성공, content-type이 application/json이 아니거나 응답 본문 파싱 실패.
    */
   public Transaction queryOrderById(QueryOrderByIdRequest request) {
+    HttpResponse<Transaction> httpResponse =
+        httpClient.execute(buildQueryOrderByIdRequest(request), Transaction.class);
+    return httpResponse.getServiceResponse();
+  }
+
+  /**
+   * 위챗페이 주문 번호로 주문 조회 (비동기)
+   *
+   * @param request 요청 파라미터
+   * @return Transaction의 CompletableFuture
+   * @throws HttpException HTTP 요청 구성 실패. 요청 전송 이후의 예외는 반환된 CompletableFuture로 전달됨.
+   */
+  public CompletableFuture<Transaction> queryOrderByIdAsync(QueryOrderByIdRequest request) {
+    return httpClient
+        .executeAsync(buildQueryOrderByIdRequest(request), Transaction.class)
+        .thenApply(HttpResponse::getServiceResponse);
+  }
+
+  private HttpRequest buildQueryOrderByIdRequest(QueryOrderByIdRequest request) {
     String requestPath = "https://api.mch.weixin.qq.com/v3/pay/transactions/id/{transaction_id}";
 
     QueryOrderByIdRequest realRequest = request;
@@ -196,14 +246,11 @@ public class JsapiService {
     HttpHeaders headers = new HttpHeaders();
     headers.addHeader(Constant.ACCEPT, MediaType.APPLICATION_JSON.getValue());
     headers.addHeader(Constant.CONTENT_TYPE, MediaType.APPLICATION_JSON.getValue());
-    HttpRequest httpRequest =
-        new HttpRequest.Builder()
-            .httpMethod(HttpMethod.GET)
-            .url(requestPath)
-            .headers(headers)
-            .build();
-    HttpResponse<Transaction> httpResponse = httpClient.execute(httpRequest, Transaction.class);
-    return httpResponse.getServiceResponse();
+    return new HttpRequest.Builder()
+        .httpMethod(HttpMethod.GET)
+        .url(requestPath)
+        .headers(headers)
+        .build();
   }
 
   /**
@@ -217,6 +264,26 @@ public class JsapiService {
    * @throws MalformedMessageException 서비스 응답 성공, content-type이 application/json이 아니거나 응답 본문 파싱 실패.
    */
   public Transaction queryOrderByOutTradeNo(QueryOrderByOutTradeNoRequest request) {
+    HttpResponse<Transaction> httpResponse =
+        httpClient.execute(buildQueryOrderByOutTradeNoRequest(request), Transaction.class);
+    return httpResponse.getServiceResponse();
+  }
+
+  /**
+   * 가맹점 주문 번호로 주문 조회 (비동기)
+   *
+   * @param request 요청 파라미터
+   * @return Transaction의 CompletableFuture
+   * @throws HttpException HTTP 요청 구성 실패. 요청 전송 이후의 예외는 반환된 CompletableFuture로 전달됨.
+   */
+  public CompletableFuture<Transaction> queryOrderByOutTradeNoAsync(
+      QueryOrderByOutTradeNoRequest request) {
+    return httpClient
+        .executeAsync(buildQueryOrderByOutTradeNoRequest(request), Transaction.class)
+        .thenApply(HttpResponse::getServiceResponse);
+  }
+
+  private HttpRequest buildQueryOrderByOutTradeNoRequest(QueryOrderByOutTradeNoRequest request) {
     String requestPath =
         "https://api.mch.weixin.qq.com/v3/pay/transactions/out-trade-no/{out_trade_no}";
 
@@ -237,17 +304,14 @@ public class JsapiService {
     HttpHeaders headers = new HttpHeaders();
     headers.addHeader(Constant.ACCEPT, MediaType.APPLICATION_JSON.getValue());
     headers.addHeader(Constant.CONTENT_TYPE, MediaType.APPLICATION_JSON.getValue());
-    HttpRequest httpRequest =
-        new HttpRequest.Builder()
-            .httpMethod(HttpMethod.GET)
-            .url(requestPath)
-            .headers(headers)
-            .build();
-    HttpResponse<Transaction> httpResponse = httpClient.execute(httpRequest, Transaction.class);
-    return httpResponse.getServiceResponse();
+    return new HttpRequest.Builder()
+        .httpMethod(HttpMethod.GET)
+        .url(requestPath)
+        .headers(headers)
+        .build();
   }
 
   private RequestBody createRequestBody(Object request) {
-    return new JsonRequestBody.Builder().body(toJson(request)).build();
+    return new JsonRequestBody.Builder().body(toJsonBytes(request)).build();
   }
 }
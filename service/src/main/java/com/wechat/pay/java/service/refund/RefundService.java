@@ -12,7 +12,7 @@
 package com.wechat.pay.java.service.refund;
 
 import static com.wechat.pay.java.core.http.UrlEncoder.urlEncode;
-import static com.wechat.pay.java.core.util.GsonUtil.toJson;
+import static com.wechat.pay.java.core.util.GsonUtil.toJsonBytes;
 import static java.util.Objects.requireNonNull;
 
 import com.wechat.pay.java.core.Config;
@@ -35,6 +35,7 @@ import com.wechat.pay.java.core.http.RequestBody;
 import com.wechat.pay.java.service.refund.model.CreateRequest;
 import com.wechat.pay.java.service.refund.model.QueryByOutRefundNoRequest;
 import com.wechat.pay.java.service.refund.model.Refund;
+import java.util.concurrent.CompletableFuture;
 
 /** RefundService 서비스 */
 public class RefundService {
@@ -107,6 +108,25 @@ public class RefundService {
    * @throws MalformedMessageException 서비스 응답 성공, content-type이 application/json이 아니거나 응답 본문 파싱 실패.
    */
   public Refund create(CreateRequest request) {
+    HttpResponse<Refund> httpResponse =
+        httpClient.execute(buildCreateRequest(request), Refund.class);
+    return httpResponse.getServiceResponse();
+  }
+
+  /**
+   * 환불 신청 (비동기)
+   *
+   * @param request 요청 파라미터
+   * @return Refund의 CompletableFuture
+   * @throws HttpException HTTP 요청 구성 실패. 요청 전송 이후의 예외는 반환된 CompletableFuture로 전달됨.
+   */
+  public CompletableFuture<Refund> createAsync(CreateRequest request) {
+    return httpClient
+        .executeAsync(buildCreateRequest(request), Refund.class)
+        .thenApply(HttpResponse::getServiceResponse);
+  }
+
+  private HttpRequest buildCreateRequest(CreateRequest request) {
     String requestPath = "https://api.mch.weixin.qq.com/v3/refund/domestic/refunds";
     CreateRequest realRequest = request;
     if (this.hostName != null) {
@@ -115,15 +135,12 @@ public class RefundService {
     HttpHeaders headers = new HttpHeaders();
     headers.addHeader(Constant.ACCEPT, MediaType.APPLICATION_JSON.getValue());
     headers.addHeader(Constant.CONTENT_TYPE, MediaType.APPLICATION_JSON.getValue());
-    HttpRequest httpRequest =
-        new HttpRequest.Builder()
-            .httpMethod(HttpMethod.POST)
-            .url(requestPath)
-            .headers(headers)
-            .body(createRequestBody(realRequest))
-            .build();
-    HttpResponse<Refund> httpResponse = httpClient.execute(httpRequest, Refund.class);
-    return httpResponse.getServiceResponse();
+    return new HttpRequest.Builder()
+        .httpMethod(HttpMethod.POST)
+        .url(requestPath)
+        .headers(headers)
+        .body(createRequestBody(realRequest))
+        .build();
   }
 
   /**
@@ -137,6 +154,25 @@ public class RefundService {
    * @throws MalformedMessageException 서비스 응답 성공, content-type이 application/json이 아니거나 응답 본문 파싱 실패.
    */
   public Refund queryByOutRefundNo(QueryByOutRefundNoRequest request) {
+    HttpResponse<Refund> httpResponse =
+        httpClient.execute(buildQueryByOutRefundNoRequest(request), Refund.class);
+    return httpResponse.getServiceResponse();
+  }
+
+  /**
+   * 단건 환불 조회 (가맹점 환불 번호로) (비동기)
+   *
+   * @param request 요청 파라미터
+   * @return Refund의 CompletableFuture
+   * @throws HttpException HTTP 요청 구성 실패. 요청 전송 이후의 예외는 반환된 CompletableFuture로 전달됨.
+   */
+  public CompletableFuture<Refund> queryByOutRefundNoAsync(QueryByOutRefundNoRequest request) {
+    return httpClient
+        .executeAsync(buildQueryByOutRefundNoRequest(request), Refund.class)
+        .thenApply(HttpResponse::getServiceResponse);
+  }
+
+  private HttpRequest buildQueryByOutRefundNoRequest(QueryByOutRefundNoRequest request) {
     String requestPath = "https://api.mch.weixin.qq.com/v3/refund/domestic/refunds/{out_refund_no}";
 
     QueryByOutRefundNoRequest realRequest = request;
@@ -156,17 +192,14 @@ public class RefundService {
     HttpHeaders headers = new HttpHeaders();
     headers.addHeader(Constant.ACCEPT, MediaType.APPLICATION_JSON.getValue());
     headers.addHeader(Constant.CONTENT_TYPE, MediaType.APPLICATION_JSON.getValue());
-    HttpRequest httpRequest =
-        new HttpRequest.Builder()
-            .httpMethod(HttpMethod.GET)
-            .url(requestPath)
-            .headers(headers)
-            .build();
-    HttpResponse<Refund> httpResponse = httpClient.execute(httpRequest, Refund.class);
-    return httpResponse.getServiceResponse();
+    return new HttpRequest.Builder()
+        .httpMethod(HttpMethod.GET)
+        .url(requestPath)
+        .headers(headers)
+        .build();
   }
 
   private RequestBody createRequestBody(Object request) {
-    return new JsonRequestBody.Builder().body(toJson(request)).build();
+    return new JsonRequestBody.Builder().body(toJsonBytes(request)).build();
   }
 }
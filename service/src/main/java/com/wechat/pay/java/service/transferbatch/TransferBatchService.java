@@ -13,7 +13,7 @@
 package com.wechat.pay.java.service.transferbatch;
 
 import static com.wechat.pay.java.core.http.UrlEncoder.urlEncode;
-import static com.wechat.pay.java.core.util.GsonUtil.toJson;
+import static com.wechat.pay.java.core.util.GsonUtil.toJsonBytes;
 import static java.util.Objects.requireNonNull;
 
 import com.wechat.pay.java.core.Config;
@@ -43,6 +43,11 @@ import com.wechat.pay.java.service.transferbatch.model.InitiateBatchTransferRequ
 import com.wechat.pay.java.service.transferbatch.model.InitiateBatchTransferResponse;
 import com.wechat.pay.java.service.transferbatch.model.TransferBatchEntity;
 import com.wechat.pay.java.service.transferbatch.model.TransferDetailEntity;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
 
 /** TransferBatchService 서비스 */
 public class TransferBatchService {
@@ -218,7 +223,7 @@ public class TransferBatchService {
   public InitiateBatchTransferResponse initiateBatchTransfer(InitiateBatchTransferRequest request) {
     String requestPath = "https://api.mch.weixin.qq.com/v3/transfer/batches";
     // 민감 정보 암호화
-    InitiateBatchTransferRequest realRequest = request.cloneWithCipher(encryptor::encrypt);
+    InitiateBatchTransferRequest realRequest = request.cloneWithCipher(encryptUserNames(request));
     if (this.hostName != null) {
       requestPath = requestPath.replaceFirst(HostName.API.getValue(), hostName.getValue());
     }
@@ -315,7 +320,35 @@ public class TransferBatchService {
     return httpResponse.getServiceResponse().cloneWithCipher(decryptor::decrypt);
   }
 
+  /**
+   * 요청의 민감 정보를 한 번에 암호화하고, 평문으로 암호문을 찾는 함수를 반환
+   *
+   * @param request 요청 파라미터
+   * @return 평문을 암호문으로 변환하는 함수
+   */
+  private UnaryOperator<String> encryptUserNames(InitiateBatchTransferRequest request) {
+    // cloneWithCipher가 실제로 암호화하는 필드를 그대로 수집하여 모델의 암호화 필드가 바뀌어도 누락되지 않도록 함
+    List<String> plaintexts = new ArrayList<>();
+    request.cloneWithCipher(
+        plaintext -> {
+          plaintexts.add(plaintext);
+          return plaintext;
+        });
+    List<String> ciphertexts = encryptor.encryptAll(plaintexts);
+    Map<String, String> ciphertextMap = new HashMap<>();
+    for (int i = 0; i < plaintexts.size(); i++) {
+      ciphertextMap.put(plaintexts.get(i), ciphertexts.get(i));
+    }
+    return plaintext -> {
+      String ciphertext = ciphertextMap.get(plaintext);
+      if (ciphertext == null) {
+        throw new IllegalStateException("Sensitive field was not encrypted in batch");
+      }
+      return ciphertext;
+    };
+  }
+
   private RequestBody createRequestBody(Object request) {
-    return new JsonRequestBody.Builder().body(toJson(request)).build();
+    return new JsonRequestBody.Builder().body(toJsonBytes(request)).build();
   }
 }
@@ -0,0 +1,172 @@
+package com.wechat.pay.java.service;
+
+import com.google.gson.ExclusionStrategy;
+import com.google.gson.FieldAttributes;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.annotations.Expose;
+import com.google.gson.internal.bind.ReflectiveTypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.wechat.pay.java.core.util.GsonUtil;
+import com.wechat.pay.java.service.cashcoupons.model.SetCallbackRequest;
+import com.wechat.pay.java.service.refund.model.Channel;
+import com.wechat.pay.java.service.refund.model.QueryByOutRefundNoRequest;
+import com.wechat.pay.java.service.refund.model.Refund;
+import com.wechat.pay.java.service.refund.model.Status;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GeneratedTypeAdapterFactoryTest {
+
+  private static final String REFUND_JSON =
+      "{\"refund_id\":\"50000000382019052709732678859\","
+          + "\"out_refund_no\":\"1217752501201407033233368018\","
+          + "\"user_received_account\":\"招商银行信用卡0403\","
+          + "\"promotion_detail\":[{\"promotion_id\":\"109519\",\"scope\":\"SINGLE\","
+          + "\"type\":\"DISCOUNT\",\"amount\":5,\"refund_amount\":100,"
+          + "\"goods_detail\":[{\"merchant_goods_id\":\"1217752501201407033233368018\","
+          + "\"unit_price\":100,\"refund_amount\":100,\"refund_quantity\":1}]}],"
+          + "\"amount\":{\"total\":100,\"refund\":100,\"payer_total\":90,\"currency\":\"CNY\","
+          + "\"from\":[{\"account\":\"AVAILABLE\",\"amount\":444}]},"
+          + "\"channel\":\"ORIGINAL\",\"status\":\"SUCCESS\",\"unknown\":{\"nested\":[1,2]}}";
+
+  /** GsonUtil과 같은 설정이지만 생성한 어댑터를 사용하지 않는 Gson */
+  private static final Gson reflectiveGson =
+      new GsonBuilder()
+          .disableHtmlEscaping()
+          .addSerializationExclusionStrategy(new ExposeStrategy(true))
+          .addDeserializationExclusionStrategy(new ExposeStrategy(false))
+          .create();
+
+  @Test
+  public void testGeneratedAdapterIsUsed() {
+    Assert.assertFalse(
+        GsonUtil.getGson().getAdapter(Refund.class)
+            instanceof ReflectiveTypeAdapterFactory.Adapter);
+    Assert.assertFalse(
+        GsonUtil.getGson().getAdapter(Status.class).getClass().getName().startsWith("com.google"));
+  }
+
+  @Test
+  public void testUnsupportedModelUsesReflectiveAdapter() {
+    // getter 이름이 필드 이름과 맞지 않는 모델은 리플렉션 어댑터를 사용함
+    Assert.assertTrue(
+        GsonUtil.getGson()
+                .getAdapter(
+                    com.wechat.pay.java.service.certificate.model.DownloadCertificateResponse.class)
+            instanceof ReflectiveTypeAdapterFactory.Adapter);
+  }
+
+  @Test
+  public void testDeserializeSameAsReflective() {
+    Refund generated = GsonUtil.getGson().fromJson(REFUND_JSON, Refund.class);
+    Refund reflective = reflectiveGson.fromJson(REFUND_JSON, Refund.class);
+
+    Assert.assertEquals(reflective.toString(), generated.toString());
+    Assert.assertEquals(Channel.ORIGINAL, generated.getChannel());
+    Assert.assertEquals(Long.valueOf(90), generated.getAmount().getPayerTotal());
+    Assert.assertEquals(
+        Integer.valueOf(1),
+        generated.getPromotionDetail().get(0).getGoodsDetail().get(0).getRefundQuantity());
+  }
+
+  @Test
+  public void testSerializeSameAsReflective() {
+    Refund refund = reflectiveGson.fromJson(REFUND_JSON, Refund.class);
+    refund.setSuccessTime(null);
+
+    Assert.assertEquals(
+        JsonParser.parseString(reflectiveGson.toJson(refund)),
+        JsonParser.parseString(GsonUtil.toJson(refund)));
+    Assert.assertFalse(GsonUtil.toJson(refund).contains("success_time"));
+  }
+
+  @Test
+  public void testExposeSerializeFalse() {
+    QueryByOutRefundNoRequest request = new QueryByOutRefundNoRequest();
+    request.setOutRefundNo("1217752501201407033233368018");
+    request.setSubMchid("1900000109");
+
+    Assert.assertEquals(reflectiveGson.toJson(request), GsonUtil.toJson(request));
+    Assert.assertEquals("{}", GsonUtil.toJson(request));
+  }
+
+  @Test
+  public void testUnderscoreField() {
+    SetCallbackRequest request = new SetCallbackRequest();
+    request.setSwitch(true);
+    request.setNotifyUrl("https://pay.weixin.qq.com");
+
+    String json = GsonUtil.toJson(request);
+    Assert.assertEquals(reflectiveGson.toJson(request), json);
+    Assert.assertEquals(
+        Boolean.TRUE, GsonUtil.getGson().fromJson(json, SetCallbackRequest.class).getSwitch());
+  }
+
+  @Test
+  public void testEnum() {
+    Assert.assertEquals("\"SUCCESS\"", GsonUtil.toJson(Status.SUCCESS));
+    Assert.assertEquals(Status.ABNORMAL, GsonUtil.getGson().fromJson("\"ABNORMAL\"", Status.class));
+    Assert.assertNull(GsonUtil.getGson().fromJson("\"NOT_EXIST\"", Status.class));
+  }
+
+  @Test
+  public void testForeignTypeAdapterFactoryIsIgnored() {
+    // 테스트 리소스에서 ForeignTypeAdapterFactory를 Gson 공용 서비스로 등록함
+    Assert.assertEquals(Status.SUCCESS, GsonUtil.getGson().fromJson("\"SUCCESS\"", Status.class));
+    Assert.assertEquals("\"SUCCESS\"", GsonUtil.toJson(Status.SUCCESS));
+  }
+
+  @Test(expected = JsonSyntaxException.class)
+  public void testNotObject() {
+    GsonUtil.getGson().fromJson("[]", Refund.class);
+  }
+
+  /** 다른 라이브러리가 Gson 공용 서비스로 등록한 팩토리. SDK 모델을 만나면 실패하는 어댑터를 반환함 */
+  public static final class ForeignTypeAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+      if (!type.getRawType().getName().startsWith("com.wechat.pay.java.")) {
+        return null;
+      }
+      return new TypeAdapter<T>() {
+        @Override
+        public void write(JsonWriter out, T value) {
+          throw new IllegalStateException("foreign adapter");
+        }
+
+        @Override
+        public T read(JsonReader in) {
+          throw new IllegalStateException("foreign adapter");
+        }
+      };
+    }
+  }
+
+  private static final class ExposeStrategy implements ExclusionStrategy {
+
+    private final boolean serialize;
+
+    ExposeStrategy(boolean serialize) {
+      this.serialize = serialize;
+    }
+
+    @Override
+    public boolean shouldSkipField(FieldAttributes fieldAttributes) {
+      Expose expose = fieldAttributes.getAnnotation(Expose.class);
+      return expose != null && !(serialize ? expose.serialize() : expose.deserialize());
+    }
+
+    @Override
+    public boolean shouldSkipClass(Class<?> aClass) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,188 @@
+package com.wechat.pay.java.service.billdownload;
+
+import static com.wechat.pay.java.core.http.Constant.REQUEST_ID;
+
+import com.wechat.pay.java.core.auth.Credential;
+import com.wechat.pay.java.core.auth.Validator;
+import com.wechat.pay.java.core.http.Constant;
+import com.wechat.pay.java.core.http.DefaultHttpClientBuilder;
+import com.wechat.pay.java.core.http.HttpClient;
+import com.wechat.pay.java.core.http.HttpHeaders;
+import com.wechat.pay.java.core.util.ShaUtil;
+import com.wechat.pay.java.service.billdownload.model.BillType;
+import com.wechat.pay.java.service.billdownload.model.GetTradeBillRequest;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BillDownloadServiceExtensionTest {
+
+  private static final String BILL =
+      "交易时间,公众账号ID,商户号,微信订单号,商户订单号,商品名称,应结订单金额\r\n"
+          + "`2023-01-01 10:00:00,`wx8888888888888888,`1900000100,`4200001,`T001,`苹果,`0.01\r\n"
+          + "总交易单数,应结订单总金额\r\n"
+          + "`1,`0.01\r\n";
+  private static final byte[] BILL_BYTES = BILL.getBytes(StandardCharsets.UTF_8);
+  private static final String DOWNLOAD_PATH = "/v3/billdownload/file";
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private final List<String> rangeHeaders = new ArrayList<>();
+  private BillDownloadServiceExtension service;
+  private Path path;
+  private Path resumePath;
+
+  @Before
+  public void setUp() {
+    OkHttpClient okHttpClient =
+        new OkHttpClient.Builder().addInterceptor(chain -> respond(chain.request())).build();
+    HttpClient httpClient =
+        new DefaultHttpClientBuilder()
+            .okHttpClient(okHttpClient)
+            .credential(new FakeCredential())
+            .validator(new FakeValidator())
+            .build();
+    service =
+        new BillDownloadServiceExtension.Builder()
+            .httpClient(httpClient)
+            .decryptor(ciphertext -> ciphertext)
+            .build();
+    path = folder.getRoot().toPath().resolve("tradebill.csv");
+    resumePath = folder.getRoot().toPath().resolve("tradebill.csv.resume");
+  }
+
+  @Test
+  public void testDownloadResumesSameBill() throws IOException {
+    Files.write(path, Arrays.copyOf(BILL_BYTES, 10));
+    Files.write(resumePath, ("SHA1:" + sha1(BILL_BYTES)).getBytes(StandardCharsets.UTF_8));
+
+    assertDownloaded(service.downloadTradeBill(request(), path));
+    Assert.assertEquals(Arrays.asList("bytes=10-"), rangeHeaders);
+  }
+
+  @Test
+  public void testDownloadRestartsWithoutResumeRecord() throws IOException {
+    // 다른 청단이나 관계없는 파일일 수 있으므로 이어받지 않음
+    Files.write(path, "leftover content".getBytes(StandardCharsets.UTF_8));
+
+    assertDownloaded(service.downloadTradeBill(request(), path));
+    Assert.assertEquals(Arrays.asList((String) null), rangeHeaders);
+  }
+
+  @Test
+  public void testDownloadRestartsForDifferentBill() throws IOException {
+    Files.write(path, Arrays.copyOf(BILL_BYTES, 10));
+    Files.write(resumePath, "SHA1:0000000000000000000000000000000000000000".getBytes());
+
+    assertDownloaded(service.downloadTradeBill(request(), path));
+    Assert.assertEquals(Arrays.asList((String) null), rangeHeaders);
+  }
+
+  private void assertDownloaded(DigestBillEntity billEntity) throws IOException {
+    try (BillReader reader = new BillReader(billEntity)) {
+      Assert.assertEquals("T001", reader.next().get("商户订单号"));
+      Assert.assertFalse(reader.hasNext());
+      Assert.assertEquals("1", reader.getSummary().get("总交易单数"));
+    }
+    Assert.assertArrayEquals(BILL_BYTES, Files.readAllBytes(path));
+    Assert.assertFalse(Files.exists(resumePath));
+  }
+
+  private static GetTradeBillRequest request() {
+    GetTradeBillRequest request = new GetTradeBillRequest();
+    request.setBillDate("2023-01-01");
+    request.setBillType(BillType.ALL);
+    return request;
+  }
+
+  private Response respond(Request request) {
+    Response.Builder builder =
+        new Response.Builder()
+            .request(request)
+            .protocol(Protocol.HTTP_1_1)
+            .header(REQUEST_ID, "fake-request-id")
+            .message("ok");
+    if (!DOWNLOAD_PATH.equals(request.url().encodedPath())) {
+      String json =
+          "{\"hash_type\":\"SHA1\",\"hash_value\":\""
+              + sha1(BILL_BYTES)
+              + "\",\"download_url\":\"https://api.mch.weixin.qq.com"
+              + DOWNLOAD_PATH
+              + "?token=fake-token\"}";
+      return builder
+          .code(200)
+          .body(ResponseBody.create(json, MediaType.parse("application/json")))
+          .build();
+    }
+    String range = request.header(Constant.RANGE);
+    rangeHeaders.add(range);
+    int offset =
+        range == null
+            ? 0
+            : Integer.parseInt(range.substring("bytes=".length(), range.length() - 1));
+    return builder
+        .code(range == null ? 200 : 206)
+        .body(
+            ResponseBody.create(
+                Arrays.copyOfRange(BILL_BYTES, offset, BILL_BYTES.length),
+                MediaType.parse("application/octet-stream")))
+        .build();
+  }
+
+  private static String sha1(byte[] content) {
+    try {
+      return ShaUtil.toHexString(MessageDigest.getInstance("SHA-1").digest(content));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static class FakeCredential implements Credential {
+
+    @Override
+    public String getSchema() {
+      return "fake-schema";
+    }
+
+    @Override
+    public String getMerchantId() {
+      return "1900000100";
+    }
+
+    @Override
+    public String getAuthorization(URI uri, String httpMethod, String signBody) {
+      return "fake-authorization";
+    }
+  }
+
+  private static class FakeValidator implements Validator {
+
+    @Override
+    public <T> boolean validate(HttpHeaders responseHeaders, String body) {
+      return true;
+    }
+
+    @Override
+    public <T> String getSerialNumber() {
+      return "";
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package com.wechat.pay.java.service.billdownload;
+
+import com.wechat.pay.java.core.exception.MalformedMessageException;
+import com.wechat.pay.java.core.util.ShaUtil;
+import com.wechat.pay.java.service.billdownload.model.HashType;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BillReaderTest {
+
+  private static final String BILL =
+      "\uFEFF交易时间,公众账号ID,商户号,微信订单号,商户订单号,商品名称,应结订单金额\r\n"
+          + "`2023-01-01 10:00:00,`wx8888888888888888,`1900000100,`4200001,`T001,`苹果,香蕉,`0.01\r\n"
+          + "`2023-01-01 11:00:00,`wx8888888888888888,`1900000100,`4200002,`T002,`梨,`1.50\r\n"
+          + "总交易单数,应结订单总金额\r\n"
+          + "`2,`1.51\r\n";
+
+  @Test
+  public void testReadRows() throws IOException {
+    try (BillReader reader = new BillReader(createBillEntity(BILL, sha1(BILL)))) {
+      Assert.assertEquals("交易时间", reader.getColumns().get(0));
+      Assert.assertNull(reader.getSummary());
+
+      BillRow first = reader.next();
+      Assert.assertEquals("4200001", first.get("微信订单号"));
+      // 값에 포함된 쉼표는 구분자로 처리하지 않음
+      Assert.assertEquals("苹果,香蕉", first.get("商品名称"));
+      Assert.assertEquals(new BigDecimal("0.01"), first.getDecimal("应结订单金额"));
+      Assert.assertNull(first.get("不存在的列"));
+
+      BillRow second = reader.next();
+      Assert.assertEquals("T002", second.get(4));
+      Assert.assertFalse(reader.hasNext());
+
+      Assert.assertEquals("2", reader.getSummary().get("总交易单数"));
+      Assert.assertEquals(new BigDecimal("1.51"), reader.getSummary().getDecimal("应结订单总金额"));
+    }
+  }
+
+  @Test
+  public void testStream() {
+    BillReader reader = new BillReader(createBillEntity(BILL, sha1(BILL)));
+    List<String> outTradeNos;
+    try (Stream<BillRow> rows = reader.stream()) {
+      outTradeNos = rows.map(row -> row.get("商户订单号")).collect(Collectors.toList());
+    }
+    Assert.assertEquals(2, outTradeNos.size());
+    Assert.assertEquals("T001", outTradeNos.get(0));
+    Assert.assertEquals("T002", outTradeNos.get(1));
+  }
+
+  @Test(expected = MalformedMessageException.class)
+  public void testHashMismatch() throws IOException {
+    try (BillReader reader = new BillReader(createBillEntity(BILL, sha1("tampered")))) {
+      while (reader.hasNext()) {
+        reader.next();
+      }
+    }
+  }
+
+  @Test
+  public void testConstructorClosesStreamOnHashMismatch() {
+    // 데이터 행이 없으면 생성자에서 요약을 검증함
+    String bill = "交易时间,商户订单号\r\n总交易单数\r\n`0\r\n";
+    boolean[] closed = {false};
+    ByteArrayInputStream stream =
+        new ByteArrayInputStream(bill.getBytes(StandardCharsets.UTF_8)) {
+          @Override
+          public void close() {
+            closed[0] = true;
+          }
+        };
+    try {
+      new BillReader(new DigestBillEntity(stream, sha1("tampered"), HashType.SHA1));
+      Assert.fail("expected MalformedMessageException");
+    } catch (MalformedMessageException e) {
+      Assert.assertTrue(closed[0]);
+    }
+  }
+
+  private static DigestBillEntity createBillEntity(String bill, String hashValue) {
+    return new DigestBillEntity(
+        new ByteArrayInputStream(bill.getBytes(StandardCharsets.UTF_8)), hashValue, HashType.SHA1);
+  }
+
+  private static String sha1(String content) {
+    try {
+      MessageDigest md = MessageDigest.getInstance("SHA-1");
+      return ShaUtil.toHexString(md.digest(content.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
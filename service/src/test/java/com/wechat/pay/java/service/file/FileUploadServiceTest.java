@@ -22,6 +22,7 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import okhttp3.Headers;
 import okhttp3.MediaType;
@@ -30,6 +31,7 @@ import okhttp3.OkHttpClient.Builder;
 import okhttp3.Protocol;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
+import okio.Buffer;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -216,4 +218,55 @@ public class FileUploadServiceTest {
         gson.fromJson(responseBodyJson, FileUploadResponse.class).toString(),
         fileUploadResponse.toString());
   }
+
+  @Test
+  public void testUploadImageFromPath() throws IOException {
+    Path imagePath = Paths.get(FILE_SERVICE_MOCK_DATA_DIR + "/test_image.jpg");
+    String imageUploadPath = "https://api.mch.weixin.qq.com/v3/merchant/media/upload";
+    String expectedMeta =
+        String.format(
+            "{\"filename\":\"%s\",\"sha256\":\"%s\"}",
+            imagePath.getFileName(), ShaUtil.getSha256HexString(Files.readAllBytes(imagePath)));
+    String responseBodyJson =
+        IOUtil.toString(
+            Files.newInputStream(
+                Paths.get(FILE_SERVICE_MOCK_DATA_DIR + "/upload_image_response.json")));
+
+    OkHttpClient.Builder builder =
+        new Builder()
+            .addInterceptor(
+                chain -> {
+                  Buffer requestBody = new Buffer();
+                  chain.request().body().writeTo(requestBody);
+                  String multipart = requestBody.readUtf8();
+                  Assert.assertTrue(multipart.contains(expectedMeta));
+                  Assert.assertTrue(chain.request().body().contentLength() > Files.size(imagePath));
+
+                  return new Response.Builder()
+                      .request(chain.request())
+                      .code(200)
+                      .header(REQUEST_ID, "fake-request-id")
+                      .message("ok")
+                      .protocol(Protocol.HTTP_1_1)
+                      .body(
+                          ResponseBody.create(
+                              responseBodyJson,
+                              MediaType.parse(
+                                  com.wechat.pay.java.core.http.MediaType.APPLICATION_JSON
+                                      .getValue())))
+                      .build();
+                });
+
+    HttpClient httpClient =
+        new DefaultHttpClientBuilder()
+            .credential(fileUploadServiceConfig.createCredential())
+            .validator(fileUploadServiceConfig.createValidator())
+            .okHttpClient(builder.build())
+            .build();
+    FileUploadService fileService = new FileUploadService.Builder().httpClient(httpClient).build();
+    FileUploadResponse fileUploadResponse = fileService.uploadImage(imageUploadPath, imagePath);
+    Assert.assertEquals(
+        GsonUtil.getGson().fromJson(responseBodyJson, FileUploadResponse.class).toString(),
+        fileUploadResponse.toString());
+  }
 }
@@ -0,0 +1,158 @@
+package com.wechat.pay.java.mockserver;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 대체 서버에 주입할 장애 설정. 응답 지연, 오류 응답 비율, 초당 요청 수 제한을 지정하며, 실행 중에 {@link
+ * MockWechatPayServer#setFaultProfile(FaultProfile)}로 교체할 수 있음
+ *
+ * <pre>{@code
+ * FaultProfile profile =
+ *     new FaultProfile.Builder()
+ *         .latency(20, 80)
+ *         .errorRate(0.01)
+ *         .maxRequestsPerSecond(500)
+ *         .build();
+ * }</pre>
+ */
+public final class FaultProfile {
+
+  private static final FaultProfile NONE = new Builder().build();
+
+  private final long minLatencyMs;
+  private final long maxLatencyMs;
+  private final double errorRate;
+  private final int maxRequestsPerSecond;
+
+  private FaultProfile(Builder builder) {
+    this.minLatencyMs = builder.minLatencyMs;
+    this.maxLatencyMs = builder.maxLatencyMs;
+    this.errorRate = builder.errorRate;
+    this.maxRequestsPerSecond = builder.maxRequestsPerSecond;
+  }
+
+  /**
+   * 장애를 주입하지 않는 설정
+   *
+   * @return 지연, 오류, 요청 수 제한이 없는 설정
+   */
+  public static FaultProfile none() {
+    return NONE;
+  }
+
+  public long getMinLatencyMs() {
+    return minLatencyMs;
+  }
+
+  public long getMaxLatencyMs() {
+    return maxLatencyMs;
+  }
+
+  public double getErrorRate() {
+    return errorRate;
+  }
+
+  /**
+   * 초당 허용하는 요청 수
+   *
+   * @return 초당 요청 수, 0이면 제한하지 않음
+   */
+  public int getMaxRequestsPerSecond() {
+    return maxRequestsPerSecond;
+  }
+
+  /** 이번 응답에 적용할 지연 시간(밀리초), 최소값과 최대값 사이에서 균등하게 선택 */
+  long nextLatencyMs() {
+    if (maxLatencyMs == minLatencyMs) {
+      return minLatencyMs;
+    }
+    return ThreadLocalRandom.current().nextLong(minLatencyMs, maxLatencyMs + 1);
+  }
+
+  /** 이번 요청에 오류 응답을 주입할지 여부 */
+  boolean nextError() {
+    return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+  }
+
+  @Override
+  public String toString() {
+    return "FaultProfile{"
+        + "minLatencyMs="
+        + minLatencyMs
+        + ", maxLatencyMs="
+        + maxLatencyMs
+        + ", errorRate="
+        + errorRate
+        + ", maxRequestsPerSecond="
+        + maxRequestsPerSecond
+        + '}';
+  }
+
+  public static class Builder {
+
+    private long minLatencyMs;
+    private long maxLatencyMs;
+    private double errorRate;
+    private int maxRequestsPerSecond;
+
+    /**
+     * 모든 응답에 같은 지연 시간 설정
+     *
+     * @param latencyMs 응답 지연 시간(밀리초)
+     * @return Builder
+     */
+    public Builder latency(long latencyMs) {
+      return latency(latencyMs, latencyMs);
+    }
+
+    /**
+     * 응답마다 최소값과 최대값 사이의 지연 시간을 균등하게 선택
+     *
+     * @param minLatencyMs 최소 지연 시간(밀리초)
+     * @param maxLatencyMs 최대 지연 시간(밀리초)
+     * @return Builder
+     */
+    public Builder latency(long minLatencyMs, long maxLatencyMs) {
+      if (minLatencyMs < 0 || maxLatencyMs < minLatencyMs) {
+        throw new IllegalArgumentException(
+            String.format("Invalid latency range [%d, %d]", minLatencyMs, maxLatencyMs));
+      }
+      this.minLatencyMs = minLatencyMs;
+      this.maxLatencyMs = maxLatencyMs;
+      return this;
+    }
+
+    /**
+     * 500 SYSTEM_ERROR로 응답할 요청의 비율 설정
+     *
+     * @param errorRate 0 이상 1 이하의 비율
+     * @return Builder
+     */
+    public Builder errorRate(double errorRate) {
+      if (errorRate < 0 || errorRate > 1) {
+        throw new IllegalArgumentException("errorRate must be between 0 and 1: " + errorRate);
+      }
+      this.errorRate = errorRate;
+      return this;
+    }
+
+    /**
+     * 초당 허용하는 요청 수 설정, 초과한 요청에는 429 FREQUENCY_LIMITED로 응답함
+     *
+     * @param maxRequestsPerSecond 초당 요청 수, 0이면 제한하지 않음
+     * @return Builder
+     */
+    public Builder maxRequestsPerSecond(int maxRequestsPerSecond) {
+      if (maxRequestsPerSecond < 0) {
+        throw new IllegalArgumentException(
+            "maxRequestsPerSecond must not be negative: " + maxRequestsPerSecond);
+      }
+      this.maxRequestsPerSecond = maxRequestsPerSecond;
+      return this;
+    }
+
+    public FaultProfile build() {
+      return new FaultProfile(this);
+    }
+  }
+}
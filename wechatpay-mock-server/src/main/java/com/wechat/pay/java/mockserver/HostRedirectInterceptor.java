@@ -0,0 +1,35 @@
+package com.wechat.pay.java.mockserver;
+
+import java.io.IOException;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import org.jetbrains.annotations.NotNull;
+
+/** 위챗페이 도메인으로 가는 요청의 주소를 대체 서버로 바꾸는 OkHttp 애플리케이션 인터셉터, 경로와 쿼리는 그대로 유지함 */
+final class HostRedirectInterceptor implements Interceptor {
+
+  private final HttpUrl mockServerUrl;
+
+  HostRedirectInterceptor(HttpUrl mockServerUrl) {
+    this.mockServerUrl = mockServerUrl;
+  }
+
+  @NotNull
+  @Override
+  public okhttp3.Response intercept(Chain chain) throws IOException {
+    Request request = chain.request();
+    if (!MockWechatPayServer.WECHAT_PAY_HOSTS.contains(request.url().host())) {
+      return chain.proceed(request);
+    }
+    HttpUrl url =
+        request
+            .url()
+            .newBuilder()
+            .scheme(mockServerUrl.scheme())
+            .host(mockServerUrl.host())
+            .port(mockServerUrl.port())
+            .build();
+    return chain.proceed(request.newBuilder().url(url).build());
+  }
+}
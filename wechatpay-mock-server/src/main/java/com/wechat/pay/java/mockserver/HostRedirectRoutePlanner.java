@@ -0,0 +1,29 @@
+package com.wechat.pay.java.mockserver;
+
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.routing.HttpRoutePlanner;
+import org.apache.http.impl.conn.DefaultRoutePlanner;
+import org.apache.http.protocol.HttpContext;
+
+/** 위챗페이 도메인으로 가는 연결을 대체 서버로 맺는 Apache HttpClient 경로 계획기. 요청 줄과 Host 헤더는 바꾸지 않으므로 서명 대상 URL도 그대로임 */
+final class HostRedirectRoutePlanner implements HttpRoutePlanner {
+
+  private final HttpHost mockServerHost;
+  private final HttpRoutePlanner delegate = new DefaultRoutePlanner(null);
+
+  HostRedirectRoutePlanner(HttpHost mockServerHost) {
+    this.mockServerHost = mockServerHost;
+  }
+
+  @Override
+  public HttpRoute determineRoute(HttpHost target, HttpRequest request, HttpContext context)
+      throws HttpException {
+    if (target != null && MockWechatPayServer.WECHAT_PAY_HOSTS.contains(target.getHostName())) {
+      return new HttpRoute(mockServerHost);
+    }
+    return delegate.determineRoute(target, request, context);
+  }
+}
@@ -0,0 +1,135 @@
+package com.wechat.pay.java.mockserver;
+
+import com.wechat.pay.java.core.util.ShaUtil;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/** 대체 서버가 내려주는 청단 파일. 서버 시작 시 한 번 생성하여 다운로드마다 같은 내용을 반환함 */
+final class MockBill {
+
+  private static final String TRADE_BILL_HEADER =
+      "交易时间,公众账号ID,商户号,特约商户号,设备号,微信订单号,商户订单号,用户标识,交易类型,交易状态,付款银行,货币种类,"
+          + "应结订单金额,代金券金额,微信退款单号,商户退款单号,退款金额,充值券退款金额,退款类型,退款状态,商品名称,商户数据包,"
+          + "手续费,费率,订单金额,申请退款金额,费率备注";
+  private static final String TRADE_BILL_SUMMARY_HEADER =
+      "总交易单数,应结订单总金额,退款总金额,充值券退款总金额,手续费总金额,订单总金额,申请退款总金额";
+  private static final String FUND_FLOW_BILL_HEADER =
+      "记账时间,微信支付业务单号,资金流水单号,业务名称,业务类型,收支类型,收支金额（元）,账户结余（元）,资金变更提交申请人,备注,业务凭证号";
+  private static final String FUND_FLOW_BILL_SUMMARY_HEADER = "资金流水总笔数,收入笔数,收入金额,支出笔数,支出金额";
+
+  private final byte[] content;
+  private final byte[] gzipContent;
+  private final String sha1;
+
+  private MockBill(String content) {
+    this.content = content.getBytes(StandardCharsets.UTF_8);
+    this.gzipContent = gzip(this.content);
+    // 압축 여부와 관계없이 압축을 푼 내용의 해시를 반환함
+    this.sha1 = ShaUtil.getSha1HexString(this.content);
+  }
+
+  /** 지정한 행 수의 거래 청단 */
+  static MockBill tradeBill(String merchantId, int rows) {
+    StringBuilder builder = new StringBuilder(rows * 256 + 512);
+    builder.append(TRADE_BILL_HEADER).append("\r\n");
+    for (int i = 0; i < rows; i++) {
+      appendRow(
+          builder,
+          "2024-10-18 09:" + twoDigits(i / 60 % 60) + ":" + twoDigits(i % 60),
+          "wxd678efh567hg6787",
+          merchantId,
+          "0",
+          "",
+          String.format("42000000%020d", i),
+          String.format("MOCK%016d", i),
+          "oUpF8uMuAJO_M2pxb1Q9zNjWeS6o",
+          "JSAPI",
+          "SUCCESS",
+          "OTHERS",
+          "CNY",
+          "1.00",
+          "0.00",
+          "0",
+          "0",
+          "0.00",
+          "0.00",
+          "",
+          "",
+          "mock goods",
+          "",
+          "0.01000",
+          "0.60%",
+          "1.00",
+          "0.00",
+          "");
+    }
+    builder.append(TRADE_BILL_SUMMARY_HEADER).append("\r\n");
+    appendRow(
+        builder, String.valueOf(rows), amount(rows), "0.00", "0.00", "0.00", amount(rows), "0.00");
+    return new MockBill(builder.toString());
+  }
+
+  /** 지정한 행 수의 자금 청단 */
+  static MockBill fundFlowBill(int rows) {
+    StringBuilder builder = new StringBuilder(rows * 192 + 512);
+    builder.append(FUND_FLOW_BILL_HEADER).append("\r\n");
+    for (int i = 0; i < rows; i++) {
+      appendRow(
+          builder,
+          "2024-10-18 09:" + twoDigits(i / 60 % 60) + ":" + twoDigits(i % 60),
+          String.format("42000000%020d", i),
+          String.format("50000000%020d", i),
+          "交易",
+          "交易",
+          "收入",
+          "1.00",
+          amount(i + 1),
+          "system",
+          "",
+          String.format("42000000%020d", i));
+    }
+    builder.append(FUND_FLOW_BILL_SUMMARY_HEADER).append("\r\n");
+    appendRow(builder, String.valueOf(rows), String.valueOf(rows), amount(rows), "0", "0.00");
+    return new MockBill(builder.toString());
+  }
+
+  byte[] getContent(boolean gzip) {
+    return gzip ? gzipContent : content;
+  }
+
+  String getSha1() {
+    return sha1;
+  }
+
+  /** 데이터 행의 각 값은 ` 기호로 시작함 */
+  private static void appendRow(StringBuilder builder, String... values) {
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        builder.append(',');
+      }
+      builder.append('`').append(values[i]);
+    }
+    builder.append("\r\n");
+  }
+
+  private static String amount(long yuan) {
+    return yuan + ".00";
+  }
+
+  private static String twoDigits(int value) {
+    return value < 10 ? "0" + value : String.valueOf(value);
+  }
+
+  private static byte[] gzip(byte[] content) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4 + 64);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(content);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,275 @@
+package com.wechat.pay.java.mockserver;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.wechat.pay.java.core.util.NonceUtil;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/** 대체 서버가 반환하는 자원의 JSON. 서버는 상태를 저장하지 않으므로 장시간 실행해도 메모리가 늘지 않으며, 조회 결과는 요청의 식별자에서 만들어냄 */
+final class MockResources {
+
+  /** 이체 배치마다 반환하는 이체 명세 건수 */
+  static final int TRANSFER_DETAIL_COUNT = 100;
+
+  private static final ZoneOffset CHINA_STANDARD_TIME = ZoneOffset.ofHours(8);
+  private static final String APP_ID = "wxd678efh567hg6787";
+  private static final String OPEN_ID = "oUpF8uMuAJO_M2pxb1Q9zNjWeS6o";
+  private static final long DEFAULT_TOTAL = 100;
+
+  private MockResources() {}
+
+  static String now() {
+    return OffsetDateTime.now(CHINA_STANDARD_TIME)
+        .truncatedTo(ChronoUnit.SECONDS)
+        .format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+  }
+
+  /** 식별자에서 만든 28자리 위챗페이 번호, 같은 식별자에는 항상 같은 번호를 반환함 */
+  static String wechatPayId(String prefix, String key) {
+    return String.format(
+        "%s%0" + (28 - prefix.length()) + "d", prefix, key.hashCode() & 0x7FFFFFFF);
+  }
+
+  /** 결제 주문 생성 응답, tradeType은 요청 경로의 마지막 구간(jsapi, app, native, h5) */
+  static JsonObject prepay(String tradeType) {
+    JsonObject prepay = new JsonObject();
+    String prepayId = "wx" + System.currentTimeMillis() + NonceUtil.createNonce(16);
+    switch (tradeType) {
+      case "native":
+        prepay.addProperty("code_url", "weixin://wxpay/bizpayurl?pr=" + NonceUtil.createNonce(8));
+        break;
+      case "h5":
+        prepay.addProperty(
+            "h5_url",
+            "https://wx.tenpay.com/cgi-bin/mmpayweb-bin/checkmweb?prepay_id="
+                + prepayId
+                + "&package=2150917749");
+        break;
+      default:
+        prepay.addProperty("prepay_id", prepayId);
+    }
+    return prepay;
+  }
+
+  /** 결제가 완료된 주문, 두 번호 중 하나만 알면 나머지 번호를 만들어냄 */
+  static JsonObject transaction(String merchantId, String outTradeNo, String transactionId) {
+    if (transactionId == null) {
+      transactionId = wechatPayId("42000", outTradeNo);
+    }
+    if (outTradeNo == null) {
+      outTradeNo = "MOCK" + transactionId;
+    }
+    JsonObject transaction = new JsonObject();
+    transaction.addProperty("appid", APP_ID);
+    transaction.addProperty("mchid", merchantId);
+    transaction.addProperty("out_trade_no", outTradeNo);
+    transaction.addProperty("transaction_id", transactionId);
+    transaction.addProperty("trade_type", "JSAPI");
+    transaction.addProperty("trade_state", "SUCCESS");
+    transaction.addProperty("trade_state_desc", "支付成功");
+    transaction.addProperty("bank_type", "OTHERS");
+    transaction.addProperty("attach", "");
+    transaction.addProperty("success_time", now());
+    JsonObject payer = new JsonObject();
+    payer.addProperty("openid", OPEN_ID);
+    transaction.add("payer", payer);
+    JsonObject amount = new JsonObject();
+    amount.addProperty("total", DEFAULT_TOTAL);
+    amount.addProperty("payer_total", DEFAULT_TOTAL);
+    amount.addProperty("currency", "CNY");
+    amount.addProperty("payer_currency", "CNY");
+    transaction.add("amount", amount);
+    return transaction;
+  }
+
+  /** 환불 신청 요청에서 만든 환불, 조회 시에는 request 없이 환불 번호만으로 만들어냄 */
+  static JsonObject refund(String outRefundNo, JsonObject request, String status) {
+    long total = DEFAULT_TOTAL;
+    long refundAmount = DEFAULT_TOTAL;
+    String outTradeNo = "MOCK" + outRefundNo;
+    String transactionId = null;
+    if (request != null) {
+      JsonObject requestAmount = getObject(request, "amount");
+      if (requestAmount != null) {
+        total = getLong(requestAmount, "total", total);
+        refundAmount = getLong(requestAmount, "refund", refundAmount);
+      }
+      outTradeNo = getString(request, "out_trade_no", outTradeNo);
+      transactionId = getString(request, "transaction_id", null);
+    }
+    if (transactionId == null) {
+      transactionId = wechatPayId("42000", outTradeNo);
+    }
+    JsonObject refund = new JsonObject();
+    refund.addProperty("refund_id", wechatPayId("50000", outRefundNo));
+    refund.addProperty("out_refund_no", outRefundNo);
+    refund.addProperty("transaction_id", transactionId);
+    refund.addProperty("out_trade_no", outTradeNo);
+    refund.addProperty("channel", "ORIGINAL");
+    refund.addProperty("user_received_account", "支付用户零钱");
+    refund.addProperty("create_time", now());
+    if ("SUCCESS".equals(status)) {
+      refund.addProperty("success_time", now());
+    }
+    refund.addProperty("status", status);
+    refund.addProperty("funds_account", "AVAILABLE");
+    JsonObject amount = new JsonObject();
+    amount.addProperty("total", total);
+    amount.addProperty("refund", refundAmount);
+    amount.addProperty("payer_total", total);
+    amount.addProperty("payer_refund", refundAmount);
+    amount.addProperty("settlement_total", total);
+    amount.addProperty("settlement_refund", refundAmount);
+    amount.addProperty("discount_refund", 0);
+    amount.addProperty("currency", "CNY");
+    refund.add("amount", amount);
+    refund.add("promotion_detail", new JsonArray());
+    return refund;
+  }
+
+  /** 이체 배치 접수 응답 */
+  static JsonObject initiateBatchTransfer(JsonObject request) {
+    String outBatchNo = getString(request, "out_batch_no", "MOCK" + NonceUtil.createNonce(16));
+    JsonObject response = new JsonObject();
+    response.addProperty("out_batch_no", outBatchNo);
+    response.addProperty("batch_id", wechatPayId("13000", outBatchNo));
+    response.addProperty("create_time", now());
+    response.addProperty("batch_status", "ACCEPTED");
+    return response;
+  }
+
+  /** 처리가 끝난 이체 배치, 두 번호 중 하나만 알면 나머지 번호를 만들어냄. needQueryDetail이 true이면 offset부터 limit건의 명세를 포함함 */
+  static JsonObject transferBatch(
+      String merchantId,
+      String batchId,
+      String outBatchNo,
+      boolean needQueryDetail,
+      int offset,
+      int limit) {
+    if (batchId == null) {
+      batchId = wechatPayId("13000", outBatchNo);
+    }
+    if (outBatchNo == null) {
+      outBatchNo = "MOCK" + batchId;
+    }
+    JsonObject batch = new JsonObject();
+    batch.addProperty("mchid", merchantId);
+    batch.addProperty("out_batch_no", outBatchNo);
+    batch.addProperty("batch_id", batchId);
+    batch.addProperty("appid", APP_ID);
+    batch.addProperty("batch_status", "FINISHED");
+    batch.addProperty("batch_type", "API");
+    batch.addProperty("batch_name", "mock batch");
+    batch.addProperty("batch_remark", "mock batch");
+    batch.addProperty("total_amount", TRANSFER_DETAIL_COUNT * DEFAULT_TOTAL);
+    batch.addProperty("total_num", TRANSFER_DETAIL_COUNT);
+    batch.addProperty("create_time", now());
+    batch.addProperty("update_time", now());
+    batch.addProperty("success_amount", TRANSFER_DETAIL_COUNT * DEFAULT_TOTAL);
+    batch.addProperty("success_num", TRANSFER_DETAIL_COUNT);
+    batch.addProperty("fail_amount", 0);
+    batch.addProperty("fail_num", 0);
+
+    JsonObject entity = new JsonObject();
+    entity.add("transfer_batch", batch);
+    if (needQueryDetail) {
+      JsonArray details = new JsonArray();
+      int end = Math.min(TRANSFER_DETAIL_COUNT, offset + limit);
+      for (int i = Math.max(offset, 0); i < end; i++) {
+        JsonObject detail = new JsonObject();
+        String outDetailNo = outBatchNo + "D" + i;
+        detail.addProperty("detail_id", wechatPayId("13000", outDetailNo));
+        detail.addProperty("out_detail_no", outDetailNo);
+        detail.addProperty("detail_status", "SUCCESS");
+        details.add(detail);
+      }
+      entity.add("transfer_detail_list", details);
+    }
+    return entity;
+  }
+
+  /** 청단 조회 응답, downloadUrl은 위챗페이 도메인의 주소로, 경로 재지정 클라이언트를 통해 대체 서버로 전달됨 */
+  static JsonObject bill(String downloadUrl, String sha1) {
+    JsonObject bill = new JsonObject();
+    bill.addProperty("hash_type", "SHA1");
+    bill.addProperty("hash_value", sha1);
+    bill.addProperty("download_url", downloadUrl);
+    return bill;
+  }
+
+  /** 플랫폼 인증서 목록 */
+  static JsonObject certificates(
+      String serialNumber,
+      String effectiveTime,
+      String expireTime,
+      String nonce,
+      String ciphertext) {
+    JsonObject encryptCertificate = new JsonObject();
+    encryptCertificate.addProperty("algorithm", "AEAD_AES_256_GCM");
+    encryptCertificate.addProperty("associated_data", "certificate");
+    encryptCertificate.addProperty("nonce", nonce);
+    encryptCertificate.addProperty("ciphertext", ciphertext);
+    JsonObject certificate = new JsonObject();
+    certificate.addProperty("serial_no", serialNumber);
+    certificate.addProperty("effective_time", effectiveTime);
+    certificate.addProperty("expire_time", expireTime);
+    certificate.add("encrypt_certificate", encryptCertificate);
+    JsonArray data = new JsonArray();
+    data.add(certificate);
+    JsonObject certificates = new JsonObject();
+    certificates.add("data", data);
+    return certificates;
+  }
+
+  /** 암호화된 자원을 담은 콜백 알림 본문 */
+  static JsonObject notification(
+      String eventType,
+      String summary,
+      String originalType,
+      String associatedData,
+      String nonce,
+      String ciphertext) {
+    JsonObject resource = new JsonObject();
+    resource.addProperty("original_type", originalType);
+    resource.addProperty("algorithm", "AEAD_AES_256_GCM");
+    resource.addProperty("ciphertext", ciphertext);
+    resource.addProperty("associated_data", associatedData);
+    resource.addProperty("nonce", nonce);
+    JsonObject notification = new JsonObject();
+    notification.addProperty("id", UUID.randomUUID().toString());
+    notification.addProperty("create_time", now());
+    notification.addProperty("resource_type", "encrypt-resource");
+    notification.addProperty("event_type", eventType);
+    notification.addProperty("summary", summary);
+    notification.add("resource", resource);
+    return notification;
+  }
+
+  /** 오류 응답 */
+  static JsonObject error(String code, String message) {
+    JsonObject error = new JsonObject();
+    error.addProperty("code", code);
+    error.addProperty("message", message);
+    return error;
+  }
+
+  private static JsonObject getObject(JsonObject object, String name) {
+    JsonElement element = object.get(name);
+    return element != null && element.isJsonObject() ? element.getAsJsonObject() : null;
+  }
+
+  static String getString(JsonObject object, String name, String defaultValue) {
+    JsonElement element = object.get(name);
+    return element != null && element.isJsonPrimitive() ? element.getAsString() : defaultValue;
+  }
+
+  private static long getLong(JsonObject object, String name, long defaultValue) {
+    JsonElement element = object.get(name);
+    return element != null && element.isJsonPrimitive() ? element.getAsLong() : defaultValue;
+  }
+}
@@ -0,0 +1,424 @@
+package com.wechat.pay.java.mockserver;
+
+import static com.wechat.pay.java.core.http.Constant.CONTENT_TYPE;
+import static com.wechat.pay.java.core.http.Constant.WECHAT_PAY_NONCE;
+import static com.wechat.pay.java.core.http.Constant.WECHAT_PAY_SERIAL;
+import static com.wechat.pay.java.core.http.Constant.WECHAT_PAY_SIGNATURE;
+import static com.wechat.pay.java.core.http.Constant.WECHAT_PAY_TIMESTAMP;
+import static com.wechat.pay.java.core.notification.Constant.RSA_SIGN_TYPE;
+import static java.util.Objects.requireNonNull;
+
+import com.wechat.pay.java.core.cipher.AeadAesCipher;
+import com.wechat.pay.java.core.cipher.AeadCipher;
+import com.wechat.pay.java.core.http.Constant;
+import com.wechat.pay.java.core.http.HostName;
+import com.wechat.pay.java.core.http.MediaType;
+import com.wechat.pay.java.core.notification.RequestParam;
+import com.wechat.pay.java.core.util.NonceUtil;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.PublicKey;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockWebServer;
+import org.apache.http.HttpHost;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+/**
+ * 부하·장기 실행 테스트용 로컬 위챗페이 API 대체 서버. 실제 서비스에 요청하지 않고 SDK의 처리량과 지연 시간 분포를 측정하기 위해 사용하며, 다음을 제공함
+ *
+ * <ul>
+ *   <li>결제 주문 생성·조회·종료, 환불 신청·조회, 청단 조회·다운로드, 이체 배치 접수·조회, 플랫폼 인증서 다운로드
+ *   <li>생성한 플랫폼 키로 서명한 응답, {@link com.wechat.pay.java.core.auth.WechatPay2Validator}로 검증할 수 있음
+ *   <li>플랫폼 키로 서명하고 APIv3 키로 암호화한 콜백 알림
+ *   <li>{@link FaultProfile}로 지정하는 응답 지연, 오류 응답, 초당 요청 수 제한
+ * </ul>
+ *
+ * <p>서비스 클래스는 위챗페이 도메인으로 요청하므로, {@link #newOkHttpClient()} 또는 {@link #newApacheHttpClient()}로 만든
+ * 클라이언트를 HttpClient 빌더에 지정하여 요청을 대체 서버로 보냄
+ *
+ * <pre>{@code
+ * try (MockWechatPayServer server = new MockWechatPayServer.Builder().apiV3Key(apiV3Key).build()) {
+ *   server.start();
+ *   HttpClient httpClient =
+ *       new DefaultHttpClientBuilder()
+ *           .credential(new WechatPay2Credential(merchantId, merchantSigner))
+ *           .validator(
+ *               new WechatPay2Validator(
+ *                   new RSAVerifier(server.getPlatformPublicKey(), server.getPlatformSerialNumber())))
+ *           .okHttpClient(server.newOkHttpClient())
+ *           .build();
+ *   JsapiService service = new JsapiService.Builder().httpClient(httpClient).build();
+ * }
+ * }</pre>
+ *
+ * <p>서버는 주문 등의 상태를 저장하지 않으며, 조회 응답은 요청한 번호로 만든 결제 완료 상태의 자원임
+ */
+public final class MockWechatPayServer implements Closeable {
+
+  /** 대체 서버로 보내는 위챗페이 도메인 */
+  static final Set<String> WECHAT_PAY_HOSTS =
+      Collections.unmodifiableSet(
+          new HashSet<>(
+              Arrays.asList(
+                  HostName.API.getValue(),
+                  HostName.APIHK.getValue(),
+                  Constant.SECONDARY_API_DOMAIN)));
+
+  // MockWebServer는 요청마다 INFO 로그를 남기므로 부하 테스트 중에는 경고 이상만 기록함, 설정이 사라지지 않도록 참조를 유지
+  private static final Logger MOCK_WEB_SERVER_LOGGER =
+      Logger.getLogger(MockWebServer.class.getName());
+
+  private static final int MAX_CONNECTIONS = 256;
+
+  private final MockWebServer server = new MockWebServer();
+  private final PlatformCertificate platformCertificate;
+  private final AeadCipher aeadCipher;
+  private final WechatPayDispatcher dispatcher;
+  private volatile OkHttpClient notificationClient;
+
+  private MockWechatPayServer(Builder builder) {
+    this.platformCertificate = PlatformCertificate.generate(builder.certificateValidity);
+    this.aeadCipher = new AeadAesCipher(builder.apiV3Key.getBytes(StandardCharsets.UTF_8));
+    this.dispatcher =
+        new WechatPayDispatcher(
+            server,
+            platformCertificate,
+            builder.merchantPublicKey,
+            certificatesBody(),
+            builder.billRows,
+            builder.faultProfile);
+    server.setDispatcher(dispatcher);
+  }
+
+  /**
+   * 임의의 빈 포트로 서버 시작
+   *
+   * @throws IOException 포트를 열 수 없는 경우
+   */
+  public void start() throws IOException {
+    start(0);
+  }
+
+  /**
+   * 지정한 포트로 서버 시작
+   *
+   * @param port 포트, 0이면 임의의 빈 포트
+   * @throws IOException 포트를 열 수 없는 경우
+   */
+  public void start(int port) throws IOException {
+    MOCK_WEB_SERVER_LOGGER.setLevel(Level.WARNING);
+    server.start(InetAddress.getByName("localhost"), port);
+  }
+
+  /** 서버를 종료하고 콜백 알림 전송에 사용한 연결을 정리함 */
+  @Override
+  public void close() throws IOException {
+    server.shutdown();
+    OkHttpClient client = notificationClient;
+    if (client != null) {
+      client.dispatcher().executorService().shutdown();
+      client.connectionPool().evictAll();
+    }
+  }
+
+  public int getPort() {
+    return server.getPort();
+  }
+
+  /**
+   * 대체 서버의 주소
+   *
+   * @param path 경로, 예: /v3/certificates
+   * @return http://localhost:port/path 형식의 주소
+   */
+  public String url(String path) {
+    return server.url(path).toString();
+  }
+
+  /** 응답 서명에 사용하는 플랫폼 공개키, 위챗페이 공개키 방식의 검증에도 사용할 수 있음 */
+  public PublicKey getPlatformPublicKey() {
+    return platformCertificate.getKeyPair().getPublic();
+  }
+
+  /** 플랫폼 인증서, /v3/certificates 응답에 암호화하여 포함됨 */
+  public X509Certificate getPlatformCertificate() {
+    return platformCertificate.getCertificate();
+  }
+
+  /** 응답의 Wechatpay-Serial 헤더 값, 플랫폼 인증서 일련번호 */
+  public String getPlatformSerialNumber() {
+    return platformCertificate.getSerialNumber();
+  }
+
+  public FaultProfile getFaultProfile() {
+    return dispatcher.getFaultProfile();
+  }
+
+  /**
+   * 장애 설정 교체, 이후 받는 요청부터 적용됨
+   *
+   * @param faultProfile 장애 설정
+   */
+  public void setFaultProfile(FaultProfile faultProfile) {
+    dispatcher.setFaultProfile(requireNonNull(faultProfile));
+  }
+
+  /** 받은 요청 수 */
+  public long getRequestCount() {
+    return dispatcher.requestCount.sum();
+  }
+
+  /** 장애 설정에 따라 500으로 응답한 요청 수 */
+  public long getInjectedErrorCount() {
+    return dispatcher.injectedErrorCount.sum();
+  }
+
+  /** 초당 요청 수 제한으로 429로 응답한 요청 수 */
+  public long getThrottledCount() {
+    return dispatcher.throttledCount.sum();
+  }
+
+  /** 요청 서명 검증에 실패하여 401로 응답한 요청 수 */
+  public long getSignatureErrorCount() {
+    return dispatcher.signatureErrorCount.sum();
+  }
+
+  /**
+   * 위챗페이 도메인으로 가는 요청을 대체 서버로 보내는 OkHttpClient 생성, 부하 테스트를 위해 연결 풀을 넉넉히 설정함. 서버를 시작한 뒤 호출해야 함
+   *
+   * @return OkHttpClient
+   */
+  public OkHttpClient newOkHttpClient() {
+    return new OkHttpClient.Builder()
+        .connectionPool(new ConnectionPool(MAX_CONNECTIONS, 5, TimeUnit.MINUTES))
+        .addInterceptor(new HostRedirectInterceptor(server.url("/")))
+        .build();
+  }
+
+  /**
+   * 위챗페이 도메인으로 가는 연결을 대체 서버로 맺는 Apache HttpClient 생성, 부하 테스트를 위해 연결 풀을 넉넉히 설정함. 서버를 시작한 뒤 호출해야 함
+   *
+   * @return CloseableHttpClient
+   */
+  public CloseableHttpClient newApacheHttpClient() {
+    PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+    connectionManager.setMaxTotal(MAX_CONNECTIONS);
+    connectionManager.setDefaultMaxPerRoute(MAX_CONNECTIONS);
+    return HttpClientBuilder.create()
+        .setConnectionManager(connectionManager)
+        .setRoutePlanner(
+            new HostRedirectRoutePlanner(new HttpHost(server.getHostName(), server.getPort())))
+        .build();
+  }
+
+  /**
+   * 결제 성공 콜백 알림 생성, {@link com.wechat.pay.java.core.notification.NotificationParser}에 바로 전달할 수 있음
+   *
+   * @param merchantId 가맹점 번호
+   * @param outTradeNo 가맹점 주문 번호
+   * @return 서명된 콜백 알림
+   */
+  public RequestParam createTransactionNotification(String merchantId, String outTradeNo) {
+    return createNotification(
+        "TRANSACTION.SUCCESS",
+        "支付成功",
+        "transaction",
+        MockResources.transaction(merchantId, outTradeNo, null).toString());
+  }
+
+  /**
+   * 콜백 알림 생성. 자원을 APIv3 키로 암호화하고 알림 본문을 플랫폼 키로 서명함
+   *
+   * @param eventType 알림 유형, 예: REFUND.SUCCESS
+   * @param summary 알림 요약
+   * @param originalType 암호화 전 자원의 유형, 예: refund, associated_data로도 사용함
+   * @param plaintext 암호화할 자원의 JSON
+   * @return 서명된 콜백 알림
+   */
+  public RequestParam createNotification(
+      String eventType, String summary, String originalType, String plaintext) {
+    String nonce = NonceUtil.createNonce(12);
+    String ciphertext =
+        aeadCipher.encrypt(
+            originalType.getBytes(StandardCharsets.UTF_8),
+            nonce.getBytes(StandardCharsets.UTF_8),
+            plaintext.getBytes(StandardCharsets.UTF_8));
+    String body =
+        MockResources.notification(
+                eventType, summary, originalType, originalType, nonce, ciphertext)
+            .toString();
+    String timestamp = String.valueOf(Instant.now().getEpochSecond());
+    String signatureNonce = NonceUtil.createNonce(32);
+    return new RequestParam.Builder()
+        .serialNumber(platformCertificate.getSerialNumber())
+        .nonce(signatureNonce)
+        .timestamp(timestamp)
+        .signType(RSA_SIGN_TYPE)
+        .signature(
+            platformCertificate
+                .getSigner()
+                .sign(timestamp + "\n" + signatureNonce + "\n" + body + "\n")
+                .getSign())
+        .body(body)
+        .build();
+  }
+
+  /**
+   * 콜백 알림을 가맹점의 알림 주소로 POST 전송
+   *
+   * @param notifyUrl 알림 주소
+   * @param notification {@link #createNotification}으로 만든 알림
+   * @return 알림 주소의 HTTP 상태 코드
+   * @throws IOException 전송 실패
+   */
+  public int sendNotification(String notifyUrl, RequestParam notification) throws IOException {
+    Request request =
+        new Request.Builder()
+            .url(notifyUrl)
+            .header(WECHAT_PAY_TIMESTAMP, notification.getTimestamp())
+            .header(WECHAT_PAY_NONCE, notification.getNonce())
+            .header(WECHAT_PAY_SERIAL, notification.getSerialNumber())
+            .header(WECHAT_PAY_SIGNATURE, notification.getSignature())
+            .header("Wechatpay-Signature-Type", notification.getSignType())
+            .header(CONTENT_TYPE, MediaType.APPLICATION_JSON.getValue())
+            .post(
+                okhttp3.RequestBody.create(
+                    notification.getBody(),
+                    okhttp3.MediaType.parse(MediaType.APPLICATION_JSON.getValue())))
+            .build();
+    try (Response response = notificationClient().newCall(request).execute()) {
+      return response.code();
+    }
+  }
+
+  private OkHttpClient notificationClient() {
+    OkHttpClient client = notificationClient;
+    if (client == null) {
+      synchronized (this) {
+        client = notificationClient;
+        if (client == null) {
+          client = new OkHttpClient();
+          notificationClient = client;
+        }
+      }
+    }
+    return client;
+  }
+
+  private String certificatesBody() {
+    X509Certificate certificate = platformCertificate.getCertificate();
+    String nonce = NonceUtil.createNonce(12);
+    String ciphertext =
+        aeadCipher.encrypt(
+            "certificate".getBytes(StandardCharsets.UTF_8),
+            nonce.getBytes(StandardCharsets.UTF_8),
+            platformCertificate.toPem().getBytes(StandardCharsets.UTF_8));
+    return MockResources.certificates(
+            platformCertificate.getSerialNumber(),
+            format(certificate.getNotBefore().toInstant()),
+            format(certificate.getNotAfter().toInstant()),
+            nonce,
+            ciphertext)
+        .toString();
+  }
+
+  private static String format(Instant instant) {
+    return OffsetDateTime.ofInstant(instant, ZoneOffset.ofHours(8))
+        .format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+  }
+
+  public static class Builder {
+
+    private String apiV3Key;
+    private PublicKey merchantPublicKey;
+    private int billRows = 1000;
+    private Duration certificateValidity = Duration.ofDays(365);
+    private FaultProfile faultProfile = FaultProfile.none();
+
+    /**
+     * APIv3 키 설정, 필수. 인증서와 콜백 알림 암호화에 사용함
+     *
+     * @param apiV3Key APIv3 키
+     * @return Builder
+     */
+    public Builder apiV3Key(String apiV3Key) {
+      this.apiV3Key = apiV3Key;
+      return this;
+    }
+
+    /**
+     * 가맹점 공개키 설정, 선택 사항. 설정하면 요청 서명을 검증하여 실패 시 401 SIGN_ERROR로 응답하며, 설정하지 않으면 Authorization 헤더의 형식만
+     * 확인함
+     *
+     * @param merchantPublicKey 가맹점 API 인증서의 공개키
+     * @return Builder
+     */
+    public Builder merchantPublicKey(PublicKey merchantPublicKey) {
+      this.merchantPublicKey = merchantPublicKey;
+      return this;
+    }
+
+    /**
+     * 거래 청단과 자금 청단의 데이터 행 수 설정, 기본값은 1000
+     *
+     * @param billRows 데이터 행 수
+     * @return Builder
+     */
+    public Builder billRows(int billRows) {
+      this.billRows = billRows;
+      return this;
+    }
+
+    /**
+     * 생성할 플랫폼 인증서의 유효 기간 설정, 기본값은 365일
+     *
+     * @param certificateValidity 유효 기간
+     * @return Builder
+     */
+    public Builder certificateValidity(Duration certificateValidity) {
+      this.certificateValidity = certificateValidity;
+      return this;
+    }
+
+    /**
+     * 초기 장애 설정, 기본값은 {@link FaultProfile#none()}
+     *
+     * @param faultProfile 장애 설정
+     * @return Builder
+     */
+    public Builder faultProfile(FaultProfile faultProfile) {
+      this.faultProfile = faultProfile;
+      return this;
+    }
+
+    public MockWechatPayServer build() {
+      requireNonNull(apiV3Key);
+      requireNonNull(certificateValidity);
+      requireNonNull(faultProfile);
+      if (billRows < 0) {
+        throw new IllegalArgumentException("billRows must not be negative.");
+      }
+      return new MockWechatPayServer(this);
+    }
+  }
+}
@@ -0,0 +1,189 @@
+package com.wechat.pay.java.mockserver;
+
+import com.wechat.pay.java.core.cipher.RSASigner;
+import com.wechat.pay.java.core.cipher.Signer;
+import com.wechat.pay.java.core.util.PemUtil;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
+import java.security.Signature;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+
+/**
+ * 대체 서버의 위챗페이 플랫폼 키 쌍과 자체 서명 인증서. 외부 라이브러리 없이 인증서를 만들기 위해 X.509 구조를 DER로 직접 인코딩함
+ *
+ * <p>SDK는 플랫폼 인증서의 신뢰 체인을 검증하지 않으므로 자체 서명 인증서로도 응답 검증과 인증서 다운로드가 동작함
+ */
+final class PlatformCertificate {
+
+  private static final String COMMON_NAME = "WeChat Pay Mock Platform";
+  private static final String SIGNATURE_ALGORITHM = "SHA256withRSA";
+  // sha256WithRSAEncryption
+  private static final int[] SHA256_WITH_RSA_OID = {1, 2, 840, 113549, 1, 1, 11};
+  // id-at-commonName
+  private static final int[] COMMON_NAME_OID = {2, 5, 4, 3};
+  private static final DateTimeFormatter UTC_TIME =
+      DateTimeFormatter.ofPattern("yyMMddHHmmss'Z'").withZone(ZoneOffset.UTC);
+  private static final DateTimeFormatter GENERALIZED_TIME =
+      DateTimeFormatter.ofPattern("yyyyMMddHHmmss'Z'").withZone(ZoneOffset.UTC);
+
+  private final KeyPair keyPair;
+  private final X509Certificate certificate;
+  private final String serialNumber;
+  private final Signer signer;
+
+  private PlatformCertificate(KeyPair keyPair, X509Certificate certificate) {
+    this.keyPair = keyPair;
+    this.certificate = certificate;
+    this.serialNumber = PemUtil.getSerialNumber(certificate);
+    this.signer = new RSASigner(serialNumber, keyPair.getPrivate());
+  }
+
+  /**
+   * 새 RSA 2048 키 쌍과 자체 서명 인증서 생성
+   *
+   * @param validity 인증서 유효 기간
+   * @return 플랫폼 인증서
+   */
+  static PlatformCertificate generate(Duration validity) {
+    try {
+      KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+      generator.initialize(2048);
+      KeyPair keyPair = generator.generateKeyPair();
+      // 실제 플랫폼 인증서처럼 40자리 16진수 일련번호를 사용
+      BigInteger serial = new BigInteger(159, new SecureRandom()).setBit(156);
+      Instant notBefore = Instant.now().minus(Duration.ofDays(1));
+      return new PlatformCertificate(
+          keyPair, selfSign(keyPair, serial, notBefore, notBefore.plus(validity)));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Failed to generate mock platform certificate", e);
+    }
+  }
+
+  KeyPair getKeyPair() {
+    return keyPair;
+  }
+
+  X509Certificate getCertificate() {
+    return certificate;
+  }
+
+  String getSerialNumber() {
+    return serialNumber;
+  }
+
+  Signer getSigner() {
+    return signer;
+  }
+
+  /** PEM 형식의 인증서 */
+  String toPem() {
+    try {
+      return "-----BEGIN CERTIFICATE-----\n"
+          + Base64.getMimeEncoder(64, new byte[] {'\n'}).encodeToString(certificate.getEncoded())
+          + "\n-----END CERTIFICATE-----\n";
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Failed to encode mock platform certificate", e);
+    }
+  }
+
+  private static X509Certificate selfSign(
+      KeyPair keyPair, BigInteger serial, Instant notBefore, Instant notAfter)
+      throws GeneralSecurityException {
+    byte[] algorithm = sequence(objectIdentifier(SHA256_WITH_RSA_OID), new byte[] {0x05, 0x00});
+    byte[] name =
+        sequence(
+            tlv(
+                0x31,
+                sequence(
+                    objectIdentifier(COMMON_NAME_OID),
+                    tlv(0x0C, COMMON_NAME.getBytes(StandardCharsets.UTF_8)))));
+    byte[] tbsCertificate =
+        sequence(
+            // [0] EXPLICIT Version v3
+            tlv(0xA0, tlv(0x02, new byte[] {0x02})),
+            tlv(0x02, serial.toByteArray()),
+            algorithm,
+            name,
+            sequence(time(notBefore), time(notAfter)),
+            name,
+            // SubjectPublicKeyInfo
+            keyPair.getPublic().getEncoded());
+
+    Signature signature = Signature.getInstance(SIGNATURE_ALGORITHM);
+    signature.initSign(keyPair.getPrivate());
+    signature.update(tbsCertificate);
+    byte[] signatureValue = signature.sign();
+    byte[] bitString = new byte[signatureValue.length + 1];
+    System.arraycopy(signatureValue, 0, bitString, 1, signatureValue.length);
+
+    byte[] encoded = sequence(tbsCertificate, algorithm, tlv(0x03, bitString));
+    return (X509Certificate)
+        CertificateFactory.getInstance("X.509")
+            .generateCertificate(new ByteArrayInputStream(encoded));
+  }
+
+  /** RFC 5280: 2049년까지는 UTCTime, 이후는 GeneralizedTime */
+  private static byte[] time(Instant instant) {
+    if (instant.atZone(ZoneOffset.UTC).getYear() < 2050) {
+      return tlv(0x17, UTC_TIME.format(instant).getBytes(StandardCharsets.US_ASCII));
+    }
+    return tlv(0x18, GENERALIZED_TIME.format(instant).getBytes(StandardCharsets.US_ASCII));
+  }
+
+  private static byte[] objectIdentifier(int[] arcs) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writeBase128(out, arcs[0] * 40 + arcs[1]);
+    for (int i = 2; i < arcs.length; i++) {
+      writeBase128(out, arcs[i]);
+    }
+    return tlv(0x06, out.toByteArray());
+  }
+
+  private static void writeBase128(ByteArrayOutputStream out, int value) {
+    int shift = 28;
+    while (shift > 0 && (value >>> shift) == 0) {
+      shift -= 7;
+    }
+    for (; shift > 0; shift -= 7) {
+      out.write(0x80 | ((value >>> shift) & 0x7F));
+    }
+    out.write(value & 0x7F);
+  }
+
+  private static byte[] sequence(byte[]... elements) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (byte[] element : elements) {
+      out.write(element, 0, element.length);
+    }
+    return tlv(0x30, out.toByteArray());
+  }
+
+  private static byte[] tlv(int tag, byte[] value) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(value.length + 6);
+    out.write(tag);
+    int length = value.length;
+    if (length < 0x80) {
+      out.write(length);
+    } else {
+      int lengthBytes = (32 - Integer.numberOfLeadingZeros(length) + 7) / 8;
+      out.write(0x80 | lengthBytes);
+      for (int i = lengthBytes - 1; i >= 0; i--) {
+        out.write(length >>> (i * 8));
+      }
+    }
+    out.write(value, 0, value.length);
+    return out.toByteArray();
+  }
+}
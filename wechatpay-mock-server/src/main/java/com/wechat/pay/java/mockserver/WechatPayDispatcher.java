@@ -0,0 +1,366 @@
+package com.wechat.pay.java.mockserver;
+
+import static com.wechat.pay.java.core.http.Constant.AUTHORIZATION;
+import static com.wechat.pay.java.core.http.Constant.CONTENT_TYPE;
+import static com.wechat.pay.java.core.http.Constant.RANGE;
+import static com.wechat.pay.java.core.http.Constant.REQUEST_ID;
+import static com.wechat.pay.java.core.http.Constant.WECHAT_PAY_NONCE;
+import static com.wechat.pay.java.core.http.Constant.WECHAT_PAY_SERIAL;
+import static com.wechat.pay.java.core.http.Constant.WECHAT_PAY_SIGNATURE;
+import static com.wechat.pay.java.core.http.Constant.WECHAT_PAY_TIMESTAMP;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.wechat.pay.java.core.http.MediaType;
+import com.wechat.pay.java.core.util.NonceUtil;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+/** 요청 경로에 따라 위챗페이 API 응답을 만들고, 장애 설정에 따라 지연·오류·요청 수 제한을 주입함 */
+final class WechatPayDispatcher extends Dispatcher {
+
+  /** 청단 다운로드 주소의 도메인, 대체 서버의 경로 재지정 클라이언트가 대체 서버로 보냄 */
+  static final String BILL_DOWNLOAD_URL = "https://api.mch.weixin.qq.com/v3/billdownload/file";
+
+  private static final String SIGNATURE_ALGORITHM = "SHA256withRSA";
+  private static final String DEFAULT_MERCHANT_ID = "1900000001";
+  private static final int DEFAULT_TRANSFER_DETAIL_LIMIT = 20;
+  private static final Pattern AUTHORIZATION_FIELD = Pattern.compile("(\\w+)=\"([^\"]*)\"");
+  private static final Pattern PREPAY =
+      Pattern.compile("/v3/pay/transactions/(jsapi|app|native|h5)");
+  private static final Pattern TRANSACTION_BY_OUT_TRADE_NO =
+      Pattern.compile("/v3/pay/transactions/out-trade-no/([^/]+)");
+  private static final Pattern TRANSACTION_BY_ID =
+      Pattern.compile("/v3/pay/transactions/id/([^/]+)");
+  private static final Pattern CLOSE_ORDER =
+      Pattern.compile("/v3/pay/transactions/out-trade-no/([^/]+)/close");
+  private static final Pattern REFUND = Pattern.compile("/v3/refund/domestic/refunds/([^/]+)");
+  private static final Pattern BILL = Pattern.compile("/v3/bill/(tradebill|fundflowbill)");
+  private static final Pattern TRANSFER_BATCH =
+      Pattern.compile("/v3/transfer/batches/(batch-id|out-batch-no)/([^/]+)");
+  private static final Pattern RANGE_START = Pattern.compile("bytes=(\\d+)-");
+
+  private final MockWebServer server;
+  private final PlatformCertificate platformCertificate;
+  private final PublicKey merchantPublicKey;
+  private final String certificatesBody;
+  private final Map<String, MockBill> bills = new HashMap<>();
+  private final Throttle throttle = new Throttle();
+  private volatile FaultProfile faultProfile;
+
+  final LongAdder requestCount = new LongAdder();
+  final LongAdder injectedErrorCount = new LongAdder();
+  final LongAdder throttledCount = new LongAdder();
+  final LongAdder signatureErrorCount = new LongAdder();
+
+  WechatPayDispatcher(
+      MockWebServer server,
+      PlatformCertificate platformCertificate,
+      PublicKey merchantPublicKey,
+      String certificatesBody,
+      int billRows,
+      FaultProfile faultProfile) {
+    this.server = server;
+    this.platformCertificate = platformCertificate;
+    this.merchantPublicKey = merchantPublicKey;
+    this.certificatesBody = certificatesBody;
+    this.faultProfile = faultProfile;
+    bills.put("tradebill", MockBill.tradeBill(DEFAULT_MERCHANT_ID, billRows));
+    bills.put("fundflowbill", MockBill.fundFlowBill(billRows));
+  }
+
+  FaultProfile getFaultProfile() {
+    return faultProfile;
+  }
+
+  void setFaultProfile(FaultProfile faultProfile) {
+    this.faultProfile = faultProfile;
+  }
+
+  @Override
+  public MockResponse dispatch(RecordedRequest request) {
+    // MockWebServer는 받은 요청을 모두 큐에 보관하므로, 장시간 실행 시 메모리가 늘지 않도록 바로 꺼내 버림
+    discardRecordedRequest();
+    requestCount.increment();
+    FaultProfile profile = faultProfile;
+    MockResponse response;
+    if (!throttle.tryAcquire(profile.getMaxRequestsPerSecond())) {
+      throttledCount.increment();
+      response = signed(429, MockResources.error("FREQUENCY_LIMITED", "频率超限"));
+    } else if (profile.nextError()) {
+      injectedErrorCount.increment();
+      response = signed(500, MockResources.error("SYSTEM_ERROR", "系统错误"));
+    } else {
+      response = handle(request);
+    }
+    long latencyMs = profile.nextLatencyMs();
+    if (latencyMs > 0) {
+      response.setHeadersDelay(latencyMs, TimeUnit.MILLISECONDS);
+    }
+    return response;
+  }
+
+  private void discardRecordedRequest() {
+    try {
+      server.takeRequest(0, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private MockResponse handle(RecordedRequest request) {
+    String body = request.getBody().readUtf8();
+    Map<String, String> authorization = parseAuthorization(request.getHeader(AUTHORIZATION));
+    if (!verifySignature(request, body, authorization)) {
+      signatureErrorCount.increment();
+      return signed(401, MockResources.error("SIGN_ERROR", "签名错误"));
+    }
+    HttpUrl url = request.getRequestUrl();
+    String path = url.encodedPath();
+    String merchantId = url.queryParameter("mchid");
+    if (merchantId == null) {
+      merchantId = authorization.getOrDefault("mchid", DEFAULT_MERCHANT_ID);
+    }
+    String method = request.getMethod();
+    Matcher matcher;
+    try {
+      if ("POST".equals(method)) {
+        if ((matcher = PREPAY.matcher(path)).matches()) {
+          parseJson(body);
+          return signed(200, MockResources.prepay(matcher.group(1)));
+        }
+        if (CLOSE_ORDER.matcher(path).matches()) {
+          return signed(204, "");
+        }
+        if ("/v3/refund/domestic/refunds".equals(path)) {
+          JsonObject refundRequest = parseJson(body);
+          String outRefundNo = MockResources.getString(refundRequest, "out_refund_no", null);
+          if (outRefundNo == null) {
+            return signed(400, MockResources.error("PARAM_ERROR", "缺少参数 out_refund_no"));
+          }
+          return signed(200, MockResources.refund(outRefundNo, refundRequest, "PROCESSING"));
+        }
+        if ("/v3/transfer/batches".equals(path)) {
+          return signed(200, MockResources.initiateBatchTransfer(parseJson(body)));
+        }
+      } else if ("GET".equals(method)) {
+        if ((matcher = TRANSACTION_BY_OUT_TRADE_NO.matcher(path)).matches()) {
+          return signed(200, MockResources.transaction(merchantId, decode(matcher), null));
+        }
+        if ((matcher = TRANSACTION_BY_ID.matcher(path)).matches()) {
+          return signed(200, MockResources.transaction(merchantId, null, decode(matcher)));
+        }
+        if ((matcher = REFUND.matcher(path)).matches()) {
+          return signed(200, MockResources.refund(decode(matcher), null, "SUCCESS"));
+        }
+        if ("/v3/certificates".equals(path)) {
+          return signed(200, certificatesBody);
+        }
+        if ((matcher = BILL.matcher(path)).matches()) {
+          return bill(matcher.group(1), url);
+        }
+        if ("/v3/billdownload/file".equals(path)) {
+          return billFile(url, request.getHeader(RANGE));
+        }
+        if ((matcher = TRANSFER_BATCH.matcher(path)).matches()) {
+          return transferBatch(merchantId, matcher, url);
+        }
+      }
+    } catch (JsonParseException | IllegalStateException e) {
+      return signed(400, MockResources.error("PARAM_ERROR", "请求体不是有效的 JSON"));
+    }
+    return signed(404, MockResources.error("RESOURCE_NOT_EXISTS", "资源不存在"));
+  }
+
+  private MockResponse bill(String type, HttpUrl url) {
+    boolean gzip = "GZIP".equals(url.queryParameter("tar_type"));
+    String downloadUrl = BILL_DOWNLOAD_URL + "?token=" + type + (gzip ? "&tartype=gzip" : "");
+    return signed(200, MockResources.bill(downloadUrl, bills.get(type).getSha1()));
+  }
+
+  /** 청단 파일은 실제 서버와 마찬가지로 서명하지 않으며, Range 요청에는 206 또는 416으로 응답함 */
+  private MockResponse billFile(HttpUrl url, String range) {
+    MockBill bill = bills.get(url.queryParameter("token"));
+    if (bill == null) {
+      return signed(404, MockResources.error("RESOURCE_NOT_EXISTS", "账单不存在"));
+    }
+    byte[] content = bill.getContent("gzip".equals(url.queryParameter("tartype")));
+    int start = 0;
+    if (range != null) {
+      Matcher matcher = RANGE_START.matcher(range);
+      if (matcher.matches()) {
+        long requestedStart = Long.parseLong(matcher.group(1));
+        if (requestedStart >= content.length) {
+          return new MockResponse()
+              .setResponseCode(416)
+              .setHeader("Content-Range", "bytes */" + content.length);
+        }
+        start = (int) requestedStart;
+      }
+    }
+    MockResponse response =
+        new MockResponse()
+            .setResponseCode(start > 0 ? 206 : 200)
+            .setHeader(CONTENT_TYPE, "application/octet-stream")
+            .setBody(new Buffer().write(content, start, content.length - start));
+    if (start > 0) {
+      response.setHeader(
+          "Content-Range", "bytes " + start + "-" + (content.length - 1) + "/" + content.length);
+    }
+    return response;
+  }
+
+  private MockResponse transferBatch(String merchantId, Matcher matcher, HttpUrl url) {
+    String id = decode(matcher, 2);
+    boolean byBatchId = "batch-id".equals(matcher.group(1));
+    int offset = intParameter(url, "offset", 0);
+    int limit = intParameter(url, "limit", DEFAULT_TRANSFER_DETAIL_LIMIT);
+    return signed(
+        200,
+        MockResources.transferBatch(
+            merchantId,
+            byBatchId ? id : null,
+            byBatchId ? null : id,
+            Boolean.parseBoolean(url.queryParameter("need_query_detail")),
+            offset,
+            limit));
+  }
+
+  /** 가맹점 공개키를 지정한 경우에만 요청 서명을 검증함, 지정하지 않으면 Authorization 헤더의 형식만 확인함 */
+  private boolean verifySignature(
+      RecordedRequest request, String body, Map<String, String> authorization) {
+    if (authorization.isEmpty()) {
+      return false;
+    }
+    String contentType = request.getHeader(CONTENT_TYPE);
+    // 파일 업로드는 본문 대신 meta를 서명하므로 검증하지 않음
+    if (merchantPublicKey == null
+        || (contentType != null && contentType.startsWith("multipart/form-data"))) {
+      return true;
+    }
+    String message =
+        request.getMethod()
+            + "\n"
+            + request.getPath()
+            + "\n"
+            + authorization.get("timestamp")
+            + "\n"
+            + authorization.get("nonce_str")
+            + "\n"
+            + body
+            + "\n";
+    try {
+      Signature signature = Signature.getInstance(SIGNATURE_ALGORITHM);
+      signature.initVerify(merchantPublicKey);
+      signature.update(message.getBytes(StandardCharsets.UTF_8));
+      String sign = authorization.get("signature");
+      return sign != null && signature.verify(Base64.getDecoder().decode(sign));
+    } catch (GeneralSecurityException | IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  private static Map<String, String> parseAuthorization(String authorization) {
+    Map<String, String> fields = new HashMap<>();
+    if (authorization == null || !authorization.startsWith("WECHATPAY2-")) {
+      return fields;
+    }
+    Matcher matcher = AUTHORIZATION_FIELD.matcher(authorization);
+    while (matcher.find()) {
+      fields.put(matcher.group(1), matcher.group(2));
+    }
+    return fields;
+  }
+
+  /** 플랫폼 키로 서명한 JSON 응답 */
+  private MockResponse signed(int code, JsonObject body) {
+    return signed(code, body.toString());
+  }
+
+  private MockResponse signed(int code, String body) {
+    String timestamp = String.valueOf(Instant.now().getEpochSecond());
+    String nonce = NonceUtil.createNonce(32);
+    String signature =
+        platformCertificate
+            .getSigner()
+            .sign(timestamp + "\n" + nonce + "\n" + body + "\n")
+            .getSign();
+    MockResponse response =
+        new MockResponse()
+            .setResponseCode(code)
+            .setHeader(WECHAT_PAY_TIMESTAMP, timestamp)
+            .setHeader(WECHAT_PAY_NONCE, nonce)
+            .setHeader(WECHAT_PAY_SERIAL, platformCertificate.getSerialNumber())
+            .setHeader(WECHAT_PAY_SIGNATURE, signature)
+            .setHeader(REQUEST_ID, NonceUtil.createNonce(32));
+    if (!body.isEmpty()) {
+      response.setHeader(CONTENT_TYPE, MediaType.APPLICATION_JSON.getValue()).setBody(body);
+    }
+    return response;
+  }
+
+  private static JsonObject parseJson(String body) {
+    JsonElement element = JsonParser.parseString(body);
+    if (!element.isJsonObject()) {
+      throw new JsonParseException("Request body is not a JSON object");
+    }
+    return element.getAsJsonObject();
+  }
+
+  private static String decode(Matcher matcher) {
+    return decode(matcher, 1);
+  }
+
+  private static String decode(Matcher matcher, int group) {
+    return HttpUrl.get("http://localhost/" + matcher.group(group)).pathSegments().get(0);
+  }
+
+  private static int intParameter(HttpUrl url, String name, int defaultValue) {
+    String value = url.queryParameter(name);
+    if (value == null) {
+      return defaultValue;
+    }
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      return defaultValue;
+    }
+  }
+
+  /** 1초 단위 고정 창으로 초당 요청 수를 제한함 */
+  private static final class Throttle {
+
+    private long windowSecond = -1;
+    private int windowCount;
+
+    synchronized boolean tryAcquire(int maxRequestsPerSecond) {
+      if (maxRequestsPerSecond <= 0) {
+        return true;
+      }
+      long second = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+      if (second != windowSecond) {
+        windowSecond = second;
+        windowCount = 0;
+      }
+      return ++windowCount <= maxRequestsPerSecond;
+    }
+  }
+}
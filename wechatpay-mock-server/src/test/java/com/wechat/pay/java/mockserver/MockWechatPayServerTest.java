@@ -0,0 +1,331 @@
+package com.wechat.pay.java.mockserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.wechat.pay.java.core.auth.WechatPay2Credential;
+import com.wechat.pay.java.core.auth.WechatPay2Validator;
+import com.wechat.pay.java.core.certificate.CertificateDownloader;
+import com.wechat.pay.java.core.certificate.CertificateHandler;
+import com.wechat.pay.java.core.cipher.AeadAesCipher;
+import com.wechat.pay.java.core.cipher.RSAPrivacyDecryptor;
+import com.wechat.pay.java.core.cipher.RSAPrivacyEncryptor;
+import com.wechat.pay.java.core.cipher.RSASigner;
+import com.wechat.pay.java.core.cipher.RSAVerifier;
+import com.wechat.pay.java.core.exception.ServiceException;
+import com.wechat.pay.java.core.http.ApacheHttpClientBuilder;
+import com.wechat.pay.java.core.http.DefaultHttpClientBuilder;
+import com.wechat.pay.java.core.http.HttpClient;
+import com.wechat.pay.java.core.notification.NotificationParser;
+import com.wechat.pay.java.core.notification.RSAPublicKeyNotificationConfig;
+import com.wechat.pay.java.core.notification.RequestParam;
+import com.wechat.pay.java.core.util.PemUtil;
+import com.wechat.pay.java.service.Paginators;
+import com.wechat.pay.java.service.billdownload.BillDownloadServiceExtension;
+import com.wechat.pay.java.service.billdownload.BillReader;
+import com.wechat.pay.java.service.billdownload.DigestBillEntity;
+import com.wechat.pay.java.service.billdownload.model.BillType;
+import com.wechat.pay.java.service.billdownload.model.GetTradeBillRequest;
+import com.wechat.pay.java.service.billdownload.model.TarType;
+import com.wechat.pay.java.service.payments.jsapi.JsapiService;
+import com.wechat.pay.java.service.payments.jsapi.model.Amount;
+import com.wechat.pay.java.service.payments.jsapi.model.Payer;
+import com.wechat.pay.java.service.payments.jsapi.model.PrepayRequest;
+import com.wechat.pay.java.service.payments.jsapi.model.PrepayResponse;
+import com.wechat.pay.java.service.payments.jsapi.model.QueryOrderByOutTradeNoRequest;
+import com.wechat.pay.java.service.payments.model.Transaction;
+import com.wechat.pay.java.service.refund.RefundService;
+import com.wechat.pay.java.service.refund.model.AmountReq;
+import com.wechat.pay.java.service.refund.model.CreateRequest;
+import com.wechat.pay.java.service.refund.model.Refund;
+import com.wechat.pay.java.service.refund.model.Status;
+import com.wechat.pay.java.service.transferbatch.TransferBatchService;
+import com.wechat.pay.java.service.transferbatch.model.GetTransferBatchByNoRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.X509Certificate;
+import java.util.Map;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MockWechatPayServerTest {
+
+  private static final String MERCHANT_ID = "1900000001";
+  private static final String MERCHANT_SERIAL_NUMBER = "5157F09EFDC096DE15EBE81A47057A7232F1B8E1";
+  private static final String API_V3_KEY = "a7cde1ZJB1kG2e7VfTs3jQzaWizur8Gb";
+  private static final KeyPair MERCHANT_KEY_PAIR = generateKeyPair();
+
+  private MockWechatPayServer server;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server =
+        new MockWechatPayServer.Builder()
+            .apiV3Key(API_V3_KEY)
+            .merchantPublicKey(MERCHANT_KEY_PAIR.getPublic())
+            .billRows(50)
+            .build();
+    server.start();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    server.close();
+  }
+
+  private HttpClient okHttpClient() {
+    return new DefaultHttpClientBuilder()
+        .credential(credential())
+        .validator(validator())
+        .okHttpClient(server.newOkHttpClient())
+        .build();
+  }
+
+  private HttpClient apacheHttpClient() {
+    return new ApacheHttpClientBuilder()
+        .credential(credential())
+        .validator(validator())
+        .apacheHttpClient(server.newApacheHttpClient())
+        .build();
+  }
+
+  private static WechatPay2Credential credential() {
+    return new WechatPay2Credential(
+        MERCHANT_ID, new RSASigner(MERCHANT_SERIAL_NUMBER, MERCHANT_KEY_PAIR.getPrivate()));
+  }
+
+  private WechatPay2Validator validator() {
+    return new WechatPay2Validator(
+        new RSAVerifier(server.getPlatformPublicKey(), server.getPlatformSerialNumber()));
+  }
+
+  @Test
+  void testPrepayAndQueryOrderWithOkHttp() {
+    JsapiService service = new JsapiService.Builder().httpClient(okHttpClient()).build();
+    PrepayRequest prepayRequest = new PrepayRequest();
+    prepayRequest.setAppid("wxd678efh567hg6787");
+    prepayRequest.setMchid(MERCHANT_ID);
+    prepayRequest.setDescription("测试商品");
+    prepayRequest.setOutTradeNo("1217752501201407033233368018");
+    prepayRequest.setNotifyUrl("https://example.com/notify");
+    Amount amount = new Amount();
+    amount.setTotal(100);
+    prepayRequest.setAmount(amount);
+    Payer payer = new Payer();
+    payer.setOpenid("oUpF8uMuAJO_M2pxb1Q9zNjWeS6o");
+    prepayRequest.setPayer(payer);
+
+    PrepayResponse prepayResponse = service.prepay(prepayRequest);
+    assertTrue(prepayResponse.getPrepayId().startsWith("wx"));
+
+    QueryOrderByOutTradeNoRequest queryRequest = new QueryOrderByOutTradeNoRequest();
+    queryRequest.setMchid(MERCHANT_ID);
+    queryRequest.setOutTradeNo("1217752501201407033233368018");
+    Transaction transaction = service.queryOrderByOutTradeNo(queryRequest);
+    assertEquals("1217752501201407033233368018", transaction.getOutTradeNo());
+    assertEquals(Transaction.TradeStateEnum.SUCCESS, transaction.getTradeState());
+    assertEquals(Integer.valueOf(100), transaction.getAmount().getTotal());
+    assertEquals(2, server.getRequestCount());
+  }
+
+  @Test
+  void testCreateRefundWithApacheHttpClient() {
+    RefundService service = new RefundService.Builder().httpClient(apacheHttpClient()).build();
+    CreateRequest request = new CreateRequest();
+    request.setOutTradeNo("1217752501201407033233368018");
+    request.setOutRefundNo("1217752501201407033233368019");
+    AmountReq amount = new AmountReq();
+    amount.setRefund(30L);
+    amount.setTotal(100L);
+    amount.setCurrency("CNY");
+    request.setAmount(amount);
+
+    Refund refund = service.create(request);
+    assertEquals("1217752501201407033233368019", refund.getOutRefundNo());
+    assertEquals(Status.PROCESSING, refund.getStatus());
+    assertEquals(Long.valueOf(30), refund.getAmount().getRefund());
+  }
+
+  @Test
+  void testDownloadCertificates() {
+    Map<String, X509Certificate> certificates =
+        new CertificateDownloader.Builder()
+            .downloadUrl("https://api.mch.weixin.qq.com/v3/certificates")
+            .httpClient(okHttpClient())
+            .aeadCipher(new AeadAesCipher(API_V3_KEY.getBytes()))
+            .certificateHandler(
+                new CertificateHandler() {
+                  @Override
+                  public X509Certificate generateCertificate(String certificate) {
+                    return PemUtil.loadX509FromString(certificate);
+                  }
+
+                  @Override
+                  public void validateCertPath(X509Certificate certificate) {}
+                })
+            .build()
+            .download();
+
+    X509Certificate certificate = certificates.get(server.getPlatformSerialNumber());
+    assertNotNull(certificate);
+    assertEquals(server.getPlatformPublicKey(), certificate.getPublicKey());
+    assertEquals(40, server.getPlatformSerialNumber().length());
+  }
+
+  @Test
+  void testDownloadGzipTradeBill(@TempDir Path tempDir) throws IOException {
+    BillDownloadServiceExtension service =
+        new BillDownloadServiceExtension.Builder()
+            .httpClient(apacheHttpClient())
+            .decryptor(new RSAPrivacyDecryptor(MERCHANT_KEY_PAIR.getPrivate()))
+            .build();
+    GetTradeBillRequest request = new GetTradeBillRequest();
+    request.setBillDate("2024-10-18");
+    request.setBillType(BillType.ALL);
+    request.setTarType(TarType.GZIP);
+
+    try (BillReader reader = service.readTradeBill(request)) {
+      assertEquals(50, reader.stream().count());
+      assertEquals("50", reader.getSummary().get("总交易单数"));
+    }
+
+    // 일부만 받은 파일에서 이어받기
+    Path path = tempDir.resolve("tradebill.gz");
+    Files.write(path, new byte[] {0x1f, (byte) 0x8b});
+    DigestBillEntity entity = service.downloadTradeBill(request, path);
+    try (InputStream inputStream = entity.getInputStream()) {
+      byte[] buffer = new byte[4096];
+      while (inputStream.read(buffer) != -1) {
+        // 해시 계산을 위해 끝까지 읽음
+      }
+    }
+    assertTrue(entity.verifyHash());
+  }
+
+  @Test
+  void testQueryTransferBatchDetailsByPage() {
+    TransferBatchService service =
+        new TransferBatchService.Builder()
+            .httpClient(okHttpClient())
+            .encryptor(
+                new RSAPrivacyEncryptor(
+                    server.getPlatformPublicKey(), server.getPlatformSerialNumber()))
+            .decryptor(new RSAPrivacyDecryptor(MERCHANT_KEY_PAIR.getPrivate()))
+            .build();
+    GetTransferBatchByNoRequest request = new GetTransferBatchByNoRequest();
+    request.setBatchId("1030000071100999991182020050700019480001");
+
+    long count = Paginators.getTransferBatchByNo(service, request).stream().count();
+    assertEquals(MockResources.TRANSFER_DETAIL_COUNT, count);
+  }
+
+  @Test
+  void testNotificationParsedBySdk() throws Exception {
+    NotificationParser parser =
+        new NotificationParser(
+            new RSAPublicKeyNotificationConfig.Builder()
+                .publicKey(server.getPlatformPublicKey())
+                .publicKeyId(server.getPlatformSerialNumber())
+                .apiV3Key(API_V3_KEY)
+                .build());
+    RequestParam notification = server.createTransactionNotification(MERCHANT_ID, "T0001");
+    Transaction transaction = parser.parse(notification, Transaction.class);
+    assertEquals("T0001", transaction.getOutTradeNo());
+
+    try (MockWebServer notifyServer = new MockWebServer()) {
+      notifyServer.enqueue(new MockResponse().setResponseCode(204));
+      notifyServer.start();
+      assertEquals(
+          204, server.sendNotification(notifyServer.url("/notify").toString(), notification));
+      RecordedRequest recorded = notifyServer.takeRequest();
+      RequestParam received =
+          new RequestParam.Builder()
+              .serialNumber(recorded.getHeader("Wechatpay-Serial"))
+              .nonce(recorded.getHeader("Wechatpay-Nonce"))
+              .timestamp(recorded.getHeader("Wechatpay-Timestamp"))
+              .signature(recorded.getHeader("Wechatpay-Signature"))
+              .signType(recorded.getHeader("Wechatpay-Signature-Type"))
+              .body(recorded.getBody().readUtf8())
+              .build();
+      assertEquals("T0001", parser.parse(received, Transaction.class).getOutTradeNo());
+    }
+  }
+
+  @Test
+  void testRejectRequestSignedWithOtherKey() {
+    HttpClient httpClient =
+        new DefaultHttpClientBuilder()
+            .credential(
+                new WechatPay2Credential(
+                    MERCHANT_ID,
+                    new RSASigner(MERCHANT_SERIAL_NUMBER, generateKeyPair().getPrivate())))
+            .validator(validator())
+            .okHttpClient(server.newOkHttpClient())
+            .build();
+    QueryOrderByOutTradeNoRequest request = new QueryOrderByOutTradeNoRequest();
+    request.setMchid(MERCHANT_ID);
+    request.setOutTradeNo("T0001");
+
+    JsapiService service = new JsapiService.Builder().httpClient(httpClient).build();
+    ServiceException e =
+        assertThrows(ServiceException.class, () -> service.queryOrderByOutTradeNo(request));
+    assertEquals(401, e.getHttpStatusCode());
+    assertEquals("SIGN_ERROR", e.getErrorCode());
+    assertEquals(1, server.getSignatureErrorCount());
+  }
+
+  @Test
+  void testFaultInjection() {
+    JsapiService service = new JsapiService.Builder().httpClient(okHttpClient()).build();
+    QueryOrderByOutTradeNoRequest request = new QueryOrderByOutTradeNoRequest();
+    request.setMchid(MERCHANT_ID);
+    request.setOutTradeNo("T0001");
+
+    server.setFaultProfile(new FaultProfile.Builder().errorRate(1).build());
+    ServiceException error =
+        assertThrows(ServiceException.class, () -> service.queryOrderByOutTradeNo(request));
+    assertEquals(500, error.getHttpStatusCode());
+    assertEquals("SYSTEM_ERROR", error.getErrorCode());
+    assertEquals(1, server.getInjectedErrorCount());
+
+    server.setFaultProfile(new FaultProfile.Builder().maxRequestsPerSecond(1).build());
+    ServiceException throttled =
+        assertThrows(
+            ServiceException.class,
+            () -> {
+              // 같은 1초 창 안에서 두 번째 요청이 거절될 때까지 반복
+              for (int i = 0; i < 10; i++) {
+                service.queryOrderByOutTradeNo(request);
+              }
+            });
+    assertEquals(429, throttled.getHttpStatusCode());
+    assertEquals("FREQUENCY_LIMITED", throttled.getErrorCode());
+
+    server.setFaultProfile(new FaultProfile.Builder().latency(100).build());
+    long start = System.nanoTime();
+    service.queryOrderByOutTradeNo(request);
+    assertTrue(System.nanoTime() - start >= 100_000_000L);
+  }
+
+  private static KeyPair generateKeyPair() {
+    try {
+      KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+      generator.initialize(2048);
+      return generator.generateKeyPair();
+    } catch (NoSuchAlgorithmException e) {
+      throw new UnsupportedOperationException(e);
+    }
+  }
+}